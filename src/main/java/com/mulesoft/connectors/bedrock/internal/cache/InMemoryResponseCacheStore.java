@@ -0,0 +1,76 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+/**
+ * Node-local {@link ResponseCacheStore} bounded by entry count and time to live. When full, the least recently used entry is
+ * evicted; expired entries are dropped when they are looked up or reach the eviction end of the map.
+ */
+public final class InMemoryResponseCacheStore implements ResponseCacheStore {
+
+  static final String EVICTIONS_METRIC = "response-cache.evictions";
+
+  private final int maxEntries;
+  private final LinkedHashMap<String, Entry> entries;
+
+  public InMemoryResponseCacheStore(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > InMemoryResponseCacheStore.this.maxEntries) {
+          ConnectorMetrics.get().increment(EVICTIONS_METRIC);
+          return true;
+        }
+        return eldest.getValue().isExpired(System.nanoTime());
+      }
+    };
+  }
+
+  @Override
+  public synchronized String get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(System.nanoTime())) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  @Override
+  public synchronized void put(String key, String value, long ttlMillis) {
+    entries.put(key, new Entry(value, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static final class Entry {
+
+    private final String value;
+    private final long expiresAtNanos;
+
+    private Entry(String value, long expiresAtNanos) {
+      this.value = value;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    private boolean isExpired(long nowNanos) {
+      return nowNanos - expiresAtNanos >= 0;
+    }
+  }
+}
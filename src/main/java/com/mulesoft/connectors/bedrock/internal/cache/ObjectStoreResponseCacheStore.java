@@ -0,0 +1,74 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+/**
+ * {@link ResponseCacheStore} backed by a Mule object store, so that a persistent or cluster-wide store can share cached
+ * responses across nodes. The expiry time is stored with each value because the time to live of the object store itself may be
+ * longer; entry count limits are those of the object store. Object store failures are logged and treated as misses.
+ */
+public final class ObjectStoreResponseCacheStore implements ResponseCacheStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ObjectStoreResponseCacheStore.class);
+
+  static final String ERRORS_METRIC = "response-cache.store-errors";
+  private static final char SEPARATOR = ':';
+
+  private final ObjectStore<String> objectStore;
+
+  public ObjectStoreResponseCacheStore(ObjectStore<String> objectStore) {
+    this.objectStore = objectStore;
+  }
+
+  @Override
+  public String get(String key) {
+    try {
+      String stored = objectStore.retrieve(key);
+      int separator = stored != null ? stored.indexOf(SEPARATOR) : -1;
+      if (separator < 0) {
+        return null;
+      }
+      long expiresAt = Long.parseLong(stored.substring(0, separator));
+      if (System.currentTimeMillis() >= expiresAt) {
+        remove(key);
+        return null;
+      }
+      return stored.substring(separator + 1);
+    } catch (ObjectDoesNotExistException e) {
+      return null;
+    } catch (ObjectStoreException | RuntimeException e) {
+      ConnectorMetrics.get().increment(ERRORS_METRIC);
+      logger.warn("Could not read response cache entry from object store: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  @Override
+  public void put(String key, String value, long ttlMillis) {
+    String stored = (System.currentTimeMillis() + ttlMillis) + String.valueOf(SEPARATOR) + value;
+    try {
+      if (objectStore.contains(key)) {
+        objectStore.remove(key);
+      }
+      objectStore.store(key, stored);
+    } catch (ObjectStoreException | RuntimeException e) {
+      // Another node may have stored the same response concurrently; either way the next call simply misses
+      ConnectorMetrics.get().increment(ERRORS_METRIC);
+      logger.debug("Could not store response cache entry in object store: {}", e.getMessage());
+    }
+  }
+
+  private void remove(String key) {
+    try {
+      objectStore.remove(key);
+    } catch (ObjectStoreException e) {
+      logger.debug("Could not remove expired response cache entry: {}", e.getMessage());
+    }
+  }
+}
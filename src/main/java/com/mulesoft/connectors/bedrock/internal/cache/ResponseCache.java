@@ -0,0 +1,118 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+
+/**
+ * Exact-match cache of model responses for deterministic invocations. Entries are keyed on a SHA-256 digest of the operation,
+ * the model ID, every inference and guardrail parameter and the prompt, so a cached response is only returned for a request that
+ * would have produced it. Only requests with temperature 0 are cached; sampling at any other temperature is expected to vary.
+ * <p>
+ * Hits and misses are counted per operation in the {@code <operation>.response-cache.hits} and
+ * {@code <operation>.response-cache.misses} metrics. Failed invocations are never cached.
+ */
+public final class ResponseCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final ResponseCacheStore store;
+  private final long ttlMillis;
+
+  public ResponseCache(ResponseCacheStore store, long ttlMillis) {
+    if (ttlMillis <= 0) {
+      throw new IllegalArgumentException("Time to live must be positive: " + ttlMillis);
+    }
+    this.store = store;
+    this.ttlMillis = ttlMillis;
+  }
+
+  /**
+   * Returns the cached response of the given request, or invokes {@code loader} and caches its result. Requests that are not
+   * {@link #isCacheable(BedrockParameters) cacheable} always invoke the loader.
+   *
+   * @param operation operation name, part of the key and of the metric names
+   */
+  public String get(String operation, String prompt, BedrockParameters parameters, Supplier<String> loader) {
+    if (!isCacheable(parameters)) {
+      return loader.get();
+    }
+    String key = key(operation, prompt, parameters);
+    String cached = store.get(key);
+    if (cached != null) {
+      ConnectorMetrics.get().increment(operation + ".response-cache.hits");
+      logger.debug("Response cache hit for {} with model {}", operation, parameters.getModelName());
+      return cached;
+    }
+    ConnectorMetrics.get().increment(operation + ".response-cache.misses");
+    String response = loader.get();
+    if (response != null) {
+      store.put(key, response, ttlMillis);
+    }
+    return response;
+  }
+
+  public long getTtlMillis() {
+    return ttlMillis;
+  }
+
+  /**
+   * Whether responses to requests with these parameters are deterministic enough to cache.
+   */
+  public static boolean isCacheable(BedrockParameters parameters) {
+    Float temperature = parameters.getTemperature();
+    return temperature != null && temperature == 0f;
+  }
+
+  /**
+   * Builds the cache key of a request. Only the digest is kept, so prompts never end up in a shared store as keys.
+   */
+  public static String key(String operation, String prompt, BedrockParameters parameters) {
+    MessageDigest digest = sha256();
+    update(digest, operation);
+    update(digest, parameters.getModelName());
+    update(digest, parameters.getTemperature());
+    update(digest, parameters.getTopP());
+    update(digest, parameters.getTopK());
+    update(digest, parameters.getMaxTokenCount());
+    update(digest, parameters.getGuardrailIdentifier());
+    update(digest, parameters.getGuardrailVersion());
+    update(digest, parameters.getAwsAccountId());
+    update(digest, prompt);
+    byte[] hash = digest.digest();
+    char[] hex = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      hex[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+      hex[2 * i + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(hex);
+  }
+
+  private static void update(MessageDigest digest, Object part) {
+    // Tag each part so that a missing value never collides with the text "null" or an empty string
+    if (part == null) {
+      digest.update((byte) 0);
+      return;
+    }
+    digest.update((byte) 1);
+    digest.update(part.toString().getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+/**
+ * Backing store of a {@link ResponseCache}. Implementations must be thread safe and must not throw: a store that cannot be
+ * reached behaves like an empty one, so caching never fails an operation.
+ */
+public interface ResponseCacheStore {
+
+  /**
+   * Returns the value stored under the key, or {@code null} if there is none or it has expired.
+   */
+  String get(String key);
+
+  /**
+   * Stores the value under the key, replacing any previous one, for at most {@code ttlMillis}.
+   */
+  void put(String key, String value, long ttlMillis);
+}
@@ -0,0 +1,223 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+
+/**
+ * Cache of model responses looked up by prompt similarity. Each prompt is embedded and compared, by cosine similarity, with the
+ * prompts of cached responses that were produced by the same model with the same inference and guardrail parameters; the
+ * response of the most similar prompt is returned if its similarity reaches the threshold. Like {@link ResponseCache}, only
+ * requests with temperature 0 are looked up and cached: at any other temperature the caller asked for sampled output, which a
+ * cached answer would freeze.
+ * <p>
+ * The index holds at most {@code maxEntries} vectors, each with its own expiry; when full, the oldest entry is evicted. Vectors
+ * are normalized when stored, so a lookup is one dot product per entry. Metrics, per operation: {@code semantic-cache.hits} and
+ * {@code semantic-cache.misses} (hit ratio), {@code semantic-cache.embedding-latency} and {@code semantic-cache.embedding-errors}
+ * (embedding cost) and {@code semantic-cache.latency-saved}, the model latency of the cached responses that were returned.
+ */
+public final class SemanticResponseCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(SemanticResponseCache.class);
+
+  private final double similarityThreshold;
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final String embeddingModelId;
+  private final int embeddingDimensions;
+  private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder lookups = new LongAdder();
+
+  /**
+   * @param similarityThreshold minimum cosine similarity, between 0 and 1, of a prompt whose cached response is returned
+   * @param maxEntries maximum number of cached responses
+   * @param ttlMillis time to live of each cached response
+   * @param embeddingModelId model prompts are embedded with
+   * @param embeddingDimensions size of the embedding vectors requested from the model
+   */
+  public SemanticResponseCache(double similarityThreshold, int maxEntries, long ttlMillis, String embeddingModelId,
+                               int embeddingDimensions) {
+    if (similarityThreshold <= 0 || similarityThreshold > 1) {
+      throw new IllegalArgumentException("Similarity threshold must be in (0, 1]: " + similarityThreshold);
+    }
+    if (maxEntries <= 0 || ttlMillis <= 0) {
+      throw new IllegalArgumentException("Max entries and time to live must be positive: " + maxEntries + ", " + ttlMillis);
+    }
+    this.similarityThreshold = similarityThreshold;
+    this.maxEntries = maxEntries;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.embeddingModelId = embeddingModelId;
+    this.embeddingDimensions = embeddingDimensions;
+  }
+
+  /**
+   * Returns the cached response of the most similar prompt, or invokes {@code loader} and caches its result. Requests that are
+   * not {@link ResponseCache#isCacheable(BedrockParameters) cacheable} invoke the loader without embedding the prompt. When the
+   * prompt cannot be embedded, the loader is invoked and nothing is cached.
+   *
+   * @param operation operation name, part of the metric names
+   * @param embedder returns the embedding vector of a text
+   */
+  public String get(String operation, String prompt, BedrockParameters parameters, Function<String, float[]> embedder,
+                    Supplier<String> loader) {
+    if (!ResponseCache.isCacheable(parameters)) {
+      return loader.get();
+    }
+    float[] vector = embed(operation, prompt, embedder);
+    if (vector == null) {
+      return loader.get();
+    }
+    // The exact-match key of an empty prompt identifies the model and every parameter, i.e. which responses are comparable
+    String scope = ResponseCache.key(operation, null, parameters);
+    lookups.increment();
+    Entry match = findMostSimilar(scope, vector, System.nanoTime());
+    if (match != null) {
+      hits.increment();
+      ConnectorMetrics.get().increment(operation + ".semantic-cache.hits");
+      ConnectorMetrics.get().add(operation + ".semantic-cache.latency-saved", match.loadMillis);
+      logger.debug("Semantic cache hit for {} with model {}, hit ratio {}", operation, parameters.getModelName(), getHitRatio());
+      return match.response;
+    }
+    ConnectorMetrics.get().increment(operation + ".semantic-cache.misses");
+    long start = System.nanoTime();
+    String response = loader.get();
+    if (response != null) {
+      put(new Entry(scope, vector, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    System.nanoTime() + ttlNanos));
+    }
+    return response;
+  }
+
+  public String getEmbeddingModelId() {
+    return embeddingModelId;
+  }
+
+  public int getEmbeddingDimensions() {
+    return embeddingDimensions;
+  }
+
+  /**
+   * Returns the share of lookups answered from the cache since it was created.
+   */
+  public double getHitRatio() {
+    long total = lookups.sum();
+    return total == 0 ? 0 : (double) hits.sum() / total;
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private float[] embed(String operation, String prompt, Function<String, float[]> embedder) {
+    long start = System.nanoTime();
+    try {
+      float[] vector = embedder.apply(prompt);
+      ConnectorMetrics.get().record(operation + ".semantic-cache.embedding-latency",
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return normalize(vector);
+    } catch (RuntimeException e) {
+      ConnectorMetrics.get().increment(operation + ".semantic-cache.embedding-errors");
+      logger.warn("Could not embed prompt for the semantic cache, calling the model directly: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private Entry findMostSimilar(String scope, float[] vector, long nowNanos) {
+    lock.readLock().lock();
+    try {
+      Entry best = null;
+      double bestSimilarity = similarityThreshold;
+      for (Entry entry : entries) {
+        if (entry.vector.length != vector.length || nowNanos - entry.expiresAtNanos >= 0 || !entry.scope.equals(scope)) {
+          continue;
+        }
+        double similarity = dot(entry.vector, vector);
+        if (similarity >= bestSimilarity) {
+          best = entry;
+          bestSimilarity = similarity;
+        }
+      }
+      return best;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void put(Entry entry) {
+    lock.writeLock().lock();
+    try {
+      if (entries.size() >= maxEntries) {
+        long now = System.nanoTime();
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext();) {
+          if (now - it.next().expiresAtNanos >= 0) {
+            it.remove();
+          }
+        }
+      }
+      while (entries.size() >= maxEntries) {
+        entries.pollFirst();
+      }
+      entries.addLast(entry);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static double dot(float[] a, float[] b) {
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i] * b[i];
+    }
+    return sum;
+  }
+
+  private static float[] normalize(float[] vector) {
+    if (vector == null || vector.length == 0) {
+      throw new IllegalArgumentException("Empty embedding");
+    }
+    double norm = Math.sqrt(dot(vector, vector));
+    if (norm == 0) {
+      throw new IllegalArgumentException("Zero embedding");
+    }
+    float[] normalized = new float[vector.length];
+    for (int i = 0; i < vector.length; i++) {
+      normalized[i] = (float) (vector[i] / norm);
+    }
+    return normalized;
+  }
+
+  private static final class Entry {
+
+    private final String scope;
+    private final float[] vector;
+    private final String response;
+    private final long loadMillis;
+    private final long expiresAtNanos;
+
+    private Entry(String scope, float[] vector, String response, long loadMillis, long expiresAtNanos) {
+      this.scope = scope;
+      this.vector = vector;
+      this.response = response;
+      this.loadMillis = loadMillis;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+}
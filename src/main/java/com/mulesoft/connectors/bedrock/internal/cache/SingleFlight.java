@@ -0,0 +1,67 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+/**
+ * Coalesces concurrent identical calls: the first caller for a key runs the call on its own thread, callers arriving with an
+ * equal key while it is in flight wait for it and receive the same result or exception. Nothing is remembered once the call has
+ * completed, so a later caller always starts a new call. Coalesced callers are counted in the {@code <name>.coalesced} metric.
+ *
+ * @param <K> key type; keys are compared with {@code equals}
+ * @param <V> result type; results are shared between callers and must not be mutated
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final String coalescedMetric;
+
+  /**
+   * @param name metric name prefix, e.g. {@code invoke-model}
+   */
+  public SingleFlight(String name) {
+    this.coalescedMetric = name + ".coalesced";
+  }
+
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      ConnectorMetrics.get().increment(coalescedMetric);
+      return await(existing);
+    }
+    try {
+      V result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  private static <V> V await(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
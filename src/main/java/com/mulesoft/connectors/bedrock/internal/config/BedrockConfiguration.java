@@ -1,6 +1,11 @@
 package com.mulesoft.connectors.bedrock.internal.config;
 
 import org.mule.connectors.commons.template.config.ConnectorConfig;
+import com.mulesoft.connectors.bedrock.internal.cache.InMemoryResponseCacheStore;
+import com.mulesoft.connectors.bedrock.internal.cache.ObjectStoreResponseCacheStore;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
+import com.mulesoft.connectors.bedrock.internal.cache.SemanticResponseCache;
+import com.mulesoft.connectors.bedrock.internal.cache.SingleFlight;
 import com.mulesoft.connectors.bedrock.internal.connection.provider.AssumeRoleConnectionProvider;
 import com.mulesoft.connectors.bedrock.internal.connection.provider.BasicConnectionProvider;
 import com.mulesoft.connectors.bedrock.internal.operation.AgentOperations;
@@ -10,15 +15,28 @@ import com.mulesoft.connectors.bedrock.internal.operation.FoundationalModelOpera
 import com.mulesoft.connectors.bedrock.internal.operation.ImageOperation;
 import com.mulesoft.connectors.bedrock.internal.operation.SentimentOperations;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.meta.ExpressionSupport;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.extension.api.annotation.Configuration;
+import org.mule.runtime.extension.api.annotation.Expression;
 import org.mule.runtime.extension.api.annotation.Operations;
 import org.mule.runtime.extension.api.annotation.connectivity.ConnectionProviders;
+import org.mule.runtime.extension.api.annotation.param.Optional;
+import org.mule.runtime.extension.api.annotation.param.Parameter;
 import org.mule.runtime.extension.api.annotation.param.display.DisplayName;
+import org.mule.runtime.extension.api.annotation.param.display.Placement;
+import org.mule.runtime.extension.api.annotation.param.display.Summary;
+import org.mule.runtime.extension.api.annotation.param.reference.ObjectStoreReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 
@@ -43,6 +61,112 @@ public class BedrockConfiguration implements ConnectorConfig, Disposable {
   private static final Logger logger = LoggerFactory.getLogger(BedrockConfiguration.class);
 
   private static final int STREAMING_MAX_POOL_SIZE = 200;
+  private static final int CHAT_STREAMING_MAX_POOL_SIZE = 16;
+  private static final int CHAT_STREAMING_MAX_CONCURRENT_STREAMS = 500;
+  private static final int AGENT_STREAMING_MAX_CONCURRENT_STREAMS = 2000;
+  private static final int RESPONSE_CACHE_DEFAULT_MAX_ENTRIES = 1000;
+  private static final int RESPONSE_CACHE_DEFAULT_TTL_MINUTES = 10;
+  private static final double SEMANTIC_CACHE_DEFAULT_SIMILARITY_THRESHOLD = 0.95;
+  private static final String SEMANTIC_CACHE_DEFAULT_EMBEDDING_MODEL = "amazon.titan-embed-text-v2:0";
+  private static final int SEMANTIC_CACHE_EMBEDDING_DIMENSIONS = 256;
+
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 1)
+  @DisplayName("Streaming Chunk Coalescing Window")
+  @Summary("Minimum time between two chunk events of a streaming response. Text deltas received within the window are merged into one event; the first chunk is always sent immediately. A value of 0 sends every delta as its own event.")
+  private Integer streamingCoalescingWindow;
+  @Parameter
+  @Optional(defaultValue = "MILLISECONDS")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 2)
+  @Summary("Time unit used in the streaming chunk coalescing window configuration.")
+  private TimeUnit streamingCoalescingWindowUnit;
+  @Parameter
+  @Optional(defaultValue = "1024")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 3)
+  @DisplayName("Streaming Chunk Coalescing Max Size")
+  @Summary("The number of characters of merged text that triggers a chunk event before the coalescing window has elapsed.")
+  private Integer streamingCoalescingMaxSize;
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 4)
+  @DisplayName("Response Cache Enabled")
+  @Summary("Caches the responses of Chat answer prompt and Sentiment analyze calls with temperature 0, keyed on the model, all inference and guardrail parameters and the prompt. A cached response is returned without calling Bedrock.")
+  private Boolean responseCacheEnabled;
+  @Parameter
+  @Optional(defaultValue = "1000")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 5)
+  @DisplayName("Response Cache Max Entries")
+  @Summary("Maximum number of responses kept in the in-memory response cache; the least recently used response is evicted first. Not used when a response cache object store is configured.")
+  private Integer responseCacheMaxEntries;
+  @Parameter
+  @Optional(defaultValue = "10")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 6)
+  @DisplayName("Response Cache Time To Live")
+  @Summary("How long a cached response is returned before the model is called again.")
+  private Integer responseCacheTtl;
+  @Parameter
+  @Optional(defaultValue = "MINUTES")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 7)
+  @Summary("Time unit used in the response cache time to live configuration.")
+  private TimeUnit responseCacheTtlUnit;
+  @Parameter
+  @Optional
+  @ObjectStoreReference
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 8)
+  @DisplayName("Response Cache Object Store")
+  @Summary("Object store that backs the response cache, e.g. a persistent store shared by all cluster nodes. When not set, responses are cached in memory on each node.")
+  private ObjectStore<String> responseCacheObjectStore;
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 9)
+  @DisplayName("Semantic Cache Enabled")
+  @Summary("Returns the cached Chat answer prompt response of a similar earlier prompt, sent with the same model and parameters. Only requests with temperature 0 are cached. Each prompt is embedded with the semantic cache embedding model; cached responses expire after the response cache time to live.")
+  private Boolean semanticCacheEnabled;
+  @Parameter
+  @Optional(defaultValue = "0.95")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 10)
+  @DisplayName("Semantic Cache Similarity Threshold")
+  @Summary("Minimum cosine similarity, between 0 and 1, between a prompt and a cached prompt for the cached response to be returned.")
+  private Double semanticCacheSimilarityThreshold;
+  @Parameter
+  @Optional(defaultValue = "1000")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 11)
+  @DisplayName("Semantic Cache Max Entries")
+  @Summary("Maximum number of responses kept in the semantic cache; the oldest response is evicted first.")
+  private Integer semanticCacheMaxEntries;
+  @Parameter
+  @Optional(defaultValue = "amazon.titan-embed-text-v2:0")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 12)
+  @DisplayName("Semantic Cache Embedding Model")
+  @Summary("Amazon Titan text embedding model used to embed prompts for the semantic cache.")
+  private String semanticCacheEmbeddingModel;
+  @Parameter
+  @Optional(defaultValue = "false")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 13)
+  @DisplayName("Coalesce Identical Invocations")
+  @Summary("When identical model invocations are made concurrently, only the first one calls Bedrock; the others wait for it and receive the same response. Applies to Chat answer prompt, Sentiment analyze and Agent define prompt template.")
+  private Boolean invocationCoalescingEnabled;
+  @Parameter
+  @Optional(defaultValue = "0")
+  @Expression(ExpressionSupport.NOT_SUPPORTED)
+  @Placement(tab = "Advanced", order = 14)
+  @DisplayName("Streaming Spill To Disk Max Size")
+  @Summary("Maximum number of bytes of a streaming response kept in a temporary file while the client reads slower than the response arrives. Memory per stream stays bounded and no event is dropped. A value of 0 pauses the response until the client catches up, keeping only the events already requested in memory.")
+  private Integer streamingSpillMaxSize;
 
   @Inject
   SchedulerService schedulerService;
@@ -50,6 +174,12 @@ public class BedrockConfiguration implements ConnectorConfig, Disposable {
   SchedulerConfig schedulerConfig;
 
   private Scheduler streamingScheduler;
+  private Scheduler chatStreamingScheduler;
+  private final Semaphore chatStreamPermits = new Semaphore(CHAT_STREAMING_MAX_CONCURRENT_STREAMS);
+  private final Semaphore agentStreamPermits = new Semaphore(AGENT_STREAMING_MAX_CONCURRENT_STREAMS);
+  private volatile ResponseCache responseCache;
+  private volatile SemanticResponseCache semanticResponseCache;
+  private final SingleFlight<InvokeModelRequest, InvokeModelResponse> invocationCoalescer = new SingleFlight<>("invoke-model");
 
   public SchedulerService getSchedulerService() {
     return schedulerService;
@@ -60,8 +190,9 @@ public class BedrockConfiguration implements ConnectorConfig, Disposable {
   }
 
   /**
-   * Returns a shared, bounded IO scheduler for streaming operations. Lazily initialized on first access; fully synchronized for
-   * thread safety.
+   * Returns a shared, bounded IO scheduler for agent streaming. Its tasks are short: they send a request, schedule a retry,
+   * resume event delivery or write spilled bytes to disk, while the SDK delivers responses asynchronously. Lazily initialized on
+   * first access; fully synchronized for thread safety.
    */
   public synchronized Scheduler getStreamingScheduler() {
     if (streamingScheduler == null) {
@@ -74,6 +205,156 @@ public class BedrockConfiguration implements ConnectorConfig, Disposable {
     return streamingScheduler;
   }
 
+  /**
+   * Returns the IO scheduler chat streams are started on. Chat streams are non-blocking: a task only builds and sends the
+   * ConverseStream request and the SDK delivers the response asynchronously, so a small pool serves many concurrent streams.
+   * It also writes the bytes of slow-read chat streams to their spill files. Lazily initialized on first access.
+   */
+  public synchronized Scheduler getChatStreamingScheduler() {
+    if (chatStreamingScheduler == null) {
+      chatStreamingScheduler = schedulerService.ioScheduler(
+                                                            SchedulerConfig.config()
+                                                                .withMaxConcurrentTasks(CHAT_STREAMING_MAX_POOL_SIZE)
+                                                                .withName("bedrock-chat-streaming"));
+      logger.debug("Created bedrock-chat-streaming IO scheduler with maxConcurrentTasks={}", CHAT_STREAMING_MAX_POOL_SIZE);
+    }
+    return chatStreamingScheduler;
+  }
+
+  /**
+   * Admits a new chat stream if fewer than {@link #getMaxConcurrentChatStreams()} are active. Every successful call must be paired
+   * with {@link #releaseChatStream()} once the stream has finished.
+   */
+  public boolean tryAcquireChatStream() {
+    return chatStreamPermits.tryAcquire();
+  }
+
+  public void releaseChatStream() {
+    chatStreamPermits.release();
+  }
+
+  /**
+   * Admits a new agent stream if fewer than {@link #getMaxConcurrentAgentStreams()} are active. Every successful call must be
+   * paired with {@link #releaseAgentStream()} once the stream has finished.
+   */
+  public boolean tryAcquireAgentStream() {
+    return agentStreamPermits.tryAcquire();
+  }
+
+  public void releaseAgentStream() {
+    agentStreamPermits.release();
+  }
+
+  /**
+   * Returns the chunk coalescing window in milliseconds; 0 when streaming responses are not coalesced.
+   */
+  public long getStreamingCoalescingWindowMillis() {
+    if (streamingCoalescingWindow == null || streamingCoalescingWindow <= 0) {
+      return 0;
+    }
+    TimeUnit unit = streamingCoalescingWindowUnit != null ? streamingCoalescingWindowUnit : TimeUnit.MILLISECONDS;
+    return Math.max(1, unit.toMillis(streamingCoalescingWindow));
+  }
+
+  public int getStreamingCoalescingMaxSize() {
+    return streamingCoalescingMaxSize != null ? streamingCoalescingMaxSize : 0;
+  }
+
+  /**
+   * Returns the maximum number of unread bytes a streaming response may spill to a temporary file; 0 when streams do not spill.
+   */
+  public int getStreamingSpillMaxSize() {
+    return streamingSpillMaxSize != null && streamingSpillMaxSize > 0 ? streamingSpillMaxSize : 0;
+  }
+
+  /**
+   * Returns the response cache, or {@code null} when response caching is disabled. Lazily initialized on first access.
+   */
+  public ResponseCache getResponseCache() {
+    if (!Boolean.TRUE.equals(responseCacheEnabled)) {
+      return null;
+    }
+    ResponseCache cache = responseCache;
+    if (cache == null) {
+      synchronized (this) {
+        cache = responseCache;
+        if (cache == null) {
+          cache = responseCache = createResponseCache();
+        }
+      }
+    }
+    return cache;
+  }
+
+  private ResponseCache createResponseCache() {
+    long ttlMillis = getResponseCacheTtlMillis();
+    if (responseCacheObjectStore != null) {
+      logger.debug("Created response cache backed by object store with ttl={} ms", ttlMillis);
+      return new ResponseCache(new ObjectStoreResponseCacheStore(responseCacheObjectStore), ttlMillis);
+    }
+    int maxEntries = responseCacheMaxEntries != null && responseCacheMaxEntries > 0 ? responseCacheMaxEntries
+        : RESPONSE_CACHE_DEFAULT_MAX_ENTRIES;
+    logger.debug("Created in-memory response cache with maxEntries={} and ttl={} ms", maxEntries, ttlMillis);
+    return new ResponseCache(new InMemoryResponseCacheStore(maxEntries), ttlMillis);
+  }
+
+  /**
+   * Returns the semantic response cache, or {@code null} when it is disabled. Lazily initialized on first access.
+   */
+  public SemanticResponseCache getSemanticResponseCache() {
+    if (!Boolean.TRUE.equals(semanticCacheEnabled)) {
+      return null;
+    }
+    SemanticResponseCache cache = semanticResponseCache;
+    if (cache == null) {
+      synchronized (this) {
+        cache = semanticResponseCache;
+        if (cache == null) {
+          double threshold = semanticCacheSimilarityThreshold != null ? semanticCacheSimilarityThreshold
+              : SEMANTIC_CACHE_DEFAULT_SIMILARITY_THRESHOLD;
+          int maxEntries = semanticCacheMaxEntries != null && semanticCacheMaxEntries > 0 ? semanticCacheMaxEntries
+              : RESPONSE_CACHE_DEFAULT_MAX_ENTRIES;
+          String model = semanticCacheEmbeddingModel != null ? semanticCacheEmbeddingModel
+              : SEMANTIC_CACHE_DEFAULT_EMBEDDING_MODEL;
+          cache = semanticResponseCache = new SemanticResponseCache(threshold, maxEntries, getResponseCacheTtlMillis(), model,
+                                                                    SEMANTIC_CACHE_EMBEDDING_DIMENSIONS);
+          logger.debug("Created semantic cache with threshold={}, maxEntries={} and embedding model {}", threshold, maxEntries,
+                       model);
+        }
+      }
+    }
+    return cache;
+  }
+
+  private long getResponseCacheTtlMillis() {
+    return responseCacheTtl != null && responseCacheTtl > 0
+        ? Math.max(1, (responseCacheTtlUnit != null ? responseCacheTtlUnit : TimeUnit.MINUTES).toMillis(responseCacheTtl))
+        : TimeUnit.MINUTES.toMillis(RESPONSE_CACHE_DEFAULT_TTL_MINUTES);
+  }
+
+  /**
+   * Returns the coalescer of identical in-flight model invocations, or {@code null} when coalescing is disabled.
+   */
+  public SingleFlight<InvokeModelRequest, InvokeModelResponse> getInvocationCoalescer() {
+    return Boolean.TRUE.equals(invocationCoalescingEnabled) ? invocationCoalescer : null;
+  }
+
+  public int getMaxConcurrentChatStreams() {
+    return CHAT_STREAMING_MAX_CONCURRENT_STREAMS;
+  }
+
+  public int getActiveChatStreams() {
+    return CHAT_STREAMING_MAX_CONCURRENT_STREAMS - chatStreamPermits.availablePermits();
+  }
+
+  public int getMaxConcurrentAgentStreams() {
+    return AGENT_STREAMING_MAX_CONCURRENT_STREAMS;
+  }
+
+  public int getActiveAgentStreams() {
+    return AGENT_STREAMING_MAX_CONCURRENT_STREAMS - agentStreamPermits.availablePermits();
+  }
+
   @Override
   public synchronized void dispose() {
     if (streamingScheduler != null) {
@@ -81,5 +362,12 @@ public class BedrockConfiguration implements ConnectorConfig, Disposable {
       streamingScheduler.stop();
       streamingScheduler = null;
     }
+    if (chatStreamingScheduler != null) {
+      logger.debug("Stopping bedrock-chat-streaming scheduler");
+      chatStreamingScheduler.stop();
+      chatStreamingScheduler = null;
+    }
+    responseCache = null;
+    semanticResponseCache = null;
   }
 }
@@ -1,16 +1,27 @@
 package com.mulesoft.connectors.bedrock.internal.connection;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.LongFunction;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import org.mule.connectors.commons.template.connection.ConnectorConnection;
+import com.mulesoft.connectors.bedrock.internal.connection.client.IdleTimeoutResponseHandler;
+import com.mulesoft.connectors.bedrock.internal.connection.client.LazyClient;
 import com.mulesoft.connectors.bedrock.internal.error.BedrockErrorType;
 import com.mulesoft.connectors.bedrock.internal.error.ErrorHandler;
 import org.mule.runtime.extension.api.exception.ModuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
 import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
 import software.amazon.awssdk.services.bedrock.model.GetFoundationModelRequest;
@@ -28,39 +39,54 @@ import software.amazon.awssdk.services.bedrockagent.model.ResourceNotFoundExcept
 import software.amazon.awssdk.services.bedrockagent.model.ThrottlingException;
 import software.amazon.awssdk.services.bedrockagent.model.ValidationException;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClientBuilder;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClient;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClientBuilder;
 import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentRequest;
+import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentResponse;
 import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentResponseHandler;
+import software.amazon.awssdk.services.bedrockagentruntime.model.ResponseStream;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClientBuilder;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClientBuilder;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamOutput;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamResponse;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamResponseHandler;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 import software.amazon.awssdk.services.iam.IamClient;
 import software.amazon.awssdk.services.iam.IamClientBuilder;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 public class BedrockConnection implements ConnectorConnection {
 
-  private static final String AGENT_RUNTIME_ASYNC_CLIENT_TYPE = "BedrockAgentRuntimeAsync";
-  private static final String RUNTIME_ASYNC_CLIENT_TYPE = "BedrockRuntimeAsync";
+  private static final Logger LOGGER = LoggerFactory.getLogger(BedrockConnection.class);
+
   private static final String INVALID_CREDENTIALS_MESSAGE = "Invalid credentials";
+  private static final String VALIDATION_MODEL_ID = "amazon.titan-embed-text-v1";
 
   private final String region;
-  private final BedrockRuntimeClient bedrockRuntimeClient;
-  private final BedrockClient bedrockClient;
-  private final BedrockAgentClient bedrockAgentClient;
-  private final BedrockAgentRuntimeClient bedrockAgentRuntimeClient;
-  private final IamClient iamClient;
+  private final LazyClient<BedrockRuntimeClient> bedrockRuntimeClient;
+  private final LazyClient<BedrockClient> bedrockClient;
+  private final LazyClient<BedrockAgentClient> bedrockAgentClient;
+  private final LazyClient<BedrockAgentRuntimeClient> bedrockAgentRuntimeClient;
+  private final LazyClient<IamClient> iamClient;
   private final int connectionTimeoutMs;
-  private final ConcurrentHashMap<String, BedrockAgentRuntimeAsyncClient> agentRuntimeAsyncClients =
-      new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<String, BedrockRuntimeAsyncClient> runtimeAsyncClients =
-      new ConcurrentHashMap<>();
-  private final LongFunction<BedrockAgentRuntimeAsyncClient> agentRuntimeAsyncClientFactory;
-  private final LongFunction<BedrockRuntimeAsyncClient> runtimeAsyncClientFactory;
+  private final LazyClient<BedrockAgentRuntimeAsyncClient> bedrockAgentRuntimeAsyncClient;
+  private final LazyClient<BedrockRuntimeAsyncClient> bedrockRuntimeAsyncClient;
+  private final SdkHttpClient httpClient;
+  private final SdkAsyncHttpClient asyncHttpClient;
+  private final SdkEventLoopGroup eventLoopGroup;
+  private final CompletableFuture<Void> asyncCallsDrained = new CompletableFuture<>();
+  private int inFlightAsyncCalls;
+  private boolean asyncClosed;
+  private final Map<String, SdkAutoCloseable> resources = new ConcurrentHashMap<>();
+  private volatile Future<?> keepAliveTask;
+  private volatile RegionalRuntimeRouter runtimeRouter;
+  private volatile String validationCacheKey;
+  private volatile long validationCacheTtlMs;
 
   public BedrockConnection(String region,
                            BedrockRuntimeClientBuilder bedrockRuntimeClientBuilder,
@@ -69,66 +95,58 @@ public class BedrockConnection implements ConnectorConnection {
                            BedrockAgentRuntimeClientBuilder bedrockAgentRuntimeClientBuilder,
                            IamClientBuilder iamClientBuilder,
                            int connectionTimeoutMs,
-                           LongFunction<BedrockAgentRuntimeAsyncClient> agentRuntimeAsyncClientFactory,
-                           LongFunction<BedrockRuntimeAsyncClient> runtimeAsyncClientFactory) {
+                           BedrockAgentRuntimeAsyncClientBuilder bedrockAgentRuntimeAsyncClientBuilder,
+                           BedrockRuntimeAsyncClientBuilder bedrockRuntimeAsyncClientBuilder,
+                           SdkHttpClient httpClient,
+                           SdkAsyncHttpClient asyncHttpClient,
+                           SdkEventLoopGroup eventLoopGroup) {
     this.region = region;
-    this.bedrockRuntimeClient = bedrockRuntimeClientBuilder.build();
-    this.bedrockClient = bedrockClientBuilder.build();
-    this.bedrockAgentClient = bedrockAgentClientBuilder.build();
-    this.bedrockAgentRuntimeClient = bedrockAgentRuntimeClientBuilder.build();
-    this.iamClient = iamClientBuilder.build();
+    // Service clients are built on first use: a flow that only calls the runtime never builds the other four
+    this.bedrockRuntimeClient = new LazyClient<>("BedrockRuntime", bedrockRuntimeClientBuilder::build);
+    this.bedrockClient = new LazyClient<>("Bedrock", bedrockClientBuilder::build);
+    this.bedrockAgentClient = new LazyClient<>("BedrockAgent", bedrockAgentClientBuilder::build);
+    this.bedrockAgentRuntimeClient = new LazyClient<>("BedrockAgentRuntime", bedrockAgentRuntimeClientBuilder::build);
+    this.iamClient = new LazyClient<>("Iam", iamClientBuilder::build);
     this.connectionTimeoutMs = connectionTimeoutMs;
-    this.agentRuntimeAsyncClientFactory = agentRuntimeAsyncClientFactory;
-    this.runtimeAsyncClientFactory = runtimeAsyncClientFactory;
+    // Both async service clients run on the one async HTTP client of the connection, so they share its connection pool
+    this.bedrockAgentRuntimeAsyncClient =
+        new LazyClient<>("BedrockAgentRuntimeAsync", bedrockAgentRuntimeAsyncClientBuilder::build);
+    this.bedrockRuntimeAsyncClient = new LazyClient<>("BedrockRuntimeAsync", bedrockRuntimeAsyncClientBuilder::build);
+    this.httpClient = httpClient;
+    this.asyncHttpClient = asyncHttpClient;
+    this.eventLoopGroup = eventLoopGroup;
   }
 
   /**
-   * Returns the connection-level timeout in milliseconds (used for SdkAsyncHttpClient and as fallback when no operation-level
-   * timeout is provided).
+   * Returns the connection-level timeout in milliseconds (the idle timeout of event streams and the fallback when no
+   * operation-level timeout is provided).
    */
   public int getConnectionTimeoutMs() {
     return connectionTimeoutMs;
   }
 
-  /**
-   * Builds a cache key that includes client type and effective timeout so clients with different timeouts are cached separately
-   * (whether timeout is from operation-level or connection-level).
-   */
-  private static String buildCacheKey(String clientType, long effectiveTimeoutMs) {
-    return clientType + ":" + effectiveTimeoutMs;
+  public BedrockAgentRuntimeAsyncClient getBedrockAgentRuntimeAsyncClient() {
+    return bedrockAgentRuntimeAsyncClient.get();
   }
 
   /**
-   * If cache key is already in the cache, returns that instance. Otherwise creates the client once via {@code clientSupplier},
-   * stores it in the cache, and returns the new instance.
-   */
-  private static <T> T getOrCreateClient(java.util.Map<String, T> clients, String cacheKey,
-                                         Supplier<T> clientSupplier) {
-    return (T) clients.computeIfAbsent(cacheKey, k -> clientSupplier.get());
-  }
-
-  /**
-   * Returns a cached or newly created BedrockAgentRuntimeAsyncClient for the given effective timeout (ms). Effective timeout
-   * should be operation-level when available, otherwise connection-level.
+   * Returns the BedrockAgentRuntimeAsyncClient of this connection. Every timeout shares it: timeouts are applied per call (see
+   * {@link #invokeAgent(InvokeAgentRequest, InvokeAgentResponseHandler, long)}), not per client.
    */
   public BedrockAgentRuntimeAsyncClient getOrCreateBedrockAgentRuntimeAsyncClient(long effectiveTimeoutMs) {
-    String cacheKey = buildCacheKey(AGENT_RUNTIME_ASYNC_CLIENT_TYPE, effectiveTimeoutMs);
-    return getOrCreateClient(agentRuntimeAsyncClients, cacheKey,
-                             () -> agentRuntimeAsyncClientFactory.apply(effectiveTimeoutMs));
+    return getBedrockAgentRuntimeAsyncClient();
   }
 
   public BedrockRuntimeAsyncClient getBedrockRuntimeAsyncClient() {
-    return getOrCreateBedrockRuntimeAsyncClient(connectionTimeoutMs);
+    return bedrockRuntimeAsyncClient.get();
   }
 
   /**
-   * Returns a cached or newly created BedrockRuntimeAsyncClient for the given effective timeout (ms). Effective timeout should be
-   * operation-level when available, otherwise connection-level.
+   * Returns the BedrockRuntimeAsyncClient of this connection. Every timeout shares it: timeouts are applied per call, not per
+   * client.
    */
   public BedrockRuntimeAsyncClient getOrCreateBedrockRuntimeAsyncClient(long effectiveTimeoutMs) {
-    String cacheKey = buildCacheKey(RUNTIME_ASYNC_CLIENT_TYPE, effectiveTimeoutMs);
-    return getOrCreateClient(runtimeAsyncClients, cacheKey,
-                             () -> runtimeAsyncClientFactory.apply(effectiveTimeoutMs));
+    return getBedrockRuntimeAsyncClient();
   }
 
   public String getRegion() {
@@ -136,23 +154,42 @@ public class BedrockConnection implements ConnectorConnection {
   }
 
   public BedrockRuntimeClient getBedrockRuntimeClient() {
-    return bedrockRuntimeClient;
+    return bedrockRuntimeClient.get();
   }
 
   public BedrockClient getBedrockClient() {
-    return bedrockClient;
+    return bedrockClient.get();
   }
 
   public BedrockAgentClient getBedrockAgentClient() {
-    return bedrockAgentClient;
+    return bedrockAgentClient.get();
+  }
+
+  public BedrockAgentRuntimeClient getBedrockAgentRuntimeClient() {
+    return bedrockAgentRuntimeClient.get();
   }
 
   public IamClient getIamClient() {
-    return iamClient;
+    return iamClient.get();
+  }
+
+  /**
+   * Returns the time (ms) spent building each sync service client that has been used so far, keyed by client name. Clients that
+   * were never used are not built and therefore not reported.
+   */
+  public Map<String, Long> getClientBuildTimesMs() {
+    Map<String, Long> buildTimes = new LinkedHashMap<>();
+    for (LazyClient<?> client : Arrays.asList(bedrockRuntimeClient, bedrockClient, bedrockAgentClient,
+                                              bedrockAgentRuntimeClient, iamClient)) {
+      if (client.isInitialized()) {
+        buildTimes.put(client.getName(), client.getBuildTimeMs());
+      }
+    }
+    return buildTimes;
   }
 
   public InvokeModelResponse answerPrompt(InvokeModelRequest invokeModelRequest) {
-    return getBedrockRuntimeClient().invokeModel(invokeModelRequest);
+    return invokeModel(invokeModelRequest);
   }
 
   public GetFoundationModelResponse getFoundationModel(GetFoundationModelRequest foundationModelRequest) {
@@ -164,18 +201,110 @@ public class BedrockConnection implements ConnectorConnection {
     });
   }
 
+  /**
+   * Enables multi-region routing of model invocations across this connection's region and the given failover regions.
+   *
+   * @param failoverClients runtime client suppliers per failover region, in configured order; clients are built on first use
+   */
+  public void configureFailoverRegions(Map<String, Supplier<BedrockRuntimeClient>> failoverClients) {
+    this.runtimeRouter = failoverClients.isEmpty() ? null
+        : new RegionalRuntimeRouter(region, bedrockRuntimeClient, failoverClients);
+  }
+
+  /**
+   * Registers the periodic keep-alive task of this connection so that it is cancelled on {@link #disconnect()}.
+   */
+  public void setKeepAliveTask(Future<?> keepAliveTask) {
+    this.keepAliveTask = keepAliveTask;
+  }
+
+  /**
+   * Registers a resource owned by this connection (e.g. a refreshing credentials provider) so that it is closed on
+   * {@link #disconnect()}.
+   */
+  public void registerResource(String name, SdkAutoCloseable resource) {
+    resources.put(name, resource);
+  }
+
+  /**
+   * Closes every client of this connection that was built. The async service clients, the async HTTP client they share and its
+   * event loop group are closed once the async calls in flight have completed.
+   */
   @Override
   public void disconnect() {
-    // Default method
-    // no need of any implementation
+    Future<?> keepAlive = keepAliveTask;
+    if (keepAlive != null) {
+      keepAlive.cancel(false);
+    }
+    RegionalRuntimeRouter router = runtimeRouter;
+    if (router != null) {
+      router.close();
+    }
+    bedrockRuntimeClient.close();
+    bedrockClient.close();
+    bedrockAgentClient.close();
+    bedrockAgentRuntimeClient.close();
+    iamClient.close();
+    closeQuietly("SdkHttpClient", httpClient);
+    resources.forEach(BedrockConnection::closeQuietly);
+    synchronized (this) {
+      asyncClosed = true;
+      if (inFlightAsyncCalls == 0) {
+        asyncCallsDrained.complete(null);
+      }
+    }
+    asyncCallsDrained.thenRun(this::closeAsyncClients);
+  }
 
+  private void closeAsyncClients() {
+    bedrockAgentRuntimeAsyncClient.close();
+    bedrockRuntimeAsyncClient.close();
+    closeQuietly("SdkAsyncHttpClient", asyncHttpClient);
+    eventLoopGroup.eventLoopGroup().shutdownGracefully();
   }
 
+  private static void closeQuietly(String clientName, SdkAutoCloseable client) {
+    if (client == null) {
+      return;
+    }
+    try {
+      client.close();
+    } catch (RuntimeException e) {
+      LOGGER.debug("Error closing {} client: {}", clientName, e.getMessage());
+    }
+  }
+
+  /**
+   * Enables caching of successful validations under the given key (see {@link ValidationCache}) for {@code ttlMs}.
+   */
+  public void configureValidationCache(String validationCacheKey, long ttlMs) {
+    this.validationCacheKey = validationCacheKey;
+    this.validationCacheTtlMs = ttlMs;
+  }
+
+  /**
+   * Validates the connection with a single-model {@code GetFoundationModel} call instead of listing the whole catalogue. A model
+   * that is not offered in the region (404) still proves that the request was authenticated and authorized, so it counts as
+   * valid. Successful validations are cached when {@link #configureValidationCache(String, long)} was called.
+   */
   @Override
   public void validate() {
+    String cacheKey = validationCacheKey;
+    boolean cacheEnabled = cacheKey != null && validationCacheTtlMs > 0;
+    if (cacheEnabled && ValidationCache.isValid(cacheKey, System.currentTimeMillis())) {
+      return;
+    }
+    validateWithService();
+    if (cacheEnabled) {
+      ValidationCache.markValid(cacheKey, validationCacheTtlMs, System.currentTimeMillis());
+    }
+  }
+
+  private void validateWithService() {
     try {
-      getBedrockClient().listFoundationModels(r -> {
-      });
+      getBedrockClient().getFoundationModel(r -> r.modelIdentifier(VALIDATION_MODEL_ID));
+    } catch (software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException e) {
+      LOGGER.debug("Validation model {} is not available in region {}, credentials are valid", VALIDATION_MODEL_ID, region);
     } catch (software.amazon.awssdk.services.bedrock.model.BedrockException e) {
       handleBedrockException(e);
     } catch (AccessDeniedException e) {
@@ -238,19 +367,83 @@ public class BedrockConnection implements ConnectorConnection {
   }
 
   /**
-   * Invokes the agent using a client cached for the given effective timeout (operation-level if provided, otherwise
-   * connection-level).
+   * Invokes the agent. The call fails when no event arrives for {@code effectiveTimeoutMs} (operation-level if provided,
+   * otherwise connection-level); a limit on the whole call is set on the request itself, as its {@code apiCallTimeout}.
    */
   public CompletableFuture<Void> invokeAgent(InvokeAgentRequest request, InvokeAgentResponseHandler handler,
                                              long effectiveTimeoutMs) {
-    return getOrCreateBedrockAgentRuntimeAsyncClient(effectiveTimeoutMs).invokeAgent(request, handler);
+    IdleTimeoutAgentHandler idleTimeoutHandler = new IdleTimeoutAgentHandler(handler, idleTimer(), effectiveTimeoutMs);
+    return executeAsync(() -> idleTimeoutHandler
+        .watch(getBedrockAgentRuntimeAsyncClient().invokeAgent(request, idleTimeoutHandler)));
   }
 
+  /**
+   * Invokes the model in the connection region or, when failover regions are configured, in the best performing region.
+   */
   public InvokeModelResponse invokeModel(InvokeModelRequest request) {
-    return getBedrockRuntimeClient().invokeModel(request);
+    RegionalRuntimeRouter router = runtimeRouter;
+    return router != null ? router.invokeModel(request) : getBedrockRuntimeClient().invokeModel(request);
   }
 
+  /**
+   * Starts a ConverseStream call. The call fails when no event arrives for the connection timeout, but a stream that keeps
+   * receiving events is never cut.
+   */
   public CompletableFuture<Void> answerPromptStreaming(ConverseStreamRequest request, ConverseStreamResponseHandler handler) {
-    return getBedrockRuntimeAsyncClient().converseStream(request, handler);
+    IdleTimeoutConverseStreamHandler idleTimeoutHandler =
+        new IdleTimeoutConverseStreamHandler(handler, idleTimer(), connectionTimeoutMs);
+    return executeAsync(() -> idleTimeoutHandler
+        .watch(getBedrockRuntimeAsyncClient().converseStream(request, idleTimeoutHandler)));
+  }
+
+  private ScheduledExecutorService idleTimer() {
+    return eventLoopGroup.eventLoopGroup();
+  }
+
+  /**
+   * Starts an async call and counts it as in flight until its future completes, so that {@link #disconnect()} does not close the
+   * async clients under it.
+   */
+  private CompletableFuture<Void> executeAsync(Supplier<CompletableFuture<Void>> call) {
+    synchronized (this) {
+      if (asyncClosed) {
+        throw new IllegalStateException("Connection is closed");
+      }
+      inFlightAsyncCalls++;
+    }
+    CompletableFuture<Void> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      asyncCallEnded();
+      throw e;
+    }
+    future.whenComplete((result, throwable) -> asyncCallEnded());
+    return future;
+  }
+
+  private synchronized void asyncCallEnded() {
+    inFlightAsyncCalls--;
+    if (asyncClosed && inFlightAsyncCalls == 0) {
+      asyncCallsDrained.complete(null);
+    }
+  }
+
+  private static final class IdleTimeoutAgentHandler extends IdleTimeoutResponseHandler<InvokeAgentResponse, ResponseStream>
+      implements InvokeAgentResponseHandler {
+
+    private IdleTimeoutAgentHandler(InvokeAgentResponseHandler delegate, ScheduledExecutorService timer, long timeoutMs) {
+      super(delegate, timer, timeoutMs);
+    }
+  }
+
+  private static final class IdleTimeoutConverseStreamHandler
+      extends IdleTimeoutResponseHandler<ConverseStreamResponse, ConverseStreamOutput>
+      implements ConverseStreamResponseHandler {
+
+    private IdleTimeoutConverseStreamHandler(ConverseStreamResponseHandler delegate, ScheduledExecutorService timer,
+                                             long timeoutMs) {
+      super(delegate, timer, timeoutMs);
+    }
   }
 }
@@ -0,0 +1,94 @@
+package com.mulesoft.connectors.bedrock.internal.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-warms the pooled connections of a {@link BedrockConnection} so that the first real request does not pay for DNS, TCP, the
+ * TLS handshake and the SDK's lazy initialization of signers and endpoint resolution. Each ping is a cheap signed list call with
+ * a page size of one; its result (including access denied) is ignored, since only the side effect of opening and priming the
+ * connection matters.
+ */
+public class ConnectionWarmer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+  private final BedrockConnection connection;
+  private final ScheduledExecutorService scheduler;
+
+  public ConnectionWarmer(BedrockConnection connection, ScheduledExecutorService scheduler) {
+    this.connection = connection;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Opens up to {@code connections} concurrent connections to the runtime endpoint (sync and async pools) and to the agent
+   * runtime endpoint (async pool). Waits at most the connection timeout; warm-up is best effort and never fails the caller.
+   */
+  public void warmUp(int connections) {
+    if (connections <= 0) {
+      return;
+    }
+    long start = System.nanoTime();
+    List<CompletableFuture<Void>> pings = new ArrayList<>();
+    for (int i = 0; i < connections; i++) {
+      pings.add(CompletableFuture.runAsync(this::pingRuntime, scheduler));
+      pings.add(ping("BedrockRuntimeAsync", () -> connection.getBedrockRuntimeAsyncClient()
+          .listAsyncInvokes(r -> r.maxResults(1))));
+      pings.add(ping("BedrockAgentRuntimeAsync", () -> connection
+          .getOrCreateBedrockAgentRuntimeAsyncClient(connection.getConnectionTimeoutMs())
+          .listSessions(r -> r.maxResults(1))));
+    }
+    try {
+      CompletableFuture.allOf(pings.toArray(new CompletableFuture[0]))
+          .get(connection.getConnectionTimeoutMs(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      LOGGER.debug("Connection warm-up did not complete: {}", e.toString());
+    }
+    LOGGER.debug("Warmed up {} connection(s) per endpoint in {}ms", connections,
+                 TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * Re-runs {@link #warmUp(int)} every {@code periodMs} so that pooled connections are not reaped as idle during quiet periods.
+   * The returned task must be cancelled when the connection is closed.
+   */
+  public ScheduledFuture<?> scheduleKeepAlive(int connections, long periodMs) {
+    return scheduler.scheduleWithFixedDelay(() -> warmUp(connections), periodMs, periodMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void pingRuntime() {
+    try {
+      connection.getBedrockRuntimeClient().listAsyncInvokes(r -> r.maxResults(1));
+    } catch (RuntimeException e) {
+      LOGGER.trace("BedrockRuntime warm-up ping failed: {}", e.getMessage());
+    }
+  }
+
+  private CompletableFuture<Void> ping(String clientName, Supplier<CompletableFuture<?>> call) {
+    CompletableFuture<?> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      LOGGER.trace("{} warm-up ping failed: {}", clientName, e.getMessage());
+      return CompletableFuture.completedFuture(null);
+    }
+    return future.handle((result, throwable) -> {
+      if (throwable != null) {
+        LOGGER.trace("{} warm-up ping failed: {}", clientName, throwable.getMessage());
+      }
+      return null;
+    });
+  }
+}
@@ -0,0 +1,146 @@
+package com.mulesoft.connectors.bedrock.internal.connection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import com.mulesoft.connectors.bedrock.internal.connection.client.LazyClient;
+import com.mulesoft.connectors.bedrock.internal.util.ModelIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+
+/**
+ * Routes runtime invocations across the primary region and the configured failover regions. Each request goes to the region
+ * with the best score (recent latency plus a penalty for recent throttling and 5xx errors) and fails over to the next region on
+ * throttling or a 5xx response. Regions that have not served a request yet are only used on failover, so traffic stays in the
+ * primary region until it degrades. Inference profile ARNs are rebuilt for the target region.
+ */
+public class RegionalRuntimeRouter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RegionalRuntimeRouter.class);
+
+  private static final double EWMA_WEIGHT = 0.2;
+  private static final double ERROR_PENALTY_MS = 30_000;
+  private static final long ERROR_DECAY_MS = TimeUnit.SECONDS.toMillis(30);
+
+  private final List<RegionalClient> regions = new ArrayList<>();
+  private final LongSupplier clock;
+
+  /**
+   * @param primaryRegion the connection region
+   * @param primaryClient the runtime client of the connection region (owned by the connection)
+   * @param failoverClients runtime client suppliers of the failover regions, in configured order (owned by this router)
+   */
+  public RegionalRuntimeRouter(String primaryRegion, LazyClient<BedrockRuntimeClient> primaryClient,
+                               Map<String, Supplier<BedrockRuntimeClient>> failoverClients) {
+    this(primaryRegion, primaryClient, failoverClients, System::currentTimeMillis);
+  }
+
+  RegionalRuntimeRouter(String primaryRegion, LazyClient<BedrockRuntimeClient> primaryClient,
+                        Map<String, Supplier<BedrockRuntimeClient>> failoverClients, LongSupplier clock) {
+    this.clock = clock;
+    regions.add(new RegionalClient(primaryRegion, primaryClient, false));
+    failoverClients.forEach((region, supplier) -> regions
+        .add(new RegionalClient(region, new LazyClient<>("BedrockRuntime[" + region + "]", supplier), true)));
+  }
+
+  public InvokeModelResponse invokeModel(InvokeModelRequest request) {
+    SdkServiceException lastFailure = null;
+    for (RegionalClient regional : rankedRegions()) {
+      InvokeModelRequest regionalRequest = request.toBuilder()
+          .modelId(ModelIdentifier.rebuildInferenceProfileArnForRegion(request.modelId(), regional.region))
+          .build();
+      long start = System.nanoTime();
+      try {
+        InvokeModelResponse response = regional.client.get().invokeModel(regionalRequest);
+        regional.record(elapsedMs(start), false, clock.getAsLong());
+        return response;
+      } catch (SdkServiceException e) {
+        if (!isFailoverError(e)) {
+          regional.record(elapsedMs(start), false, clock.getAsLong());
+          throw e;
+        }
+        regional.record(elapsedMs(start), true, clock.getAsLong());
+        LOGGER.warn("Region {} failed with status {}, failing over: {}", regional.region, e.statusCode(), e.getMessage());
+        lastFailure = e;
+      }
+    }
+    throw lastFailure;
+  }
+
+  /**
+   * Returns the regions in the order they would be tried for the next request.
+   */
+  public List<String> getRegionOrder() {
+    List<String> order = new ArrayList<>();
+    rankedRegions().forEach(regional -> order.add(regional.region));
+    return order;
+  }
+
+  /**
+   * Closes the failover clients that were built; the primary client is closed by the connection.
+   */
+  public void close() {
+    regions.stream().filter(regional -> regional.owned).forEach(regional -> regional.client.close());
+  }
+
+  static boolean isFailoverError(SdkServiceException e) {
+    return e instanceof software.amazon.awssdk.services.bedrockruntime.model.ThrottlingException
+        || e.isThrottlingException()
+        || e.statusCode() >= 500;
+  }
+
+  private List<RegionalClient> rankedRegions() {
+    long now = clock.getAsLong();
+    List<RegionalClient> ranked = new ArrayList<>(regions);
+    // Stable sort: regions with equal scores (e.g. never used) keep their configured order
+    ranked.sort(Comparator.comparingDouble(regional -> regional.score(now)));
+    return ranked;
+  }
+
+  private static long elapsedMs(long startNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  private static final class RegionalClient {
+
+    private final String region;
+    private final LazyClient<BedrockRuntimeClient> client;
+    private final boolean owned;
+    private boolean measured;
+    private double latencyMs;
+    private double errorRate;
+    private long lastErrorUpdateMs;
+
+    private RegionalClient(String region, LazyClient<BedrockRuntimeClient> client, boolean owned) {
+      this.region = region;
+      this.client = client;
+      this.owned = owned;
+    }
+
+    private synchronized void record(long elapsedMs, boolean failed, long now) {
+      latencyMs = measured ? latencyMs + EWMA_WEIGHT * (elapsedMs - latencyMs) : elapsedMs;
+      measured = true;
+      errorRate = decayedErrorRate(now) + EWMA_WEIGHT * ((failed ? 1 : 0) - decayedErrorRate(now));
+      lastErrorUpdateMs = now;
+    }
+
+    private synchronized double score(long now) {
+      if (!measured) {
+        return Double.MAX_VALUE;
+      }
+      return latencyMs + ERROR_PENALTY_MS * decayedErrorRate(now);
+    }
+
+    private double decayedErrorRate(long now) {
+      return errorRate * Math.exp(-(double) (now - lastErrorUpdateMs) / ERROR_DECAY_MS);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.mulesoft.connectors.bedrock.internal.connection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of successful connection validations, keyed per connection provider, i.e. per configuration. Mule validates
+ * pooled connections often; a cached success lets every connection of the same configuration skip the control-plane call until
+ * the entry expires. Configurations are never keyed together, since any of their proxy, TLS or endpoint settings can make the
+ * same credentials fail.
+ */
+public final class ValidationCache {
+
+  private static final int PURGE_THRESHOLD = 64;
+  private static final Map<String, Long> VALID_UNTIL = new ConcurrentHashMap<>();
+
+  private ValidationCache() {}
+
+  public static boolean isValid(String key, long nowMs) {
+    Long validUntil = VALID_UNTIL.get(key);
+    return validUntil != null && validUntil > nowMs;
+  }
+
+  public static void markValid(String key, long ttlMs, long nowMs) {
+    if (VALID_UNTIL.size() >= PURGE_THRESHOLD) {
+      VALID_UNTIL.values().removeIf(validUntil -> validUntil <= nowMs);
+    }
+    VALID_UNTIL.put(key, nowMs + ttlMs);
+  }
+
+  public static void invalidate(String key) {
+    VALID_UNTIL.remove(key);
+  }
+
+  static void clear() {
+    VALID_UNTIL.clear();
+  }
+}
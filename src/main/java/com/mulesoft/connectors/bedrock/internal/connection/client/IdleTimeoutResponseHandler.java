@@ -0,0 +1,114 @@
+package com.mulesoft.connectors.bedrock.internal.connection.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import software.amazon.awssdk.awscore.eventstream.EventStreamResponseHandler;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * Event-stream response handler that fails its call when nothing is received for longer than the idle timeout. It takes the
+ * place of the Netty read timeout, which is disabled because every call of a connection shares one async HTTP client: the timer
+ * restarts with the response and every event, so a stream that keeps receiving events is never cut however long it lasts.
+ * <p>
+ * When the timer expires, the delegate gets an {@link SdkClientException} through {@link #exceptionOccurred(Throwable)} and the
+ * future of the call is completed with it, which aborts the request. The delegate receives exactly one of
+ * {@link #exceptionOccurred(Throwable)} and {@link #complete()}.
+ *
+ * @param <ResponseT> the initial response type
+ * @param <EventT> the event type
+ */
+public class IdleTimeoutResponseHandler<ResponseT, EventT> implements EventStreamResponseHandler<ResponseT, EventT> {
+
+  private final EventStreamResponseHandler<ResponseT, EventT> delegate;
+  private final ScheduledExecutorService timer;
+  private final long timeoutNanos;
+  private final AtomicBoolean ended = new AtomicBoolean();
+  private volatile long lastActivityNanos;
+  private volatile CompletableFuture<Void> call;
+  private volatile ScheduledFuture<?> idleCheck;
+
+  protected IdleTimeoutResponseHandler(EventStreamResponseHandler<ResponseT, EventT> delegate, ScheduledExecutorService timer,
+                                       long timeoutMs) {
+    this.delegate = delegate;
+    this.timer = timer;
+    this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+  }
+
+  /**
+   * Starts the idle timer of the call this handler was passed to and returns the call's future. The timer stops when the call
+   * completes.
+   */
+  public CompletableFuture<Void> watch(CompletableFuture<Void> callFuture) {
+    this.call = callFuture;
+    lastActivityNanos = System.nanoTime();
+    schedule(timeoutNanos);
+    callFuture.whenComplete((result, throwable) -> {
+      ScheduledFuture<?> check = idleCheck;
+      if (check != null) {
+        check.cancel(false);
+      }
+    });
+    return callFuture;
+  }
+
+  private void schedule(long delayNanos) {
+    if (!ended.get() && !call.isDone()) {
+      idleCheck = timer.schedule(this::checkIdle, delayNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Expires the call if it has been idle for the whole timeout, or checks again when the timeout measured from its last activity
+   * has elapsed. The timer is not rescheduled on every event, only once per timeout period.
+   */
+  private void checkIdle() {
+    long idleNanos = System.nanoTime() - lastActivityNanos;
+    if (idleNanos < timeoutNanos) {
+      schedule(timeoutNanos - idleNanos);
+      return;
+    }
+    if (call.isDone() || !ended.compareAndSet(false, true)) {
+      return;
+    }
+    SdkClientException error = SdkClientException.create("No response received within the idle timeout of "
+        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+    delegate.exceptionOccurred(error);
+    call.completeExceptionally(error);
+  }
+
+  private void touch() {
+    lastActivityNanos = System.nanoTime();
+  }
+
+  @Override
+  public void responseReceived(ResponseT response) {
+    touch();
+    delegate.responseReceived(response);
+  }
+
+  @Override
+  public void onEventStream(SdkPublisher<EventT> publisher) {
+    delegate.onEventStream(publisher.map(event -> {
+      touch();
+      return event;
+    }));
+  }
+
+  @Override
+  public void exceptionOccurred(Throwable throwable) {
+    if (ended.compareAndSet(false, true)) {
+      delegate.exceptionOccurred(throwable);
+    }
+  }
+
+  @Override
+  public void complete() {
+    if (ended.compareAndSet(false, true)) {
+      delegate.complete();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.mulesoft.connectors.bedrock.internal.connection.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Memoized holder that builds an SDK client on first use and records how long the build took, so a connection only pays for the
+ * clients its flows actually use.
+ *
+ * @param <C> the SDK client type
+ */
+public class LazyClient<C extends SdkAutoCloseable> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazyClient.class);
+
+  private final String name;
+  private final Supplier<C> clientSupplier;
+  private volatile C client;
+  private volatile long buildTimeMs = -1;
+  private volatile boolean closed;
+
+  public LazyClient(String name, Supplier<C> clientSupplier) {
+    this.name = name;
+    this.clientSupplier = clientSupplier;
+  }
+
+  /**
+   * Returns the client, building it on the first call.
+   *
+   * @throws IllegalStateException if the holder was closed, whether or not the client had been built
+   */
+  public C get() {
+    C current = client;
+    if (current == null || closed) {
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException(name + " client is closed");
+        }
+        current = client;
+        if (current == null) {
+          long start = System.nanoTime();
+          current = clientSupplier.get();
+          buildTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          client = current;
+          LOGGER.debug("Built {} client in {}ms", name, buildTimeMs);
+        }
+      }
+    }
+    return current;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public boolean isInitialized() {
+    return client != null;
+  }
+
+  /**
+   * Returns the time spent building the client in milliseconds, or {@code -1} if it has not been built.
+   */
+  public long getBuildTimeMs() {
+    return buildTimeMs;
+  }
+
+  /**
+   * Closes the client if it was built; a client that was never used is never built.
+   */
+  public synchronized void close() {
+    closed = true;
+    if (client != null) {
+      try {
+        client.close();
+      } catch (RuntimeException e) {
+        LOGGER.debug("Error closing {} client: {}", name, e.getMessage());
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.mulesoft.connectors.bedrock.internal.connection.client;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URI;
@@ -9,18 +10,28 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.time.Duration;
+import java.util.Objects;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslProvider;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import com.mulesoft.connectors.bedrock.internal.connection.parameters.CommonParameters;
 import com.mulesoft.connectors.bedrock.api.parameter.ProxyParameterGroup;
 import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.api.tls.TlsContextTrustStoreConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.http.Protocol;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.http.apache.ProxyConfiguration;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.Http2Configuration;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 
 public class SdkHttpClientFactory {
 
@@ -28,15 +39,25 @@ public class SdkHttpClientFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SdkHttpClientFactory.class);
 
+  private TlsContextFactory cachedSslContextSource;
+  private SSLContext cachedSslContext;
+  private String cachedTrustStoreKey;
+  private TrustManager[] cachedTrustManagers;
 
   public SdkHttpClientFactory(ProxyParameterGroup proxyParameterGroup) {
     this.proxyParameterGroup = proxyParameterGroup;
   }
 
+  /**
+   * Builds the pooled sync HTTP client of a connection. A single instance is shared by every sync service client of the
+   * connection, so its pool settings ({@code maxConnections}, idle reaping, time to live, acquisition timeout and TCP keep-alive)
+   * bound the total number of sockets the connection opens.
+   */
   public SdkHttpClient buildHttpClient(CommonParameters commonParameters) throws ConnectionException {
     ApacheHttpClient.Builder clientBuilder = ApacheHttpClient.builder();
     proxyConfiguration(clientBuilder);
     tlsConfiguration(clientBuilder, commonParameters);
+    connectionPoolConfiguration(clientBuilder, commonParameters);
     clientBuilder.connectionTimeout(Duration.ofMillis(commonParameters.getConnectionTimeout()));
     clientBuilder.socketTimeout(Duration.ofMillis(commonParameters.getSocketTimeout()));
     return clientBuilder.build();
@@ -46,7 +67,7 @@ public class SdkHttpClientFactory {
       throws ConnectionException {
     if (commonParameters.getTlsContext() != null) {
       try {
-        clientBuilder.socketFactory(new SSLConnectionSocketFactory(commonParameters.getTlsContext().createSslContext()));
+        clientBuilder.socketFactory(new SSLConnectionSocketFactory(sslContext(commonParameters.getTlsContext())));
       } catch (KeyManagementException | NoSuchAlgorithmException e) {
         LOGGER.info("SSL/TLS configuration error: " + e.getMessage());
         throw new ConnectionException("SSL/TLS configuration error", e);
@@ -54,26 +75,130 @@ public class SdkHttpClientFactory {
     }
   }
 
+  /**
+   * Returns the SSL context of the given TLS context factory, created once and reused by every client this factory builds for the
+   * same TLS configuration.
+   */
+  private synchronized SSLContext sslContext(TlsContextFactory tlsContext)
+      throws KeyManagementException, NoSuchAlgorithmException {
+    if (cachedSslContext == null || cachedSslContextSource != tlsContext) {
+      cachedSslContext = tlsContext.createSslContext();
+      cachedSslContextSource = tlsContext;
+    }
+    return cachedSslContext;
+  }
+
   private void tlsConfiguration(NettyNioAsyncHttpClient.Builder clientBuilder, CommonParameters commonParameters)
       throws ConnectionException {
     if (commonParameters.getTlsContext() != null) {
       try {
-        String keyType = commonParameters.getTlsContext().getTrustStoreConfiguration().getType();
-        String keyPath = commonParameters.getTlsContext().getTrustStoreConfiguration().getPath();
-        String keyPassword = commonParameters.getTlsContext().getTrustStoreConfiguration().getPassword();
-        KeyStore trustStore = KeyStore.getInstance(keyType);
-        try (FileInputStream fis = new FileInputStream(keyPath)) {
-          trustStore.load(fis, keyPassword != null ? keyPassword.toCharArray() : null);
-        }
-        TrustManagerFactory trustManagerFactory = TrustManagerFactory
-            .getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        trustManagerFactory.init(trustStore);
-        clientBuilder.tlsTrustManagersProvider(trustManagerFactory::getTrustManagers);
+        TrustManager[] trustManagers = trustManagers(commonParameters.getTlsContext().getTrustStoreConfiguration());
+        clientBuilder.tlsTrustManagersProvider(() -> trustManagers);
       } catch (KeyStoreException | IOException | NoSuchAlgorithmException | CertificateException e) {
         LOGGER.info("TLS configuration error: " + e.getMessage());
         throw new ConnectionException("TLS configuration error", e);
       }
     }
+    if (Boolean.TRUE.equals(commonParameters.getUseOpenSsl())) {
+      if (OpenSsl.isAvailable()) {
+        clientBuilder.sslProvider(SslProvider.OPENSSL);
+      } else {
+        LOGGER.warn("OpenSSL TLS provider requested but netty-tcnative is not available, falling back to the JDK provider: {}",
+                    OpenSsl.unavailabilityCause() != null ? OpenSsl.unavailabilityCause().getMessage() : "unknown cause");
+      }
+    }
+  }
+
+  /**
+   * Returns the trust managers of the configured trust store. The store is parsed once and reused by every client this factory
+   * builds (one per connection, across reconnects); it is parsed again only if its type, path, password or file contents
+   * (size or modification time) change.
+   */
+  private synchronized TrustManager[] trustManagers(TlsContextTrustStoreConfiguration trustStoreConfiguration)
+      throws KeyStoreException, IOException, NoSuchAlgorithmException, CertificateException {
+    String keyType = trustStoreConfiguration.getType();
+    String keyPath = trustStoreConfiguration.getPath();
+    String keyPassword = trustStoreConfiguration.getPassword();
+    File trustStoreFile = new File(keyPath);
+    String trustStoreKey = keyType + '\0' + keyPath + '\0' + trustStoreFile.lastModified() + '\0' + trustStoreFile.length()
+        + '\0' + Objects.hashCode(keyPassword);
+    if (cachedTrustManagers == null || !trustStoreKey.equals(cachedTrustStoreKey)) {
+      KeyStore trustStore = KeyStore.getInstance(keyType);
+      try (FileInputStream fis = new FileInputStream(trustStoreFile)) {
+        trustStore.load(fis, keyPassword != null ? keyPassword.toCharArray() : null);
+      }
+      TrustManagerFactory trustManagerFactory = TrustManagerFactory
+          .getInstance(TrustManagerFactory.getDefaultAlgorithm());
+      trustManagerFactory.init(trustStore);
+      cachedTrustManagers = trustManagerFactory.getTrustManagers();
+      cachedTrustStoreKey = trustStoreKey;
+      LOGGER.debug("Loaded trust store {}", keyPath);
+    }
+    return cachedTrustManagers;
+  }
+
+  private void connectionPoolConfiguration(ApacheHttpClient.Builder clientBuilder, CommonParameters commonParameters) {
+    if (commonParameters.getMaxConnections() != null) {
+      clientBuilder.maxConnections(commonParameters.getMaxConnections());
+    }
+    if (commonParameters.getConnectionAcquisitionTimeout() != null) {
+      clientBuilder.connectionAcquisitionTimeout(Duration.ofMillis(commonParameters.getConnectionAcquisitionTimeout()));
+    }
+    if (commonParameters.getConnectionMaxIdleTime() != null) {
+      clientBuilder.connectionMaxIdleTime(Duration.ofMillis(commonParameters.getConnectionMaxIdleTime()));
+    }
+    if (commonParameters.getConnectionTimeToLive() != null) {
+      clientBuilder.connectionTimeToLive(Duration.ofMillis(commonParameters.getConnectionTimeToLive()));
+    }
+    if (commonParameters.getReapIdleConnections() != null) {
+      clientBuilder.useIdleConnectionReaper(commonParameters.getReapIdleConnections());
+    }
+    if (commonParameters.getTcpKeepAlive() != null) {
+      clientBuilder.tcpKeepAlive(commonParameters.getTcpKeepAlive());
+    }
+  }
+
+  private void connectionPoolConfiguration(NettyNioAsyncHttpClient.Builder clientBuilder, CommonParameters commonParameters) {
+    if (commonParameters.getMaxConnections() != null) {
+      clientBuilder.maxConcurrency(commonParameters.getMaxConnections());
+    }
+    if (commonParameters.getConnectionAcquisitionTimeout() != null) {
+      clientBuilder.connectionAcquisitionTimeout(Duration.ofMillis(commonParameters.getConnectionAcquisitionTimeout()));
+    }
+    if (commonParameters.getConnectionMaxIdleTime() != null) {
+      clientBuilder.connectionMaxIdleTime(Duration.ofMillis(commonParameters.getConnectionMaxIdleTime()));
+    }
+    if (commonParameters.getConnectionTimeToLive() != null) {
+      clientBuilder.connectionTimeToLive(Duration.ofMillis(commonParameters.getConnectionTimeToLive()));
+    }
+    if (commonParameters.getReapIdleConnections() != null) {
+      clientBuilder.useIdleConnectionReaper(commonParameters.getReapIdleConnections());
+    }
+    if (commonParameters.getTcpKeepAlive() != null) {
+      clientBuilder.tcpKeepAlive(commonParameters.getTcpKeepAlive());
+    }
+  }
+
+  /**
+   * Switches the async client to HTTP/2 when enabled. Streams are then multiplexed over the pooled connections, so
+   * {@code maxConnections} bounds the number of concurrent streams and the socket count is roughly
+   * {@code maxConnections / http2MaxStreams}.
+   */
+  private void http2Configuration(NettyNioAsyncHttpClient.Builder clientBuilder, CommonParameters commonParameters) {
+    if (!Boolean.TRUE.equals(commonParameters.getHttp2Enabled())) {
+      return;
+    }
+    Http2Configuration.Builder http2Builder = Http2Configuration.builder();
+    if (commonParameters.getHttp2MaxStreams() != null) {
+      http2Builder.maxStreams(commonParameters.getHttp2MaxStreams().longValue());
+    }
+    if (commonParameters.getHttp2InitialWindowSize() != null) {
+      http2Builder.initialWindowSize(commonParameters.getHttp2InitialWindowSize());
+    }
+    if (commonParameters.getHttp2HealthCheckPingPeriod() != null) {
+      http2Builder.healthCheckPingPeriod(Duration.ofMillis(commonParameters.getHttp2HealthCheckPingPeriod()));
+    }
+    clientBuilder.protocol(Protocol.HTTP2).http2Configuration(http2Builder.build());
   }
 
   private void proxyConfiguration(ApacheHttpClient.Builder clientBuilder) {
@@ -101,23 +226,30 @@ public class SdkHttpClientFactory {
     }
   }
 
-  public SdkAsyncHttpClient buildHttpAsyncClient(CommonParameters commonParameters) throws ConnectionException {
-    return buildHttpAsyncClient(commonParameters, null);
+  /**
+   * Builds the event loop group of a connection's async HTTP client. The client does not shut down a group it was given; the
+   * connection does once the client is closed, and also schedules the idle timeouts of its event-stream calls on it.
+   */
+  public SdkEventLoopGroup buildEventLoopGroup() {
+    return SdkEventLoopGroup.builder().build();
   }
 
   /**
-   * Builds an async HTTP client with optional read/connection timeout override. When {@code readTimeoutMsOverride} is non-null,
-   * it is used for both connection and read timeout (so clients with different timeouts can be cached separately). Otherwise
-   * connection-level timeouts from {@code commonParameters} are used.
+   * Builds the pooled async HTTP client of a connection. A single instance is shared by every async service client of the
+   * connection, so {@code maxConnections} bounds the total number of sockets whatever the operation timeouts in use. Its read
+   * timeout is disabled, since one client-wide value would have to fit the longest operation timeout: a call is bounded by the
+   * {@code apiCallTimeout} of its request and by the idle timeout the connection applies to event streams instead.
    */
-  public SdkAsyncHttpClient buildHttpAsyncClient(CommonParameters commonParameters, Long readTimeoutMsOverride)
+  public SdkAsyncHttpClient buildHttpAsyncClient(CommonParameters commonParameters, SdkEventLoopGroup eventLoopGroup)
       throws ConnectionException {
-    NettyNioAsyncHttpClient.Builder httpClientBuilder = NettyNioAsyncHttpClient.builder();
+    NettyNioAsyncHttpClient.Builder httpClientBuilder = NettyNioAsyncHttpClient.builder()
+        .eventLoopGroup(eventLoopGroup);
     proxyConfiguration(httpClientBuilder);
     tlsConfiguration(httpClientBuilder, commonParameters);
-    long timeoutMs = readTimeoutMsOverride != null ? readTimeoutMsOverride : (long) commonParameters.getConnectionTimeout();
-    httpClientBuilder.connectionTimeout(Duration.ofMillis(timeoutMs));
-    httpClientBuilder.readTimeout(Duration.ofMillis(timeoutMs));
+    connectionPoolConfiguration(httpClientBuilder, commonParameters);
+    http2Configuration(httpClientBuilder, commonParameters);
+    httpClientBuilder.connectionTimeout(Duration.ofMillis(commonParameters.getConnectionTimeout()));
+    httpClientBuilder.readTimeout(Duration.ZERO);
     return httpClientBuilder.build();
   }
 }
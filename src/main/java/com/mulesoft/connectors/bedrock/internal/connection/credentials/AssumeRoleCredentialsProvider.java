@@ -1,12 +1,19 @@
 package com.mulesoft.connectors.bedrock.internal.connection.credentials;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import com.mulesoft.connectors.bedrock.internal.error.BedrockErrorType;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
 import org.mule.runtime.extension.api.exception.ModuleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
@@ -14,49 +21,201 @@ import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
 import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
 import software.amazon.awssdk.services.sts.model.RegionDisabledException;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.ToString;
 import software.amazon.awssdk.utils.Validate;
 
-public class AssumeRoleCredentialsProvider implements AwsCredentialsProvider {
+/**
+ * Credentials provider that assumes a role through STS. Credentials are refreshed ahead of expiry by a background task on the
+ * given scheduler, so request threads read the current credentials without blocking. Refreshes are single-flight: only when the
+ * credentials are about to expire (stale) does a request thread refresh them itself, and concurrent callers wait for that one
+ * refresh instead of each calling STS. Without a scheduled prefetch, the first request thread in the prefetch window refreshes
+ * while the others keep using the current credentials.
+ */
+public class AssumeRoleCredentialsProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+
+  public static final String REFRESH_LATENCY_METRIC = "sts.assume-role.refresh.latency";
+  public static final String REFRESH_FAILURE_METRIC = "sts.assume-role.refresh.failures";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AssumeRoleCredentialsProvider.class);
+
+  private static final Duration PREFETCH_BEFORE_EXPIRY = Duration.ofMinutes(15);
+  private static final Duration STALE_BEFORE_EXPIRY = Duration.ofMinutes(1);
+  private static final Duration PREFETCH_RETRY_DELAY = Duration.ofSeconds(30);
 
   private final StsClient stsClient;
   private final String role;
   private final String externalID;
-  private final AtomicReference<AwsCredentials> currentCredentials = new AtomicReference<>();
+  private final ScheduledExecutorService prefetchScheduler;
+  private final Clock clock;
+  private final ReentrantLock refreshLock = new ReentrantLock();
 
-  private Instant expiration;
+  private volatile Session session;
+  private volatile boolean closed;
+  private volatile ScheduledFuture<?> prefetchTask;
 
   public AssumeRoleCredentialsProvider(String role, StsClient stsClient, String externalID) {
+    this(role, stsClient, externalID, null);
+  }
+
+  /**
+   * @param prefetchScheduler scheduler for background refreshes, or {@code null} to refresh on request threads only
+   */
+  public AssumeRoleCredentialsProvider(String role, StsClient stsClient, String externalID,
+                                       ScheduledExecutorService prefetchScheduler) {
+    this(role, stsClient, externalID, prefetchScheduler, Clock.systemUTC());
+  }
+
+  AssumeRoleCredentialsProvider(String role, StsClient stsClient, String externalID, ScheduledExecutorService prefetchScheduler,
+                                Clock clock) {
     this.stsClient = stsClient;
     this.role = Validate.notNull(role, "ConsumerRole must not be null.");
     this.externalID = externalID;
+    this.prefetchScheduler = prefetchScheduler;
+    this.clock = clock;
     this.refreshCredentials();
   }
 
+  /**
+   * Refreshes the credentials now, waiting for a refresh already in progress instead of starting a second one.
+   */
   public void refreshCredentials() {
-    AssumeRoleResponse assumeRoleResponse = assumeRole(stsClient, role);
-
-    this.currentCredentials.set(AwsSessionCredentials.create(assumeRoleResponse.credentials().accessKeyId(),
-                                                             assumeRoleResponse.credentials().secretAccessKey(),
-                                                             assumeRoleResponse.credentials().sessionToken()));
-    expiration = assumeRoleResponse.credentials().expiration();
+    refreshLock.lock();
+    try {
+      doRefresh();
+    } finally {
+      refreshLock.unlock();
+    }
   }
 
   @Override
   public AwsCredentials resolveCredentials() {
-    if (Objects.isNull(currentCredentials.get()) || Instant.now().isAfter(expiration.minus(Duration.ofMinutes(5)))) {
-      refreshCredentials();
+    Instant now = clock.instant();
+    Session current = session;
+    if (current == null || current.isStale(now)) {
+      refreshLock.lock();
+      try {
+        current = session;
+        if (current == null || current.isStale(now)) {
+          doRefresh();
+          current = session;
+        }
+      } finally {
+        refreshLock.unlock();
+      }
+    } else if (current.needsPrefetch(now) && !isPrefetchPending() && refreshLock.tryLock()) {
+      try {
+        if (session == current) {
+          doRefresh();
+          current = session;
+        }
+      } catch (RuntimeException e) {
+        LOGGER.warn("Prefetch of credentials for role {} failed, using current credentials until they expire: {}", role,
+                    e.getMessage());
+      } finally {
+        refreshLock.unlock();
+      }
+    }
+    return current.credentials;
+  }
+
+  /**
+   * Returns when the current credentials expire.
+   */
+  public Instant getExpiration() {
+    Session current = session;
+    return current != null ? current.expiration : null;
+  }
+
+  /**
+   * Stops background refreshes; credentials are then refreshed on request threads when needed.
+   */
+  @Override
+  public void close() {
+    refreshLock.lock();
+    try {
+      closed = true;
+      if (prefetchTask != null) {
+        prefetchTask.cancel(false);
+        prefetchTask = null;
+      }
+    } finally {
+      refreshLock.unlock();
     }
-    return currentCredentials.get();
   }
 
   @Override
   public String toString() {
-    return ToString.builder("StaticCredentialsProvider")
-        .add("credentials", currentCredentials.get())
+    Session current = session;
+    return ToString.builder("AssumeRoleCredentialsProvider")
+        .add("role", role)
+        .add("credentials", current != null ? current.credentials : null)
         .build();
   }
 
+  /**
+   * Calls STS and publishes the new session. Must be called with {@link #refreshLock} held.
+   */
+  private void doRefresh() {
+    long start = System.nanoTime();
+    AssumeRoleResponse assumeRoleResponse;
+    try {
+      assumeRoleResponse = assumeRole(stsClient, role);
+    } catch (RuntimeException e) {
+      ConnectorMetrics.get().increment(REFRESH_FAILURE_METRIC);
+      throw e;
+    }
+    ConnectorMetrics.get().record(REFRESH_LATENCY_METRIC, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    Session refreshed = new Session(AwsSessionCredentials.create(assumeRoleResponse.credentials().accessKeyId(),
+                                                                 assumeRoleResponse.credentials().secretAccessKey(),
+                                                                 assumeRoleResponse.credentials().sessionToken()),
+                                    assumeRoleResponse.credentials().expiration(), clock.instant());
+    this.session = refreshed;
+    schedulePrefetch(Duration.between(clock.instant(), refreshed.prefetchAt));
+  }
+
+  /**
+   * Whether a background prefetch is scheduled. Also false when the scheduler rejected or dropped the task (e.g. it was stopped
+   * by the connection provider that created it), in which case request threads take over prefetching.
+   */
+  private boolean isPrefetchPending() {
+    ScheduledFuture<?> task = prefetchTask;
+    return task != null && !task.isDone();
+  }
+
+  private void schedulePrefetch(Duration delay) {
+    if (prefetchScheduler == null || closed) {
+      return;
+    }
+    if (prefetchTask != null) {
+      prefetchTask.cancel(false);
+    }
+    try {
+      prefetchTask = prefetchScheduler.schedule(this::prefetch, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Could not schedule credentials prefetch for role {}, refreshing on demand: {}", role, e.getMessage());
+      prefetchTask = null;
+    }
+  }
+
+  private void prefetch() {
+    refreshLock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      doRefresh();
+      LOGGER.debug("Prefetched credentials for role {}, valid until {}", role, session.expiration);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Prefetch of credentials for role {} failed, retrying in {}s: {}", role, PREFETCH_RETRY_DELAY.getSeconds(),
+                  e.getMessage());
+      schedulePrefetch(PREFETCH_RETRY_DELAY);
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
   /**
    * Assumes role for given credentials and returns a set of temporary security credentials.
    *
@@ -76,4 +235,36 @@ public class AssumeRoleCredentialsProvider implements AwsCredentialsProvider {
                                 BedrockErrorType.AUTHORIZATION_NOT_FOUND);
     }
   }
+
+  /**
+   * Immutable credentials snapshot. Prefetch and stale times are capped relative to the session lifetime so that short sessions
+   * are not refreshed continuously.
+   */
+  private static final class Session {
+
+    private final AwsCredentials credentials;
+    private final Instant expiration;
+    private final Instant prefetchAt;
+    private final Instant staleAt;
+
+    private Session(AwsCredentials credentials, Instant expiration, Instant issuedAt) {
+      this.credentials = credentials;
+      this.expiration = expiration;
+      Duration lifetime = Duration.between(issuedAt, expiration);
+      this.prefetchAt = expiration.minus(min(PREFETCH_BEFORE_EXPIRY, lifetime.dividedBy(2)));
+      this.staleAt = expiration.minus(min(STALE_BEFORE_EXPIRY, lifetime.dividedBy(4)));
+    }
+
+    private boolean needsPrefetch(Instant now) {
+      return !now.isBefore(prefetchAt);
+    }
+
+    private boolean isStale(Instant now) {
+      return !now.isBefore(staleAt);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+      return a.compareTo(b) <= 0 ? a : b;
+    }
+  }
 }
@@ -0,0 +1,233 @@
+package com.mulesoft.connectors.bedrock.internal.connection.credentials;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Process-wide, reference-counted registry of assumed-role credentials providers and the STS clients they use. Connections
+ * that assume the same role (same role ARN, external ID, region, endpoints and base credentials, digested into the key) share
+ * one provider, so only the first connect calls STS and only one STS client and HTTP pool exist per key. When the last
+ * {@link Lease} is closed the provider and its resources are kept for a grace period, so a reconnect (which disconnects before
+ * connecting again) reuses the cached credentials instead of calling STS; they are closed if no lease is acquired by then.
+ */
+public final class AssumeRoleCredentialsRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AssumeRoleCredentialsRegistry.class);
+
+  private static final long IDLE_GRACE_PERIOD_MS = TimeUnit.SECONDS.toMillis(30);
+  private static final Map<String, Entry> ENTRIES = new HashMap<>();
+
+  private AssumeRoleCredentialsRegistry() {}
+
+  /**
+   * Creates the credentials provider of a registry entry. Resources the provider depends on (STS client, HTTP client) are added
+   * to {@code resources} and closed, in reverse order, together with the provider.
+   */
+  @FunctionalInterface
+  public interface CredentialsFactory {
+
+    AssumeRoleCredentialsProvider create(List<SdkAutoCloseable> resources) throws ConnectionException;
+  }
+
+  /**
+   * Returns a lease on the provider registered under {@code key}, creating it with {@code factory} if there is none, and
+   * cancels a pending idle close of it. Creation runs outside the registry lock, so a slow STS call only delays connections
+   * using the same key.
+   *
+   * @param closeScheduler scheduler that closes the provider once the grace period after its last lease has passed, or
+   *        {@code null} to close it as soon as the last lease is closed
+   */
+  public static Lease acquire(String key, ScheduledExecutorService closeScheduler, CredentialsFactory factory)
+      throws ConnectionException {
+    return acquire(key, closeScheduler, IDLE_GRACE_PERIOD_MS, factory);
+  }
+
+  static Lease acquire(String key, ScheduledExecutorService closeScheduler, long gracePeriodMs, CredentialsFactory factory)
+      throws ConnectionException {
+    Entry entry;
+    synchronized (ENTRIES) {
+      entry = ENTRIES.computeIfAbsent(key, Entry::new);
+      entry.references++;
+      entry.cancelIdleClose();
+    }
+    try {
+      return new Lease(entry, entry.provider(factory), closeScheduler, gracePeriodMs);
+    } catch (ConnectionException | RuntimeException e) {
+      release(entry, null, 0);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of open leases on the given key.
+   */
+  public static int getReferences(String key) {
+    synchronized (ENTRIES) {
+      Entry entry = ENTRIES.get(key);
+      return entry != null ? entry.references : 0;
+    }
+  }
+
+  /**
+   * Closes, without waiting for their grace period, the providers whose idle close was scheduled on {@code closeScheduler}.
+   * Called before the scheduler is stopped, which would otherwise drop the pending closes.
+   */
+  public static void closeIdle(ScheduledExecutorService closeScheduler) {
+    List<Entry> idle = new ArrayList<>();
+    synchronized (ENTRIES) {
+      ENTRIES.values().removeIf(entry -> {
+        if (entry.references == 0 && entry.closeScheduler == closeScheduler) {
+          entry.cancelIdleClose();
+          idle.add(entry);
+          return true;
+        }
+        return false;
+      });
+    }
+    idle.forEach(Entry::close);
+  }
+
+  private static void release(Entry entry, ScheduledExecutorService closeScheduler, long gracePeriodMs) {
+    synchronized (ENTRIES) {
+      if (--entry.references > 0) {
+        return;
+      }
+      if (closeScheduler != null && gracePeriodMs > 0) {
+        try {
+          entry.idleClose = closeScheduler.schedule(() -> closeIfIdle(entry), gracePeriodMs, TimeUnit.MILLISECONDS);
+          entry.closeScheduler = closeScheduler;
+          return;
+        } catch (RejectedExecutionException e) {
+          LOGGER.debug("Could not schedule closing of idle credentials provider, closing it now: {}", e.getMessage());
+        }
+      }
+      ENTRIES.remove(entry.key, entry);
+    }
+    entry.close();
+  }
+
+  private static void closeIfIdle(Entry entry) {
+    synchronized (ENTRIES) {
+      if (entry.references > 0 || !ENTRIES.remove(entry.key, entry)) {
+        return;
+      }
+      entry.idleClose = null;
+      entry.closeScheduler = null;
+    }
+    entry.close();
+  }
+
+  static void clear() {
+    List<Entry> entries;
+    synchronized (ENTRIES) {
+      entries = new ArrayList<>(ENTRIES.values());
+      entries.forEach(Entry::cancelIdleClose);
+      ENTRIES.clear();
+    }
+    entries.forEach(Entry::close);
+  }
+
+  /**
+   * A reference to a shared credentials provider. Closing the lease releases the reference; closing it again has no effect.
+   */
+  public static final class Lease implements AwsCredentialsProvider, SdkAutoCloseable {
+
+    private final Entry entry;
+    private final AssumeRoleCredentialsProvider provider;
+    private final ScheduledExecutorService closeScheduler;
+    private final long gracePeriodMs;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Lease(Entry entry, AssumeRoleCredentialsProvider provider, ScheduledExecutorService closeScheduler,
+                  long gracePeriodMs) {
+      this.entry = entry;
+      this.provider = provider;
+      this.closeScheduler = closeScheduler;
+      this.gracePeriodMs = gracePeriodMs;
+    }
+
+    @Override
+    public AwsCredentials resolveCredentials() {
+      return provider.resolveCredentials();
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        release(entry, closeScheduler, gracePeriodMs);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return provider.toString();
+    }
+  }
+
+  private static final class Entry {
+
+    private final String key;
+    private final List<SdkAutoCloseable> resources = new ArrayList<>();
+    private int references;
+    private AssumeRoleCredentialsProvider provider;
+    // Guarded by ENTRIES
+    private Future<?> idleClose;
+    private ScheduledExecutorService closeScheduler;
+
+    private Entry(String key) {
+      this.key = key;
+    }
+
+    private void cancelIdleClose() {
+      if (idleClose != null) {
+        idleClose.cancel(false);
+        idleClose = null;
+        closeScheduler = null;
+      }
+    }
+
+    private synchronized AssumeRoleCredentialsProvider provider(CredentialsFactory factory) throws ConnectionException {
+      if (provider == null) {
+        try {
+          provider = factory.create(resources);
+        } catch (ConnectionException | RuntimeException e) {
+          closeResources();
+          throw e;
+        }
+      }
+      return provider;
+    }
+
+    private synchronized void close() {
+      if (provider != null) {
+        provider.close();
+        provider = null;
+      }
+      closeResources();
+    }
+
+    private void closeResources() {
+      for (int i = resources.size() - 1; i >= 0; i--) {
+        try {
+          resources.get(i).close();
+        } catch (RuntimeException e) {
+          LOGGER.debug("Error closing shared credentials resource: {}", e.getMessage());
+        }
+      }
+      resources.clear();
+    }
+  }
+}
@@ -104,6 +104,171 @@ public class CommonParameters {
   @ExcludeFromConnectivitySchema
   @Summary("Sets a custom service endpoint. Useful when a non-standard service endpoint is required, such as a VPC endpoint.")
   private String customServiceEndpoint;
+  @Parameter
+  @Optional(
+      defaultValue = "10")
+  @Placement(
+      tab = "Advanced",
+      order = 8)
+  @DisplayName("Connection Acquisition Timeout")
+  @ExcludeFromConnectivitySchema
+  @Summary("The amount of time to wait when acquiring a connection from the pool before giving up. Requests wait for a free connection once Max Connections is reached.")
+  private Integer connectionAcquisitionTimeout;
+  @Parameter
+  @Optional(
+      defaultValue = "60")
+  @Placement(
+      tab = "Advanced",
+      order = 9)
+  @DisplayName("Connection Max Idle Time")
+  @ExcludeFromConnectivitySchema
+  @Summary("The maximum amount of time a pooled connection may stay idle before it is closed.")
+  private Integer connectionMaxIdleTime;
+  @Parameter
+  @Optional(
+      defaultValue = "0")
+  @Placement(
+      tab = "Advanced",
+      order = 10)
+  @DisplayName("Connection Time To Live")
+  @ExcludeFromConnectivitySchema
+  @Summary("The maximum amount of time a pooled connection is reused before it is closed, regardless of activity. A value of 0 means connections are reused indefinitely.")
+  private Integer connectionTimeToLive;
+  @Parameter
+  @Optional(
+      defaultValue = "SECONDS")
+  @Placement(
+      tab = "Advanced",
+      order = 11)
+  @ExcludeFromConnectivitySchema
+  @Summary("Time unit used in the connection acquisition timeout, max idle time and time to live configurations.")
+  private TimeUnit connectionPoolTimeUnit;
+  @Parameter
+  @Optional(
+      defaultValue = "true")
+  @Placement(
+      tab = "Advanced",
+      order = 12)
+  @DisplayName("Reap Idle Connections")
+  @ExcludeFromConnectivitySchema
+  @Summary("Whether a background task should close pooled connections that exceeded the max idle time.")
+  private Boolean reapIdleConnections;
+  @Parameter
+  @Optional(
+      defaultValue = "false")
+  @Placement(
+      tab = "Advanced",
+      order = 13)
+  @DisplayName("TCP Keep Alive")
+  @ExcludeFromConnectivitySchema
+  @Summary("Whether TCP keep-alive should be enabled on pooled connections.")
+  private Boolean tcpKeepAlive;
+  @Parameter
+  @Optional(
+      defaultValue = "false")
+  @Placement(
+      tab = "Advanced",
+      order = 14)
+  @DisplayName("Use HTTP/2 for Streaming")
+  @ExcludeFromConnectivitySchema
+  @Summary("Whether streaming operations should use HTTP/2, multiplexing concurrent streams over a few TLS connections instead of holding one HTTP/1.1 connection per stream. Requires an HTTPS endpoint.")
+  private Boolean http2Enabled;
+  @Parameter
+  @Optional(
+      defaultValue = "100")
+  @Placement(
+      tab = "Advanced",
+      order = 15)
+  @DisplayName("HTTP/2 Max Streams Per Connection")
+  @ExcludeFromConnectivitySchema
+  @Summary("The maximum number of concurrent streams multiplexed over a single HTTP/2 connection. The server may advertise a lower limit.")
+  private Integer http2MaxStreams;
+  @Parameter
+  @Optional(
+      defaultValue = "1048576")
+  @Placement(
+      tab = "Advanced",
+      order = 16)
+  @DisplayName("HTTP/2 Initial Window Size")
+  @ExcludeFromConnectivitySchema
+  @Summary("The initial HTTP/2 flow-control window size (in bytes) of each stream.")
+  private Integer http2InitialWindowSize;
+  @Parameter
+  @Optional(
+      defaultValue = "5")
+  @Placement(
+      tab = "Advanced",
+      order = 17)
+  @DisplayName("HTTP/2 Health Check Ping Period")
+  @ExcludeFromConnectivitySchema
+  @Summary("The period between PING frames used to detect dead HTTP/2 connections. A value of 0 disables health check pings.")
+  private Integer http2HealthCheckPingPeriod;
+  @Parameter
+  @Optional(
+      defaultValue = "SECONDS")
+  @Placement(
+      tab = "Advanced",
+      order = 18)
+  @ExcludeFromConnectivitySchema
+  @Summary("Time unit used in the HTTP/2 health check ping period configuration.")
+  private TimeUnit http2HealthCheckPingPeriodUnit;
+  @Parameter
+  @Optional(
+      defaultValue = "0")
+  @Placement(
+      tab = "Advanced",
+      order = 19)
+  @DisplayName("Warm-Up Connections")
+  @ExcludeFromConnectivitySchema
+  @Summary("The number of connections to open to the runtime and agent runtime endpoints when the connection is created, so the first request does not pay for the TLS handshake. A value of 0 disables warm-up.")
+  private Integer warmUpConnections;
+  @Parameter
+  @Optional(
+      defaultValue = "0")
+  @Placement(
+      tab = "Advanced",
+      order = 20)
+  @DisplayName("Keep-Alive Period")
+  @ExcludeFromConnectivitySchema
+  @Summary("The period at which warmed-up connections are pinged to keep them from going idle. Should be lower than the connection max idle time. A value of 0 disables keep-alive.")
+  private Integer keepAlivePeriod;
+  @Parameter
+  @Optional(
+      defaultValue = "SECONDS")
+  @Placement(
+      tab = "Advanced",
+      order = 21)
+  @ExcludeFromConnectivitySchema
+  @Summary("Time unit used in the keep-alive period configuration.")
+  private TimeUnit keepAlivePeriodUnit;
+  @Parameter
+  @Optional(
+      defaultValue = "60")
+  @Placement(
+      tab = "Advanced",
+      order = 22)
+  @DisplayName("Validation Cache TTL")
+  @ExcludeFromConnectivitySchema
+  @Summary("How long a successful connection validation is reused for the other connections of the same configuration. A value of 0 validates against the service every time.")
+  private Integer validationCacheTtl;
+  @Parameter
+  @Optional(
+      defaultValue = "SECONDS")
+  @Placement(
+      tab = "Advanced",
+      order = 23)
+  @ExcludeFromConnectivitySchema
+  @Summary("Time unit used in the validation cache TTL configuration.")
+  private TimeUnit validationCacheTtlUnit;
+  @Parameter
+  @Optional
+  @Placement(
+      tab = "Advanced",
+      order = 24)
+  @DisplayName("Failover Regions")
+  @ExcludeFromConnectivitySchema
+  @Summary("Comma separated list of additional regions for model invocations, e.g. 'us-west-2, eu-central-1'. Requests go to the region with the best recent latency and error rate and fail over to the next one on throttling or 5xx errors. An entry may override its endpoint with 'region=https://host'.")
+  private String failoverRegions;
   @Expression(ExpressionSupport.NOT_SUPPORTED)
   @Placement(
       tab = "Security",
@@ -112,6 +277,16 @@ public class CommonParameters {
   @Optional
   @DisplayName("TLS Configuration")
   private TlsContextFactory tlsContext;
+  @Parameter
+  @Optional(
+      defaultValue = "false")
+  @Placement(
+      tab = "Security",
+      order = 10)
+  @DisplayName("Use OpenSSL TLS Provider")
+  @ExcludeFromConnectivitySchema
+  @Summary("Whether streaming connections should use the OpenSSL TLS provider for faster handshakes and lower CPU per byte. Requires netty-tcnative on the classpath; falls back to the JDK provider otherwise.")
+  private Boolean useOpenSsl;
 
   public CommonParameters() {
     // Default constructor intentionally empty.
@@ -182,6 +357,176 @@ public class CommonParameters {
     this.maxConnections = maxConnections;
   }
 
+  /**
+   * Returns the connection acquisition timeout in milliseconds, or {@code null} when not configured.
+   */
+  public Integer getConnectionAcquisitionTimeout() {
+    return toPoolMillis(this.connectionAcquisitionTimeout);
+  }
+
+  public void setConnectionAcquisitionTimeout(Integer connectionAcquisitionTimeout) {
+    this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+  }
+
+  /**
+   * Returns the connection max idle time in milliseconds, or {@code null} when not configured.
+   */
+  public Integer getConnectionMaxIdleTime() {
+    return toPoolMillis(this.connectionMaxIdleTime);
+  }
+
+  public void setConnectionMaxIdleTime(Integer connectionMaxIdleTime) {
+    this.connectionMaxIdleTime = connectionMaxIdleTime;
+  }
+
+  /**
+   * Returns the connection time to live in milliseconds, or {@code null} when not configured.
+   */
+  public Integer getConnectionTimeToLive() {
+    return toPoolMillis(this.connectionTimeToLive);
+  }
+
+  public void setConnectionTimeToLive(Integer connectionTimeToLive) {
+    this.connectionTimeToLive = connectionTimeToLive;
+  }
+
+  public TimeUnit getConnectionPoolTimeUnit() {
+    return this.connectionPoolTimeUnit;
+  }
+
+  public void setConnectionPoolTimeUnit(TimeUnit connectionPoolTimeUnit) {
+    this.connectionPoolTimeUnit = connectionPoolTimeUnit;
+  }
+
+  public Boolean getReapIdleConnections() {
+    return this.reapIdleConnections;
+  }
+
+  public void setReapIdleConnections(Boolean reapIdleConnections) {
+    this.reapIdleConnections = reapIdleConnections;
+  }
+
+  public Boolean getTcpKeepAlive() {
+    return this.tcpKeepAlive;
+  }
+
+  public void setTcpKeepAlive(Boolean tcpKeepAlive) {
+    this.tcpKeepAlive = tcpKeepAlive;
+  }
+
+  public Boolean getHttp2Enabled() {
+    return this.http2Enabled;
+  }
+
+  public void setHttp2Enabled(Boolean http2Enabled) {
+    this.http2Enabled = http2Enabled;
+  }
+
+  public Integer getHttp2MaxStreams() {
+    return this.http2MaxStreams;
+  }
+
+  public void setHttp2MaxStreams(Integer http2MaxStreams) {
+    this.http2MaxStreams = http2MaxStreams;
+  }
+
+  public Integer getHttp2InitialWindowSize() {
+    return this.http2InitialWindowSize;
+  }
+
+  public void setHttp2InitialWindowSize(Integer http2InitialWindowSize) {
+    this.http2InitialWindowSize = http2InitialWindowSize;
+  }
+
+  /**
+   * Returns the HTTP/2 health check ping period in milliseconds, or {@code null} if not configured.
+   */
+  public Long getHttp2HealthCheckPingPeriod() {
+    if (this.http2HealthCheckPingPeriod == null || this.http2HealthCheckPingPeriodUnit == null) {
+      return null;
+    }
+    return this.http2HealthCheckPingPeriodUnit.toMillis((long) this.http2HealthCheckPingPeriod);
+  }
+
+  public void setHttp2HealthCheckPingPeriod(Integer http2HealthCheckPingPeriod) {
+    this.http2HealthCheckPingPeriod = http2HealthCheckPingPeriod;
+  }
+
+  public TimeUnit getHttp2HealthCheckPingPeriodUnit() {
+    return this.http2HealthCheckPingPeriodUnit;
+  }
+
+  public void setHttp2HealthCheckPingPeriodUnit(TimeUnit http2HealthCheckPingPeriodUnit) {
+    this.http2HealthCheckPingPeriodUnit = http2HealthCheckPingPeriodUnit;
+  }
+
+  public Integer getWarmUpConnections() {
+    return this.warmUpConnections;
+  }
+
+  public void setWarmUpConnections(Integer warmUpConnections) {
+    this.warmUpConnections = warmUpConnections;
+  }
+
+  /**
+   * Returns the keep-alive period in milliseconds, or {@code null} if not configured.
+   */
+  public Long getKeepAlivePeriod() {
+    if (this.keepAlivePeriod == null || this.keepAlivePeriodUnit == null) {
+      return null;
+    }
+    return this.keepAlivePeriodUnit.toMillis((long) this.keepAlivePeriod);
+  }
+
+  public void setKeepAlivePeriod(Integer keepAlivePeriod) {
+    this.keepAlivePeriod = keepAlivePeriod;
+  }
+
+  public TimeUnit getKeepAlivePeriodUnit() {
+    return this.keepAlivePeriodUnit;
+  }
+
+  public void setKeepAlivePeriodUnit(TimeUnit keepAlivePeriodUnit) {
+    this.keepAlivePeriodUnit = keepAlivePeriodUnit;
+  }
+
+  /**
+   * Returns the validation cache TTL in milliseconds, or {@code null} if not configured.
+   */
+  public Long getValidationCacheTtl() {
+    if (this.validationCacheTtl == null || this.validationCacheTtlUnit == null) {
+      return null;
+    }
+    return this.validationCacheTtlUnit.toMillis((long) this.validationCacheTtl);
+  }
+
+  public void setValidationCacheTtl(Integer validationCacheTtl) {
+    this.validationCacheTtl = validationCacheTtl;
+  }
+
+  public TimeUnit getValidationCacheTtlUnit() {
+    return this.validationCacheTtlUnit;
+  }
+
+  public void setValidationCacheTtlUnit(TimeUnit validationCacheTtlUnit) {
+    this.validationCacheTtlUnit = validationCacheTtlUnit;
+  }
+
+  public String getFailoverRegions() {
+    return this.failoverRegions;
+  }
+
+  public void setFailoverRegions(String failoverRegions) {
+    this.failoverRegions = failoverRegions;
+  }
+
+  private Integer toPoolMillis(Integer value) {
+    if (value == null || this.connectionPoolTimeUnit == null) {
+      return null;
+    }
+    return Math.toIntExact(this.connectionPoolTimeUnit.toMillis((long) value));
+  }
+
   public String getRegion() {
     if (this.region != null && !this.region.isEmpty()) {
       return this.region.toLowerCase().replace("_", "-");
@@ -205,4 +550,12 @@ public class CommonParameters {
   public TlsContextFactory getTlsContext() {
     return this.tlsContext;
   }
+
+  public Boolean getUseOpenSsl() {
+    return this.useOpenSsl;
+  }
+
+  public void setUseOpenSsl(Boolean useOpenSsl) {
+    this.useOpenSsl = useOpenSsl;
+  }
 }
@@ -14,17 +14,23 @@ import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.extension.api.annotation.param.ParameterGroup;
 import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.http.api.client.HttpClient;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 
+import javax.inject.Inject;
+
 abstract class AWSConnectionProvider<T extends ConnectorConnection> extends ConnectorConnectionProvider<T>
     implements CachedConnectionProvider<T>, Initialisable, Startable, Stoppable {
 
   protected HttpClient httpClient;
 
+  @Inject
+  protected SchedulerService schedulerService;
+
   @ParameterGroup(name = "Connection")
   @Placement(order = 1)
   private CommonParameters commonParameters;
@@ -1,12 +1,13 @@
 package com.mulesoft.connectors.bedrock.internal.connection.provider;
 
-import java.util.concurrent.atomic.AtomicReference;
-
 import org.mule.connectors.commons.template.connection.ConnectorConnection;
 import com.mulesoft.connectors.bedrock.internal.connection.credentials.AssumeRoleCredentialsProvider;
+import com.mulesoft.connectors.bedrock.internal.connection.credentials.AssumeRoleCredentialsRegistry;
 import com.mulesoft.connectors.bedrock.internal.connection.parameters.CommonParameters;
+import com.mulesoft.connectors.bedrock.internal.util.KeyDigest;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.meta.ExpressionSupport;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.extension.api.annotation.Expression;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.annotation.param.Parameter;
@@ -15,6 +16,7 @@ import org.mule.runtime.extension.api.annotation.param.display.Placement;
 import org.mule.runtime.extension.api.annotation.param.display.Summary;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.services.sts.StsClient;
 
 /**
@@ -46,25 +48,38 @@ public abstract class AbstractAssumeRoleConnectionProvider<CONNECTION extends Co
       "account to which the role belongs provides an external ID, then provide that value in this field.")
   protected String externalId;
 
-  private final AtomicReference<StsClient> stsClient = new AtomicReference<>();
-
   public AbstractAssumeRoleConnectionProvider() {}
 
+  /**
+   * Returns a lease on the process-wide credentials provider for this role (see {@link AssumeRoleCredentialsRegistry}), so
+   * connections after the first one for the same role and base credentials reuse its credentials and STS client instead of
+   * calling STS on connect. The lease must be closed when the connection is disconnected.
+   */
   @Override
   protected AwsCredentialsProvider getAWSCredentialsProvider(CommonParameters commonParameters) throws ConnectionException {
     if (commonParameters.isTryDefaultAWSCredentialsProviderChain()) {
       return DefaultCredentialsProvider.builder().build();
     }
-    return new AssumeRoleCredentialsProvider(this.roleARN, this.getStsClient(), externalId);
+    String key = KeyDigest.sha256(roleARN, externalId, commonParameters.getRegion(), customStsEndpoint,
+                                  commonParameters.getCustomServiceEndpoint(), commonParameters.getAccessKey(),
+                                  commonParameters.getSecretKey());
+    // Credentials are prefetched on the background scheduler so request threads do not wait on STS; the same scheduler closes
+    // the shared provider once it has been idle for the registry's grace period
+    return AssumeRoleCredentialsRegistry.acquire(key, getBackgroundScheduler(), resources -> {
+      SdkHttpClient stsHttpClient = sdkHttpClientFactory.buildHttpClient(commonParameters);
+      resources.add(stsHttpClient);
+      StsClient stsClient = StsClientHelper.buildStsClient(commonParameters, stsHttpClient, customStsEndpoint);
+      resources.add(stsClient);
+      return new AssumeRoleCredentialsProvider(roleARN, stsClient, externalId, getBackgroundScheduler());
+    });
   }
 
-  protected synchronized StsClient getStsClient() throws ConnectionException {
-    if (this.stsClient.get() == null) {
-      this.stsClient.set(StsClientHelper.buildStsClient(
-                                                        getCommonParameters(),
-                                                        sdkHttpClientFactory,
-                                                        customStsEndpoint));
-    }
-    return stsClient.get();
+  /**
+   * Closes the idle shared credentials providers whose close is pending on the background scheduler, since stopping the
+   * scheduler drops it.
+   */
+  @Override
+  protected void beforeBackgroundSchedulerStop(Scheduler backgroundScheduler) {
+    AssumeRoleCredentialsRegistry.closeIdle(backgroundScheduler);
   }
 }
@@ -1,10 +1,27 @@
 package com.mulesoft.connectors.bedrock.internal.connection.provider;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
 import org.apache.commons.lang3.StringUtils;
 import org.mule.connectors.commons.template.connection.ConnectorConnection;
+import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import com.mulesoft.connectors.bedrock.internal.connection.ConnectionWarmer;
+import com.mulesoft.connectors.bedrock.internal.connection.ValidationCache;
 import com.mulesoft.connectors.bedrock.internal.connection.parameters.CommonParameters;
 import com.mulesoft.connectors.bedrock.internal.error.exception.AWSConnectionException;
+import com.mulesoft.connectors.bedrock.internal.util.RegionUtils;
 import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClientBuilder;
 
 /**
  * Abstract base class for Bedrock connection providers. Extracts common connection logic to reduce code duplication.
@@ -14,6 +31,16 @@ import org.mule.runtime.api.connection.ConnectionException;
 public abstract class AbstractBedrockConnectionProvider<CONNECTION extends ConnectorConnection>
     extends AWSConnectionProvider<CONNECTION> {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(AbstractBedrockConnectionProvider.class);
+
+  /**
+   * Key of this provider's validations in the process-wide {@link ValidationCache}. A provider is one configuration, whose proxy,
+   * TLS, endpoint and credential settings do not change, so its connections share validations; another configuration using the
+   * same credentials over a different network path never reuses them.
+   */
+  private final String validationCacheKey = UUID.randomUUID().toString();
+  private Scheduler backgroundScheduler;
+
   /**
    * Creates a connection using the provided common parameters. This template method implements the common connection logic.
    *
@@ -29,8 +56,14 @@ public abstract class AbstractBedrockConnectionProvider<CONNECTION extends Conne
           StringUtils.isNotBlank(commonParams.getAccessKey()) &&
               StringUtils.isNotBlank(commonParams.getSecretKey())) {
 
+        long start = System.currentTimeMillis();
         CONNECTION connection = buildConnection(commonParams);
         this.onConnect(connection);
+        if (connection instanceof BedrockConnection) {
+          configureValidationCache((BedrockConnection) connection, commonParams);
+          warmUp((BedrockConnection) connection, commonParams);
+        }
+        LOGGER.debug("Connection created in {}ms", System.currentTimeMillis() - start);
         return connection;
       } else {
         throw new AWSConnectionException("Access Key or Secret Key is blank");
@@ -40,6 +73,84 @@ public abstract class AbstractBedrockConnectionProvider<CONNECTION extends Conne
     }
   }
 
+  private void configureValidationCache(BedrockConnection connection, CommonParameters commonParams) {
+    Long ttlMs = commonParams.getValidationCacheTtl();
+    if (ttlMs == null || ttlMs <= 0) {
+      return;
+    }
+    connection.configureValidationCache(validationCacheKey, ttlMs);
+  }
+
+  /**
+   * Returns suppliers of runtime clients for the configured failover regions, sharing the connection's sync HTTP client and
+   * credentials. Empty when no failover regions are configured.
+   */
+  protected static Map<String, Supplier<BedrockRuntimeClient>> failoverRuntimeClients(CommonParameters commonParams,
+                                                                                    SdkHttpClient syncHttpClient,
+                                                                                    AwsCredentialsProvider credentialsProvider) {
+    Map<String, Supplier<BedrockRuntimeClient>> failoverClients = new LinkedHashMap<>();
+    RegionUtils.getFailoverRegions(commonParams).forEach((failoverRegion, endpoint) -> failoverClients.put(failoverRegion, () -> {
+      BedrockRuntimeClientBuilder builder = BedrockRuntimeClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(builder, failoverRegion, endpoint);
+      return builder.build();
+    }));
+    return failoverClients;
+  }
+
+  /**
+   * Opens the configured number of warm connections and schedules the keep-alive task, if enabled. Both run on the background
+   * scheduler of this provider; without a scheduler service (e.g. outside a Mule runtime) warm-up is skipped.
+   */
+  private void warmUp(BedrockConnection connection, CommonParameters commonParams) {
+    int connections = commonParams.getWarmUpConnections() != null ? commonParams.getWarmUpConnections() : 0;
+    Long keepAlivePeriodMs = commonParams.getKeepAlivePeriod();
+    boolean keepAlive = keepAlivePeriodMs != null && keepAlivePeriodMs > 0;
+    if (connections <= 0 && !keepAlive) {
+      return;
+    }
+    Scheduler scheduler = getBackgroundScheduler();
+    if (scheduler == null) {
+      LOGGER.debug("No scheduler service available, skipping connection warm-up");
+      return;
+    }
+    ConnectionWarmer warmer = new ConnectionWarmer(connection, scheduler);
+    warmer.warmUp(connections);
+    if (keepAlive) {
+      connection.setKeepAliveTask(warmer.scheduleKeepAlive(Math.max(connections, 1), keepAlivePeriodMs));
+    }
+  }
+
+  /**
+   * Returns the IO scheduler this provider runs background work on (connection warm-up, keep-alive, credentials prefetch),
+   * creating it on first use. Returns {@code null} when no scheduler service is available (e.g. outside a Mule runtime).
+   */
+  protected synchronized Scheduler getBackgroundScheduler() {
+    if (backgroundScheduler == null && schedulerService != null) {
+      backgroundScheduler = schedulerService.ioScheduler(SchedulerConfig.config().withName("bedrock-connection-background"));
+    }
+    return backgroundScheduler;
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    synchronized (this) {
+      if (backgroundScheduler != null) {
+        beforeBackgroundSchedulerStop(backgroundScheduler);
+        backgroundScheduler.stop();
+        backgroundScheduler = null;
+      }
+    }
+  }
+
+  /**
+   * Called by {@link #stop()} before the background scheduler is stopped, when one was created, so subclasses can finish work
+   * that is pending on it.
+   */
+  protected void beforeBackgroundSchedulerStop(Scheduler backgroundScheduler) {}
+
   /**
    * Builds the connection with the given common parameters. Subclasses implement this to create their specific connection type.
    *
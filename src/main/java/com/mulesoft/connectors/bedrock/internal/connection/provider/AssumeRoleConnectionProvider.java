@@ -7,7 +7,9 @@ import com.mulesoft.connectors.bedrock.internal.util.RegionUtils;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.extension.api.annotation.Alias;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
 import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
@@ -23,6 +25,7 @@ import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClientBuilder;
 import software.amazon.awssdk.services.iam.IamClient;
 import software.amazon.awssdk.services.iam.IamClientBuilder;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 @Alias("role")
 public class AssumeRoleConnectionProvider extends AbstractAssumeRoleConnectionProvider<BedrockConnection> {
@@ -36,65 +39,76 @@ public class AssumeRoleConnectionProvider extends AbstractAssumeRoleConnectionPr
   protected BedrockConnection buildConnection(CommonParameters commonParams) throws AWSConnectionException, ConnectionException {
     AwsCredentialsProvider credentialsProvider = this.getAWSCredentialsProvider(commonParams);
 
-    // Build BedrockRuntimeClient
-    BedrockRuntimeClientBuilder bedrockRuntimeClientBuilder = BedrockRuntimeClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
-        .credentialsProvider(credentialsProvider);
-    RegionUtils.configureRegionProperty(bedrockRuntimeClientBuilder, commonParams);
+    // A shared credentials lease is released on disconnect, or right away if the connection cannot be built
+    try {
+      // One pooled sync HTTP client is shared by the runtime, control plane, agent, agent runtime and IAM clients
+      SdkHttpClient syncHttpClient = sdkHttpClientFactory.buildHttpClient(commonParams);
 
-    // Build BedrockClient
-    BedrockClientBuilder bedrockClientBuilder = BedrockClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
-        .credentialsProvider(credentialsProvider);
-    RegionUtils.configureRegionProperty(bedrockClientBuilder, commonParams);
+      // Build BedrockRuntimeClient
+      BedrockRuntimeClientBuilder bedrockRuntimeClientBuilder = BedrockRuntimeClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockRuntimeClientBuilder, commonParams);
 
-    // Build BedrockAgentClient
-    BedrockAgentClientBuilder bedrockAgentClientBuilder = BedrockAgentClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
-        .credentialsProvider(credentialsProvider);
-    RegionUtils.configureRegionProperty(bedrockAgentClientBuilder, commonParams);
+      // Build BedrockClient
+      BedrockClientBuilder bedrockClientBuilder = BedrockClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockClientBuilder, commonParams);
 
-    // Build BedrockAgentRuntimeClient
-    BedrockAgentRuntimeClientBuilder bedrockAgentRuntimeClientBuilder = BedrockAgentRuntimeClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
-        .credentialsProvider(credentialsProvider);
-    RegionUtils.configureRegionProperty(bedrockAgentRuntimeClientBuilder, commonParams);
+      // Build BedrockAgentClient
+      BedrockAgentClientBuilder bedrockAgentClientBuilder = BedrockAgentClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockAgentClientBuilder, commonParams);
 
-    // Build IamClient
-    IamClientBuilder iamClientBuilder = IamClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
-        .credentialsProvider(credentialsProvider);
-    RegionUtils.configureRegionProperty(iamClientBuilder, commonParams);
+      // Build BedrockAgentRuntimeClient
+      BedrockAgentRuntimeClientBuilder bedrockAgentRuntimeClientBuilder = BedrockAgentRuntimeClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockAgentRuntimeClientBuilder, commonParams);
 
-    int connectionTimeoutMs = commonParams.getConnectionTimeout();
-    java.util.function.LongFunction<BedrockAgentRuntimeAsyncClient> agentRuntimeAsyncClientFactory = timeoutMs -> {
-      try {
-        SdkAsyncHttpClient httpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, timeoutMs);
-        BedrockAgentRuntimeAsyncClientBuilder builder = BedrockAgentRuntimeAsyncClient.builder()
-            .httpClient(httpClient)
-            .credentialsProvider(credentialsProvider);
-        RegionUtils.configureRegionProperty(builder, commonParams);
-        return builder.build();
-      } catch (ConnectionException e) {
-        throw new RuntimeException("Failed to build BedrockAgentRuntimeAsyncClient", e);
+      // Build IamClient
+      IamClientBuilder iamClientBuilder = IamClient.builder()
+          .httpClient(syncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(iamClientBuilder, commonParams);
+
+      int connectionTimeoutMs = commonParams.getConnectionTimeout();
+      // One async HTTP client, and so one connection pool, is shared by the runtime and agent runtime async clients; timeouts
+      // are applied per call, through the request's apiCallTimeout and the idle timeout of event streams
+      SdkEventLoopGroup eventLoopGroup = sdkHttpClientFactory.buildEventLoopGroup();
+      SdkAsyncHttpClient asyncHttpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, eventLoopGroup);
+
+      // Build BedrockAgentRuntimeAsyncClient
+      BedrockAgentRuntimeAsyncClientBuilder bedrockAgentRuntimeAsyncClientBuilder = BedrockAgentRuntimeAsyncClient.builder()
+          .httpClient(asyncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockAgentRuntimeAsyncClientBuilder, commonParams);
+
+      // Build BedrockRuntimeAsyncClient
+      BedrockRuntimeAsyncClientBuilder bedrockRuntimeAsyncClientBuilder = BedrockRuntimeAsyncClient.builder()
+          .httpClient(asyncHttpClient)
+          .credentialsProvider(credentialsProvider);
+      RegionUtils.configureRegionProperty(bedrockRuntimeAsyncClientBuilder, commonParams);
+
+      Region region = RegionUtils.getRegion(commonParams);
+      BedrockConnection connection = new BedrockConnection(region.id(), bedrockRuntimeClientBuilder, bedrockClientBuilder,
+                                                           bedrockAgentClientBuilder, bedrockAgentRuntimeClientBuilder,
+                                                           iamClientBuilder, connectionTimeoutMs,
+                                                           bedrockAgentRuntimeAsyncClientBuilder,
+                                                           bedrockRuntimeAsyncClientBuilder, syncHttpClient, asyncHttpClient,
+                                                           eventLoopGroup);
+      connection.configureFailoverRegions(failoverRuntimeClients(commonParams, syncHttpClient, credentialsProvider));
+      if (credentialsProvider instanceof SdkAutoCloseable) {
+        connection.registerResource("CredentialsProvider", (SdkAutoCloseable) credentialsProvider);
       }
-    };
-    java.util.function.LongFunction<BedrockRuntimeAsyncClient> runtimeAsyncClientFactory = timeoutMs -> {
-      try {
-        SdkAsyncHttpClient httpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, timeoutMs);
-        BedrockRuntimeAsyncClientBuilder builder = BedrockRuntimeAsyncClient.builder()
-            .httpClient(httpClient)
-            .credentialsProvider(credentialsProvider);
-        RegionUtils.configureRegionProperty(builder, commonParams);
-        return builder.build();
-      } catch (ConnectionException e) {
-        throw new RuntimeException("Failed to build BedrockRuntimeAsyncClient", e);
+      return connection;
+    } catch (ConnectionException | RuntimeException e) {
+      if (credentialsProvider instanceof SdkAutoCloseable) {
+        ((SdkAutoCloseable) credentialsProvider).close();
       }
-    };
-
-    Region region = RegionUtils.getRegion(commonParams);
-    return new BedrockConnection(region.id(), bedrockRuntimeClientBuilder, bedrockClientBuilder,
-                                 bedrockAgentClientBuilder, bedrockAgentRuntimeClientBuilder, iamClientBuilder,
-                                 connectionTimeoutMs, agentRuntimeAsyncClientFactory, runtimeAsyncClientFactory);
+      throw e;
+    }
   }
 }
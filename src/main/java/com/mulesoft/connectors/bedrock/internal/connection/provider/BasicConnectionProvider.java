@@ -18,7 +18,9 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
 import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
@@ -55,67 +57,65 @@ public class BasicConnectionProvider extends AbstractBedrockConnectionProvider<B
   protected BedrockConnection buildConnection(CommonParameters commonParams) throws AWSConnectionException, ConnectionException {
     AwsCredentialsProvider credentialsProvider = this.getAWSCredentialsProvider(commonParams);
 
+    // One pooled sync HTTP client is shared by the runtime, control plane, agent, agent runtime and IAM clients
+    SdkHttpClient syncHttpClient = sdkHttpClientFactory.buildHttpClient(commonParams);
+
     // Build BedrockRuntimeClient
     BedrockRuntimeClientBuilder bedrockRuntimeClientBuilder = BedrockRuntimeClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
+        .httpClient(syncHttpClient)
         .credentialsProvider(credentialsProvider);
     RegionUtils.configureRegionProperty(bedrockRuntimeClientBuilder, commonParams);
 
     // Build BedrockClient
     BedrockClientBuilder bedrockClientBuilder = BedrockClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
+        .httpClient(syncHttpClient)
         .credentialsProvider(credentialsProvider);
     RegionUtils.configureRegionProperty(bedrockClientBuilder, commonParams);
 
     // Build BedrockAgentClient
     BedrockAgentClientBuilder bedrockAgentClientBuilder = BedrockAgentClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
+        .httpClient(syncHttpClient)
         .credentialsProvider(credentialsProvider);
     RegionUtils.configureRegionProperty(bedrockAgentClientBuilder, commonParams);
 
     // Build BedrockAgentRuntimeClient
     BedrockAgentRuntimeClientBuilder bedrockAgentRuntimeClientBuilder = BedrockAgentRuntimeClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
+        .httpClient(syncHttpClient)
         .credentialsProvider(credentialsProvider);
     RegionUtils.configureRegionProperty(bedrockAgentRuntimeClientBuilder, commonParams);
 
     // Build IamClient
     IamClientBuilder iamClientBuilder = IamClient.builder()
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParams))
+        .httpClient(syncHttpClient)
         .credentialsProvider(credentialsProvider);
     RegionUtils.configureRegionProperty(iamClientBuilder, commonParams);
 
     int connectionTimeoutMs = commonParams.getConnectionTimeout();
-    // Factories build async clients with a given effective timeout so they can be cached by timeout
-    java.util.function.LongFunction<BedrockAgentRuntimeAsyncClient> agentRuntimeAsyncClientFactory = timeoutMs -> {
-      try {
-        SdkAsyncHttpClient httpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, timeoutMs);
-        BedrockAgentRuntimeAsyncClientBuilder builder = BedrockAgentRuntimeAsyncClient.builder()
-            .httpClient(httpClient)
-            .credentialsProvider(credentialsProvider);
-        RegionUtils.configureRegionProperty(builder, commonParams);
-        return builder.build();
-      } catch (ConnectionException e) {
-        throw new RuntimeException("Failed to build BedrockAgentRuntimeAsyncClient", e);
-      }
-    };
-    java.util.function.LongFunction<BedrockRuntimeAsyncClient> runtimeAsyncClientFactory = timeoutMs -> {
-      try {
-        SdkAsyncHttpClient httpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, timeoutMs);
-        BedrockRuntimeAsyncClientBuilder builder = BedrockRuntimeAsyncClient.builder()
-            .httpClient(httpClient)
-            .credentialsProvider(credentialsProvider);
-        RegionUtils.configureRegionProperty(builder, commonParams);
-        return builder.build();
-      } catch (ConnectionException e) {
-        throw new RuntimeException("Failed to build BedrockRuntimeAsyncClient", e);
-      }
-    };
+    // One async HTTP client, and so one connection pool, is shared by the runtime and agent runtime async clients; timeouts
+    // are applied per call, through the request's apiCallTimeout and the idle timeout of event streams
+    SdkEventLoopGroup eventLoopGroup = sdkHttpClientFactory.buildEventLoopGroup();
+    SdkAsyncHttpClient asyncHttpClient = sdkHttpClientFactory.buildHttpAsyncClient(commonParams, eventLoopGroup);
+
+    // Build BedrockAgentRuntimeAsyncClient
+    BedrockAgentRuntimeAsyncClientBuilder bedrockAgentRuntimeAsyncClientBuilder = BedrockAgentRuntimeAsyncClient.builder()
+        .httpClient(asyncHttpClient)
+        .credentialsProvider(credentialsProvider);
+    RegionUtils.configureRegionProperty(bedrockAgentRuntimeAsyncClientBuilder, commonParams);
+
+    // Build BedrockRuntimeAsyncClient
+    BedrockRuntimeAsyncClientBuilder bedrockRuntimeAsyncClientBuilder = BedrockRuntimeAsyncClient.builder()
+        .httpClient(asyncHttpClient)
+        .credentialsProvider(credentialsProvider);
+    RegionUtils.configureRegionProperty(bedrockRuntimeAsyncClientBuilder, commonParams);
 
     Region region = RegionUtils.getRegion(commonParams);
-    return new BedrockConnection(region.id(), bedrockRuntimeClientBuilder, bedrockClientBuilder,
-                                 bedrockAgentClientBuilder, bedrockAgentRuntimeClientBuilder, iamClientBuilder,
-                                 connectionTimeoutMs, agentRuntimeAsyncClientFactory, runtimeAsyncClientFactory);
+    BedrockConnection connection = new BedrockConnection(region.id(), bedrockRuntimeClientBuilder, bedrockClientBuilder,
+                                                         bedrockAgentClientBuilder, bedrockAgentRuntimeClientBuilder,
+                                                         iamClientBuilder, connectionTimeoutMs,
+                                                         bedrockAgentRuntimeAsyncClientBuilder, bedrockRuntimeAsyncClientBuilder,
+                                                         syncHttpClient, asyncHttpClient, eventLoopGroup);
+    connection.configureFailoverRegions(failoverRuntimeClients(commonParams, syncHttpClient, credentialsProvider));
+    return connection;
   }
 
   @Override
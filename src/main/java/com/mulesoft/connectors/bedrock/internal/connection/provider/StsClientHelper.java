@@ -9,6 +9,7 @@ import org.mule.runtime.api.connection.ConnectionException;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.StsClientBuilder;
@@ -35,6 +36,22 @@ public class StsClientHelper {
                                          SdkHttpClientFactory sdkHttpClientFactory,
                                          String customStsEndpoint)
       throws ConnectionException {
+    return buildStsClient(commonParameters, sdkHttpClientFactory.buildHttpClient(commonParameters), customStsEndpoint);
+  }
+
+  /**
+   * Builds an StsClient that uses the given HTTP client. The HTTP client is not closed with the StsClient.
+   *
+   * @param commonParameters Common AWS parameters
+   * @param httpClient HTTP client used for STS calls
+   * @param customStsEndpoint Optional custom STS endpoint
+   * @return Configured StsClient
+   * @throws ConnectionException if client cannot be built
+   */
+  public static StsClient buildStsClient(CommonParameters commonParameters,
+                                         SdkHttpClient httpClient,
+                                         String customStsEndpoint)
+      throws ConnectionException {
     Region region = RegionUtils.getRegion(commonParameters);
     String serviceEndpoint = commonParameters.getCustomServiceEndpoint();
 
@@ -44,7 +61,7 @@ public class StsClientHelper {
             : StaticCredentialsProvider.create(AwsBasicCredentials.create(
                                                                           commonParameters.getAccessKey(),
                                                                           commonParameters.getSecretKey())))
-        .httpClient(sdkHttpClientFactory.buildHttpClient(commonParameters));
+        .httpClient(httpClient);
 
     if (!StringUtils.isBlank(customStsEndpoint)) {
       stsClientBuilder.endpointOverride(URI.create(customStsEndpoint));
@@ -0,0 +1,61 @@
+package com.mulesoft.connectors.bedrock.internal.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of connector counters and latency histograms, keyed by metric name (e.g.
+ * {@code sts.assume-role.refresh.latency}). Recording is lock-free; {@link #snapshot()} renders every metric for logging or
+ * diagnostics.
+ */
+public final class ConnectorMetrics {
+
+  private static final ConnectorMetrics INSTANCE = new ConnectorMetrics();
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+  ConnectorMetrics() {}
+
+  public static ConnectorMetrics get() {
+    return INSTANCE;
+  }
+
+  public void increment(String name) {
+    counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+  }
+
+  public void add(String name, long delta) {
+    counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+  }
+
+  public void record(String name, long valueMs) {
+    histogram(name).record(valueMs);
+  }
+
+  public long getCount(String name) {
+    LongAdder counter = counters.get(name);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  public LatencyHistogram histogram(String name) {
+    return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+  }
+
+  /**
+   * Returns every counter value and histogram summary, sorted by name.
+   */
+  public Map<String, String> snapshot() {
+    Map<String, String> snapshot = new TreeMap<>();
+    counters.forEach((name, counter) -> snapshot.put(name, String.valueOf(counter.sum())));
+    histograms.forEach((name, histogram) -> snapshot.put(name, histogram.toString()));
+    return snapshot;
+  }
+
+  void reset() {
+    counters.clear();
+    histograms.clear();
+  }
+}
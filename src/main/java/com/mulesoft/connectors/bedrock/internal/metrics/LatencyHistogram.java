@@ -0,0 +1,72 @@
+package com.mulesoft.connectors.bedrock.internal.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of millisecond values with fixed, roughly exponential bucket bounds. Percentiles are reported as the upper
+ * bound of the bucket they fall in, which is accurate enough for latency dashboards and cheap to record on hot paths.
+ */
+public final class LatencyHistogram {
+
+  private static final long[] BUCKET_BOUNDS_MS =
+      {1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, 120_000, Long.MAX_VALUE};
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MS.length);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  public void record(long valueMs) {
+    long value = Math.max(0, valueMs);
+    int bucket = 0;
+    while (value > BUCKET_BOUNDS_MS[bucket]) {
+      bucket++;
+    }
+    buckets.incrementAndGet(bucket);
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public double getMean() {
+    long n = count.sum();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the upper bound (ms) of the bucket containing the given percentile, capped at the maximum recorded value.
+   *
+   * @param percentile a value between 0 and 100
+   */
+  public long getPercentile(double percentile) {
+    long n = count.sum();
+    if (n == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100.0 * n);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min(BUCKET_BOUNDS_MS[i], getMax());
+      }
+    }
+    return getMax();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d mean=%.1fms p50=%dms p99=%dms max=%dms", getCount(), getMean(), getPercentile(50),
+                         getPercentile(99), getMax());
+  }
+}
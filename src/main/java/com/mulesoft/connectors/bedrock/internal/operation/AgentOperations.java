@@ -167,7 +167,8 @@ public class AgentOperations extends BedrockOperation<AgentService> {
    * @param bedrockAgentsSessionParameters Session properties including session ID for maintaining conversation context.
    * @param bedrockAgentsFilteringParameters Knowledge base metadata filtering parameters for querying specific documents.
    * @return InputStream containing Server-Sent Events (SSE) stream with real-time agent response chunks, citations, and trace
-   *         information (if enabled).
+   *         information (if enabled). The session-start event no longer carries {@code timeToFirstChunkMs}; it is reported in
+   *         session-complete.
    */
   @MediaType(value = "text/event-stream", strict = false)
   @Throws(BedrockErrorsProvider.class)
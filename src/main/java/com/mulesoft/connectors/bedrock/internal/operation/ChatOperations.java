@@ -62,7 +62,9 @@ public class ChatOperations extends BedrockOperation<ChatService> {
    * @param prompt The text prompt to send to the model.
    * @param bedrockParameters Additional properties including model name, region, temperature, topP, topK, maxTokenCount, and
    *        optional guardrail identifier.
-   * @return InputStream containing Server-Sent Events (SSE) stream with real-time text generation chunks.
+   * @return InputStream containing Server-Sent Events (SSE) stream with real-time text generation chunks. The session-start event
+   *         carries no timings; the time to response and to first token are reported in a first-token event after the first
+   *         chunk and in session-complete.
    */
   @MediaType(value = "text/event-stream", strict = false)
   @Throws(BedrockErrorsProvider.class)
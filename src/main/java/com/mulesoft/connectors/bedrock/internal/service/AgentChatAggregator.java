@@ -0,0 +1,172 @@
+package com.mulesoft.connectors.bedrock.internal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.json.JSONObject;
+
+import com.mulesoft.connectors.bedrock.internal.util.JsonStringEscaper;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockagentruntime.model.Citation;
+import software.amazon.awssdk.services.bedrockagentruntime.model.PayloadPart;
+import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievedReference;
+
+/**
+ * Collects the chunks of a non-streaming agent invocation and writes the final response once. Chunk text is appended to a
+ * single buffer and each chunk only keeps its end offset and arrival time; citations keep the SDK objects of the chunks that
+ * carry them. The result is serialized field by field with the keys and key order of the {@code JSONObject} tree it replaces
+ * and strings escaped by {@link JsonStringEscaper}.
+ * <p>
+ * Chunks may be added from the SDK callback thread while the result is built on another, so access is synchronized.
+ */
+final class AgentChatAggregator {
+
+  private static final int INITIAL_CHUNKS = 16;
+
+  private final StringBuilder text = new StringBuilder(256);
+  private int[] textEnds = new int[INITIAL_CHUNKS];
+  private long[] timestamps = new long[INITIAL_CHUNKS];
+  private final BitSet withoutText = new BitSet();
+  private int[] citedChunks = new int[4];
+  private final List<List<Citation>> chunkCitations = new ArrayList<>(0);
+  private int chunkCount;
+
+  synchronized void addChunk(PayloadPart chunk) {
+    if (chunkCount == textEnds.length) {
+      textEnds = Arrays.copyOf(textEnds, chunkCount * 2);
+      timestamps = Arrays.copyOf(timestamps, chunkCount * 2);
+    }
+    timestamps[chunkCount] = System.currentTimeMillis();
+    SdkBytes bytes = chunk.bytes();
+    if (bytes != null) {
+      text.append(new String(bytes.asByteArrayUnsafe(), StandardCharsets.UTF_8));
+    } else {
+      withoutText.set(chunkCount);
+    }
+    textEnds[chunkCount] = text.length();
+    if (chunk.attribution() != null && chunk.attribution().citations() != null) {
+      if (chunkCitations.size() == citedChunks.length) {
+        citedChunks = Arrays.copyOf(citedChunks, citedChunks.length * 2);
+      }
+      citedChunks[chunkCitations.size()] = chunkCount;
+      chunkCitations.add(chunk.attribution().citations());
+    }
+    chunkCount++;
+  }
+
+  /**
+   * Writes the {@code AGENT-chat} response: session fields, every chunk with its text, timestamp and citations, and a summary
+   * with the chunk count, the full response text and the duration since {@code startTime}.
+   */
+  synchronized String toJson(String sessionId, String agentId, String agentAlias, String prompt, long startTime) {
+    StringBuilder out = new StringBuilder(text.length() * 2 + 256 + chunkCount * 96);
+    out.append('{');
+    out.append("\"summary\":{\"total_duration_ms\":").append(System.currentTimeMillis() - startTime)
+        .append(",\"totalChunks\":").append(chunkCount)
+        .append(",\"fullResponse\":");
+    JsonStringEscaper.quote(out, text, 0, text.length());
+    out.append('}');
+    appendField(out, "agentId", agentId);
+    appendField(out, "agentAlias", agentAlias);
+    out.append(",\"chunks\":");
+    appendChunks(out);
+    appendField(out, "processedAt", Instant.now().toString());
+    appendField(out, "sessionId", sessionId);
+    appendField(out, "prompt", prompt);
+    return out.append('}').toString();
+  }
+
+  private void appendChunks(StringBuilder out) {
+    out.append('[');
+    int nextCited = 0;
+    long lastMillis = Long.MIN_VALUE;
+    String lastTimestamp = null;
+    for (int i = 0; i < chunkCount; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append('{');
+      if (nextCited < chunkCitations.size() && citedChunks[nextCited] == i) {
+        out.append("\"citations\":");
+        appendCitations(out, chunkCitations.get(nextCited++));
+        out.append(',');
+      }
+      if (!withoutText.get(i)) {
+        out.append("\"text\":");
+        JsonStringEscaper.quote(out, text, i == 0 ? 0 : textEnds[i - 1], textEnds[i]);
+        out.append(',');
+      }
+      if (timestamps[i] != lastMillis) {
+        lastMillis = timestamps[i];
+        lastTimestamp = Instant.ofEpochMilli(lastMillis).toString();
+      }
+      out.append("\"type\":\"chunk\",\"timestamp\":\"").append(lastTimestamp).append("\"}");
+    }
+    out.append(']');
+  }
+
+  private static void appendCitations(StringBuilder out, List<Citation> citations) {
+    out.append('[');
+    for (int i = 0; i < citations.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      Citation citation = citations.get(i);
+      int mark = out.append('{').length();
+      if (citation.retrievedReferences() != null) {
+        out.append("\"retrievedReferences\":");
+        appendRetrievedReferences(out, citation.retrievedReferences());
+      }
+      if (citation.generatedResponsePart() != null && citation.generatedResponsePart().textResponsePart() != null) {
+        appendMember(out, mark, "generatedResponsePart", citation.generatedResponsePart().textResponsePart().text());
+      }
+      out.append('}');
+    }
+    out.append(']');
+  }
+
+  private static void appendRetrievedReferences(StringBuilder out, List<RetrievedReference> references) {
+    out.append('[');
+    for (int i = 0; i < references.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      RetrievedReference reference = references.get(i);
+      int mark = out.append('{').length();
+      if (reference.metadata() != null) {
+        out.append("\"metadata\":").append(new JSONObject(reference.metadata()));
+      }
+      if (reference.location() != null) {
+        appendMember(out, mark, "location", reference.location().toString());
+      }
+      if (reference.content() != null && reference.content().text() != null) {
+        appendMember(out, mark, "content", reference.content().text());
+      }
+      out.append('}');
+    }
+    out.append(']');
+  }
+
+  /**
+   * Appends a string member of an object opened at {@code mark}; like {@code JSONObject.put}, a null value omits the member.
+   */
+  private static void appendMember(StringBuilder out, int mark, String key, String value) {
+    if (value == null) {
+      return;
+    }
+    if (out.length() > mark) {
+      out.append(',');
+    }
+    out.append('"').append(key).append("\":");
+    JsonStringEscaper.quote(out, value, 0, value.length());
+  }
+
+  private static void appendField(StringBuilder out, String key, String value) {
+    appendMember(out, 0, key, value);
+  }
+}
@@ -1,28 +1,22 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.concurrent.ExecutionException;
 import org.mule.runtime.api.scheduler.Scheduler;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.json.JSONArray;
@@ -39,11 +33,17 @@ import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
 import com.mulesoft.connectors.bedrock.internal.error.BedrockErrorType;
 import com.mulesoft.connectors.bedrock.internal.error.ErrorHandler;
 import com.mulesoft.connectors.bedrock.internal.helper.PromptPayloadHelper;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.streaming.BoundedDemandSubscriber;
+import com.mulesoft.connectors.bedrock.internal.streaming.ChunkCoalescer;
+import com.mulesoft.connectors.bedrock.internal.streaming.RingBufferOutputStream;
+import com.mulesoft.connectors.bedrock.internal.streaming.SseEventEncoder;
 import com.mulesoft.connectors.bedrock.internal.util.StreamingRetryUtility;
 import org.mule.runtime.extension.api.exception.ModuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.core.document.Document;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.bedrockagent.model.Agent;
@@ -62,6 +62,7 @@ import software.amazon.awssdk.services.bedrockagentruntime.model.KnowledgeBaseRe
 import software.amazon.awssdk.services.bedrockagentruntime.model.KnowledgeBaseVectorSearchConfiguration;
 import software.amazon.awssdk.services.bedrockagentruntime.model.PayloadPart;
 import software.amazon.awssdk.services.bedrockagentruntime.model.PromptCreationConfigurations;
+import software.amazon.awssdk.services.bedrockagentruntime.model.ResponseStream;
 import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievalFilter;
 import software.amazon.awssdk.services.bedrockagentruntime.model.SessionState;
 import software.amazon.awssdk.services.bedrockagentruntime.model.VectorSearchBedrockRerankingConfiguration;
@@ -90,23 +91,14 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
   private static final String AGENT_ALIAS = "agentAlias";
   private static final String PROMPT = "prompt";
   private static final String PROCESSED_AT = "processedAt";
-  private static final String CHUNKS = "chunks";
-  private static final String SUMMARY = "summary";
-  private static final String TOTAL_CHUNKS = "totalChunks";
-  private static final String FULL_RESPONSE = "fullResponse";
   private static final String TYPE = "type";
   private static final String CHUNK = "chunk";
   private static final String TIMESTAMP = "timestamp";
   private static final String TEXT = "text";
-  private static final String CITATIONS = "citations";
-  private static final String GENERATED_RESPONSE_PART = "generatedResponsePart";
-  private static final String RETRIEVED_REFERENCES = "retrievedReferences";
-  private static final String CONTENT = "content";
-  private static final String LOCATION = "location";
-  private static final String METADATA = "metadata";
   private static final String ERROR_KEY = "error";
   private static final String ERROR_WRITING_EVENT_LOG = "Error writing error event: {}";
-  private static final String END_OF_STREAM_SENTINEL = "__END_OF_STREAM__";
+  private static final String AGENT_STREAMS_REJECTED_METRIC = "agent.streaming.rejected";
+  private static final String AGENT_STREAMS_CANCELLED_METRIC = "agent.streaming.cancelled";
 
   private static final AtomicInteger eventCounter = new AtomicInteger(0);
 
@@ -125,7 +117,7 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
       String nativeRequest = PromptPayloadHelper.identifyPayload(finalPromptTemplate, bedrockParameters);
       String region = getConnection().getRegion();
       InvokeModelRequest invokeModelRequest = PromptPayloadHelper.createInvokeRequest(bedrockParameters, region, nativeRequest);
-      InvokeModelResponse invokeModelResponse = getConnection().answerPrompt(invokeModelRequest);
+      InvokeModelResponse invokeModelResponse = sendInvokeModelRequest(invokeModelRequest);
       return PromptPayloadHelper.formatBedrockResponse(bedrockParameters, invokeModelResponse);
     } catch (SdkClientException e) {
       throw ErrorHandler.handleSdkClientException(e, bedrockParameters != null ? bedrockParameters.getModelName() : null);
@@ -301,9 +293,9 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
                                                          previousConversationTurnsToInclude, knowledgeBaseConfigs,
                                                          operationTimeout, operationTimeoutUnit);
     CompletableFuture<String> completionFuture = new CompletableFuture<>();
-    List<JSONObject> chunks = Collections.synchronizedList(new ArrayList<>());
+    AgentChatAggregator aggregator = new AgentChatAggregator();
     InvokeAgentResponseHandler.Visitor visitor = InvokeAgentResponseHandler.Visitor.builder()
-        .onChunk(chunk -> chunks.add(buildInvokeAgentChunkJson(chunk)))
+        .onChunk(aggregator::addChunk)
         .build();
     InvokeAgentResponseHandler handler = InvokeAgentResponseHandler.builder()
         .subscriber(visitor)
@@ -316,9 +308,7 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
       if (throwable != null) {
         completionFuture.completeExceptionally(throwable);
       } else {
-        completionFuture.complete(buildInvokeAgentResult(effectiveSessionId, agentId, agentAliasId, prompt, chunks,
-                                                         startTime)
-            .toString());
+        completionFuture.complete(aggregator.toJson(effectiveSessionId, agentId, agentAliasId, prompt, startTime));
       }
     });
     return completionFuture;
@@ -348,90 +338,6 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
     return requestBuilder.build();
   }
 
-  private JSONObject buildInvokeAgentChunkJson(PayloadPart chunk) {
-    JSONObject chunkData = new JSONObject();
-    chunkData.put(TYPE, CHUNK);
-    chunkData.put(TIMESTAMP, Instant.now().toString());
-    if (chunk.bytes() != null) {
-      String text = new String(chunk.bytes().asByteArray(), StandardCharsets.UTF_8);
-      chunkData.put(TEXT, text);
-    }
-    if (chunk.attribution() != null && chunk.attribution().citations() != null) {
-      chunkData.put(CITATIONS, buildCitationsJson(chunk.attribution().citations()));
-    }
-    return chunkData;
-  }
-
-  private JSONArray buildCitationsJson(
-                                       java.util.List<software.amazon.awssdk.services.bedrockagentruntime.model.Citation> citations) {
-    JSONArray citationsArray = new JSONArray();
-    citations.forEach(citation -> citationsArray.put(buildCitationJson(citation)));
-    return citationsArray;
-  }
-
-  private JSONObject buildCitationJson(
-                                       software.amazon.awssdk.services.bedrockagentruntime.model.Citation citation) {
-    JSONObject citationData = new JSONObject();
-    if (citation.generatedResponsePart() != null
-        && citation.generatedResponsePart().textResponsePart() != null) {
-      citationData.put(GENERATED_RESPONSE_PART,
-                       citation.generatedResponsePart().textResponsePart().text());
-    }
-    if (citation.retrievedReferences() != null) {
-      citationData.put(RETRIEVED_REFERENCES, buildRetrievedReferencesJson(citation.retrievedReferences()));
-    }
-    return citationData;
-  }
-
-  private JSONArray buildRetrievedReferencesJson(
-                                                 java.util.List<software.amazon.awssdk.services.bedrockagentruntime.model.RetrievedReference> refs) {
-    JSONArray referencesArray = new JSONArray();
-    refs.forEach(ref -> referencesArray.put(buildRetrievedReferenceJson(ref)));
-    return referencesArray;
-  }
-
-  private JSONObject buildRetrievedReferenceJson(
-                                                 software.amazon.awssdk.services.bedrockagentruntime.model.RetrievedReference ref) {
-    JSONObject refData = new JSONObject();
-    if (ref.content() != null && ref.content().text() != null) {
-      refData.put(CONTENT, ref.content().text());
-    }
-    if (ref.location() != null) {
-      refData.put(LOCATION, ref.location().toString());
-    }
-    if (ref.metadata() != null) {
-      refData.put(METADATA, new JSONObject(ref.metadata()));
-    }
-    return refData;
-  }
-
-  private JSONObject buildInvokeAgentResult(String effectiveSessionId, String agentId, String agentAliasId,
-                                            String prompt, List<JSONObject> chunks, long startTime) {
-    JSONObject finalResult = new JSONObject();
-    finalResult.put(SESSION_ID, effectiveSessionId);
-    finalResult.put(AGENT_ID, agentId);
-    finalResult.put(AGENT_ALIAS, agentAliasId);
-    finalResult.put(PROMPT, prompt);
-    finalResult.put(PROCESSED_AT, Instant.now().toString());
-    finalResult.put(CHUNKS, new JSONArray(chunks));
-    finalResult.put(SUMMARY, buildInvokeAgentSummary(chunks, startTime));
-    return finalResult;
-  }
-
-  private JSONObject buildInvokeAgentSummary(List<JSONObject> chunks, long startTime) {
-    JSONObject summary = new JSONObject();
-    summary.put(TOTAL_CHUNKS, chunks.size());
-    StringBuilder fullText = new StringBuilder();
-    chunks.forEach(chunk -> {
-      if (chunk.has(TEXT)) {
-        fullText.append(chunk.getString(TEXT));
-      }
-    });
-    summary.put(FULL_RESPONSE, fullText.toString());
-    summary.put("total_duration_ms", System.currentTimeMillis() - startTime);
-    return summary;
-  }
-
   private static Duration toDuration(int amount, TimeUnit amountUnit) {
     if (amountUnit == null) {
       return Duration.ofSeconds(amount);
@@ -713,7 +619,11 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
   /**
    * Invokes Bedrock Agent and returns streaming SSE response as InputStream.
    *
-   * This method is designed to work with Mule's binary streaming.
+   * This method is designed to work with Mule's binary streaming. The request is sent from a short task on the streaming
+   * scheduler and the SDK callbacks write the SSE events straight into a non-blocking {@link RingBufferOutputStream} that the
+   * Mule consumer reads, so no thread is held for the duration of the response and no callback ever waits for the consumer.
+   * Admission is bounded by {@link BedrockConfiguration#tryAcquireAgentStream()}; when saturated the operation fails fast instead
+   * of queueing.
    **/
   private InputStream invokeAgentSSEStream(String agentAliasId, String agentId,
                                            String prompt, boolean enableTrace,
@@ -729,68 +639,47 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
         .debug("SSE streaming request received - agentId: {}, agentAlias: {}, sessionId: {}, requestId: {}, correlationId: {}, promptLength: {}",
                agentId, agentAliasId, effectiveSessionId, requestId, correlationId, prompt != null ? prompt.length() : 0);
 
-    PipedOutputStream outputStream = null;
-    try {
-      // Create piped streams for real-time streaming
-      outputStream = new PipedOutputStream();
-      PipedInputStream inputStream = new PipedInputStream(outputStream);
-
-      // Track if chunks have been received (for retry logic)
-      AtomicBoolean chunksReceived = new AtomicBoolean(false);
-      // Track if session-start has been sent (for consistency - always send before error if not already sent)
-      AtomicBoolean sessionStartSent = new AtomicBoolean(false);
-      // Track if client disconnected - used to stop processing new chunks and release thread
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-
-      // Bounded queue prevents unbounded memory growth if the writer thread is slow (e.g. slow client).
-      // 1000 is generous for SSE events; offer() returns false if full, which we log and drop to avoid OOM.
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1000);
-
-      final PipedOutputStream finalOut = outputStream;
-
-      // Use Mule's managed IO scheduler for streaming operations instead of a manual ThreadPoolExecutor.
-      // The IO scheduler is designed for blocking I/O tasks and is lifecycle-managed by the Mule runtime,
-      // ensuring graceful shutdown on undeploy (no daemon thread abrupt termination, no classloader leaks).
-      Scheduler streamingScheduler = getConfig().getStreamingScheduler();
-
-      Future<?> writerFuture = submitToScheduler(
-                                                 () -> runWriterTask(writeQueue, finalOut,
-                                                                     clientDisconnected, agentId,
-                                                                     effectiveSessionId, requestId),
-                                                 streamingScheduler);
-
-      // Start the streaming process asynchronously on the Mule IO scheduler
-      // (NOT on ForkJoinPool.commonPool() which has ~CPU-cores threads and would starve under blocking retries)
-      submitToScheduler(
-                        () -> runProducerTask(agentAliasId, agentId, prompt, enableTrace, latencyOptimized,
-                                              effectiveSessionId,
-                                              excludePreviousThinkingSteps, previousConversationTurnsToInclude,
-                                              knowledgeBaseConfigs,
-                                              finalOut, retryConfig, chunksReceived, sessionStartSent, requestId,
-                                              correlationId, userId,
-                                              operationTimeout, operationTimeoutUnit, writeQueue,
-                                              clientDisconnected,
-                                              requestStartTime, writerFuture),
-                        streamingScheduler);
-      return inputStream;
+    BedrockConfiguration config = getConfig();
+    if (!config.tryAcquireAgentStream()) {
+      ConnectorMetrics.get().increment(AGENT_STREAMS_REJECTED_METRIC);
+      logger
+          .info("Agent operation [AGENT-chat-streaming-SSE] session-end sessionId={} agentId={} durationMs={} status=rejected",
+                effectiveSessionId, agentId, System.currentTimeMillis() - requestStartTime);
+      throw new ModuleException("Agent streaming capacity exceeded - " + config.getMaxConcurrentAgentStreams()
+          + " streams are already active. Retry later or reduce concurrent streaming requests.", BedrockErrorType.SERVICE_ERROR);
+    }
+    Runnable releaseStream = releaseOnce(config);
 
-    } catch (IOException e) {
-      // Return error as immediate SSE event
-      logger.debug("Failed to initialize SSE streaming - agentId: {}, sessionId: {}, requestId: {}, error: {}, elapsedMs: {}",
-                   agentId, effectiveSessionId, requestId, e.getMessage(), System.currentTimeMillis() - requestStartTime);
-      String errorEvent = formatSSEEvent(ERROR_KEY, createErrorJson(e).toString());
-      logger.error(errorEvent);
-      if (outputStream != null) {
-        closeQuietly(outputStream);
-      }
+    // Written by the SDK callbacks without waiting, optionally spilling to disk from the scheduler; read by the Mule consumer
+    RingBufferOutputStream outputStream = RingBufferOutputStream.nonBlocking(RingBufferOutputStream.DEFAULT_CAPACITY,
+                                                                             config.getStreamingSpillMaxSize(),
+                                                                             config.getStreamingScheduler());
+
+    // Track if chunks have been received (for retry logic)
+    AtomicBoolean chunksReceived = new AtomicBoolean(false);
+    // Track if session-start has been sent (for consistency - always send before error if not already sent)
+    AtomicBoolean sessionStartSent = new AtomicBoolean(false);
+
+    try {
+      submitToScheduler(() -> startAgentStream(agentAliasId, agentId, prompt, enableTrace, latencyOptimized, effectiveSessionId,
+                                               excludePreviousThinkingSteps, previousConversationTurnsToInclude,
+                                               knowledgeBaseConfigs, outputStream, retryConfig, chunksReceived,
+                                               sessionStartSent, requestId, correlationId, userId, operationTimeout,
+                                               operationTimeoutUnit, requestStartTime, releaseStream),
+                        config.getStreamingScheduler());
+    } catch (ModuleException e) {
+      releaseStream.run();
+      closeQuietly(outputStream);
+      ConnectorMetrics.get().increment(AGENT_STREAMS_REJECTED_METRIC);
       logger
           .info("Agent operation [AGENT-chat-streaming-SSE] session-end sessionId={} agentId={} durationMs={} status=init-failed",
                 effectiveSessionId, agentId, System.currentTimeMillis() - requestStartTime);
-      return new ByteArrayInputStream(errorEvent.getBytes(StandardCharsets.UTF_8));
+      throw e;
     }
+    return outputStream.getInputStream();
   }
 
-  private void closeQuietly(PipedOutputStream os) {
+  private void closeQuietly(RingBufferOutputStream os) {
     try {
       if (os != null)
         os.close();
@@ -799,217 +688,151 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
     }
   }
 
-  /**
-   * Writer task: drains SSE events from the queue and writes them to the piped output stream. Runs until it receives the
-   * {@link #END_OF_STREAM_SENTINEL}. On client disconnect (IOException), sets the clientDisconnected flag and drains the queue to
-   * unblock producers.
-   */
-  private void runWriterTask(BlockingQueue<String> writeQueue, PipedOutputStream outputStream,
-                             AtomicBoolean clientDisconnected, String agentId, String effectiveSessionId, String requestId) {
-    logger.debug("Writer thread started - agentId: {}, sessionId: {}, requestId: {}", agentId,
-                 effectiveSessionId, requestId);
-    try {
-      while (true) {
-        String event = writeQueue.take();
-        if (END_OF_STREAM_SENTINEL.equals(event)) {
-          break;
-        }
-        outputStream.write(event.getBytes(StandardCharsets.UTF_8));
-        outputStream.flush();
-      }
-      logger.debug("Writer thread completed - agentId: {}, sessionId: {}, requestId: {}", agentId,
-                   effectiveSessionId, requestId);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      logger.debug("Writer thread interrupted - agentId: {}, sessionId: {}, requestId: {}", agentId, effectiveSessionId,
-                   requestId);
-    } catch (IOException e) {
-      clientDisconnected.set(true);
-      logger
-          .error("Writer thread IOException (client disconnect) - agentId: {}, sessionId: {}, requestId: {}, error: {}",
-                 agentId, effectiveSessionId, requestId, e.getMessage());
-      // Drain remaining queue items to prevent blocking producers
-      int drained = 0;
-      while (writeQueue.poll() != null) {
-        drained++;
+  private static Runnable releaseOnce(BedrockConfiguration config) {
+    AtomicBoolean released = new AtomicBoolean(false);
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        config.releaseAgentStream();
       }
-      if (drained > 0) {
-        logger.warn("Drained {} queued events after IOException - agentId: {}, sessionId: {}, requestId: {}",
-                    drained, agentId, effectiveSessionId, requestId);
-      }
-    } finally {
-      try {
-        outputStream.close();
-      } catch (IOException e) {
-        logger.debug("Could not close output stream: {}", e.getMessage());
-      }
-    }
+    };
   }
 
   /**
-   * Producer task: invokes Bedrock with retry logic, queues SSE events for the writer, and ensures the stream terminates cleanly.
-   * On failure, sends a session-start (if not yet sent) and error event before the end-of-stream sentinel. Always waits for the
-   * writer future to complete before returning.
+   * Writes session-start, then sends the InvokeAgent request without waiting for it. Retryable failures before the first chunk
+   * are retried after a backoff scheduled on the streaming scheduler, not slept. Once the last attempt has ended the stream is
+   * closed, after an error event if it failed, and the admission permit is released. When the consumer closes the stream, the
+   * current attempt is cancelled and no further attempt is made.
    */
-  private void runProducerTask(String agentAliasId, String agentId, String prompt, boolean enableTrace,
-                               boolean latencyOptimized, String effectiveSessionId,
-                               boolean excludePreviousThinkingSteps, Integer previousConversationTurnsToInclude,
-                               java.util.List<BedrockAgentsFilteringParameters.KnowledgeBaseConfig> knowledgeBaseConfigs,
-                               PipedOutputStream outputStream, StreamingRetryUtility.RetryConfig retryConfig,
-                               AtomicBoolean chunksReceived, AtomicBoolean sessionStartSent,
-                               String requestId, String correlationId, String userId,
-                               Integer operationTimeout, TimeUnit operationTimeoutUnit,
-                               BlockingQueue<String> writeQueue, AtomicBoolean clientDisconnected,
-                               long requestStartTime, Future<?> writerFuture) {
-    try {
-      streamBedrockResponseWithRetry(agentAliasId, agentId, prompt, enableTrace, latencyOptimized, effectiveSessionId,
-                                     excludePreviousThinkingSteps, previousConversationTurnsToInclude,
-                                     knowledgeBaseConfigs,
-                                     outputStream, retryConfig, chunksReceived, sessionStartSent, requestId, correlationId,
-                                     userId,
-                                     operationTimeout, operationTimeoutUnit, writeQueue, clientDisconnected);
-      logger.debug("Streaming completed - agentId: {}, sessionId: {}, requestId: {}, elapsedMs: {}",
-                   agentId, effectiveSessionId, requestId, System.currentTimeMillis() - requestStartTime);
-    } catch (ModuleException e) {
-      logger.error("Async streaming operation failed - agentId: {}, sessionId: {}, requestId: {}, error: {}, elapsedMs: {}",
-                   agentId, effectiveSessionId, requestId, e.getMessage(), System.currentTimeMillis() - requestStartTime);
-      try {
-        queueStreamFailureEvents(e, agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId, userId,
-                                 sessionStartSent, writeQueue);
-      } catch (IOException ioe) {
-        logger.error("Failed to queue failure events - agentId: {}, sessionId: {}, requestId: {}, error: {}",
-                     agentId, effectiveSessionId, requestId, ioe.getMessage());
-      }
-      if (!forceQueueSentinel(writeQueue, agentId, effectiveSessionId, requestId)) {
-        throw new ModuleException(
-                                  "Failed to queue end-of-stream sentinel - stream will not terminate cleanly. agentId: "
-                                      + agentId
-                                      + ", sessionId: " + effectiveSessionId + ", requestId: " + requestId,
-                                  BedrockErrorType.SERVICE_ERROR);
-      }
-    } finally {
-      awaitWriterCompletion(writerFuture, agentId, effectiveSessionId, requestId);
-      logger.info("Agent operation [AGENT-chat-streaming-SSE] session-end sessionId={} agentId={} durationMs={}",
+  private void startAgentStream(String agentAliasId, String agentId, String prompt, boolean enableTrace,
+                                boolean latencyOptimized, String effectiveSessionId,
+                                boolean excludePreviousThinkingSteps, Integer previousConversationTurnsToInclude,
+                                java.util.List<BedrockAgentsFilteringParameters.KnowledgeBaseConfig> knowledgeBaseConfigs,
+                                RingBufferOutputStream outputStream, StreamingRetryUtility.RetryConfig retryConfig,
+                                AtomicBoolean chunksReceived, AtomicBoolean sessionStartSent,
+                                String requestId, String correlationId, String userId,
+                                Integer operationTimeout, TimeUnit operationTimeoutUnit,
+                                long requestStartTime, Runnable releaseStream) {
+    if (outputStream.isConsumerClosed()) {
+      releaseStream.run();
+      ConnectorMetrics.get().increment(AGENT_STREAMS_CANCELLED_METRIC);
+      logger.info("Agent operation [AGENT-chat-streaming-SSE] session-end sessionId={} agentId={} durationMs={} status=cancelled",
                   effectiveSessionId, agentId, System.currentTimeMillis() - requestStartTime);
+      return;
     }
-  }
-
-  /**
-   * Queues session-start (if not yet sent) and error SSE events to the write queue on streaming failure. Ensures the client
-   * receives a consistent event sequence even when the Bedrock call fails.
-   */
-  private void queueStreamFailureEvents(Exception e, String agentAliasId, String agentId, String prompt,
-                                        String effectiveSessionId, String requestId, String correlationId, String userId,
-                                        AtomicBoolean sessionStartSent, BlockingQueue<String> writeQueue)
-      throws IOException {
+    // The prompt is known up front: session-start goes out from this task, so the SDK callbacks only ever write chunks
     if (sessionStartSent.compareAndSet(false, true)) {
-      writeSessionStartEvent(agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId, userId,
-                             -1, writeQueue);
-    }
-
-    JSONObject errorJson = createErrorJson(e);
-    String errorEvent = formatSSEEvent(ERROR_KEY, errorJson.toString());
-    if (!writeQueue.offer(errorEvent)) {
-      logger.warn("Queue full, dropping error event - agentId: {}, sessionId: {}, requestId: {}",
-                  agentId, effectiveSessionId, requestId);
+      try {
+        writeSessionStartEvent(agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId, userId, outputStream);
+      } catch (IOException e) {
+        logger.debug(ERROR_WRITING_EVENT_LOG, e.getMessage());
+      }
     }
-    logger.error("Streaming error - agentId: {}, sessionId: {}, requestId: {}, error: {}",
-                 agentId, effectiveSessionId, requestId, e.getMessage());
+    AtomicReference<CompletableFuture<Void>> invocation = new AtomicReference<>();
+    AtomicReference<CompletableFuture<Void>> eventSubscription = new AtomicReference<>();
+    StreamingRetryUtility.AsyncStreamingOperation operation =
+        () -> streamBedrockResponse(agentAliasId, agentId, prompt, enableTrace, latencyOptimized, effectiveSessionId,
+                                    excludePreviousThinkingSteps, previousConversationTurnsToInclude, knowledgeBaseConfigs,
+                                    outputStream, chunksReceived, requestId, correlationId, userId, operationTimeout,
+                                    operationTimeoutUnit, invocation, eventSubscription);
+    CompletableFuture<StreamingRetryUtility.RetryResult> streaming =
+        StreamingRetryUtility.executeWithRetryAsync(operation, retryConfig, chunksReceived, getConfig().getStreamingScheduler(),
+                                                    agentId, effectiveSessionId, requestId);
+    streaming.whenComplete((result, error) -> {
+      try {
+        if (result != null && !result.isSuccess()) {
+          writeStreamFailureEvents(streamFailure(result, retryConfig), agentAliasId, agentId, prompt, effectiveSessionId,
+                                   requestId, correlationId, userId, sessionStartSent, outputStream);
+        }
+      } finally {
+        closeQuietly(outputStream);
+        releaseStream.run();
+        logger.info("Agent operation [AGENT-chat-streaming-SSE] session-end sessionId={} agentId={} durationMs={}",
+                    effectiveSessionId, agentId, System.currentTimeMillis() - requestStartTime);
+      }
+    });
+    outputStream.onConsumerClose(() -> cancelAgentStream(streaming, invocation, eventSubscription, agentId, effectiveSessionId,
+                                                         requestId));
   }
 
   /**
-   * Forces the end-of-stream sentinel onto the write queue. If the queue is full, drops one item to make room. The sentinel is
-   * critical — without it the writer thread blocks forever on {@code writeQueue.take()}.
-   *
-   * @return {@code true} if the sentinel was successfully queued, {@code false} if it could not be queued even after draining
+   * Cancels a stream whose consumer went away: stops retries and event delivery and aborts the SDK request, which releases the
+   * connection and, through the retry future, the stream's admission permit.
    */
-  private boolean forceQueueSentinel(BlockingQueue<String> writeQueue, String agentId, String effectiveSessionId,
-                                     String requestId) {
-    if (writeQueue.offer(END_OF_STREAM_SENTINEL)) {
-      return true;
+  private static void cancelAgentStream(CompletableFuture<StreamingRetryUtility.RetryResult> streaming,
+                                        AtomicReference<CompletableFuture<Void>> invocation,
+                                        AtomicReference<CompletableFuture<Void>> eventSubscription, String agentId,
+                                        String effectiveSessionId, String requestId) {
+    if (!streaming.cancel(false)) {
+      return;
+    }
+    CompletableFuture<Void> events = eventSubscription.get();
+    if (events != null) {
+      events.cancel(true);
     }
-    writeQueue.poll();
-    if (writeQueue.offer(END_OF_STREAM_SENTINEL)) {
-      return true;
+    CompletableFuture<Void> current = invocation.get();
+    if (current != null) {
+      current.cancel(true);
     }
-    logger.error("Failed to queue end-of-stream sentinel after drain - agentId: {}, sessionId: {}, requestId: {}",
-                 agentId, effectiveSessionId, requestId);
-    return false;
+    ConnectorMetrics.get().increment(AGENT_STREAMS_CANCELLED_METRIC);
+    logger.debug("Consumer closed SSE stream, cancelled agent invocation - agentId: {}, sessionId: {}, requestId: {}", agentId,
+                 effectiveSessionId, requestId);
   }
 
   /**
-   * Waits for the writer future to complete within 5 seconds. Ensures the writer thread has flushed all data and closed the
-   * output stream before the producer thread exits.
+   * Builds the error reported to the client once retries are exhausted, with retry information in the message.
    */
-  private void awaitWriterCompletion(Future<?> writerFuture, String agentId, String effectiveSessionId,
-                                     String requestId) {
-    try {
-      writerFuture.get(5, TimeUnit.SECONDS);
-    } catch (InterruptedException ie) {
-      Thread.currentThread().interrupt();
-      logger.warn("Interrupted while waiting for writer thread - agentId: {}, sessionId: {}, requestId: {}",
-                  agentId, effectiveSessionId, requestId);
-    } catch (java.util.concurrent.TimeoutException te) {
-      logger.warn("Writer thread did not complete within 5s - agentId: {}, sessionId: {}, requestId: {}",
-                  agentId, effectiveSessionId, requestId);
-    } catch (Exception writerException) {
-      logger.error("Writer thread failed - agentId: {}, sessionId: {}, requestId: {}, error: {}",
-                   agentId, effectiveSessionId, requestId, writerException.getMessage());
-    }
+  private static ModuleException streamFailure(StreamingRetryUtility.RetryResult result,
+                                               StreamingRetryUtility.RetryConfig retryConfig) {
+    Exception lastException = result.getLastException();
+    String errorMessage = StreamingRetryUtility.createRetryErrorMessage(
+                                                                        lastException.getMessage() != null
+                                                                            ? lastException.getMessage()
+                                                                            : lastException.getClass().getSimpleName(),
+                                                                        result.getAttemptsMade(),
+                                                                        retryConfig.getMaxRetries(),
+                                                                        result.isChunksReceived());
+    return new ModuleException(errorMessage, BedrockErrorType.CLIENT_ERROR, lastException);
   }
 
   /**
-   * Wrapper method that adds retry logic around streamBedrockResponse. Only retries if no chunks have been received yet. Added
-   * writeQueue and clientDisconnected parameters to pass through to streamBedrockResponse
+   * Writes session-start (if not yet sent) and error SSE events on streaming failure. Ensures the client receives a consistent
+   * event sequence even when the Bedrock call fails.
    */
-  private void streamBedrockResponseWithRetry(String agentAliasId, String agentId, String prompt,
-                                              boolean enableTrace, boolean latencyOptimized,
-                                              String effectiveSessionId, boolean excludePreviousThinkingSteps,
-                                              Integer previousConversationTurnsToInclude,
-                                              java.util.List<BedrockAgentsFilteringParameters.KnowledgeBaseConfig> knowledgeBaseConfigs,
-                                              PipedOutputStream outputStream, StreamingRetryUtility.RetryConfig retryConfig,
-                                              AtomicBoolean chunksReceived,
-                                              AtomicBoolean sessionStartSent,
-                                              String requestId, String correlationId, String userId,
-                                              Integer operationTimeout, TimeUnit operationTimeoutUnit,
-                                              BlockingQueue<String> writeQueue, AtomicBoolean clientDisconnected) {
-    StreamingRetryUtility.StreamingOperation operation = () -> {
-      streamBedrockResponse(agentAliasId, agentId, prompt, enableTrace, latencyOptimized, effectiveSessionId,
-                            excludePreviousThinkingSteps, previousConversationTurnsToInclude,
-                            knowledgeBaseConfigs, outputStream, chunksReceived, sessionStartSent, requestId,
-                            correlationId, userId, operationTimeout, operationTimeoutUnit, writeQueue, clientDisconnected);
-    };
-
-    StreamingRetryUtility.RetryResult result =
-        StreamingRetryUtility.executeWithRetry(operation, retryConfig, chunksReceived, agentId, effectiveSessionId, requestId);
-    if (!result.isSuccess()) {
-      // Create enhanced error message with retry information
-      String errorMessage = StreamingRetryUtility.createRetryErrorMessage(
-                                                                          result.getLastException().getMessage() != null
-                                                                              ? result.getLastException().getMessage()
-                                                                              : result.getLastException().getClass()
-                                                                                  .getSimpleName(),
-                                                                          result.getAttemptsMade(),
-                                                                          retryConfig.getMaxRetries(),
-                                                                          result.isChunksReceived());
-
-      throw new ModuleException(errorMessage, BedrockErrorType.CLIENT_ERROR, result.getLastException());
+  private void writeStreamFailureEvents(Exception e, String agentAliasId, String agentId, String prompt,
+                                        String effectiveSessionId, String requestId, String correlationId, String userId,
+                                        AtomicBoolean sessionStartSent, RingBufferOutputStream outputStream) {
+    logger.error("Streaming error - agentId: {}, sessionId: {}, requestId: {}, error: {}",
+                 agentId, effectiveSessionId, requestId, e.getMessage());
+    if (outputStream.isConsumerClosed()) {
+      return;
+    }
+    try {
+      if (sessionStartSent.compareAndSet(false, true)) {
+        writeSessionStartEvent(agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId, userId, outputStream);
+      }
+      writeEvent(outputStream, formatSSEEvent(ERROR_KEY, createErrorJson(e).toString()));
+    } catch (IOException ioe) {
+      logger.debug(ERROR_WRITING_EVENT_LOG, ioe.getMessage());
     }
   }
 
   /**
-   * invokeAgentSSEStream and passed through to avoid race conditions
+   * Sends one InvokeAgent attempt and returns a future completing when its response has ended. Chunks are written to the stream
+   * by the SDK callbacks, which never wait: events are requested only as fast as the consumer drains the stream, and an event
+   * that does not fit in its free space is kept as overflow rather than waited for. The attempt's SDK future and event
+   * subscription are published for cancellation.
    */
-  private void streamBedrockResponse(String agentAliasId, String agentId, String prompt,
-                                     boolean enableTrace, boolean latencyOptimized, String effectiveSessionId,
-                                     boolean excludePreviousThinkingSteps, Integer previousConversationTurnsToInclude,
-                                     List<BedrockAgentsFilteringParameters.KnowledgeBaseConfig> knowledgeBaseConfigs,
-                                     PipedOutputStream outputStream, AtomicBoolean chunksReceived,
-                                     AtomicBoolean sessionStartSent, String requestId,
-                                     String correlationId, String userId,
-                                     Integer operationTimeout, TimeUnit operationTimeoutUnit,
-                                     BlockingQueue<String> writeQueue, AtomicBoolean clientDisconnected)
-      throws ExecutionException, InterruptedException, IOException {
+  private CompletableFuture<Void> streamBedrockResponse(String agentAliasId, String agentId, String prompt,
+                                                        boolean enableTrace, boolean latencyOptimized,
+                                                        String effectiveSessionId,
+                                                        boolean excludePreviousThinkingSteps,
+                                                        Integer previousConversationTurnsToInclude,
+                                                        List<BedrockAgentsFilteringParameters.KnowledgeBaseConfig> knowledgeBaseConfigs,
+                                                        RingBufferOutputStream outputStream, AtomicBoolean chunksReceived,
+                                                        String requestId, String correlationId, String userId,
+                                                        Integer operationTimeout, TimeUnit operationTimeoutUnit,
+                                                        AtomicReference<CompletableFuture<Void>> invocation,
+                                                        AtomicReference<CompletableFuture<Void>> eventSubscription) {
 
     long startTime = System.currentTimeMillis();
 
@@ -1024,52 +847,75 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
                                                                   previousConversationTurnsToInclude,
                                                                   knowledgeBaseConfigs, operationTimeout, operationTimeoutUnit);
 
+    Consumer<PayloadPart> chunkHandler =
+        chunk -> handleStreamChunk(agentId, effectiveSessionId, requestId, chunksReceived, startTime, outputStream, chunk,
+                                   chunkCount, lastChunkTime, timeToFirstChunk);
+    ChunkCoalescer coalescer = newChunkCoalescer(chunkHandler);
+
     InvokeAgentResponseHandler.Visitor visitor = InvokeAgentResponseHandler.Visitor.builder()
-        .onChunk(chunk -> handleStreamChunk(agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId,
-                                            userId, chunksReceived, sessionStartSent, startTime, writeQueue, chunk,
-                                            chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected))
+        .onChunk(chunk -> {
+          if (coalescer != null) {
+            coalesceChunk(chunk, coalescer, chunkHandler);
+          } else {
+            chunkHandler.accept(chunk);
+          }
+        })
         .build();
 
     InvokeAgentResponseHandler handler = InvokeAgentResponseHandler.builder()
-        .subscriber(visitor)
-        .onComplete(() -> handleStreamComplete(effectiveSessionId, agentId, agentAliasId, startTime, requestId,
-                                               correlationId, userId, chunkCount, timeToFirstChunk, chunksReceived, writeQueue,
-                                               clientDisconnected))
+        .onEventStream(publisher -> {
+          BoundedDemandSubscriber<ResponseStream> subscriber = new BoundedDemandSubscriber<>(
+              outputStream, getConfig().getStreamingScheduler(), event -> event.accept(visitor));
+          eventSubscription.set(subscriber.completion());
+          publisher.subscribe(subscriber);
+          if (outputStream.isConsumerClosed()) {
+            subscriber.completion().cancel(true);
+          }
+        })
+        .onComplete(() -> {
+          closeCoalescer(coalescer);
+          handleStreamComplete(effectiveSessionId, agentId, agentAliasId, startTime, requestId,
+                               correlationId, userId, chunkCount, timeToFirstChunk, outputStream);
+        })
         .build();
 
     long effectiveTimeoutMs = (operationTimeout != null && operationTimeout > 0)
         ? toDuration(operationTimeout, operationTimeoutUnit).toMillis()
         : getConnection().getConnectionTimeoutMs();
     CompletableFuture<Void> invocationFuture = getConnection().invokeAgent(request, handler, effectiveTimeoutMs);
+    invocation.set(invocationFuture);
+    // Text held by the coalescer must reach the client before any error event, which is written once this attempt has ended
+    return invocationFuture.whenComplete((result, throwable) -> closeCoalescer(coalescer));
+  }
 
-    // Use whenComplete callback to handle client disconnect instead of polling.
-    // When client disconnects (writer IOException), this cancels the Bedrock invocation.
-    invocationFuture.whenComplete((result, throwable) -> {
-      if (throwable == null && clientDisconnected.get()) {
-        logger.debug("Bedrock invocation completed but client already disconnected - agentId: {}, sessionId: {}, requestId: {}",
-                     agentId, effectiveSessionId, requestId);
-      }
-    });
+  /**
+   * Returns a coalescer that merges text chunks into payloads for the given chunk handler when the configuration enables chunk
+   * coalescing, or {@code null}.
+   */
+  private ChunkCoalescer newChunkCoalescer(Consumer<PayloadPart> chunkHandler) {
+    BedrockConfiguration config = getConfig();
+    long windowMillis = config.getStreamingCoalescingWindowMillis();
+    if (windowMillis <= 0) {
+      return null;
+    }
+    return new ChunkCoalescer(windowMillis, config.getStreamingCoalescingMaxSize(), config.getStreamingScheduler(),
+                              text -> chunkHandler.accept(PayloadPart.builder().bytes(SdkBytes.fromUtf8String(text)).build()));
+  }
 
-    try {
-      // Block until Bedrock invocation completes (or fails/times out).
-      // Client disconnect is handled by the writer thread setting clientDisconnected=true,
-      // which causes handleStreamChunk to skip queuing and handleStreamComplete to send sentinel.
-      invocationFuture.get();
-    } catch (ExecutionException | InterruptedException e) {
-      // If client disconnected during invocation, no need to propagate the error
-      if (clientDisconnected.get()) {
-        logger.debug("Client disconnected, suppressing Bedrock error - agentId: {}, sessionId: {}, requestId: {}",
-                     agentId, effectiveSessionId, requestId);
-        if (!forceQueueSentinel(writeQueue, agentId, effectiveSessionId, requestId)) {
-          throw new ModuleException(
-                                    "Failed to queue end-of-stream sentinel after client disconnect. agentId: " + agentId
-                                        + ", sessionId: " + effectiveSessionId + ", requestId: " + requestId,
-                                    BedrockErrorType.SERVICE_ERROR);
-        }
-        return;
-      }
-      throw e;
+  private static void coalesceChunk(PayloadPart chunk, ChunkCoalescer coalescer, Consumer<PayloadPart> chunkHandler) {
+    SdkBytes bytes = chunk.bytes();
+    if (bytes != null) {
+      coalescer.add(bytes.asUtf8String());
+      return;
+    }
+    // Keep ordering: held text goes out before a chunk the coalescer cannot merge
+    coalescer.flush();
+    chunkHandler.accept(chunk);
+  }
+
+  private static void closeCoalescer(ChunkCoalescer coalescer) {
+    if (coalescer != null) {
+      coalescer.close();
     }
   }
 
@@ -1098,16 +944,14 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
     return requestBuilder.build();
   }
 
-  private void handleStreamChunk(String agentAliasId, String agentId, String prompt, String effectiveSessionId,
-                                 String requestId, String correlationId, String userId,
-                                 AtomicBoolean chunksReceived, AtomicBoolean sessionStartSent, long startTime,
-                                 BlockingQueue<String> writeQueue, PayloadPart chunk,
-                                 AtomicInteger chunkCount, AtomicLong lastChunkTime, AtomicLong timeToFirstChunk,
-                                 AtomicBoolean clientDisconnected) {
-    // IMPORTANT: This callback runs on Netty's event loop thread.
-    // We must NOT block here, so we queue the data for the writer thread.
-    // Skip processing if client already disconnected - prevents queue growth
-    if (clientDisconnected.get()) {
+  private void handleStreamChunk(String agentId, String effectiveSessionId, String requestId,
+                                 AtomicBoolean chunksReceived, long startTime,
+                                 RingBufferOutputStream outputStream, PayloadPart chunk,
+                                 AtomicInteger chunkCount, AtomicLong lastChunkTime, AtomicLong timeToFirstChunk) {
+    // IMPORTANT: This callback runs on Netty's event loop thread. The output stream is non-blocking, so the write below never
+    // waits for the consumer; demand bounded by its free space keeps the overflow small.
+    // Skip processing if client already disconnected - the consumer-close listener cancels the stream
+    if (outputStream.isConsumerClosed()) {
       return;
     }
     try {
@@ -1117,63 +961,50 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
       int currentChunkCount = chunkCount.incrementAndGet();
       long timeSinceLastChunk = currentTime - lastChunkTime.getAndSet(currentTime);
 
-      if (sessionStartSent.compareAndSet(false, true)) {
-        long firstChunkTime = currentTime - startTime;
-        timeToFirstChunk.set(firstChunkTime);
+      long firstChunkTime = currentTime - startTime;
+      if (timeToFirstChunk.compareAndSet(-1, firstChunkTime)) {
         logger.debug("First chunk received - agentId: {}, sessionId: {}, requestId: {}, timeToFirstChunkMs: {}",
                      agentId, effectiveSessionId, requestId, firstChunkTime);
-        writeSessionStartEvent(agentAliasId, agentId, prompt, effectiveSessionId, requestId, correlationId, userId,
-                               firstChunkTime, writeQueue);
       } else if (timeSinceLastChunk > 1000) {
         logger.debug("Slow chunk gap - agentId: {}, sessionId: {}, requestId: {}, chunkNumber: {}, gapMs: {}",
                      agentId, effectiveSessionId, requestId, currentChunkCount, timeSinceLastChunk);
       }
-      JSONObject chunkData = createChunkJson(chunk);
-      String sseEvent = formatSSEEvent(CHUNK, chunkData.toString());
-      boolean queued = writeQueue.offer(sseEvent);
-      if (!queued) {
-        logger.warn("Queue full, dropping chunk event - agentId: {}, sessionId: {}, requestId: {}, chunkNumber: {}",
-                    agentId, effectiveSessionId, requestId, currentChunkCount);
-      }
+      writeChunkEvent(chunk, outputStream);
+    } catch (RingBufferOutputStream.ConsumerClosedException e) {
+      logger.debug("Dropping chunk, consumer closed the stream - agentId: {}, sessionId: {}, requestId: {}", agentId,
+                   effectiveSessionId, requestId);
     } catch (IOException e) {
-      writeChunkErrorEvent(e, writeQueue);
+      writeChunkErrorEvent(e, outputStream);
     }
   }
 
   private void writeSessionStartEvent(String agentAliasId, String agentId, String prompt, String effectiveSessionId,
                                       String requestId, String correlationId, String userId,
-                                      long firstChunkTime, BlockingQueue<String> writeQueue)
+                                      RingBufferOutputStream outputStream)
       throws IOException {
     JSONObject startEvent = createSessionStartJson(agentAliasId, agentId, prompt, effectiveSessionId,
-                                                   Instant.now().toString(), requestId, correlationId, userId, firstChunkTime);
-    String sseStart = formatSSEEvent("session-start", startEvent.toString());
-    if (!writeQueue.offer(sseStart)) {
-      throw new IOException(
-                            "Failed to queue session-start event - agentId: " + agentId
-                                + ", sessionId: " + effectiveSessionId + ", requestId: " + requestId);
-    }
+                                                   Instant.now().toString(), requestId, correlationId, userId);
+    writeEvent(outputStream, formatSSEEvent("session-start", startEvent.toString()));
   }
 
-  private void writeChunkErrorEvent(IOException e, BlockingQueue<String> writeQueue) {
-    String errorEvent = formatSSEEvent("chunk-error", createErrorJson(e).toString());
-    if (!writeQueue.offer(errorEvent)) {
-      logger.warn("Queue full, dropping chunk-error event");
-    }
+  private void writeChunkErrorEvent(IOException e, RingBufferOutputStream outputStream) {
     logger.error("Error processing chunk: {}", e.getMessage());
+    try {
+      writeEvent(outputStream, formatSSEEvent("chunk-error", createErrorJson(e).toString()));
+    } catch (IOException ioException) {
+      logger.debug(ERROR_WRITING_EVENT_LOG, ioException.getMessage());
+    }
   }
 
   private void handleStreamComplete(String effectiveSessionId, String agentId, String agentAliasId, long startTime,
                                     String requestId, String correlationId, String userId,
                                     AtomicInteger chunkCount, AtomicLong timeToFirstChunk,
-                                    AtomicBoolean chunksReceived, BlockingQueue<String> writeQueue,
-                                    AtomicBoolean clientDisconnected) {
-    // IMPORTANT: This callback runs on Netty's event loop thread.
-    // We must NOT block here, so we queue the data for the writer thread.
+                                    RingBufferOutputStream outputStream) {
     // Skip completion event if client already disconnected
-    if (clientDisconnected.get()) {
+    if (outputStream.isConsumerClosed()) {
       logger.debug("Skipping completion - client disconnected - agentId: {}, sessionId: {}, requestId: {}",
                    agentId, effectiveSessionId, requestId);
-      forceQueueSentinel(writeQueue, agentId, effectiveSessionId, requestId);
+      closeQuietly(outputStream);
       return;
     }
     try {
@@ -1184,24 +1015,28 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
       JSONObject completionData = createCompletionJson(effectiveSessionId, agentId, agentAliasId, totalDuration,
                                                        requestId, correlationId, userId,
                                                        timeToFirstChunkMs >= 0 ? timeToFirstChunkMs : -1, finalChunkCount);
-      String completionEvent = formatSSEEvent("session-complete", completionData.toString());
-      if (!writeQueue.offer(completionEvent)) {
-        logger.warn("Queue full, dropping completion event - agentId: {}, sessionId: {}, requestId: {}",
-                    agentId, effectiveSessionId, requestId);
-      }
+      writeEvent(outputStream, formatSSEEvent("session-complete", completionData.toString()));
+    } catch (IOException e) {
+      logger.debug("Error writing completion event - agentId: {}, sessionId: {}, requestId: {}, error: {}",
+                   agentId, effectiveSessionId, requestId, e.getMessage());
     } catch (Exception e) {
       logger.error("Error creating completion event - agentId: {}, sessionId: {}, requestId: {}, error: {}",
                    agentId, effectiveSessionId, requestId, e.getMessage());
-      String errorEvent = formatSSEEvent("completion-error", createErrorJson(e).toString());
-      if (!writeQueue.offer(errorEvent)) {
-        logger.warn("Queue full, dropping completion-error event - agentId: {}, sessionId: {}, requestId: {}",
-                    agentId, effectiveSessionId, requestId);
+      try {
+        writeEvent(outputStream, formatSSEEvent("completion-error", createErrorJson(e).toString()));
+      } catch (IOException ioException) {
+        logger.debug(ERROR_WRITING_EVENT_LOG, ioException.getMessage());
       }
     } finally {
-      forceQueueSentinel(writeQueue, agentId, effectiveSessionId, requestId);
+      closeQuietly(outputStream);
     }
   }
 
+  private static void writeEvent(RingBufferOutputStream outputStream, String event) throws IOException {
+    outputStream.write(event.getBytes(StandardCharsets.UTF_8));
+    outputStream.flush();
+  }
+
   private static JSONObject createCompletionJson(String sessionId, String agentId, String agentAlias, long duration,
                                                  String requestId, String correlationId, String userId, long timeToFirstChunkMs,
                                                  int totalChunks) {
@@ -1252,14 +1087,37 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
     return chunkData;
   }
 
+  /**
+   * Chunks carrying text take the encoder's fast path; empty or unreadable payloads keep the generic JSON form, which reports the
+   * decoding error.
+   */
+  private void writeChunkEvent(PayloadPart chunk, RingBufferOutputStream outputStream) throws IOException {
+    String text = null;
+    try {
+      SdkBytes bytes = chunk.bytes();
+      text = bytes != null ? bytes.asUtf8String() : null;
+    } catch (RuntimeException e) {
+      logger.debug("Falling back to generic chunk encoding: {}", e.getMessage());
+    }
+    if (text != null) {
+      outputStream.writeChunkEvent(eventCounter.incrementAndGet(), text);
+      outputStream.flush();
+    } else {
+      writeEvent(outputStream, formatSSEEvent(CHUNK, createChunkJson(chunk).toString()));
+    }
+  }
+
   private String formatSSEEvent(String eventType, String data) {
-    int eventId = eventCounter.incrementAndGet();
-    return String.format("id: %d%nevent: %s%ndata: %s%n%n", eventId, eventType, data);
+    return SseEventEncoder.format(eventCounter.incrementAndGet(), eventType, data);
   }
 
+  /**
+   * Session-start is written before the request is sent, so it carries no {@code timeToFirstChunkMs}; the time to first chunk is
+   * reported in session-complete only.
+   */
   private static JSONObject createSessionStartJson(String agentAlias, String agentId, String prompt,
                                                    String sessionId, String timestamp, String requestId, String correlationId,
-                                                   String userId, long timeToFirstChunkMs) {
+                                                   String userId) {
     JSONObject startData = new JSONObject();
     startData.put(SESSION_ID, sessionId);
     startData.put(AGENT_ID, agentId);
@@ -1267,7 +1125,6 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
     startData.put(PROMPT, prompt);
     startData.put(PROCESSED_AT, timestamp);
     startData.put("status", "started");
-    startData.put("timeToFirstChunkMs", timeToFirstChunkMs);
     if (requestId != null && !requestId.isEmpty()) {
       startData.put("requestId", requestId);
     }
@@ -1283,8 +1140,7 @@ public class AgentServiceImpl extends BedrockServiceImpl implements AgentService
   /**
    * Submits a task to the Mule IO scheduler via {@link Scheduler#submit(Runnable)}. If the scheduler rejects the task (e.g. all
    * concurrent slots are occupied), the rejection propagates as a {@link ModuleException} so the caller can return a clean error
-   * to the client. Running on the caller thread is not safe here because the writer and producer tasks have a producer-consumer
-   * dependency that would deadlock if both ran on the same thread.
+   * to the client. The task is not run on the caller thread, so the flow thread never waits for the request to be sent.
    */
   private static Future<?> submitToScheduler(Runnable task, Scheduler scheduler) {
     try {
@@ -1,12 +1,27 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
 import org.mule.connectors.commons.template.service.DefaultConnectorService;
+import com.mulesoft.connectors.bedrock.internal.cache.SingleFlight;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 
 public class BedrockServiceImpl extends DefaultConnectorService<BedrockConfiguration, BedrockConnection> {
 
   public BedrockServiceImpl(BedrockConfiguration bedrockConfiguration, BedrockConnection bedrockConnection) {
     super(bedrockConfiguration, bedrockConnection);
   }
+
+  /**
+   * Invokes the model through {@link BedrockConnection#answerPrompt(InvokeModelRequest)}. When invocation coalescing is enabled,
+   * a request equal to one already in flight waits for that call and shares its response instead of invoking the model again.
+   */
+  protected InvokeModelResponse sendInvokeModelRequest(InvokeModelRequest request) {
+    SingleFlight<InvokeModelRequest, InvokeModelResponse> coalescer = getConfig().getInvocationCoalescer();
+    if (coalescer != null) {
+      return coalescer.execute(request, () -> getConnection().answerPrompt(request));
+    }
+    return getConnection().answerPrompt(request);
+  }
 }
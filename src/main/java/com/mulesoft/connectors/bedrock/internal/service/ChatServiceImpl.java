@@ -1,35 +1,48 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
+import com.mulesoft.connectors.bedrock.internal.cache.SemanticResponseCache;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import com.mulesoft.connectors.bedrock.internal.error.BedrockErrorType;
 import com.mulesoft.connectors.bedrock.internal.error.ErrorHandler;
 import com.mulesoft.connectors.bedrock.internal.helper.PromptPayloadHelper;
 import com.mulesoft.connectors.bedrock.internal.helper.request.ConverseStreamRequestBuilder;
 import com.mulesoft.connectors.bedrock.internal.metadata.provider.ModelProvider;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.streaming.BoundedDemandSubscriber;
+import com.mulesoft.connectors.bedrock.internal.streaming.ChunkCoalescer;
+import com.mulesoft.connectors.bedrock.internal.streaming.RingBufferOutputStream;
+import com.mulesoft.connectors.bedrock.internal.streaming.SseEventEncoder;
+import org.mule.runtime.extension.api.exception.ModuleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamMetadataEvent;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamOutput;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamRequest;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamResponseHandler;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+import software.amazon.awssdk.services.bedrockruntime.model.TokenUsage;
 
 
 public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
@@ -38,15 +51,25 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
   private static final AtomicInteger eventCounter = new AtomicInteger(0);
   private static final String TIMESTAMP = "timestamp";
   private static final String PROMPT = "prompt";
-  private static final String TEXT = "text";
-  private static final String CHUNK = "chunk";
-  private static final String TYPE = "type";
   private static final String TEMPERATURE = "temperature";
   private static final String TOP_P = "top_p";
   private static final String TOP_K = "top_k";
   private static final String SESSION_START = "session-start";
+  private static final String FIRST_TOKEN = "first-token";
   private static final String ERROR_KEY = "error";
   private static final String ERROR_WRITING_EVENT_LOG = "Error writing error event: {}";
+  private static final String METADATA = "metadata";
+  private static final String TIME_TO_RESPONSE_MS = "timeToResponseMs";
+  private static final String TIME_TO_FIRST_TOKEN_MS = "timeToFirstTokenMs";
+  private static final String CHAT_STREAMS_REJECTED_METRIC = "chat.streaming.rejected";
+  private static final String CHAT_STREAMS_CANCELLED_METRIC = "chat.streaming.cancelled";
+  private static final String CHAT_TTFT_METRIC = "chat.streaming.time-to-first-token";
+  private static final String CHAT_TIME_TO_RESPONSE_METRIC = "chat.streaming.time-to-response";
+  private static final String CHAT_SERVER_LATENCY_METRIC = "chat.streaming.server-latency";
+  private static final String CHAT_CLIENT_LATENCY_METRIC = "chat.streaming.client-latency";
+  private static final String CHAT_INPUT_TOKENS_METRIC = "chat.streaming.input-tokens";
+  private static final String CHAT_OUTPUT_TOKENS_METRIC = "chat.streaming.output-tokens";
+  private static final String CHAT_OUTPUT_TOKENS_PER_SECOND_METRIC = "chat.streaming.output-tokens-per-second";
 
   @FunctionalInterface
   private interface PayloadGenerator extends BiFunction<String, BedrockParameters, String> {
@@ -179,12 +202,32 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
 
   @Override
   public String answerPrompt(String prompt, BedrockParameters bedrockParameters) {
+    Supplier<String> invocation = () -> invokeAnswerPrompt(prompt, bedrockParameters);
+    SemanticResponseCache semanticCache = getConfig().getSemanticResponseCache();
+    if (semanticCache != null) {
+      Supplier<String> modelInvocation = invocation;
+      invocation = () -> semanticCache.get("chat", prompt, bedrockParameters, text -> embedPrompt(semanticCache, text),
+                                           modelInvocation);
+    }
+    ResponseCache responseCache = getConfig().getResponseCache();
+    if (responseCache != null) {
+      return responseCache.get("chat", prompt, bedrockParameters, invocation);
+    }
+    return invocation.get();
+  }
+
+  private float[] embedPrompt(SemanticResponseCache semanticCache, String text) {
+    return new EmbeddingServiceImpl(getConfig(), getConnection())
+        .embedText(text, semanticCache.getEmbeddingModelId(), semanticCache.getEmbeddingDimensions());
+  }
+
+  private String invokeAnswerPrompt(String prompt, BedrockParameters bedrockParameters) {
     try {
       String nativeRequest = PromptPayloadHelper.identifyPayload(prompt, bedrockParameters);
       logger.info("Native request: {}", nativeRequest);
       String region = getConnection().getRegion();
       InvokeModelRequest invokeModelRequest = PromptPayloadHelper.createInvokeRequest(bedrockParameters, region, nativeRequest);
-      InvokeModelResponse invokeModelResponse = getConnection().answerPrompt(invokeModelRequest);
+      InvokeModelResponse invokeModelResponse = sendInvokeModelRequest(invokeModelRequest);
       return PromptPayloadHelper.formatBedrockResponse(bedrockParameters, invokeModelResponse);
     } catch (SdkClientException e) {
       throw ErrorHandler.handleSdkClientException(e, bedrockParameters.getModelName());
@@ -197,66 +240,153 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
   }
 
   /**
-   * Invokes Converse API streaming and returns SSE-formatted InputStream. Same pattern as chatWithAgentSSEStream: pipe + runAsync
-   * task that blocks on future.get(), SSE events (session-start, chunk, session-complete, error).
+   * Invokes Converse API streaming and returns SSE-formatted InputStream (session-start, chunk, first-token, metadata,
+   * session-complete, error events). Session-start is written before the request is sent and so carries no timings; the time to
+   * response and to first token go out in a first-token event right after the first text delta, and again in session-complete.
+   * The request is sent from a task on the configuration's chat streaming scheduler and the response is written to a
+   * non-blocking {@link RingBufferOutputStream} by the SDK callbacks, so no thread is held for the duration of the generation.
+   * Admission is bounded by {@link BedrockConfiguration#tryAcquireChatStream()}; when saturated the operation fails fast instead
+   * of queueing.
    */
   private InputStream invokeConverseSSEStream(String prompt, BedrockParameters bedrockParameters) {
-    PipedOutputStream outputStream = null;
+    BedrockConfiguration config = getConfig();
+    if (!config.tryAcquireChatStream()) {
+      ConnectorMetrics.get().increment(CHAT_STREAMS_REJECTED_METRIC);
+      throw new ModuleException("Chat streaming capacity exceeded - " + config.getMaxConcurrentChatStreams()
+          + " streams are already active. Retry later or reduce concurrent streaming requests.", BedrockErrorType.SERVICE_ERROR);
+    }
+    Runnable releaseStream = releaseOnce(config);
+
+    RingBufferOutputStream outputStream = RingBufferOutputStream.nonBlocking(RingBufferOutputStream.DEFAULT_CAPACITY,
+                                                                             config.getStreamingSpillMaxSize(),
+                                                                             config.getChatStreamingScheduler());
+    AtomicBoolean sessionStartSent = new AtomicBoolean(false);
     try {
-      outputStream = new PipedOutputStream();
-      PipedInputStream inputStream = new PipedInputStream(outputStream);
-
-      AtomicBoolean sessionStartSent = new AtomicBoolean(false);
-      final PipedOutputStream finalOut = outputStream;
-      CompletableFuture.runAsync(() -> {
-        try {
-          streamConverseResponse(prompt, bedrockParameters, finalOut, sessionStartSent);
-        } catch (Exception e) {
-          if (e instanceof InterruptedException) {
-            Thread.currentThread().interrupt();
-          }
-          try {
-            if (sessionStartSent.compareAndSet(false, true)) {
-              String sseStart = formatSSEEvent(SESSION_START,
-                                               createSessionStartJson(prompt, bedrockParameters.getModelName(),
-                                                                      Instant.now().toString())
-                                                   .toString());
-              finalOut.write(sseStart.getBytes(StandardCharsets.UTF_8));
-              finalOut.flush();
-              logger.info(sseStart);
-            }
-            JSONObject errorJson = createErrorJson(e);
-            String errorEvent = formatSSEEvent(ERROR_KEY, errorJson.toString());
-            finalOut.write(errorEvent.getBytes(StandardCharsets.UTF_8));
-            finalOut.flush();
-            logger.error(errorEvent);
-          } catch (IOException ioException) {
-            logger.error(ERROR_WRITING_EVENT_LOG, ioException.getMessage());
-          }
-        } finally {
-          try {
-            finalOut.close();
-          } catch (IOException ioException) {
-            logger.debug("Error closing stream: {}", ioException.getMessage());
-          } finally {
-            closeQuietly(finalOut);
-          }
+      config.getChatStreamingScheduler()
+          .submit(() -> startConverseStream(prompt, bedrockParameters, outputStream, sessionStartSent, releaseStream));
+    } catch (RejectedExecutionException e) {
+      releaseStream.run();
+      closeQuietly(outputStream);
+      ConnectorMetrics.get().increment(CHAT_STREAMS_REJECTED_METRIC);
+      throw new ModuleException("Chat streaming scheduler capacity exceeded - all concurrent slots are occupied. "
+          + "Retry later or reduce concurrent streaming requests.", BedrockErrorType.SERVICE_ERROR, e);
+    }
+    return outputStream.getInputStream();
+  }
+
+  /**
+   * Writes session-start, then sends the ConverseStream request without waiting for it. The stream's admission permit is released
+   * when the SDK future completes; a failure that the response handler did not see (e.g. the request could not be sent) is
+   * written as an error event.
+   * When the consumer closes the returned stream, the event subscription and the request are cancelled so the model stops
+   * generating tokens nobody reads.
+   */
+  private void startConverseStream(String prompt, BedrockParameters bedrockParameters, RingBufferOutputStream outputStream,
+                                   AtomicBoolean sessionStartSent, Runnable releaseStream) {
+    if (outputStream.isConsumerClosed()) {
+      releaseStream.run();
+      ConnectorMetrics.get().increment(CHAT_STREAMS_CANCELLED_METRIC);
+      logger.debug("Consumer closed the stream before the request was sent, skipping ConverseStream call");
+      return;
+    }
+    ConverseStreamTimings timings = new ConverseStreamTimings();
+    // The prompt is known up front: session-start goes out from this task, so the SDK callbacks never encode the prompt
+    if (sessionStartSent.compareAndSet(false, true)) {
+      try {
+        writeConverseSessionStart(prompt, bedrockParameters.getModelName(), outputStream);
+      } catch (IOException e) {
+        logger.debug(ERROR_WRITING_EVENT_LOG, e.getMessage());
+      }
+    }
+    AtomicReference<CompletableFuture<Void>> eventSubscription = new AtomicReference<>();
+    AtomicBoolean streamEnded = new AtomicBoolean(false);
+    try {
+      CompletableFuture<Void> invocation = streamConverseResponse(prompt, bedrockParameters, outputStream, sessionStartSent,
+                                                                  timings, eventSubscription, streamEnded);
+      invocation.whenComplete((result, error) -> {
+        releaseStream.run();
+        if (error != null && streamEnded.compareAndSet(false, true)) {
+          runOffEventLoop(() -> writeStreamFailure(prompt, bedrockParameters, outputStream, sessionStartSent, unwrap(error)));
         }
       });
+      outputStream.onConsumerClose(() -> cancelConverseStream(invocation, eventSubscription, bedrockParameters.getModelName(),
+                                                              timings));
+    } catch (RuntimeException e) {
+      releaseStream.run();
+      writeStreamFailure(prompt, bedrockParameters, outputStream, sessionStartSent, e);
+    }
+  }
+
+  /**
+   * Runs a task writing the final events of a stream on the chat streaming scheduler instead of the SDK event-loop thread that
+   * ended the stream: those events carry the prompt and may be large. Runs it in place when the scheduler rejects it; writes to
+   * the stream never wait, so this only costs the encoding.
+   */
+  private void runOffEventLoop(Runnable task) {
+    try {
+      getConfig().getChatStreamingScheduler().submit(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+  }
 
-      return inputStream;
+  /**
+   * Cancels a stream whose consumer went away: stops event delivery and aborts the SDK request, which releases the connection and
+   * the stream's admission permit.
+   */
+  private static void cancelConverseStream(CompletableFuture<Void> invocation,
+                                           AtomicReference<CompletableFuture<Void>> eventSubscription, String modelId,
+                                           ConverseStreamTimings timings) {
+    if (invocation.isDone()) {
+      return;
+    }
+    CompletableFuture<Void> events = eventSubscription.get();
+    if (events != null) {
+      events.cancel(true);
+    }
+    if (invocation.cancel(true)) {
+      ConnectorMetrics.get().increment(CHAT_STREAMS_CANCELLED_METRIC);
+      logger.debug("Consumer closed the stream, cancelled ConverseStream for model {} after {} ms and {} deltas", modelId,
+                   timings.getElapsedMs(), timings.getDeltaCount());
+    }
+  }
 
-    } catch (IOException e) {
-      String errorEvent = formatSSEEvent(ERROR_KEY, createErrorJson(e).toString());
-      logger.error(errorEvent);
-      if (outputStream != null) {
-        closeQuietly(outputStream);
+  private void writeStreamFailure(String prompt, BedrockParameters bedrockParameters, RingBufferOutputStream outputStream,
+                                  AtomicBoolean sessionStartSent, Throwable error) {
+    if (outputStream.isConsumerClosed()) {
+      logger.debug("Stream ended after the consumer closed it: {}", error.toString());
+      closeQuietly(outputStream);
+      return;
+    }
+    try {
+      if (sessionStartSent.compareAndSet(false, true)) {
+        writeConverseSessionStart(prompt, bedrockParameters.getModelName(), outputStream);
       }
-      return new ByteArrayInputStream(errorEvent.getBytes(StandardCharsets.UTF_8));
+      String errorEvent = formatSSEEvent(ERROR_KEY, createErrorJson(error).toString());
+      outputStream.write(errorEvent.getBytes(StandardCharsets.UTF_8));
+      outputStream.flush();
+      logger.error(errorEvent);
+    } catch (IOException ioException) {
+      logger.debug(ERROR_WRITING_EVENT_LOG, ioException.getMessage());
+    } finally {
+      closeQuietly(outputStream);
     }
   }
 
-  private void closeQuietly(PipedOutputStream os) {
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+
+  private static Runnable releaseOnce(BedrockConfiguration config) {
+    AtomicBoolean released = new AtomicBoolean(false);
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        config.releaseChatStream();
+      }
+    };
+  }
+
+  private void closeQuietly(RingBufferOutputStream os) {
     try {
       if (os != null)
         os.close();
@@ -266,65 +396,155 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
   }
 
   /**
-   * Builds ConverseStreamRequest and handler that write SSE events to the pipe, then blocks on future.get() until stream
-   * completes (same as streamBedrockResponse in AgentServiceImpl).
+   * Builds ConverseStreamRequest and handler that write SSE events to the stream, and sends the request. Returns the SDK future,
+   * which completes when the stream has ended. Response, first-token and delta timings are recorded in {@code timings}, and the
+   * first two are written as a first-token event once the first delta has been handed to the chunk writer. Events
+   * are requested only as fast as the consumer drains the stream and the callbacks never wait for it, so a slow consumer never
+   * blocks the SDK's event-loop threads. The handler that ends the stream sets {@code streamEnded} and hands its final events to
+   * the scheduler.
    */
-  private void streamConverseResponse(String prompt, BedrockParameters bedrockParameters,
-                                      PipedOutputStream outputStream, AtomicBoolean sessionStartSent)
-      throws ExecutionException, InterruptedException, IOException {
+  private CompletableFuture<Void> streamConverseResponse(String prompt, BedrockParameters bedrockParameters,
+                                                         RingBufferOutputStream outputStream, AtomicBoolean sessionStartSent,
+                                                         ConverseStreamTimings timings,
+                                                         AtomicReference<CompletableFuture<Void>> eventSubscription,
+                                                         AtomicBoolean streamEnded) {
 
-    long startTime = System.currentTimeMillis();
     String region = getConnection().getRegion();
     ConverseStreamRequest request = ConverseStreamRequestBuilder.create(bedrockParameters, region, prompt).build();
 
+    Consumer<String> chunkWriter = text -> handleConverseContentDelta(outputStream, text);
+    ChunkCoalescer coalescer = newChunkCoalescer(chunkWriter);
+    Consumer<String> deltaHandler = coalescer != null ? coalescer::add : chunkWriter;
+    AtomicReference<String> stopReason = new AtomicReference<>();
+    AtomicReference<ConverseStreamMetadataEvent> metadata = new AtomicReference<>();
+
     ConverseStreamResponseHandler.Visitor visitor = ConverseStreamResponseHandler.Visitor.builder()
         .onContentBlockDelta(deltaEvent -> {
           String text = deltaEvent.delta().text();
-          if (text != null) {
-            handleConverseContentDelta(prompt, bedrockParameters, outputStream, sessionStartSent, text);
+          if (text != null && !outputStream.isConsumerClosed()) {
+            boolean firstDelta = timings.markDelta();
+            deltaHandler.accept(text);
+            if (firstDelta) {
+              recordTimeToFirstToken(bedrockParameters.getModelName(), region, timings);
+              writeConverseFirstToken(timings, outputStream);
+            }
           }
         })
-        .onMessageStop(stopEvent -> {
-          /* Completion is sent in onComplete */ })
+        .onMessageStop(stopEvent -> stopReason.set(stopEvent.stopReasonAsString()))
+        .onMetadata(metadata::set)
         .onDefault(unknown -> logger.debug("Received event type: {}", unknown.getClass().getSimpleName()))
         .build();
 
     ConverseStreamResponseHandler handler = ConverseStreamResponseHandler.builder()
-        .onResponse(response -> logger.debug("Streaming connection opened"))
-        .onEventStream(publisher -> publisher.subscribe(event -> event.accept(visitor)))
-        .onError(error -> handleConverseError(prompt, bedrockParameters, outputStream, sessionStartSent, error))
-        .onComplete(() -> handleConverseComplete(prompt, bedrockParameters, outputStream, startTime))
+        .onResponse(response -> {
+          timings.markResponse();
+          logger.debug("Streaming connection opened after {} ms", timings.getTimeToResponseMs());
+        })
+        .onEventStream(publisher -> {
+          BoundedDemandSubscriber<ConverseStreamOutput> subscriber = new BoundedDemandSubscriber<>(
+              outputStream, getConfig().getChatStreamingScheduler(), event -> event.accept(visitor));
+          eventSubscription.set(subscriber.completion());
+          publisher.subscribe(subscriber);
+          if (outputStream.isConsumerClosed()) {
+            subscriber.completion().cancel(true);
+          }
+        })
+        .onError(error -> {
+          closeCoalescer(coalescer);
+          if (streamEnded.compareAndSet(false, true)) {
+            runOffEventLoop(() -> handleConverseError(prompt, bedrockParameters, outputStream, sessionStartSent, error));
+          }
+        })
+        .onComplete(() -> {
+          closeCoalescer(coalescer);
+          long elapsedMs = timings.getElapsedMs();
+          if (streamEnded.compareAndSet(false, true)) {
+            runOffEventLoop(() -> {
+              handleConverseMetadata(metadata.get(), stopReason.get(), outputStream, elapsedMs);
+              handleConverseComplete(prompt, bedrockParameters, outputStream, timings);
+            });
+          }
+        })
         .build();
 
-    getConnection().answerPromptStreaming(request, handler).get();
+    return getConnection().answerPromptStreaming(request, handler);
+  }
+
+  /**
+   * Returns a coalescer feeding the given chunk writer when the configuration enables chunk coalescing, or {@code null}.
+   */
+  private ChunkCoalescer newChunkCoalescer(Consumer<String> chunkWriter) {
+    BedrockConfiguration config = getConfig();
+    long windowMillis = config.getStreamingCoalescingWindowMillis();
+    if (windowMillis <= 0) {
+      return null;
+    }
+    return new ChunkCoalescer(windowMillis, config.getStreamingCoalescingMaxSize(), config.getChatStreamingScheduler(),
+                              chunkWriter);
   }
 
-  private void handleConverseContentDelta(String prompt, BedrockParameters bedrockParameters,
-                                          PipedOutputStream outputStream, AtomicBoolean sessionStartSent, String text) {
+  private static void closeCoalescer(ChunkCoalescer coalescer) {
+    if (coalescer != null) {
+      coalescer.close();
+    }
+  }
+
+  /**
+   * Records the time to first token of a stream in connector-wide, per-model and per-region histograms.
+   */
+  private static void recordTimeToFirstToken(String modelId, String region, ConverseStreamTimings timings) {
+    long timeToFirstTokenMs = timings.getTimeToFirstTokenMs();
+    ConnectorMetrics metrics = ConnectorMetrics.get();
+    metrics.record(CHAT_TTFT_METRIC, timeToFirstTokenMs);
+    metrics.record(CHAT_TTFT_METRIC + ".model." + modelId, timeToFirstTokenMs);
+    metrics.record(CHAT_TTFT_METRIC + ".region." + region, timeToFirstTokenMs);
+    long timeToResponseMs = timings.getTimeToResponseMs();
+    if (timeToResponseMs >= 0) {
+      metrics.record(CHAT_TIME_TO_RESPONSE_METRIC + ".model." + modelId, timeToResponseMs);
+    }
+  }
+
+  private void handleConverseContentDelta(RingBufferOutputStream outputStream, String text) {
     try {
-      if (sessionStartSent.compareAndSet(false, true)) {
-        writeConverseSessionStart(prompt, bedrockParameters.getModelName(), outputStream);
-      }
-      JSONObject chunkData = createChunkJson(text);
-      String sseEvent = formatSSEEvent(CHUNK, chunkData.toString());
-      outputStream.write(sseEvent.getBytes(StandardCharsets.UTF_8));
+      int eventId = eventCounter.incrementAndGet();
+      outputStream.writeChunkEvent(eventId, text);
       outputStream.flush();
-      logger.debug(sseEvent);
+      logger.debug("Wrote chunk event id={} length={}", eventId, text.length());
+    } catch (RingBufferOutputStream.ConsumerClosedException e) {
+      // The consumer-close listener cancels the stream; there is nobody left to send a chunk-error to
+      logger.debug("Dropping chunk, consumer closed the stream");
     } catch (IOException e) {
       writeConverseChunkError(e, outputStream);
     }
   }
 
-  private void writeConverseSessionStart(String prompt, String modelName, PipedOutputStream outputStream)
+  private void writeConverseSessionStart(String prompt, String modelName, RingBufferOutputStream outputStream)
       throws IOException {
-    String sseStart = formatSSEEvent(SESSION_START,
-                                     createSessionStartJson(prompt, modelName, Instant.now().toString()).toString());
+    JSONObject startData = createSessionStartJson(prompt, modelName, Instant.now().toString());
+    String sseStart = formatSSEEvent(SESSION_START, startData.toString());
     outputStream.write(sseStart.getBytes(StandardCharsets.UTF_8));
     outputStream.flush();
     logger.info(sseStart);
   }
 
-  private void writeConverseChunkError(IOException e, PipedOutputStream outputStream) {
+  /**
+   * Writes the time to response and to first token, measured when the first text delta arrived. The event is small and carries
+   * no prompt, so it is written from the SDK callback like the chunks.
+   */
+  private void writeConverseFirstToken(ConverseStreamTimings timings, RingBufferOutputStream outputStream) {
+    JSONObject firstTokenData = new JSONObject();
+    firstTokenData.put(TIME_TO_RESPONSE_MS, timings.getTimeToResponseMs());
+    firstTokenData.put(TIME_TO_FIRST_TOKEN_MS, timings.getTimeToFirstTokenMs());
+    firstTokenData.put(TIMESTAMP, Instant.now().toString());
+    try {
+      outputStream.write(formatSSEEvent(FIRST_TOKEN, firstTokenData.toString()).getBytes(StandardCharsets.UTF_8));
+      outputStream.flush();
+    } catch (IOException e) {
+      logger.debug("Error writing first-token event: {}", e.getMessage());
+    }
+  }
+
+  private void writeConverseChunkError(IOException e, RingBufferOutputStream outputStream) {
     try {
       String errorEvent = formatSSEEvent("chunk-error", createErrorJson(e).toString());
       outputStream.write(errorEvent.getBytes(StandardCharsets.UTF_8));
@@ -336,7 +556,7 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
   }
 
   private void handleConverseError(String prompt, BedrockParameters bedrockParameters,
-                                   PipedOutputStream outputStream, AtomicBoolean sessionStartSent, Throwable error) {
+                                   RingBufferOutputStream outputStream, AtomicBoolean sessionStartSent, Throwable error) {
     try {
       if (sessionStartSent.compareAndSet(false, true)) {
         writeConverseSessionStart(prompt, bedrockParameters.getModelName(), outputStream);
@@ -354,11 +574,55 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
     }
   }
 
+  /**
+   * Writes the stream's token usage, server-side latency and stop reason as a {@code metadata} event ahead of
+   * {@code session-complete}, and records them in the connector metrics.
+   */
+  private void handleConverseMetadata(ConverseStreamMetadataEvent metadata, String stopReason,
+                                      RingBufferOutputStream outputStream, long clientLatencyMs) {
+    recordConverseMetrics(metadata, clientLatencyMs);
+    if (metadata == null && stopReason == null) {
+      return;
+    }
+    try {
+      String metadataEvent = formatSSEEvent(METADATA, createMetadataJson(metadata, stopReason, clientLatencyMs).toString());
+      outputStream.write(metadataEvent.getBytes(StandardCharsets.UTF_8));
+      outputStream.flush();
+      logger.debug(metadataEvent);
+    } catch (IOException e) {
+      logger.debug("Error writing metadata event: {}", e.getMessage());
+    }
+  }
+
+  private static void recordConverseMetrics(ConverseStreamMetadataEvent metadata, long clientLatencyMs) {
+    ConnectorMetrics metrics = ConnectorMetrics.get();
+    metrics.record(CHAT_CLIENT_LATENCY_METRIC, clientLatencyMs);
+    if (metadata == null) {
+      return;
+    }
+    if (metadata.metrics() != null && metadata.metrics().latencyMs() != null) {
+      metrics.record(CHAT_SERVER_LATENCY_METRIC, metadata.metrics().latencyMs());
+    }
+    TokenUsage usage = metadata.usage();
+    if (usage != null) {
+      int inputTokens = usage.inputTokens() != null ? usage.inputTokens() : 0;
+      int outputTokens = usage.outputTokens() != null ? usage.outputTokens() : 0;
+      metrics.add(CHAT_INPUT_TOKENS_METRIC, inputTokens);
+      metrics.add(CHAT_OUTPUT_TOKENS_METRIC, outputTokens);
+      if (outputTokens > 0 && clientLatencyMs > 0) {
+        metrics.record(CHAT_OUTPUT_TOKENS_PER_SECOND_METRIC, outputTokens * 1000L / clientLatencyMs);
+      }
+    }
+  }
+
   private void handleConverseComplete(String prompt, BedrockParameters bedrockParameters,
-                                      PipedOutputStream outputStream, long startTime) {
+                                      RingBufferOutputStream outputStream, ConverseStreamTimings timings) {
     try {
-      long duration = System.currentTimeMillis() - startTime;
-      JSONObject completionData = createCompletionJson(prompt, bedrockParameters.getModelName(), duration);
+      JSONObject completionData = createCompletionJson(prompt, bedrockParameters.getModelName(), timings.getElapsedMs());
+      completionData.put(TIME_TO_RESPONSE_MS, timings.getTimeToResponseMs());
+      completionData.put(TIME_TO_FIRST_TOKEN_MS, timings.getTimeToFirstTokenMs());
+      completionData.put("totalDeltas", timings.getDeltaCount());
+      completionData.put("deltasPerSecond", timings.getDeltasPerSecond());
       String completionEvent = formatSSEEvent("session-complete", completionData.toString());
       outputStream.write(completionEvent.getBytes(StandardCharsets.UTF_8));
       outputStream.flush();
@@ -389,14 +653,6 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
     return startData;
   }
 
-  private static JSONObject createChunkJson(String text) {
-    JSONObject chunkData = new JSONObject();
-    chunkData.put(TYPE, CHUNK);
-    chunkData.put(TIMESTAMP, Instant.now().toString());
-    chunkData.put(TEXT, text);
-    return chunkData;
-  }
-
   private static JSONObject createCompletionJson(String prompt, String modelId, long durationMs) {
     JSONObject completionData = new JSONObject();
     completionData.put(PROMPT, prompt);
@@ -407,6 +663,27 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
     return completionData;
   }
 
+  private static JSONObject createMetadataJson(ConverseStreamMetadataEvent metadata, String stopReason, long clientLatencyMs) {
+    JSONObject metadataData = new JSONObject();
+    metadataData.put("stopReason", stopReason);
+    if (metadata != null && metadata.usage() != null) {
+      TokenUsage usage = metadata.usage();
+      JSONObject usageData = new JSONObject();
+      usageData.put("inputTokens", usage.inputTokens());
+      usageData.put("outputTokens", usage.outputTokens());
+      usageData.put("totalTokens", usage.totalTokens());
+      usageData.put("cacheReadInputTokens", usage.cacheReadInputTokens());
+      usageData.put("cacheWriteInputTokens", usage.cacheWriteInputTokens());
+      metadataData.put("usage", usageData);
+    }
+    if (metadata != null && metadata.metrics() != null) {
+      metadataData.put("latencyMs", metadata.metrics().latencyMs());
+    }
+    metadataData.put("clientLatencyMs", clientLatencyMs);
+    metadataData.put(TIMESTAMP, Instant.now().toString());
+    return metadataData;
+  }
+
   private static JSONObject createErrorJson(Throwable error) {
     JSONObject errorData = new JSONObject();
     errorData.put(ERROR_KEY, error.getMessage());
@@ -416,7 +693,6 @@ public class ChatServiceImpl extends BedrockServiceImpl implements ChatService {
   }
 
   private String formatSSEEvent(String eventType, String data) {
-    int eventId = eventCounter.incrementAndGet();
-    return String.format("id: %d%nevent: %s%ndata: %s%n%n", eventId, eventType, data);
+    return SseEventEncoder.format(eventCounter.incrementAndGet(), eventType, data);
   }
 }
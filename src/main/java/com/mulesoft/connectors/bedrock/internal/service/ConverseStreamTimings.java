@@ -0,0 +1,82 @@
+package com.mulesoft.connectors.bedrock.internal.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency milestones of one Converse stream, measured from the moment the request is sent: response headers received, first
+ * text delta received, and the number of deltas since. Unset milestones are reported as {@code -1}.
+ * <p>
+ * Milestones are stored as offsets from the request, which are never negative, rather than raw {@link System#nanoTime()} values,
+ * which can be; so {@code -1} can safely mark an unset milestone.
+ */
+final class ConverseStreamTimings {
+
+  private static final long UNSET = -1;
+
+  private final long requestSentNanos;
+  private volatile long responseOffsetNanos = UNSET;
+  private volatile long firstDeltaOffsetNanos = UNSET;
+  private volatile long lastDeltaOffsetNanos = UNSET;
+  private final AtomicInteger deltaCount = new AtomicInteger();
+
+  ConverseStreamTimings() {
+    this.requestSentNanos = System.nanoTime();
+  }
+
+  void markResponse() {
+    if (responseOffsetNanos == UNSET) {
+      responseOffsetNanos = sinceRequestNanos();
+    }
+  }
+
+  /**
+   * Records a text delta and returns {@code true} if it is the first one.
+   */
+  boolean markDelta() {
+    long offset = sinceRequestNanos();
+    lastDeltaOffsetNanos = offset;
+    if (deltaCount.getAndIncrement() == 0) {
+      firstDeltaOffsetNanos = offset;
+      return true;
+    }
+    return false;
+  }
+
+  long getTimeToResponseMs() {
+    return toMillis(responseOffsetNanos);
+  }
+
+  long getTimeToFirstTokenMs() {
+    return toMillis(firstDeltaOffsetNanos);
+  }
+
+  long getElapsedMs() {
+    return TimeUnit.NANOSECONDS.toMillis(sinceRequestNanos());
+  }
+
+  int getDeltaCount() {
+    return deltaCount.get();
+  }
+
+  /**
+   * Returns the rate at which deltas arrived after the first one, or 0 when there were fewer than two.
+   */
+  double getDeltasPerSecond() {
+    int deltas = deltaCount.get();
+    long first = firstDeltaOffsetNanos;
+    long last = lastDeltaOffsetNanos;
+    if (deltas < 2 || first == UNSET || last <= first) {
+      return 0;
+    }
+    return Math.round((deltas - 1) * 1e10 / (last - first)) / 10.0;
+  }
+
+  private long sinceRequestNanos() {
+    return System.nanoTime() - requestSentNanos;
+  }
+
+  private static long toMillis(long offsetNanos) {
+    return offsetNanos == UNSET ? -1 : TimeUnit.NANOSECONDS.toMillis(offsetNanos);
+  }
+}
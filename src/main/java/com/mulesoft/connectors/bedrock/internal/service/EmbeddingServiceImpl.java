@@ -18,6 +18,7 @@ import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParametersEmbed
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParametersEmbeddingDocument;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
@@ -135,6 +136,33 @@ public class EmbeddingServiceImpl extends BedrockServiceImpl implements Embeddin
     return response.toString();
   }
 
+  /**
+   * Returns the embedding vector of a text, computed with an Amazon Titan text embedding model. Used by the semantic response
+   * cache; {@code dimensions} only applies to models that support a configurable size.
+   */
+  public float[] embedText(String text, String modelId, int dimensions) {
+    String body;
+    if (modelId.contains("amazon.titan-embed-text-v2:0")) {
+      body = new JSONObject()
+          .put(INPUT_TEXT, text)
+          .put("dimensions", dimensions)
+          .put("normalize", true)
+          .toString();
+    } else if (modelId.contains("amazon.titan-embed-text-v1")) {
+      body = getAmazonTitanEmbeddingG1(text);
+    } else {
+      throw new IllegalArgumentException("Unsupported text embedding model: " + modelId);
+    }
+    JSONObject response = generateEmbedding(modelId, body);
+    ConnectorMetrics.get().add("embedding.input-tokens", response.optLong("inputTextTokenCount"));
+    JSONArray embedding = response.getJSONArray("embedding");
+    float[] vector = new float[embedding.length()];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) embedding.getDouble(i);
+    }
+    return vector;
+  }
+
   private JSONObject generateEmbedding(String modelId, String body) {
     InvokeModelRequest request = createInvokeRequest(modelId, body);
 
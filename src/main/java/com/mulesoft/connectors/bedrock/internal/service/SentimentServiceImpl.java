@@ -1,6 +1,7 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
 import com.mulesoft.connectors.bedrock.internal.error.ErrorHandler;
@@ -21,6 +22,15 @@ public class SentimentServiceImpl extends BedrockServiceImpl implements Sentimen
 
   @Override
   public String extractSentiments(String textToAnalyze, BedrockParameters bedrockParameters) {
+    ResponseCache responseCache = getConfig().getResponseCache();
+    if (responseCache != null) {
+      return responseCache.get("sentiment", textToAnalyze, bedrockParameters,
+                               () -> invokeExtractSentiments(textToAnalyze, bedrockParameters));
+    }
+    return invokeExtractSentiments(textToAnalyze, bedrockParameters);
+  }
+
+  private String invokeExtractSentiments(String textToAnalyze, BedrockParameters bedrockParameters) {
     try {
       String SentimentTemplate = "Analyze sentiment of: " + textToAnalyze
           + ". Does it have a positive sentiment? Respond in JSON with Sentiment (value of POSITIVE, NEGATIVE, NEUTRAL) and IsPositive (true or false)";
@@ -28,7 +38,7 @@ public class SentimentServiceImpl extends BedrockServiceImpl implements Sentimen
       logger.info("Native request: {}", nativeRequest);
       String region = getConnection().getRegion();
       InvokeModelRequest invokeModelRequest = PromptPayloadHelper.createInvokeRequest(bedrockParameters, region, nativeRequest);
-      InvokeModelResponse invokeModelResponse = getConnection().answerPrompt(invokeModelRequest);
+      InvokeModelResponse invokeModelResponse = sendInvokeModelRequest(invokeModelRequest);
       return PromptPayloadHelper.formatBedrockResponse(bedrockParameters, invokeModelResponse);
     } catch (SdkClientException e) {
       throw ErrorHandler.handleSdkClientException(e, bedrockParameters.getModelName());
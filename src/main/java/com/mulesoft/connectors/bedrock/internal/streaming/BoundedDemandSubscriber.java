@@ -0,0 +1,167 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+/**
+ * Subscribes to an SDK event stream with demand bounded by the free space of the {@link RingBufferOutputStream} its events are
+ * written to. Events are requested in batches sized so that the whole batch fits in the buffer; when the reader falls behind, no
+ * further events are requested until it has drained enough of the buffer. When the stream spills to disk, its free space
+ * includes the room left in the spill file, so events keep flowing until that is full.
+ * <p>
+ * The reservation is an estimate: an event can be larger than the space reserved for it. Streams written from SDK callbacks are
+ * therefore {@link RingBufferOutputStream#nonBlocking(int, int, Executor) non-blocking}, so that such an event overflows instead
+ * of making the SDK's event-loop thread wait for the reader; a blocking stream would park that thread and delay every other
+ * stream sharing it. While overflowing bytes are held in memory beyond what the spill file can take the stream reports no free
+ * space, so no further events are requested and the overflow is bounded by the events of the batch already requested.
+ * <p>
+ * Demand is resumed from the reader's thread through the given executor, never by the reader itself.
+ * <p>
+ * {@link #completion()} completes when the stream ends and, like the future returned by {@code SdkPublisher.subscribe(Consumer)},
+ * cancelling it cancels the subscription.
+ *
+ * @param <T> event type
+ */
+public final class BoundedDemandSubscriber<T> implements Subscriber<T> {
+
+  /** Default number of events requested at once. */
+  public static final int DEFAULT_BATCH_SIZE = 16;
+  /** Default space reserved in the buffer per requested event. */
+  public static final int DEFAULT_BYTES_PER_EVENT = 512;
+
+  static final String PAUSED_METRIC = "streaming.backpressure.paused";
+
+  private final RingBufferOutputStream outputStream;
+  private final int batchSize;
+  private final int bytesPerEvent;
+  private final Executor resumeExecutor;
+  private final Consumer<T> eventHandler;
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final AtomicBoolean done = new AtomicBoolean();
+
+  private volatile Subscription subscription;
+
+  public BoundedDemandSubscriber(RingBufferOutputStream outputStream, Executor resumeExecutor, Consumer<T> eventHandler) {
+    this(outputStream, DEFAULT_BATCH_SIZE, DEFAULT_BYTES_PER_EVENT, resumeExecutor, eventHandler);
+  }
+
+  /**
+   * @param outputStream buffer the handler writes events to
+   * @param batchSize maximum number of events requested at once
+   * @param bytesPerEvent space reserved in the buffer for each requested event
+   * @param resumeExecutor runs the request that resumes a paused stream
+   * @param eventHandler handles each event, typically by writing it to {@code outputStream}
+   */
+  public BoundedDemandSubscriber(RingBufferOutputStream outputStream, int batchSize, int bytesPerEvent, Executor resumeExecutor,
+                                 Consumer<T> eventHandler) {
+    if (batchSize <= 0 || bytesPerEvent <= 0) {
+      throw new IllegalArgumentException("Batch size and bytes per event must be positive: " + batchSize + ", " + bytesPerEvent);
+    }
+    this.outputStream = outputStream;
+    // Never reserve more than half the buffer for one batch, so demand resumes before the reader has drained it completely
+    this.bytesPerEvent = Math.min(bytesPerEvent, Math.max(1, outputStream.getCapacity() / 2));
+    this.batchSize = Math.max(1, Math.min(batchSize, outputStream.getCapacity() / 2 / this.bytesPerEvent));
+    this.resumeExecutor = resumeExecutor;
+    this.eventHandler = eventHandler;
+    completion.whenComplete((result, error) -> {
+      if (completion.isCancelled()) {
+        cancel();
+      }
+    });
+  }
+
+  /**
+   * Returns a future completed when the stream ends; cancelling it cancels the subscription.
+   */
+  public CompletableFuture<Void> completion() {
+    return completion;
+  }
+
+  @Override
+  public void onSubscribe(Subscription s) {
+    if (subscription != null) {
+      s.cancel();
+      return;
+    }
+    subscription = s;
+    if (completion.isDone()) {
+      cancel();
+      return;
+    }
+    requestMore();
+  }
+
+  @Override
+  public void onNext(T event) {
+    int remaining = outstanding.decrementAndGet();
+    try {
+      eventHandler.accept(event);
+    } catch (RuntimeException e) {
+      cancel();
+      completion.completeExceptionally(e);
+      return;
+    }
+    if (remaining == 0) {
+      requestMore();
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    done.set(true);
+    completion.completeExceptionally(t);
+  }
+
+  @Override
+  public void onComplete() {
+    done.set(true);
+    completion.complete(null);
+  }
+
+  /**
+   * Requests the next batch if the buffer has room for it, otherwise waits for the reader to free enough space.
+   */
+  private void requestMore() {
+    if (done.get() || outputStream.isConsumerClosed()) {
+      return;
+    }
+    int batch = Math.min(batchSize, outputStream.getFreeSpace() / bytesPerEvent);
+    if (batch > 0) {
+      outstanding.addAndGet(batch);
+      subscription.request(batch);
+      return;
+    }
+    ConnectorMetrics.get().increment(PAUSED_METRIC);
+    outputStream.onSpaceAvailable(batchSize * bytesPerEvent, this::resume);
+  }
+
+  /**
+   * Called on the reader's thread; the request may deliver events synchronously, so it is handed to the executor rather than
+   * making the reader write to its own buffer.
+   */
+  private void resume() {
+    try {
+      resumeExecutor.execute(this::requestMore);
+    } catch (RejectedExecutionException e) {
+      requestMore();
+    }
+  }
+
+  private void cancel() {
+    done.set(true);
+    Subscription s = subscription;
+    if (s != null) {
+      s.cancel();
+    }
+  }
+}
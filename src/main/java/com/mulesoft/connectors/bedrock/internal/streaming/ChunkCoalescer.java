@@ -0,0 +1,128 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+/**
+ * Merges the text deltas of one stream so that at most one chunk event is emitted per window. The first delta is always emitted
+ * immediately, so time to first token is unaffected; later deltas are emitted right away when the previous event is older than
+ * the window, and otherwise held until the window elapses or the held text reaches the size threshold. No delta is delayed by
+ * more than one window.
+ * <p>
+ * Emission happens on the caller's thread or, for a window that elapses without further deltas, on the given scheduler. The sink
+ * is always called under this coalescer's lock, so events are emitted in order. {@link #close()} emits any held text and must be
+ * called before the stream's final event.
+ */
+public final class ChunkCoalescer {
+
+  static final String DELTAS_METRIC = "streaming.coalescing.deltas";
+  static final String EVENTS_METRIC = "streaming.coalescing.events";
+
+  private final long windowNanos;
+  private final int maxChars;
+  private final ScheduledExecutorService scheduler;
+  private final Consumer<String> sink;
+  private final StringBuilder pending = new StringBuilder();
+
+  private boolean firstEmitted;
+  private boolean closed;
+  private long lastEmitNanos;
+  private Future<?> scheduledFlush;
+
+  /**
+   * @param windowMillis minimum time between two emitted events
+   * @param maxChars held text size, in characters, that triggers an emission before the window elapses
+   * @param scheduler runs the emission of a window that elapses without further deltas
+   * @param sink receives the merged text of each event
+   */
+  public ChunkCoalescer(long windowMillis, int maxChars, ScheduledExecutorService scheduler, Consumer<String> sink) {
+    if (windowMillis <= 0) {
+      throw new IllegalArgumentException("Coalescing window must be positive: " + windowMillis);
+    }
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    this.maxChars = maxChars > 0 ? maxChars : Integer.MAX_VALUE;
+    this.scheduler = scheduler;
+    this.sink = sink;
+  }
+
+  public synchronized void add(String text) {
+    if (closed) {
+      return;
+    }
+    ConnectorMetrics.get().increment(DELTAS_METRIC);
+    if (!firstEmitted) {
+      firstEmitted = true;
+      emit(text);
+      return;
+    }
+    pending.append(text);
+    long elapsed = System.nanoTime() - lastEmitNanos;
+    if (pending.length() >= maxChars || elapsed >= windowNanos) {
+      emitPending();
+    } else if (scheduledFlush == null) {
+      scheduleFlush(windowNanos - elapsed);
+    }
+  }
+
+  /**
+   * Emits any held text immediately.
+   */
+  public synchronized void flush() {
+    emitPending();
+  }
+
+  /**
+   * Emits any held text and ignores later deltas and pending timers.
+   */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    emitPending();
+    closed = true;
+  }
+
+  synchronized int getPendingLength() {
+    return pending.length();
+  }
+
+  private void scheduleFlush(long delayNanos) {
+    try {
+      scheduledFlush = scheduler.schedule(this::onWindowElapsed, delayNanos, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      // No timer available: don't hold the text
+      emitPending();
+    }
+  }
+
+  private synchronized void onWindowElapsed() {
+    scheduledFlush = null;
+    if (!closed) {
+      emitPending();
+    }
+  }
+
+  private void emitPending() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    if (pending.length() == 0) {
+      return;
+    }
+    String text = pending.toString();
+    pending.setLength(0);
+    emit(text);
+  }
+
+  private void emit(String text) {
+    lastEmitNanos = System.nanoTime();
+    ConnectorMetrics.get().increment(EVENTS_METRIC);
+    sink.accept(text);
+  }
+}
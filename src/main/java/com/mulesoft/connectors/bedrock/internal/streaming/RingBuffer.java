@@ -0,0 +1,318 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded single-producer/single-consumer byte ring buffer shared by {@link RingBufferOutputStream} and
+ * {@link RingBufferInputStream}. Each side only writes its own position, so the data path is lock-free; a side that has to wait
+ * parks and is unparked by the other side when it makes progress or closes, instead of polling.
+ * <p>
+ * A non-blocking buffer never makes the writer wait: a write that does not fit in the free space is appended to a
+ * {@link RingBufferOverflow} instead, and so is every later write until the reader has drained the overflow. The buffer therefore
+ * only ever holds bytes older than the overflowing ones, and the reader reads the buffer before the overflow.
+ */
+final class RingBuffer {
+
+  /** Upper bound for a single park, so a missed wakeup can never hang a side forever. */
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final byte[] buffer;
+  private final int mask;
+
+  private volatile long writePosition;
+  private volatile long readPosition;
+  private volatile boolean producerClosed;
+  private volatile boolean consumerClosed;
+  private volatile Throwable failure;
+  private volatile Thread waitingConsumer;
+  private volatile Thread waitingProducer;
+  private final AtomicReference<Runnable> consumerCloseListener = new AtomicReference<>();
+  private final AtomicReference<Runnable> spaceListener = new AtomicReference<>();
+  private volatile int spaceListenerThreshold;
+  private final RingBufferOverflow overflow;
+
+  /**
+   * Creates a buffer whose writer waits for the reader when it is full.
+   */
+  RingBuffer(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * Creates a non-blocking buffer.
+   *
+   * @param maxSpillBytes maximum number of unread overflowing bytes kept in a spill file rather than on the heap; 0 for none
+   * @param spillExecutor runs the writes to the spill file, so the writer never does file I/O; unused when
+   *        {@code maxSpillBytes} is 0
+   */
+  RingBuffer(int capacity, int maxSpillBytes, Executor spillExecutor) {
+    this(capacity, new RingBufferOverflow(maxSpillBytes, spillExecutor));
+  }
+
+  private RingBuffer(int capacity, RingBufferOverflow overflow) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.buffer = new byte[size];
+    this.mask = size - 1;
+    this.overflow = overflow;
+  }
+
+  int capacity() {
+    return buffer.length;
+  }
+
+  /**
+   * Returns the number of bytes that can be written without waiting or keeping them on the heap: the free space of the buffer
+   * plus the room left in the spill file (see {@link RingBufferOverflow#spillSpace()}), only the latter while overflowing bytes
+   * are pending.
+   */
+  int freeSpace() {
+    int free = buffer.length - (int) (writePosition - readPosition);
+    if (overflow == null) {
+      return free;
+    }
+    int spillFree = overflow.spillSpace();
+    return overflow.isPending() ? spillFree : (int) Math.min(Integer.MAX_VALUE, (long) free + spillFree);
+  }
+
+  /**
+   * Registers a listener run once, on the consumer's thread, as soon as at least {@code minFree} bytes are free or the consumer
+   * closes; immediately if that is already the case. Replaces any listener registered before.
+   */
+  void onSpaceAvailable(int minFree, Runnable listener) {
+    spaceListenerThreshold = Math.min(minFree, buffer.length);
+    spaceListener.set(listener);
+    // Re-check after publishing the listener: a read that completed in between may not have seen it
+    if (freeSpace() >= spaceListenerThreshold || consumerClosed) {
+      runSpaceListener();
+    }
+  }
+
+  private void runSpaceListener() {
+    Runnable listener = spaceListener.getAndSet(null);
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  // ---- producer side ----
+
+  void write(byte[] bytes, int offset, int length) throws IOException {
+    if (overflow != null && overflowWrite(bytes, offset, length)) {
+      return;
+    }
+    int remaining = length;
+    int from = offset;
+    while (remaining > 0) {
+      long write = writePosition;
+      int free = awaitSpace(write);
+      int count = Math.min(free, remaining);
+      int index = (int) (write & mask);
+      int firstPart = Math.min(count, buffer.length - index);
+      System.arraycopy(bytes, from, buffer, index, firstPart);
+      if (firstPart < count) {
+        System.arraycopy(bytes, from + firstPart, buffer, 0, count - firstPart);
+      }
+      writePosition = write + count;
+      unpark(waitingConsumer);
+      from += count;
+      remaining -= count;
+    }
+  }
+
+  /**
+   * Appends the write to the overflow when it does not fit in the buffer or earlier bytes are still overflowing. Returns
+   * {@code false} when the write fits in the buffer, so it goes there without waiting.
+   */
+  private boolean overflowWrite(byte[] bytes, int offset, int length) throws IOException {
+    ensureWritable();
+    if (!overflow.isPending() && buffer.length - (int) (writePosition - readPosition) >= length) {
+      return false;
+    }
+    try {
+      overflow.append(bytes, offset, length);
+    } catch (IOException e) {
+      // A consumer that closed in between discarded the overflow; report it like any other write after the consumer closed
+      ensureWritable();
+      throw e;
+    }
+    unpark(waitingConsumer);
+    return true;
+  }
+
+  private int awaitSpace(long write) throws IOException {
+    while (true) {
+      ensureWritable();
+      int free = buffer.length - (int) (write - readPosition);
+      if (free > 0) {
+        return free;
+      }
+      waitingProducer = Thread.currentThread();
+      try {
+        free = buffer.length - (int) (write - readPosition);
+        if (free > 0 || consumerClosed) {
+          continue;
+        }
+        park();
+      } finally {
+        waitingProducer = null;
+      }
+    }
+  }
+
+  private void ensureWritable() throws IOException {
+    if (consumerClosed) {
+      throw new RingBufferOutputStream.ConsumerClosedException();
+    }
+    if (producerClosed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  void closeProducer(Throwable error) {
+    if (producerClosed) {
+      return;
+    }
+    failure = error;
+    producerClosed = true;
+    unpark(waitingConsumer);
+  }
+
+  boolean isConsumerClosed() {
+    return consumerClosed;
+  }
+
+  void onConsumerClose(Runnable listener) {
+    consumerCloseListener.set(listener);
+    if (consumerClosed) {
+      runConsumerCloseListener();
+    }
+  }
+
+  private void runConsumerCloseListener() {
+    Runnable listener = consumerCloseListener.getAndSet(null);
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  // ---- consumer side ----
+
+  int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    long read = readPosition;
+    int available = awaitData(read);
+    if (available < 0) {
+      return -1;
+    }
+    if (available == 0) {
+      int count = overflow.read(bytes, offset, length);
+      onRead();
+      return count;
+    }
+    int count = Math.min(available, length);
+    int index = (int) (read & mask);
+    int firstPart = Math.min(count, buffer.length - index);
+    System.arraycopy(buffer, index, bytes, offset, firstPart);
+    if (firstPart < count) {
+      System.arraycopy(buffer, 0, bytes, offset + firstPart, count - firstPart);
+    }
+    readPosition = read + count;
+    onRead();
+    return count;
+  }
+
+  private void onRead() {
+    unpark(waitingProducer);
+    if (spaceListener.get() != null && freeSpace() >= spaceListenerThreshold) {
+      runSpaceListener();
+    }
+  }
+
+  int available() {
+    int available = (int) (writePosition - readPosition);
+    return available == 0 && overflow != null ? overflow.unread() : available;
+  }
+
+  /**
+   * Waits until data is available and returns its size in the buffer, 0 when only overflowing data is available, or -1 at the end
+   * of a cleanly closed stream. Data written before the producer failed is still delivered; the failure is thrown once the
+   * buffer is drained.
+   */
+  private int awaitData(long read) throws IOException {
+    while (true) {
+      if (consumerClosed) {
+        throw new IOException("Stream closed");
+      }
+      // Read the closed flag before the position: data published before closing is never missed
+      boolean closed = producerClosed;
+      int available = (int) (writePosition - read);
+      if (available > 0) {
+        return available;
+      }
+      if (overflow != null && overflow.isPending()) {
+        return 0;
+      }
+      if (closed) {
+        closeOverflow();
+        Throwable error = failure;
+        if (error != null) {
+          throw error instanceof IOException ? (IOException) error : new IOException(error.getMessage(), error);
+        }
+        return -1;
+      }
+      waitingConsumer = Thread.currentThread();
+      try {
+        if (writePosition != read || producerClosed || (overflow != null && overflow.isPending())) {
+          continue;
+        }
+        park();
+      } finally {
+        waitingConsumer = null;
+      }
+    }
+  }
+
+  void closeConsumer() {
+    if (consumerClosed) {
+      return;
+    }
+    consumerClosed = true;
+    closeOverflow();
+    unpark(waitingProducer);
+    runConsumerCloseListener();
+    runSpaceListener();
+  }
+
+  private void closeOverflow() {
+    if (overflow != null) {
+      overflow.close();
+    }
+  }
+
+  private static void park() throws InterruptedIOException {
+    LockSupport.parkNanos(MAX_PARK_NANOS);
+    if (Thread.interrupted()) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting on stream");
+    }
+  }
+
+  private static void unpark(Thread thread) {
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+}
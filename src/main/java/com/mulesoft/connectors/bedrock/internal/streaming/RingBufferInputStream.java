@@ -0,0 +1,43 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reader side of a {@link RingBufferOutputStream}. Reads block until data is written, the writer closes (end of stream) or the
+ * writer fails (the failure is thrown as an {@link IOException} after the bytes written before it). Closing this stream tells the
+ * writer that the consumer is gone.
+ */
+public final class RingBufferInputStream extends InputStream {
+
+  private final RingBuffer ringBuffer;
+  private final byte[] singleByte = new byte[1];
+
+  RingBufferInputStream(RingBuffer ringBuffer) {
+    this.ringBuffer = ringBuffer;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int count = ringBuffer.read(singleByte, 0, 1);
+    return count < 0 ? -1 : singleByte[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    return ringBuffer.read(bytes, offset, length);
+  }
+
+  @Override
+  public int available() {
+    return ringBuffer.available();
+  }
+
+  @Override
+  public void close() {
+    ringBuffer.closeConsumer();
+  }
+}
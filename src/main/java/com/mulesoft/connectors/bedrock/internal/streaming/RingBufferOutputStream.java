@@ -0,0 +1,164 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * Producer side of a bounded in-memory stream, used to hand SSE events from the streaming callbacks to the operation's result
+ * {@link RingBufferInputStream}. Replaces {@code PipedOutputStream}: writes are visible to the reader as soon as they return,
+ * a full buffer blocks the writer until the reader catches up (it is woken by the reader, not by polling), and correctness does
+ * not depend on which thread wrote last.
+ * <p>
+ * A {@link #nonBlocking(int, int, Executor) non-blocking} stream never makes the writer wait, so it can be written from SDK
+ * event-loop threads: bytes that do not fit in the buffer overflow to the heap and are moved to a temporary file, up to a spill
+ * size, by a task on the spill executor, so the writer never does file I/O either; the reader gets them back in order after the
+ * buffer and no byte is dropped. While bytes are on the heap beyond what the file can take the stream reports no free space, so
+ * a writer whose demand follows {@link #getFreeSpace()} stops asking for more until the reader has caught up.
+ * <p>
+ * Writes are serialized, so callbacks arriving on different threads may share a stream. Once the reader closes its side (e.g.
+ * the client disconnected), writes fail with {@link ConsumerClosedException} and the listener registered with
+ * {@link #onConsumerClose(Runnable)} is run.
+ */
+public class RingBufferOutputStream extends OutputStream {
+
+  /** Default buffer size; large enough to hold many SSE events, so the producer rarely waits. */
+  public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+  private final RingBuffer ringBuffer;
+  private final RingBufferInputStream inputStream;
+  private final byte[] singleByte = new byte[1];
+  private SseEventEncoder eventEncoder;
+
+  public RingBufferOutputStream() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity buffer size in bytes, rounded up to the next power of two
+   */
+  public RingBufferOutputStream(int capacity) {
+    this(new RingBuffer(capacity));
+  }
+
+  private RingBufferOutputStream(RingBuffer ringBuffer) {
+    this.ringBuffer = ringBuffer;
+    this.inputStream = new RingBufferInputStream(ringBuffer);
+  }
+
+  /**
+   * Creates a stream whose writes never wait for the reader.
+   *
+   * @param capacity buffer size in bytes, rounded up to the next power of two
+   * @param maxSpillBytes maximum number of unread bytes written to a temporary file when the buffer is full, before the heap is
+   *        used; 0 to use the heap only
+   * @param spillExecutor runs the writes to the temporary file off the writer's thread; unused when {@code maxSpillBytes} is 0
+   */
+  public static RingBufferOutputStream nonBlocking(int capacity, int maxSpillBytes, Executor spillExecutor) {
+    return new RingBufferOutputStream(new RingBuffer(capacity, maxSpillBytes, spillExecutor));
+  }
+
+  /**
+   * Returns the reader side of this stream.
+   */
+  public RingBufferInputStream getInputStream() {
+    return inputStream;
+  }
+
+  public int getCapacity() {
+    return ringBuffer.capacity();
+  }
+
+  /**
+   * Returns the number of bytes that can currently be written without waiting for the reader, or for a non-blocking stream,
+   * without having to keep them on the heap. It includes the room left in the spill file.
+   */
+  public int getFreeSpace() {
+    return ringBuffer.freeSpace();
+  }
+
+  /**
+   * Registers a listener run once as soon as at least {@code minFreeBytes} can be written without waiting, or the reader closes
+   * its side; immediately if that is already the case. The listener runs on the reader's thread, so it must not write to this
+   * stream. Replaces any listener registered before.
+   */
+  public void onSpaceAvailable(int minFreeBytes, Runnable listener) {
+    ringBuffer.onSpaceAvailable(minFreeBytes, listener);
+  }
+
+  /**
+   * Encodes a {@code chunk} event (see {@link SseEventEncoder#writeChunkEvent}) and writes it. The encoder is owned by this
+   * stream and used under its lock, so its buffer is reused for every chunk of the stream.
+   */
+  public synchronized void writeChunkEvent(long id, String text) throws IOException {
+    if (eventEncoder == null) {
+      eventEncoder = new SseEventEncoder();
+    }
+    eventEncoder.writeChunkEvent(this, id, text);
+  }
+
+  @Override
+  public synchronized void write(int b) throws IOException {
+    singleByte[0] = (byte) b;
+    ringBuffer.write(singleByte, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(byte[] bytes, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    ringBuffer.write(bytes, offset, length);
+  }
+
+  /**
+   * No-op: written bytes are visible to the reader as soon as {@code write} returns. Fails if the reader has closed its side.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (ringBuffer.isConsumerClosed()) {
+      throw new ConsumerClosedException();
+    }
+  }
+
+  /**
+   * Ends the stream; the reader receives the remaining bytes and then end of stream.
+   */
+  @Override
+  public void close() throws IOException {
+    ringBuffer.closeProducer(null);
+  }
+
+  /**
+   * Ends the stream with an error; the reader receives the remaining bytes and then an {@link IOException} with the given cause.
+   */
+  public void fail(Throwable error) {
+    ringBuffer.closeProducer(error != null ? error : new IOException("Stream failed"));
+  }
+
+  /**
+   * Whether the reader has closed its side of the stream.
+   */
+  public boolean isConsumerClosed() {
+    return ringBuffer.isConsumerClosed();
+  }
+
+  /**
+   * Registers a listener run once when the reader closes its side, immediately if it already has.
+   */
+  public void onConsumerClose(Runnable listener) {
+    ringBuffer.onConsumerClose(listener);
+  }
+
+  /**
+   * Thrown to the writer when the reader has closed its side of the stream, e.g. because the client disconnected.
+   */
+  public static final class ConsumerClosedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConsumerClosedException() {
+      super("Stream closed by consumer");
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bytes of a non-blocking {@link RingBuffer} that did not fit in the buffer, kept in order until the reader gets to them. An
+ * append only copies the bytes to the heap, so the writer (an SDK event-loop thread) never does file I/O; a task on the spill
+ * executor then moves them from the heap to the {@link SpillFile} while it has room. The spill file always holds older bytes
+ * than the heap, so reading the spill file before the heap keeps the original order. Bytes that do not fit in the spill file
+ * stay on the heap, and later bytes follow them there until the reader has drained the heap.
+ * <p>
+ * The lock of this object is never held during file I/O. A spill write that the reader overtook (it read the same bytes from the
+ * heap while the file was empty) is not committed, so no byte is delivered twice.
+ * <p>
+ * While bytes are on the heap beyond what the spill file can take the stream reports no free space, so a writer whose demand
+ * follows the free space (see {@link BoundedDemandSubscriber}) stops asking for events; the heap then only holds what was
+ * already requested.
+ */
+final class RingBufferOverflow {
+
+  private final SpillFile spill;
+  private final Executor spillExecutor;
+  private final ArrayDeque<byte[]> heap = new ArrayDeque<>();
+  private int heapHeadOffset;
+  private long heapBytes;
+  private boolean onHeap;
+  private boolean spilling;
+  private boolean closed;
+  private volatile boolean pending;
+
+  /**
+   * @param maxSpillBytes maximum number of unread bytes kept in a spill file; 0 to keep everything on the heap
+   * @param spillExecutor runs the writes to the spill file; unused when {@code maxSpillBytes} is 0
+   */
+  RingBufferOverflow(int maxSpillBytes, Executor spillExecutor) {
+    this.spill = maxSpillBytes > 0 ? new SpillFile(maxSpillBytes) : null;
+    this.spillExecutor = spill != null ? Objects.requireNonNull(spillExecutor, "spillExecutor") : null;
+  }
+
+  /**
+   * Whether appended bytes are waiting to be read. Only an append sets it and only the read that drains the overflow clears it.
+   */
+  boolean isPending() {
+    return pending;
+  }
+
+  /**
+   * Returns the number of bytes that can still be appended before they have to stay on the heap: the room left in the spill
+   * file once the bytes waiting to be written to it are, or 0 while bytes are on the heap beyond that.
+   */
+  synchronized int spillSpace() {
+    return spill == null || onHeap ? 0 : (int) Math.max(0, spill.remainingCapacity() - heapBytes);
+  }
+
+  synchronized int unread() {
+    long unread = heapBytes + (spill != null ? spill.unread() : 0);
+    return (int) Math.min(Integer.MAX_VALUE, unread);
+  }
+
+  void append(byte[] bytes, int offset, int length) throws IOException {
+    synchronized (this) {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (length == 0) {
+        return;
+      }
+      heap.add(Arrays.copyOfRange(bytes, offset, offset + length));
+      heapBytes += length;
+      pending = true;
+      if (spill == null || onHeap || heapBytes > spill.remainingCapacity()) {
+        onHeap = true;
+        return;
+      }
+      if (spilling) {
+        return;
+      }
+      spilling = true;
+    }
+    try {
+      spillExecutor.execute(this::spillHeap);
+    } catch (RejectedExecutionException e) {
+      // The bytes stay on the heap, where the reader finds them; the next append tries again
+      synchronized (this) {
+        spilling = false;
+      }
+    }
+  }
+
+  /**
+   * Moves bytes from the head of the heap to the spill file while it has room. Runs on the spill executor, one task at a time.
+   */
+  private void spillHeap() {
+    while (true) {
+      byte[] head;
+      int headOffset;
+      int length;
+      synchronized (this) {
+        length = closed || heap.isEmpty() ? 0 : Math.min(heap.peek().length - heapHeadOffset, spill.remainingCapacity());
+        if (length == 0) {
+          spilling = false;
+          return;
+        }
+        head = heap.peek();
+        headOffset = heapHeadOffset;
+      }
+      try {
+        spill.write(head, headOffset, length);
+      } catch (IOException e) {
+        // Closed in between, or the disk failed: the bytes are still on the heap, which keeps them from now on
+        synchronized (this) {
+          onHeap = !heap.isEmpty();
+          spilling = false;
+        }
+        return;
+      }
+      synchronized (this) {
+        // Commit only when the reader did not take the same bytes from the heap meanwhile
+        if (!closed && heap.peek() == head && heapHeadOffset == headOffset) {
+          spill.commit(length);
+          heapHeadOffset += length;
+          heapBytes -= length;
+          if (heapHeadOffset == head.length) {
+            heap.poll();
+            heapHeadOffset = 0;
+          }
+          onHeap = onHeap && !heap.isEmpty();
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads up to {@code length} pending bytes, from the spill file first, and returns their number, 0 when none are pending.
+   * Called by the reader only.
+   */
+  int read(byte[] bytes, int offset, int length) throws IOException {
+    int count;
+    synchronized (this) {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      // Checked under the lock: a commit moves bytes from the heap to the file, so the file must be read first
+      count = spill != null && spill.isPending() ? -1 : readHeap(bytes, offset, length);
+      updatePending();
+    }
+    if (count >= 0) {
+      return count;
+    }
+    // Only this thread advances the read position and the spill task writes after the committed bytes, so no lock is needed
+    count = spill.read(bytes, offset, length);
+    synchronized (this) {
+      updatePending();
+    }
+    return count;
+  }
+
+  private int readHeap(byte[] bytes, int offset, int length) {
+    int count = 0;
+    while (count < length && !heap.isEmpty()) {
+      byte[] head = heap.peek();
+      int part = Math.min(length - count, head.length - heapHeadOffset);
+      System.arraycopy(head, heapHeadOffset, bytes, offset + count, part);
+      count += part;
+      heapHeadOffset += part;
+      if (heapHeadOffset == head.length) {
+        heap.poll();
+        heapHeadOffset = 0;
+      }
+    }
+    heapBytes -= count;
+    if (heap.isEmpty()) {
+      onHeap = false;
+    }
+    return count;
+  }
+
+  private void updatePending() {
+    pending = heapBytes > 0 || (spill != null && spill.isPending());
+  }
+
+  /**
+   * Discards pending bytes and deletes the spill file.
+   */
+  void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      pending = false;
+      onHeap = false;
+      heap.clear();
+      heapBytes = 0;
+    }
+    if (spill != null) {
+      spill.close();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Part of a {@link RingBufferOverflow} kept in a temporary file, so bytes written while the reader is behind do not grow the
+ * heap. The file is used as a circular region of {@code maxBytes}: bytes are read back in the order they were committed, and
+ * writes wrap around to the start of the file, so it never grows beyond {@code maxBytes} however long the reader lags. The file
+ * is created on the first write and deleted on close.
+ * <p>
+ * One thread at a time writes and one thread at a time reads. A write lands after the committed bytes, in room the reader has
+ * already released, and only becomes readable once {@link #commit(int) committed}; the positions are published through volatile
+ * fields, so neither side takes a lock around its file I/O and checking the capacity never waits for a disk operation.
+ */
+final class SpillFile {
+
+  private static final String FILE_PREFIX = "bedrock-stream-";
+  private static final String FILE_SUFFIX = ".spill";
+
+  private final int maxBytes;
+  private volatile FileChannel channel;
+  private volatile long writeCount;
+  private volatile long readCount;
+  private boolean closed;
+
+  SpillFile(int maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Spill size must be positive: " + maxBytes);
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Whether committed bytes are waiting to be read.
+   */
+  boolean isPending() {
+    return writeCount != readCount;
+  }
+
+  int unread() {
+    return (int) (writeCount - readCount);
+  }
+
+  int remainingCapacity() {
+    return maxBytes - (int) (writeCount - readCount);
+  }
+
+  /**
+   * Writes the bytes after the committed ones without making them readable, or returns {@code false} without writing anything
+   * when they do not fit in the remaining capacity. A later write overwrites bytes that were not committed.
+   */
+  boolean write(byte[] bytes, int offset, int length) throws IOException {
+    if (length > remainingCapacity()) {
+      return false;
+    }
+    if (length == 0) {
+      return true;
+    }
+    FileChannel file = openChannel();
+    int position = (int) (writeCount % maxBytes);
+    int firstPart = Math.min(length, maxBytes - position);
+    writeFully(file, ByteBuffer.wrap(bytes, offset, firstPart), position);
+    if (firstPart < length) {
+      writeFully(file, ByteBuffer.wrap(bytes, offset + firstPart, length - firstPart), 0);
+    }
+    return true;
+  }
+
+  /**
+   * Makes the first {@code length} bytes of the last write readable.
+   */
+  void commit(int length) {
+    writeCount += length;
+  }
+
+  /**
+   * Reads up to {@code length} committed bytes and returns their number, 0 when none are pending.
+   */
+  int read(byte[] bytes, int offset, int length) throws IOException {
+    int count = (int) Math.min(length, writeCount - readCount);
+    if (count == 0) {
+      return 0;
+    }
+    FileChannel file = channel;
+    if (file == null || !file.isOpen()) {
+      throw new IOException("Stream closed");
+    }
+    int position = (int) (readCount % maxBytes);
+    int firstPart = Math.min(count, maxBytes - position);
+    readFully(file, ByteBuffer.wrap(bytes, offset, firstPart), position);
+    if (firstPart < count) {
+      readFully(file, ByteBuffer.wrap(bytes, offset + firstPart, count - firstPart), 0);
+    }
+    readCount += count;
+    return count;
+  }
+
+  private synchronized FileChannel openChannel() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (channel == null) {
+      Path path = Files.createTempFile(FILE_PREFIX, FILE_SUFFIX);
+      channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+    return channel;
+  }
+
+  private static void writeFully(FileChannel file, ByteBuffer source, long position) throws IOException {
+    long filePosition = position;
+    while (source.hasRemaining()) {
+      filePosition += file.write(source, filePosition);
+    }
+  }
+
+  private static void readFully(FileChannel file, ByteBuffer target, long position) throws IOException {
+    long filePosition = position;
+    while (target.hasRemaining()) {
+      int count = file.read(target, filePosition);
+      if (count < 0) {
+        throw new EOFException("Spill file ended before its pending bytes");
+      }
+      filePosition += count;
+    }
+  }
+
+  /**
+   * Deletes the file; pending bytes are discarded and a write or read in progress fails.
+   */
+  synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // The file is opened with DELETE_ON_CLOSE; a failed close leaves nothing else to release
+      }
+    }
+  }
+}
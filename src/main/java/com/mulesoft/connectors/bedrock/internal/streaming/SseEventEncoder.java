@@ -0,0 +1,275 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import com.mulesoft.connectors.bedrock.internal.util.JsonStringEscaper;
+
+/**
+ * Encodes Server-Sent Events straight into a reusable UTF-8 byte buffer. Produces exactly the wire format the streaming
+ * operations have always emitted ({@code id: N}, {@code event: TYPE}, {@code data: JSON}, each terminated by the platform line
+ * separator, plus a blank line), without going through {@code String.format}, {@code JSONObject} or {@code getBytes} per event.
+ * <p>
+ * Chunk events are the hot path: their JSON payload is written field by field, in the key order {@code JSONObject} uses, with
+ * the text escaped by {@link JsonStringEscaper}.
+ * <p>
+ * Instances are not thread-safe. Each {@link RingBufferOutputStream} owns one, used under the stream's lock (see
+ * {@link RingBufferOutputStream#writeChunkEvent}), so a stream reuses one buffer for all its chunks and the buffer goes away with
+ * the stream instead of staying attached to whichever thread wrote to it. Events written once per stream go through
+ * {@link #format}.
+ */
+public final class SseEventEncoder {
+
+  private static final int INITIAL_CAPACITY = 1024;
+  /** Buffers grown beyond this size by an unusually large event are released instead of being kept by the stream. */
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ID_PREFIX = ascii("id: ");
+  private static final byte[] EVENT_PREFIX = ascii("event: ");
+  private static final byte[] DATA_PREFIX = ascii("data: ");
+  private static final byte[] CHUNK_EVENT = ascii("chunk");
+  private static final byte[] CHUNK_TEXT_PREFIX = ascii("{\"text\":");
+  private static final byte[] CHUNK_TYPE_TIMESTAMP = ascii(",\"type\":\"chunk\",\"timestamp\":\"");
+  private static final byte[] CHUNK_SUFFIX = ascii("\"}");
+
+  private static volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(0L, Instant.EPOCH.toString());
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int size;
+
+  SseEventEncoder() {}
+
+  /**
+   * Returns the SSE event for an already serialized JSON payload, with a one-off encoder.
+   */
+  public static String format(long id, String eventType, String data) {
+    return new SseEventEncoder().formatEvent(id, eventType, data);
+  }
+
+  /**
+   * Returns the current time as an ISO-8601 string, reusing the formatted value while the millisecond has not changed.
+   */
+  public static String timestamp() {
+    long now = System.currentTimeMillis();
+    CachedTimestamp cached = cachedTimestamp;
+    if (cached.millis != now) {
+      cached = new CachedTimestamp(now, Instant.ofEpochMilli(now).toString());
+      cachedTimestamp = cached;
+    }
+    return cached.text;
+  }
+
+  /**
+   * Writes an event whose data is already serialized JSON.
+   */
+  public void writeEvent(OutputStream out, long id, String eventType, String data) throws IOException {
+    encodeEvent(id, eventType, data);
+    writeTo(out);
+  }
+
+  /**
+   * Writes a {@code chunk} event carrying {@code {"text":..., "type":"chunk", "timestamp":...}}.
+   */
+  public void writeChunkEvent(OutputStream out, long id, String text) throws IOException {
+    encodeChunkEvent(id, text);
+    writeTo(out);
+  }
+
+  /**
+   * Returns the same bytes as {@link #writeEvent} as a string, for callers that queue events before writing them.
+   */
+  public String formatEvent(long id, String eventType, String data) {
+    encodeEvent(id, eventType, data);
+    return drainToString();
+  }
+
+  /**
+   * Returns the same bytes as {@link #writeChunkEvent} as a string, for callers that queue events before writing them.
+   */
+  public String formatChunkEvent(long id, String text) {
+    encodeChunkEvent(id, text);
+    return drainToString();
+  }
+
+  private void encodeEvent(long id, String eventType, String data) {
+    size = 0;
+    appendHeader(id);
+    appendUtf8(eventType);
+    append(LINE_SEPARATOR);
+    append(DATA_PREFIX);
+    appendUtf8(data);
+    appendTrailer();
+  }
+
+  private void encodeChunkEvent(long id, String text) {
+    size = 0;
+    appendHeader(id);
+    append(CHUNK_EVENT);
+    append(LINE_SEPARATOR);
+    append(DATA_PREFIX);
+    append(CHUNK_TEXT_PREFIX);
+    appendJsonString(text);
+    append(CHUNK_TYPE_TIMESTAMP);
+    appendAscii(timestamp());
+    append(CHUNK_SUFFIX);
+    appendTrailer();
+  }
+
+  private void appendHeader(long id) {
+    append(ID_PREFIX);
+    appendLong(id);
+    append(LINE_SEPARATOR);
+    append(EVENT_PREFIX);
+  }
+
+  private void appendTrailer() {
+    append(LINE_SEPARATOR);
+    append(LINE_SEPARATOR);
+  }
+
+  private void writeTo(OutputStream out) throws IOException {
+    try {
+      out.write(buffer, 0, size);
+    } finally {
+      release();
+    }
+  }
+
+  private String drainToString() {
+    String event = new String(buffer, 0, size, StandardCharsets.UTF_8);
+    release();
+    return event;
+  }
+
+  private void release() {
+    size = 0;
+    if (buffer.length > MAX_RETAINED_CAPACITY) {
+      buffer = new byte[INITIAL_CAPACITY];
+    }
+  }
+
+  // ---- encoding ----
+
+  private void append(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+  }
+
+  private void appendByte(int b) {
+    ensureCapacity(1);
+    buffer[size++] = (byte) b;
+  }
+
+  private void appendAscii(String value) {
+    int length = value.length();
+    ensureCapacity(length);
+    for (int i = 0; i < length; i++) {
+      buffer[size++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void appendLong(long value) {
+    if (value < 0) {
+      appendByte('-');
+      value = -value;
+    }
+    ensureCapacity(20);
+    int start = size;
+    do {
+      buffer[size++] = (byte) ('0' + (value % 10));
+      value /= 10;
+    } while (value > 0);
+    for (int i = start, j = size - 1; i < j; i++, j--) {
+      byte tmp = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = tmp;
+    }
+  }
+
+  private void appendUtf8(String value) {
+    if (value == null) {
+      appendAscii("null");
+      return;
+    }
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      i = appendCodePoint(value, i);
+    }
+  }
+
+  /**
+   * Appends {@code value} as a quoted JSON string, escaped by {@link JsonStringEscaper}.
+   */
+  private void appendJsonString(String value) {
+    appendByte('"');
+    int length = value.length();
+    char previous = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      String escape = JsonStringEscaper.escape(c, previous);
+      if (escape != null) {
+        appendAscii(escape);
+      } else {
+        i = appendCodePoint(value, i);
+      }
+      previous = c;
+    }
+    appendByte('"');
+  }
+
+  /**
+   * Appends the UTF-8 encoding of the character at {@code index} and returns the index of its last char. Unpaired surrogates are
+   * replaced with {@code ?}, as {@link String#getBytes} does.
+   */
+  private int appendCodePoint(String value, int index) {
+    char c = value.charAt(index);
+    ensureCapacity(4);
+    if (c < 0x80) {
+      buffer[size++] = (byte) c;
+    } else if (c < 0x800) {
+      buffer[size++] = (byte) (0xC0 | (c >> 6));
+      buffer[size++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+      int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+      buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+      buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+      buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+      buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+      return index + 1;
+    } else if (Character.isSurrogate(c)) {
+      buffer[size++] = '?';
+    } else {
+      buffer[size++] = (byte) (0xE0 | (c >> 12));
+      buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      buffer[size++] = (byte) (0x80 | (c & 0x3F));
+    }
+    return index;
+  }
+
+  private void ensureCapacity(int additional) {
+    int required = size + additional;
+    if (required > buffer.length) {
+      byte[] grown = new byte[Math.max(required, buffer.length << 1)];
+      System.arraycopy(buffer, 0, grown, 0, size);
+      buffer = grown;
+    }
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static final class CachedTimestamp {
+
+    private final long millis;
+    private final String text;
+
+    private CachedTimestamp(long millis, String text) {
+      this.millis = millis;
+      this.text = text;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.mulesoft.connectors.bedrock.internal.util;
+
+/**
+ * Escapes JSON string values exactly like {@code org.json.JSONObject.quote}, for writers that serialize JSON by hand and must
+ * produce the same bytes as {@code JSONObject}: quotes and backslashes are escaped, the {@code /} of {@code </} is escaped, the
+ * control characters with a short escape use it, and the remaining control, C1 and U+2000-U+20FF characters use a four-digit
+ * unicode escape. Every other character is written as is.
+ */
+public final class JsonStringEscaper {
+
+  private static final int C1_END = 0xA0;
+  private static final int PUNCTUATION_START = 0x2000;
+  private static final int PUNCTUATION_END = 0x2100;
+
+  /** Escapes of the characters below {@link #C1_END}, {@code null} for those written as is ({@code /} is handled apart). */
+  private static final String[] LOW_ESCAPES = new String[C1_END];
+  private static final String[] PUNCTUATION_ESCAPES = new String[PUNCTUATION_END - PUNCTUATION_START];
+
+  static {
+    for (char c = 0; c < ' '; c++) {
+      LOW_ESCAPES[c] = unicodeEscape(c);
+    }
+    for (char c = 0x80; c < C1_END; c++) {
+      LOW_ESCAPES[c] = unicodeEscape(c);
+    }
+    LOW_ESCAPES['\b'] = "\\b";
+    LOW_ESCAPES['\t'] = "\\t";
+    LOW_ESCAPES['\n'] = "\\n";
+    LOW_ESCAPES['\f'] = "\\f";
+    LOW_ESCAPES['\r'] = "\\r";
+    LOW_ESCAPES['"'] = "\\\"";
+    LOW_ESCAPES['\\'] = "\\\\";
+    for (int c = PUNCTUATION_START; c < PUNCTUATION_END; c++) {
+      PUNCTUATION_ESCAPES[c - PUNCTUATION_START] = unicodeEscape((char) c);
+    }
+  }
+
+  private JsonStringEscaper() {}
+
+  /**
+   * Returns the escape sequence of {@code c}, or {@code null} when it is written as is. {@code previous} is the character before
+   * it in the string, {@code 0} for the first one.
+   */
+  public static String escape(char c, char previous) {
+    if (c < C1_END) {
+      if (c == '/') {
+        return previous == '<' ? "\\/" : null;
+      }
+      return LOW_ESCAPES[c];
+    }
+    if (c >= PUNCTUATION_START && c < PUNCTUATION_END) {
+      return PUNCTUATION_ESCAPES[c - PUNCTUATION_START];
+    }
+    return null;
+  }
+
+  /**
+   * Appends {@code value[start, end)} as a quoted JSON string.
+   */
+  public static void quote(StringBuilder out, CharSequence value, int start, int end) {
+    out.append('"');
+    char previous = 0;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      String escape = escape(c, previous);
+      if (escape != null) {
+        out.append(escape);
+      } else {
+        out.append(c);
+      }
+      previous = c;
+    }
+    out.append('"');
+  }
+
+  private static String unicodeEscape(char c) {
+    String hex = Integer.toHexString(c);
+    return "\\u0000".substring(0, 6 - hex.length()) + hex;
+  }
+}
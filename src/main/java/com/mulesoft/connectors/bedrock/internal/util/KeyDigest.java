@@ -0,0 +1,35 @@
+package com.mulesoft.connectors.bedrock.internal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Builds keys for process-wide registries and caches from values that may include secrets (access keys, session tokens). Only a
+ * SHA-256 digest of the values is returned, so secrets never end up in a map key or a heap dump of one.
+ */
+public final class KeyDigest {
+
+  private KeyDigest() {}
+
+  /**
+   * Returns the hex-encoded SHA-256 digest of the given parts. Parts are separated, so moving characters from one part to the
+   * next changes the key; {@code null} parts are digested as {@code "null"}.
+   */
+  public static String sha256(String... parts) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String part : parts) {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      }
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
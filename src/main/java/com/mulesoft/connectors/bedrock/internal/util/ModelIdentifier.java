@@ -8,6 +8,9 @@ import org.mule.runtime.extension.api.exception.ModuleException;
  */
 public final class ModelIdentifier {
 
+  private static final String INFERENCE_PROFILE_ARN_PREFIX = "arn:aws:bedrock:";
+  private static final String INFERENCE_PROFILE_RESOURCE = "inference-profile/";
+
   private ModelIdentifier() {
     // Utility class - prevent instantiation
   }
@@ -111,6 +114,32 @@ public final class ModelIdentifier {
     return String.format(BedrockConstants.INFERENCE_PROFILE_ARN_TEMPLATE, region, accountId, geoPrefix, modelId);
   }
 
+  /**
+   * Rebuilds an inference profile ARN for another region, e.g. when a request fails over to a secondary region. A geo prefix
+   * that was derived from the original region is re-derived for the target region; a {@code global.} profile is kept as is.
+   * Model identifiers that are not inference profile ARNs are returned unchanged.
+   *
+   * @param modelId the model identifier or inference profile ARN
+   * @param region the target AWS region
+   * @return the inference profile ARN for the target region, or {@code modelId} unchanged
+   */
+  public static String rebuildInferenceProfileArnForRegion(String modelId, String region) {
+    if (modelId == null || !modelId.startsWith(INFERENCE_PROFILE_ARN_PREFIX)) {
+      return modelId;
+    }
+    // arn:aws:bedrock:<region>:<account>:inference-profile/<profile id>
+    String[] parts = modelId.split(":", 6);
+    if (parts.length < 6 || !parts[5].startsWith(INFERENCE_PROFILE_RESOURCE)) {
+      return modelId;
+    }
+    String accountId = parts[4];
+    String profileId = parts[5].substring(INFERENCE_PROFILE_RESOURCE.length());
+    if (!profileId.startsWith(BedrockConstants.GeoPrefix.GLOBAL) && hasGeoPrefix(profileId)) {
+      profileId = profileId.substring(profileId.indexOf('.') + 1);
+    }
+    return buildInferenceProfileArn(region, accountId, profileId);
+  }
+
   /**
    * Determines the response format group for a model. Used for response formatting strategy selection.
    *
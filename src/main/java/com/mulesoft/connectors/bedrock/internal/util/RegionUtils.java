@@ -1,6 +1,8 @@
 package com.mulesoft.connectors.bedrock.internal.util;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import com.mulesoft.connectors.bedrock.internal.connection.parameters.CommonParameters;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
@@ -94,4 +96,45 @@ public class RegionUtils {
       clientBuilder.region(region);
     }
   }
+
+  /**
+   * Configures a runtime client builder for an explicit region, e.g. a failover region, with an optional endpoint override.
+   */
+  public static void configureRegionProperty(BedrockRuntimeClientBuilder clientBuilder, String regionId, String serviceEndpoint) {
+    Region region = Region.of(regionId);
+    if (serviceEndpoint != null && !serviceEndpoint.isEmpty()) {
+      clientBuilder.endpointOverride(URI.create(serviceEndpoint)).region(region);
+    } else {
+      clientBuilder.region(region);
+    }
+  }
+
+  /**
+   * Parses the failover regions of the connection: a comma separated list of region ids, each optionally followed by
+   * {@code =<endpoint>} to override its service endpoint (e.g. {@code us-west-2, eu-central-1=https://localhost:8443}). The
+   * primary region is skipped.
+   *
+   * @return failover region ids in configured order, mapped to their endpoint override (or {@code null})
+   */
+  public static Map<String, String> getFailoverRegions(CommonParameters commonParameters) {
+    Map<String, String> failoverRegions = new LinkedHashMap<>();
+    String configured = commonParameters.getFailoverRegions();
+    if (configured == null || configured.trim().isEmpty()) {
+      return failoverRegions;
+    }
+    String primaryRegion = getRegion(commonParameters).id();
+    for (String entry : configured.split(",")) {
+      String trimmed = entry.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      int separator = trimmed.indexOf('=');
+      String regionId = (separator < 0 ? trimmed : trimmed.substring(0, separator)).trim().toLowerCase().replace("_", "-");
+      String endpoint = separator < 0 ? null : trimmed.substring(separator + 1).trim();
+      if (!regionId.isEmpty() && !regionId.equals(primaryRegion)) {
+        failoverRegions.put(regionId, endpoint == null || endpoint.isEmpty() ? null : endpoint);
+      }
+    }
+    return failoverRegions;
+  }
 }
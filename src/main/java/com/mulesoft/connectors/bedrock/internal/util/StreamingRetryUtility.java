@@ -1,7 +1,11 @@
 package com.mulesoft.connectors.bedrock.internal.util;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
@@ -399,6 +403,103 @@ public class StreamingRetryUtility {
     }
   }
 
+  /**
+   * Executes an asynchronous streaming operation with the same retry rules as
+   * {@link #executeWithRetry(StreamingOperation, RetryConfig, AtomicBoolean, String, String, String)}, without holding a thread:
+   * each attempt is started when the previous one has failed and its backoff has elapsed on {@code scheduler}, instead of
+   * sleeping. The returned future completes with the result, never exceptionally; cancelling it stops any further attempt.
+   *
+   * @param operation starts one attempt and returns a future completing when it has ended
+   * @param scheduler schedules the attempts that follow a backoff
+   * @return future of the result of the last attempt
+   */
+  public static CompletableFuture<RetryResult> executeWithRetryAsync(
+                                                                     AsyncStreamingOperation operation,
+                                                                     RetryConfig config,
+                                                                     AtomicBoolean chunksReceived,
+                                                                     ScheduledExecutorService scheduler,
+                                                                     String agentId,
+                                                                     String sessionId,
+                                                                     String requestId) {
+    CompletableFuture<RetryResult> result = new CompletableFuture<>();
+    startAttempt(operation, config, chunksReceived, scheduler, result, 0, System.currentTimeMillis(), agentId, sessionId,
+                 requestId);
+    return result;
+  }
+
+  private static void startAttempt(AsyncStreamingOperation operation, RetryConfig config, AtomicBoolean chunksReceived,
+                                   ScheduledExecutorService scheduler, CompletableFuture<RetryResult> result, int attempt,
+                                   long retryStartTime, String agentId, String sessionId, String requestId) {
+    if (result.isDone()) {
+      return;
+    }
+    if (attempt > 0) {
+      chunksReceived.set(false);
+      logger.debug("Retry attempt {} starting - agentId: {}, sessionId: {}, requestId: {}", attempt + 1, agentId, sessionId,
+                   requestId);
+    }
+    long attemptStartTime = System.currentTimeMillis();
+    CompletableFuture<Void> attemptFuture;
+    try {
+      attemptFuture = operation.start();
+    } catch (RuntimeException e) {
+      attemptFuture = new CompletableFuture<>();
+      attemptFuture.completeExceptionally(e);
+    }
+    attemptFuture.whenComplete((ignored, error) -> {
+      int attemptsMade = attempt + 1;
+      boolean chunksWereReceived = chunksReceived.get();
+      if (error == null) {
+        logger.debug("Operation succeeded on attempt {} - agentId: {}, sessionId: {}, requestId: {}, totalElapsedMs: {}",
+                     attemptsMade, agentId, sessionId, requestId, System.currentTimeMillis() - retryStartTime);
+        result.complete(new RetryResult(true, null, attemptsMade, chunksWereReceived));
+        return;
+      }
+      Exception failure = toException(error);
+      if (!config.isEnabled()) {
+        result.complete(new RetryResult(false, failure, attemptsMade, chunksWereReceived));
+        return;
+      }
+      if (attempt >= config.getMaxRetries() || !isRetryableException(failure) || chunksWereReceived) {
+        logger.warn("Cannot retry streaming operation (attempt {}) - agentId: {}, sessionId: {}, requestId: {}, "
+            + "chunksReceived: {}, attemptDurationMs: {}", attemptsMade, agentId, sessionId, requestId, chunksWereReceived,
+                    System.currentTimeMillis() - attemptStartTime);
+        result.complete(new RetryResult(false, failure, attemptsMade, chunksWereReceived));
+        return;
+      }
+      long backoffMs = calculateExponentialBackoff(attempt, config.getBaseBackoffMs());
+      logger.warn("Retryable error on attempt {}: {}. Retrying in {}ms - agentId: {}, sessionId: {}, requestId: {}",
+                  attemptsMade, failure.getMessage(), backoffMs, agentId, sessionId, requestId);
+      try {
+        scheduler.schedule(() -> startAttempt(operation, config, chunksReceived, scheduler, result, attemptsMade, retryStartTime,
+                                              agentId, sessionId, requestId),
+                           backoffMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException rejected) {
+        logger.warn("Could not schedule retry attempt {} - agentId: {}, sessionId: {}, requestId: {}", attemptsMade + 1,
+                    agentId, sessionId, requestId);
+        result.complete(new RetryResult(false, failure, attemptsMade, chunksWereReceived));
+      }
+    });
+  }
+
+  private static Exception toException(Throwable error) {
+    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    return cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+  }
+
+  /**
+   * Asynchronous streaming operation that can be retried.
+   */
+  @FunctionalInterface
+  public interface AsyncStreamingOperation {
+
+    /**
+     * Starts one attempt. The returned future completes when the attempt has ended and exceptionally if it failed; the attempt
+     * should set chunksReceived to true when chunks start arriving.
+     */
+    CompletableFuture<Void> start();
+  }
+
   /**
    * Functional interface for streaming operations that can be retried.
    */
@@ -0,0 +1,44 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("InMemoryResponseCacheStore")
+class InMemoryResponseCacheStoreTest {
+
+  @Test
+  @DisplayName("evicts the least recently used entry when full")
+  void evictsLeastRecentlyUsed() {
+    InMemoryResponseCacheStore store = new InMemoryResponseCacheStore(2);
+    store.put("a", "1", 60_000);
+    store.put("b", "2", 60_000);
+    store.get("a");
+
+    store.put("c", "3", 60_000);
+
+    assertThat(store.size()).isEqualTo(2);
+    assertThat(store.get("a")).isEqualTo("1");
+    assertThat(store.get("b")).isNull();
+    assertThat(store.get("c")).isEqualTo("3");
+  }
+
+  @Test
+  @DisplayName("does not return expired entries")
+  void expires() throws InterruptedException {
+    InMemoryResponseCacheStore store = new InMemoryResponseCacheStore(2);
+    store.put("a", "1", 1);
+    Thread.sleep(5);
+
+    assertThat(store.get("a")).isNull();
+    assertThat(store.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("rejects a non-positive size")
+  void invalidSize() {
+    assertThatThrownBy(() -> new InMemoryResponseCacheStore(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
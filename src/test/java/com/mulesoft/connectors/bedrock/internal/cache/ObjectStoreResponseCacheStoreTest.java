@@ -0,0 +1,60 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mule.runtime.api.i18n.I18nMessageFactory;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+@DisplayName("ObjectStoreResponseCacheStore")
+class ObjectStoreResponseCacheStoreTest {
+
+  @SuppressWarnings("unchecked")
+  private final ObjectStore<String> objectStore = mock(ObjectStore.class);
+  private final ObjectStoreResponseCacheStore store = new ObjectStoreResponseCacheStore(objectStore);
+
+  @Test
+  @DisplayName("stores the value with its expiry and returns it until then")
+  void roundTrip() throws ObjectStoreException {
+    store.put("key", "value:with:colons", 60_000);
+
+    ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+    verify(objectStore).store(eq("key"), stored.capture());
+    when(objectStore.retrieve("key")).thenReturn(stored.getValue());
+
+    assertThat(store.get("key")).isEqualTo("value:with:colons");
+  }
+
+  @Test
+  @DisplayName("treats expired entries as missing and removes them")
+  void expired() throws ObjectStoreException {
+    when(objectStore.retrieve("key")).thenReturn((System.currentTimeMillis() - 1) + ":value");
+
+    assertThat(store.get("key")).isNull();
+    verify(objectStore).remove("key");
+  }
+
+  @Test
+  @DisplayName("treats missing entries and object store failures as misses")
+  void failures() throws ObjectStoreException {
+    when(objectStore.retrieve("missing")).thenThrow(new ObjectDoesNotExistException());
+    when(objectStore.retrieve("broken"))
+        .thenThrow(new ObjectStoreException(I18nMessageFactory.createStaticMessage("unavailable")));
+    doThrow(new ObjectStoreException(I18nMessageFactory.createStaticMessage("unavailable")))
+        .when(objectStore).store(anyString(), anyString());
+
+    assertThat(store.get("missing")).isNull();
+    assertThat(store.get("broken")).isNull();
+    store.put("key", "value", 60_000);
+  }
+}
@@ -0,0 +1,86 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+import com.mulesoft.connectors.bedrock.internal.support.IntegrationTestParamHelper;
+
+@DisplayName("ResponseCache")
+class ResponseCacheTest {
+
+  private final ResponseCache cache = new ResponseCache(new InMemoryResponseCacheStore(10), 60_000);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  @DisplayName("returns the cached response of a deterministic request without invoking the loader again")
+  void hit() {
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+    ConnectorMetrics metrics = ConnectorMetrics.get();
+    long hitsBefore = metrics.getCount("test.response-cache.hits");
+    long missesBefore = metrics.getCount("test.response-cache.misses");
+
+    assertThat(cache.get("test", "Hi", params, this::load)).isEqualTo("response-1");
+    assertThat(cache.get("test", "Hi", params, this::load)).isEqualTo("response-1");
+
+    assertThat(loads).hasValue(1);
+    assertThat(metrics.getCount("test.response-cache.hits") - hitsBefore).isEqualTo(1);
+    assertThat(metrics.getCount("test.response-cache.misses") - missesBefore).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("does not cache requests with a non-zero temperature")
+  void nonDeterministic() {
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+
+    cache.get("test", "Hi", params, this::load);
+    cache.get("test", "Hi", params, this::load);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("does not cache failed invocations")
+  void failure() {
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+
+    assertThatThrownBy(() -> cache.get("test", "Hi", params, () -> {
+      throw new IllegalStateException("throttled");
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(cache.get("test", "Hi", params, this::load)).isEqualTo("response-1");
+  }
+
+  @Test
+  @DisplayName("keys differ for every operation, model parameter, guardrail setting and prompt")
+  void keyCoversRequest() {
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+    String key = ResponseCache.key("chat", "Hi", params);
+
+    assertThat(ResponseCache.key("chat", "Hi", IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50)))
+        .isEqualTo(key)
+        .hasSize(64);
+    assertThat(ResponseCache.key("sentiment", "Hi", params)).isNotEqualTo(key);
+    assertThat(ResponseCache.key("chat", "Hi!", params)).isNotEqualTo(key);
+    assertThat(ResponseCache.key("chat", "Hi", IntegrationTestParamHelper.bedrockParams("amazon.nova-pro-v1:0", 0f, 50)))
+        .isNotEqualTo(key);
+    assertThat(ResponseCache.key("chat", "Hi", IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 51)))
+        .isNotEqualTo(key);
+    Map<String, Object> changes = Map.of("topP", 0.9f, "topK", 5, "guardrailIdentifier", "gr-1", "guardrailVersion", "2",
+                                         "awsAccountId", "123456789012");
+    changes.forEach((field, value) -> {
+      BedrockParameters changed = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+      IntegrationTestParamHelper.setField(changed, field, value);
+      assertThat(ResponseCache.key("chat", "Hi", changed)).as(field).isNotEqualTo(key);
+    });
+  }
+
+  private String load() {
+    return "response-" + loads.incrementAndGet();
+  }
+}
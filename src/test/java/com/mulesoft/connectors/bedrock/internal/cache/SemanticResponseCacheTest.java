@@ -0,0 +1,113 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+import com.mulesoft.connectors.bedrock.internal.support.IntegrationTestParamHelper;
+
+@DisplayName("SemanticResponseCache")
+class SemanticResponseCacheTest {
+
+  private static final Map<String, float[]> EMBEDDINGS = Map.of(
+                                                                "reset password", new float[] {1, 0, 0},
+                                                                "reset my password", new float[] {0.98f, 0.1f, 0},
+                                                                "cancel order", new float[] {0, 1, 0},
+                                                                "track parcel", new float[] {0, 0, 1});
+
+  private final BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  @DisplayName("returns the response of a prompt above the similarity threshold and records the hit")
+  void similarPrompt() {
+    SemanticResponseCache cache = new SemanticResponseCache(0.95, 10, 60_000, "model", 3);
+    ConnectorMetrics metrics = ConnectorMetrics.get();
+    long hitsBefore = metrics.getCount("test.semantic-cache.hits");
+
+    assertThat(cache.get("test", "reset password", params, EMBEDDINGS::get, this::load)).isEqualTo("response-1");
+    assertThat(cache.get("test", "reset my password", params, EMBEDDINGS::get, this::load)).isEqualTo("response-1");
+    assertThat(cache.get("test", "cancel order", params, EMBEDDINGS::get, this::load)).isEqualTo("response-2");
+
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getHitRatio()).isEqualTo(1.0 / 3);
+    assertThat(metrics.getCount("test.semantic-cache.hits") - hitsBefore).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("only matches responses produced with the same model parameters")
+  void scopedByParameters() {
+    SemanticResponseCache cache = new SemanticResponseCache(0.95, 10, 60_000, "model", 3);
+    BedrockParameters otherParams = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 500);
+
+    cache.get("test", "reset password", params, EMBEDDINGS::get, this::load);
+
+    assertThat(cache.get("test", "reset password", otherParams, EMBEDDINGS::get, this::load)).isEqualTo("response-2");
+  }
+
+  @Test
+  @DisplayName("evicts the oldest entry when full and ignores expired entries")
+  void boundedAndExpiring() throws InterruptedException {
+    SemanticResponseCache cache = new SemanticResponseCache(0.95, 2, 60_000, "model", 3);
+    cache.get("test", "reset password", params, EMBEDDINGS::get, this::load);
+    cache.get("test", "cancel order", params, EMBEDDINGS::get, this::load);
+    cache.get("test", "track parcel", params, EMBEDDINGS::get, this::load);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("test", "reset password", params, EMBEDDINGS::get, this::load)).isEqualTo("response-4");
+
+    SemanticResponseCache expiring = new SemanticResponseCache(0.95, 2, 1, "model", 3);
+    expiring.get("test", "reset password", params, EMBEDDINGS::get, this::load);
+    Thread.sleep(5);
+    assertThat(expiring.get("test", "reset password", params, EMBEDDINGS::get, this::load)).isEqualTo("response-6");
+  }
+
+  @Test
+  @DisplayName("calls the model without caching when the prompt cannot be embedded")
+  void embeddingFailure() {
+    SemanticResponseCache cache = new SemanticResponseCache(0.95, 10, 60_000, "model", 3);
+
+    String response = cache.get("test", "reset password", params, text -> {
+      throw new IllegalStateException("access denied");
+    }, this::load);
+
+    assertThat(response).isEqualTo("response-1");
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("calls the model without embedding or caching when the temperature is not 0")
+  void nonZeroTemperature() {
+    SemanticResponseCache cache = new SemanticResponseCache(0.95, 10, 60_000, "model", 3);
+    BedrockParameters sampled = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.9f, 50);
+    AtomicInteger embeddings = new AtomicInteger();
+    Function<String, float[]> embedder = text -> {
+      embeddings.incrementAndGet();
+      return EMBEDDINGS.get(text);
+    };
+
+    assertThat(cache.get("test", "reset password", sampled, embedder, this::load)).isEqualTo("response-1");
+    assertThat(cache.get("test", "reset password", sampled, embedder, this::load)).isEqualTo("response-2");
+
+    assertThat(embeddings).hasValue(0);
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getHitRatio()).isZero();
+  }
+
+  @Test
+  @DisplayName("rejects a threshold outside (0, 1]")
+  void invalidThreshold() {
+    assertThatThrownBy(() -> new SemanticResponseCache(1.5, 10, 60_000, "model", 3))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private String load() {
+    return "response-" + loads.incrementAndGet();
+  }
+}
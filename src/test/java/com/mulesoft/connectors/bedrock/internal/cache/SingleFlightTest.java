@@ -0,0 +1,108 @@
+package com.mulesoft.connectors.bedrock.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+  private static final int FOLLOWERS = 8;
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test-flight");
+  private final ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("concurrent callers with an equal key share one call and its result")
+  void sharesInFlightCall() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    long coalescedBefore = ConnectorMetrics.get().getCount("test-flight.coalesced");
+
+    List<Future<String>> results = new ArrayList<>();
+    results.add(executor.submit(() -> singleFlight.execute("key", () -> blockingCall(release, "shared"))));
+    awaitCalls(1);
+    for (int i = 0; i < FOLLOWERS; i++) {
+      results.add(executor.submit(() -> singleFlight.execute("key", () -> blockingCall(release, "duplicate"))));
+    }
+    awaitCoalesced(coalescedBefore + FOLLOWERS);
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("shared");
+    }
+    assertThat(calls).hasValue(1);
+    assertThat(singleFlight.getInFlightCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("waiting callers receive the failure of the shared call, and the failure is not remembered")
+  void sharesFailure() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    long coalescedBefore = ConnectorMetrics.get().getCount("test-flight.coalesced");
+    Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+      blockingCall(release, "unused");
+      throw new IllegalStateException("throttled");
+    }));
+    awaitCalls(1);
+    Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "unused"));
+    awaitCoalesced(coalescedBefore + 1);
+    release.countDown();
+
+    assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+  }
+
+  @Test
+  @DisplayName("sequential and different-key calls are not coalesced")
+  void noSharingWithoutOverlap() {
+    assertThat(singleFlight.execute("a", () -> "first")).isEqualTo("first");
+    assertThat(singleFlight.execute("a", () -> "second")).isEqualTo("second");
+    assertThat(singleFlight.execute("b", () -> "third")).isEqualTo("third");
+  }
+
+  private String blockingCall(CountDownLatch release, String result) {
+    calls.incrementAndGet();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return result;
+  }
+
+  private void awaitCalls(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (calls.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static void awaitCoalesced(long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (ConnectorMetrics.get().getCount("test-flight.coalesced") < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+}
@@ -14,8 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
+import com.mulesoft.connectors.bedrock.internal.cache.SemanticResponseCache;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
 
 @DisplayName("BedrockConfiguration")
 class BedrockConfigurationTest {
@@ -33,9 +36,13 @@ class BedrockConfigurationTest {
     when(mockSchedulerService.ioScheduler(any(SchedulerConfig.class))).thenReturn(mockScheduler);
 
     // Inject the mock SchedulerService via reflection (normally @Inject handles this)
-    Field schedulerServiceField = BedrockConfiguration.class.getDeclaredField("schedulerService");
-    schedulerServiceField.setAccessible(true);
-    schedulerServiceField.set(config, mockSchedulerService);
+    setField("schedulerService", mockSchedulerService);
+  }
+
+  private void setField(String name, Object value) throws Exception {
+    Field field = BedrockConfiguration.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(config, value);
   }
 
   @Nested
@@ -63,6 +70,70 @@ class BedrockConfigurationTest {
     }
   }
 
+  @Nested
+  @DisplayName("getChatStreamingScheduler")
+  class GetChatStreamingScheduler {
+
+    @Test
+    @DisplayName("lazily creates a separate IO scheduler and reuses it")
+    void createsSchedulerOnce() {
+      Scheduler first = config.getChatStreamingScheduler();
+      Scheduler second = config.getChatStreamingScheduler();
+
+      assertThat(first).isSameAs(mockScheduler).isSameAs(second);
+      verify(mockSchedulerService).ioScheduler(any(SchedulerConfig.class));
+    }
+
+    @Test
+    @DisplayName("is stopped on dispose")
+    void stoppedOnDispose() {
+      config.getChatStreamingScheduler();
+      config.dispose();
+
+      verify(mockScheduler).stop();
+    }
+  }
+
+  @Nested
+  @DisplayName("chat stream admission")
+  class ChatStreamAdmission {
+
+    @Test
+    @DisplayName("admits streams up to the limit and again after a release")
+    void boundsConcurrentStreams() {
+      int max = config.getMaxConcurrentChatStreams();
+      for (int i = 0; i < max; i++) {
+        assertThat(config.tryAcquireChatStream()).isTrue();
+      }
+      assertThat(config.tryAcquireChatStream()).isFalse();
+      assertThat(config.getActiveChatStreams()).isEqualTo(max);
+
+      config.releaseChatStream();
+      assertThat(config.tryAcquireChatStream()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("agent stream admission")
+  class AgentStreamAdmission {
+
+    @Test
+    @DisplayName("admits thousands of streams, independently of chat streams, up to the limit")
+    void boundsConcurrentStreams() {
+      int max = config.getMaxConcurrentAgentStreams();
+      assertThat(max).isGreaterThanOrEqualTo(1000);
+      for (int i = 0; i < max; i++) {
+        assertThat(config.tryAcquireAgentStream()).isTrue();
+      }
+      assertThat(config.tryAcquireAgentStream()).isFalse();
+      assertThat(config.getActiveAgentStreams()).isEqualTo(max);
+      assertThat(config.tryAcquireChatStream()).isTrue();
+
+      config.releaseAgentStream();
+      assertThat(config.tryAcquireAgentStream()).isTrue();
+    }
+  }
+
   @Nested
   @DisplayName("dispose")
   class Dispose {
@@ -125,4 +196,105 @@ class BedrockConfigurationTest {
       assertThat(config.getSchedulerConfig()).isSameAs(mockConfig);
     }
   }
+
+  @Nested
+  @DisplayName("streaming coalescing")
+  class StreamingCoalescing {
+
+    @Test
+    @DisplayName("is disabled when no window is configured")
+    void disabledByDefault() {
+      assertThat(config.getStreamingCoalescingWindowMillis()).isZero();
+      assertThat(config.getStreamingCoalescingMaxSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("converts the window to milliseconds")
+    void convertsWindow() throws Exception {
+      setField("streamingCoalescingWindow", 2);
+      setField("streamingCoalescingWindowUnit", TimeUnit.SECONDS);
+      setField("streamingCoalescingMaxSize", 512);
+
+      assertThat(config.getStreamingCoalescingWindowMillis()).isEqualTo(2000);
+      assertThat(config.getStreamingCoalescingMaxSize()).isEqualTo(512);
+    }
+
+    @Test
+    @DisplayName("rounds sub-millisecond windows up to one millisecond")
+    void roundsUp() throws Exception {
+      setField("streamingCoalescingWindow", 500);
+      setField("streamingCoalescingWindowUnit", TimeUnit.MICROSECONDS);
+
+      assertThat(config.getStreamingCoalescingWindowMillis()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("streaming spill to disk")
+  class StreamingSpill {
+
+    @Test
+    @DisplayName("is disabled by default and for non-positive sizes")
+    void disabledByDefault() throws Exception {
+      assertThat(config.getStreamingSpillMaxSize()).isZero();
+
+      setField("streamingSpillMaxSize", -1);
+      assertThat(config.getStreamingSpillMaxSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("returns the configured size")
+    void configuredSize() throws Exception {
+      setField("streamingSpillMaxSize", 8 * 1024 * 1024);
+
+      assertThat(config.getStreamingSpillMaxSize()).isEqualTo(8 * 1024 * 1024);
+    }
+  }
+
+  @Nested
+  @DisplayName("response cache")
+  class ResponseCacheConfig {
+
+    @Test
+    @DisplayName("is disabled by default")
+    void disabledByDefault() {
+      assertThat(config.getResponseCache()).isNull();
+    }
+
+    @Test
+    @DisplayName("is created once with the configured time to live")
+    void createdOnce() throws Exception {
+      setField("responseCacheEnabled", true);
+      setField("responseCacheTtl", 30);
+      setField("responseCacheTtlUnit", TimeUnit.SECONDS);
+
+      ResponseCache cache = config.getResponseCache();
+
+      assertThat(cache).isNotNull().isSameAs(config.getResponseCache());
+      assertThat(cache.getTtlMillis()).isEqualTo(30_000);
+    }
+
+    @Test
+    @DisplayName("semantic cache is disabled by default and uses Titan v2 embeddings when enabled")
+    void semanticCache() throws Exception {
+      assertThat(config.getSemanticResponseCache()).isNull();
+
+      setField("semanticCacheEnabled", true);
+      SemanticResponseCache cache = config.getSemanticResponseCache();
+
+      assertThat(cache).isNotNull().isSameAs(config.getSemanticResponseCache());
+      assertThat(cache.getEmbeddingModelId()).isEqualTo("amazon.titan-embed-text-v2:0");
+    }
+
+    @Test
+    @DisplayName("is recreated after dispose")
+    void recreatedAfterDispose() throws Exception {
+      setField("responseCacheEnabled", true);
+      ResponseCache cache = config.getResponseCache();
+
+      config.dispose();
+
+      assertThat(config.getResponseCache()).isNotNull().isNotSameAs(cache);
+    }
+  }
 }
@@ -3,15 +3,22 @@ package com.mulesoft.connectors.bedrock.internal.connection;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.function.LongFunction;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.services.bedrock.BedrockClient;
 import software.amazon.awssdk.services.bedrock.BedrockClientBuilder;
 import software.amazon.awssdk.services.bedrock.model.GetFoundationModelRequest;
@@ -27,15 +34,20 @@ import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.services.bedrockagent.model.ListAgentsRequest;
 import software.amazon.awssdk.services.bedrockagent.model.ListAgentsResponse;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClientBuilder;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClient;
 import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeClientBuilder;
+import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentRequest;
+import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentResponseHandler;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClientBuilder;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
 import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClientBuilder;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 import software.amazon.awssdk.services.iam.IamClient;
 import software.amazon.awssdk.services.iam.IamClientBuilder;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 @DisplayName("BedrockConnection")
 class BedrockConnectionTest {
@@ -45,6 +57,13 @@ class BedrockConnectionTest {
   private BedrockAgentClient mockAgentClient;
   private BedrockAgentRuntimeClient mockAgentRuntimeClient;
   private IamClient mockIamClient;
+  private SdkHttpClient mockHttpClient;
+  private SdkAsyncHttpClient mockAsyncHttpClient;
+  private BedrockRuntimeAsyncClient mockRuntimeAsyncClient;
+  private BedrockAgentRuntimeAsyncClient mockAgentRuntimeAsyncClient;
+  private SdkEventLoopGroup eventLoopGroup;
+  private BedrockRuntimeClientBuilder runtimeBuilder;
+  private BedrockClientBuilder bedrockBuilder;
 
   @BeforeEach
   void setUp() {
@@ -53,13 +72,24 @@ class BedrockConnectionTest {
     mockAgentClient = mock(BedrockAgentClient.class);
     mockAgentRuntimeClient = mock(BedrockAgentRuntimeClient.class);
     mockIamClient = mock(IamClient.class);
+    mockHttpClient = mock(SdkHttpClient.class);
+    mockAsyncHttpClient = mock(SdkAsyncHttpClient.class);
+    mockRuntimeAsyncClient = mock(BedrockRuntimeAsyncClient.class);
+    mockAgentRuntimeAsyncClient = mock(BedrockAgentRuntimeAsyncClient.class);
+    eventLoopGroup = SdkEventLoopGroup.builder().numberOfThreads(1).build();
+    ValidationCache.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    eventLoopGroup.eventLoopGroup().shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
   }
 
   private BedrockConnection createConnection() {
-    BedrockRuntimeClientBuilder runtimeBuilder = mock(BedrockRuntimeClientBuilder.class);
+    runtimeBuilder = mock(BedrockRuntimeClientBuilder.class);
     when(runtimeBuilder.build()).thenReturn(mockRuntimeClient);
 
-    BedrockClientBuilder bedrockBuilder = mock(BedrockClientBuilder.class);
+    bedrockBuilder = mock(BedrockClientBuilder.class);
     when(bedrockBuilder.build()).thenReturn(mockBedrockClient);
 
     BedrockAgentClientBuilder agentBuilder = mock(BedrockAgentClientBuilder.class);
@@ -71,15 +101,16 @@ class BedrockConnectionTest {
     IamClientBuilder iamBuilder = mock(IamClientBuilder.class);
     when(iamBuilder.build()).thenReturn(mockIamClient);
 
-    LongFunction<BedrockAgentRuntimeAsyncClient> agentAsyncFactory = mock(LongFunction.class);
-    when(agentAsyncFactory.apply(anyLong())).thenReturn(mock(BedrockAgentRuntimeAsyncClient.class));
+    BedrockAgentRuntimeAsyncClientBuilder agentRuntimeAsyncBuilder = mock(BedrockAgentRuntimeAsyncClientBuilder.class);
+    when(agentRuntimeAsyncBuilder.build()).thenReturn(mockAgentRuntimeAsyncClient);
 
-    LongFunction<BedrockRuntimeAsyncClient> runtimeAsyncFactory = mock(LongFunction.class);
-    when(runtimeAsyncFactory.apply(anyLong())).thenReturn(mock(BedrockRuntimeAsyncClient.class));
+    BedrockRuntimeAsyncClientBuilder runtimeAsyncBuilder = mock(BedrockRuntimeAsyncClientBuilder.class);
+    when(runtimeAsyncBuilder.build()).thenReturn(mockRuntimeAsyncClient);
 
     return new BedrockConnection("us-east-1", runtimeBuilder, bedrockBuilder,
                                  agentBuilder, agentRuntimeBuilder, iamBuilder,
-                                 60_000, agentAsyncFactory, runtimeAsyncFactory);
+                                 60_000, agentRuntimeAsyncBuilder, runtimeAsyncBuilder, mockHttpClient, mockAsyncHttpClient,
+                                 eventLoopGroup);
   }
 
   @Test
@@ -180,20 +211,35 @@ class BedrockConnectionTest {
   }
 
   @Test
-  @DisplayName("getOrCreateBedrockRuntimeAsyncClient returns client from factory")
+  @DisplayName("getOrCreateBedrockRuntimeAsyncClient returns the one runtime async client for every timeout")
   void getOrCreateBedrockRuntimeAsyncClient() {
     BedrockConnection conn = createConnection();
-    assertThat(conn.getOrCreateBedrockRuntimeAsyncClient(60_000)).isNotNull();
-    assertThat(conn.getOrCreateBedrockRuntimeAsyncClient(60_000)).isSameAs(conn.getOrCreateBedrockRuntimeAsyncClient(60_000));
+    assertThat(conn.getOrCreateBedrockRuntimeAsyncClient(60_000)).isSameAs(mockRuntimeAsyncClient);
+    assertThat(conn.getOrCreateBedrockRuntimeAsyncClient(120_000)).isSameAs(mockRuntimeAsyncClient);
   }
 
   @Test
-  @DisplayName("getOrCreateBedrockAgentRuntimeAsyncClient returns client from factory and caches by timeout")
+  @DisplayName("getOrCreateBedrockAgentRuntimeAsyncClient returns the one agent runtime async client for every timeout")
   void getOrCreateBedrockAgentRuntimeAsyncClient() {
     BedrockConnection conn = createConnection();
-    assertThat(conn.getOrCreateBedrockAgentRuntimeAsyncClient(60_000)).isNotNull();
-    assertThat(conn.getOrCreateBedrockAgentRuntimeAsyncClient(60_000))
-        .isSameAs(conn.getOrCreateBedrockAgentRuntimeAsyncClient(60_000));
+    assertThat(conn.getOrCreateBedrockAgentRuntimeAsyncClient(60_000)).isSameAs(mockAgentRuntimeAsyncClient);
+    assertThat(conn.getOrCreateBedrockAgentRuntimeAsyncClient(120_000)).isSameAs(mockAgentRuntimeAsyncClient);
+    assertThat(conn.getBedrockAgentRuntimeAsyncClient()).isSameAs(mockAgentRuntimeAsyncClient);
+  }
+
+  @Test
+  @DisplayName("invokeAgent fails a call that receives nothing within its timeout")
+  void invokeAgentIdleTimeout() {
+    BedrockConnection conn = createConnection();
+    CompletableFuture<Void> sdkFuture = new CompletableFuture<>();
+    when(mockAgentRuntimeAsyncClient.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class)))
+        .thenReturn(sdkFuture);
+    InvokeAgentResponseHandler handler = mock(InvokeAgentResponseHandler.class);
+
+    CompletableFuture<Void> future = conn.invokeAgent(InvokeAgentRequest.builder().build(), handler, 50);
+
+    assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SdkClientException.class);
+    verify(handler).exceptionOccurred(any(SdkClientException.class));
   }
 
   @Test
@@ -204,27 +250,27 @@ class BedrockConnectionTest {
   }
 
   @Test
-  @DisplayName("validate throws ModuleException when listFoundationModels throws SdkClientException with unable to load credentials")
+  @DisplayName("validate throws ModuleException when getFoundationModel throws SdkClientException with unable to load credentials")
   void validateThrowsWhenUnableToLoadCredentials() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(SdkClientException.builder().message("Unable to load credentials from").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class).hasMessageContaining("Invalid credentials");
   }
 
   @Test
-  @DisplayName("validate throws when listFoundationModels throws AWS BedrockException with 403")
+  @DisplayName("validate throws when getFoundationModel throws AWS BedrockException with 403")
   void validateThrowsWhen403() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrock.model.BedrockException.builder().statusCode(403).build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class).hasMessageContaining("Invalid credentials");
   }
 
   @Test
-  @DisplayName("validate succeeds when listFoundationModels returns")
+  @DisplayName("validate succeeds when getFoundationModel returns")
   void validateSucceeds() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class))).thenReturn(ListFoundationModelsResponse.builder().build());
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class))).thenReturn(GetFoundationModelResponse.builder().build());
     BedrockConnection conn = createConnection();
     conn.validate();
   }
@@ -234,7 +280,7 @@ class BedrockConnectionTest {
   void validateThrowsWhenSdkServiceException403() {
     SdkServiceException e = mock(SdkServiceException.class);
     when(e.statusCode()).thenReturn(403);
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class))).thenThrow(e);
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class))).thenThrow(e);
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class).hasMessageContaining("Invalid credentials");
   }
@@ -244,7 +290,7 @@ class BedrockConnectionTest {
   void validateThrowsWhenSdkServiceExceptionNon403() {
     SdkServiceException e = mock(SdkServiceException.class);
     when(e.statusCode()).thenReturn(500);
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class))).thenThrow(e);
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class))).thenThrow(e);
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
   }
@@ -252,7 +298,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws ModuleException when SdkClientException contains invalid credential")
   void validateThrowsWhenSdkClientExceptionInvalidCredential() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(SdkClientException.builder().message("invalid credential supplied").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class).hasMessageContaining("Invalid credentials");
@@ -261,7 +307,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when SdkClientException is other client error")
   void validateThrowsWhenSdkClientExceptionOther() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(SdkClientException.builder().message("network unreachable").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
@@ -270,7 +316,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when BedrockException non-403")
   void validateThrowsWhenBedrockExceptionNon403() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrock.model.BedrockException.builder().statusCode(500).build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class).hasMessageContaining("Bedrock service error");
@@ -279,7 +325,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when AccessDeniedException")
   void validateThrowsWhenAccessDeniedException() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrockagent.model.AccessDeniedException.builder().message("denied").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
@@ -288,7 +334,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when ValidationException")
   void validateThrowsWhenValidationException() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrockagent.model.ValidationException.builder().message("invalid").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
@@ -297,7 +343,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when ResourceNotFoundException")
   void validateThrowsWhenResourceNotFoundException() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrockagent.model.ResourceNotFoundException.builder().message("not found")
             .build());
     BedrockConnection conn = createConnection();
@@ -307,7 +353,7 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when ThrottlingException")
   void validateThrowsWhenThrottlingException() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.services.bedrockagent.model.ThrottlingException.builder().message("throttled").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
@@ -316,9 +362,157 @@ class BedrockConnectionTest {
   @Test
   @DisplayName("validate throws when SdkException")
   void validateThrowsWhenSdkException() {
-    when(mockBedrockClient.listFoundationModels(any(Consumer.class)))
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
         .thenThrow(software.amazon.awssdk.core.exception.SdkException.builder().message("sdk error").build());
     BedrockConnection conn = createConnection();
     assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
   }
+
+  @Test
+  @DisplayName("validate succeeds when the validation model is not offered in the region")
+  void validateSucceedsWhenModelNotFound() {
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
+        .thenThrow(software.amazon.awssdk.services.bedrock.model.ResourceNotFoundException.builder().statusCode(404)
+            .message("not found").build());
+    BedrockConnection conn = createConnection();
+    conn.validate();
+    verify(mockBedrockClient, never()).listFoundationModels(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("validate reuses a cached success for the same key")
+  void validateUsesCache() {
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class))).thenReturn(GetFoundationModelResponse.builder().build());
+    BedrockConnection first = createConnection();
+    first.configureValidationCache("key", 60_000);
+    first.validate();
+    BedrockConnection second = createConnection();
+    second.configureValidationCache("key", 60_000);
+    second.validate();
+
+    verify(mockBedrockClient, times(1)).getFoundationModel(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("validate does not cache failures")
+  void validateDoesNotCacheFailures() {
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class)))
+        .thenThrow(software.amazon.awssdk.services.bedrock.model.BedrockException.builder().statusCode(403).build());
+    BedrockConnection conn = createConnection();
+    conn.configureValidationCache("key", 60_000);
+    assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
+    assertThatThrownBy(conn::validate).isInstanceOf(ModuleException.class);
+
+    verify(mockBedrockClient, times(2)).getFoundationModel(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("validate calls the service every time when no cache is configured")
+  void validateWithoutCache() {
+    when(mockBedrockClient.getFoundationModel(any(Consumer.class))).thenReturn(GetFoundationModelResponse.builder().build());
+    BedrockConnection conn = createConnection();
+    conn.validate();
+    conn.validate();
+
+    verify(mockBedrockClient, times(2)).getFoundationModel(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("disconnect closes sync and async clients, both HTTP clients and the event loop group")
+  void disconnectClosesAllClients() {
+    BedrockConnection conn = createConnection();
+    BedrockRuntimeAsyncClient runtimeAsyncClient = conn.getBedrockRuntimeAsyncClient();
+    BedrockAgentRuntimeAsyncClient agentAsyncClient = conn.getBedrockAgentRuntimeAsyncClient();
+    conn.getBedrockRuntimeClient();
+    conn.getBedrockClient();
+    conn.getBedrockAgentClient();
+    conn.getBedrockAgentRuntimeClient();
+    conn.getIamClient();
+
+    conn.disconnect();
+
+    verify(mockRuntimeClient).close();
+    verify(mockBedrockClient).close();
+    verify(mockAgentClient).close();
+    verify(mockAgentRuntimeClient).close();
+    verify(mockIamClient).close();
+    verify(mockHttpClient).close();
+    verify(runtimeAsyncClient).close();
+    verify(agentAsyncClient).close();
+    verify(mockAsyncHttpClient).close();
+    assertThat(eventLoopGroup.eventLoopGroup().isShuttingDown()).isTrue();
+  }
+
+  @Test
+  @DisplayName("sync clients are built on first use only")
+  void syncClientsBuiltLazily() {
+    BedrockConnection conn = createConnection();
+    verify(runtimeBuilder, never()).build();
+    assertThat(conn.getClientBuildTimesMs()).isEmpty();
+
+    assertThat(conn.getBedrockRuntimeClient()).isSameAs(conn.getBedrockRuntimeClient());
+    verify(runtimeBuilder).build();
+    verify(bedrockBuilder, never()).build();
+    assertThat(conn.getClientBuildTimesMs()).containsOnlyKeys("BedrockRuntime");
+  }
+
+  @Test
+  @DisplayName("disconnect does not build clients that were never used")
+  void disconnectSkipsUnbuiltClients() {
+    BedrockConnection conn = createConnection();
+    conn.getBedrockRuntimeClient();
+
+    conn.disconnect();
+
+    verify(mockRuntimeClient).close();
+    verify(bedrockBuilder, never()).build();
+    verify(mockBedrockClient, never()).close();
+    assertThatThrownBy(conn::getBedrockClient).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("disconnect cancels the keep-alive task")
+  void disconnectCancelsKeepAlive() {
+    BedrockConnection conn = createConnection();
+    CompletableFuture<Void> keepAlive = new CompletableFuture<>();
+    conn.setKeepAliveTask(keepAlive);
+
+    conn.disconnect();
+
+    assertThat(keepAlive).isCancelled();
+  }
+
+  @Test
+  @DisplayName("disconnect closes registered resources")
+  void disconnectClosesRegisteredResources() {
+    BedrockConnection conn = createConnection();
+    SdkAutoCloseable resource = mock(SdkAutoCloseable.class);
+    conn.registerResource("CredentialsProvider", resource);
+
+    conn.disconnect();
+
+    verify(resource).close();
+  }
+
+  @Test
+  @DisplayName("disconnect defers closing async clients until in-flight calls complete")
+  void disconnectDrainsInFlightCalls() {
+    BedrockConnection conn = createConnection();
+    CompletableFuture<Void> inFlight = new CompletableFuture<>();
+    when(mockAgentRuntimeAsyncClient.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class)))
+        .thenReturn(inFlight);
+    conn.invokeAgent(InvokeAgentRequest.builder().build(), mock(InvokeAgentResponseHandler.class));
+
+    conn.disconnect();
+    verify(mockAgentRuntimeAsyncClient, never()).close();
+    verify(mockAsyncHttpClient, never()).close();
+    assertThat(eventLoopGroup.eventLoopGroup().isShuttingDown()).isFalse();
+    assertThatThrownBy(() -> conn.invokeAgent(InvokeAgentRequest.builder().build(), mock(InvokeAgentResponseHandler.class)))
+        .isInstanceOf(IllegalStateException.class);
+
+    inFlight.complete(null);
+    verify(mockAgentRuntimeAsyncClient).close();
+    verify(mockAsyncHttpClient).close();
+    assertThat(eventLoopGroup.eventLoopGroup().isShuttingDown()).isTrue();
+  }
 }
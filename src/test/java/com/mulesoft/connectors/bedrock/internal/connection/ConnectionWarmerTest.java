@@ -0,0 +1,89 @@
+package com.mulesoft.connectors.bedrock.internal.connection;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.bedrockagentruntime.BedrockAgentRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+
+@DisplayName("ConnectionWarmer")
+class ConnectionWarmerTest {
+
+  private ScheduledExecutorService scheduler;
+  private BedrockConnection connection;
+  private BedrockRuntimeClient runtimeClient;
+  private BedrockRuntimeAsyncClient runtimeAsyncClient;
+  private BedrockAgentRuntimeAsyncClient agentRuntimeAsyncClient;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    scheduler = Executors.newScheduledThreadPool(2);
+    connection = mock(BedrockConnection.class);
+    runtimeClient = mock(BedrockRuntimeClient.class);
+    runtimeAsyncClient = mock(BedrockRuntimeAsyncClient.class);
+    agentRuntimeAsyncClient = mock(BedrockAgentRuntimeAsyncClient.class);
+    when(connection.getConnectionTimeoutMs()).thenReturn(5_000);
+    when(connection.getBedrockRuntimeClient()).thenReturn(runtimeClient);
+    when(connection.getBedrockRuntimeAsyncClient()).thenReturn(runtimeAsyncClient);
+    when(connection.getOrCreateBedrockAgentRuntimeAsyncClient(anyLong())).thenReturn(agentRuntimeAsyncClient);
+    when(runtimeAsyncClient.listAsyncInvokes(any(Consumer.class))).thenReturn(CompletableFuture.completedFuture(null));
+    when(agentRuntimeAsyncClient.listSessions(any(Consumer.class))).thenReturn(CompletableFuture.completedFuture(null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("warmUp pings the runtime and agent runtime endpoints once per connection")
+  @SuppressWarnings("unchecked")
+  void warmUpPingsEachEndpoint() {
+    new ConnectionWarmer(connection, scheduler).warmUp(3);
+
+    verify(runtimeClient, times(3)).listAsyncInvokes(any(Consumer.class));
+    verify(runtimeAsyncClient, times(3)).listAsyncInvokes(any(Consumer.class));
+    verify(agentRuntimeAsyncClient, times(3)).listSessions(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("warmUp ignores failed pings")
+  @SuppressWarnings("unchecked")
+  void warmUpIgnoresFailures() {
+    when(runtimeClient.listAsyncInvokes(any(Consumer.class))).thenThrow(SdkClientException.create("denied"));
+    CompletableFuture<Object> failed = new CompletableFuture<>();
+    failed.completeExceptionally(SdkClientException.create("denied"));
+    when(agentRuntimeAsyncClient.listSessions(any(Consumer.class))).thenReturn((CompletableFuture) failed);
+    when(connection.getBedrockRuntimeAsyncClient()).thenThrow(new IllegalStateException("closed"));
+
+    new ConnectionWarmer(connection, scheduler).warmUp(1);
+
+    verify(runtimeClient).listAsyncInvokes(any(Consumer.class));
+    verify(agentRuntimeAsyncClient).listSessions(any(Consumer.class));
+  }
+
+  @Test
+  @DisplayName("warmUp does nothing when no connections are requested")
+  @SuppressWarnings("unchecked")
+  void warmUpDisabled() {
+    new ConnectionWarmer(connection, scheduler).warmUp(0);
+
+    verify(runtimeClient, never()).listAsyncInvokes(any(Consumer.class));
+  }
+}
@@ -0,0 +1,141 @@
+package com.mulesoft.connectors.bedrock.internal.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import com.mulesoft.connectors.bedrock.internal.connection.client.LazyClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.BedrockRuntimeException;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+import software.amazon.awssdk.services.bedrockruntime.model.ThrottlingException;
+import software.amazon.awssdk.services.bedrockruntime.model.ValidationException;
+
+@DisplayName("RegionalRuntimeRouter")
+class RegionalRuntimeRouterTest {
+
+  private static final String ARN = "arn:aws:bedrock:us-east-1:123456789:inference-profile/us.anthropic.claude-3";
+
+  private BedrockRuntimeClient primary;
+  private BedrockRuntimeClient secondary;
+  private final AtomicLong clock = new AtomicLong(0);
+  private RegionalRuntimeRouter router;
+
+  @BeforeEach
+  void setUp() {
+    primary = mock(BedrockRuntimeClient.class);
+    secondary = mock(BedrockRuntimeClient.class);
+    Map<String, Supplier<BedrockRuntimeClient>> failover = new LinkedHashMap<>();
+    failover.put("eu-west-1", () -> secondary);
+    router = new RegionalRuntimeRouter("us-east-1", new LazyClient<>("BedrockRuntime", () -> primary), failover, clock::get);
+  }
+
+  private static InvokeModelRequest request() {
+    return InvokeModelRequest.builder().modelId(ARN).build();
+  }
+
+  @Test
+  @DisplayName("uses the primary region while it is healthy")
+  void usesPrimary() {
+    InvokeModelResponse response = InvokeModelResponse.builder().build();
+    when(primary.invokeModel(any(InvokeModelRequest.class))).thenReturn(response);
+
+    assertThat(router.invokeModel(request())).isSameAs(response);
+    assertThat(router.invokeModel(request())).isSameAs(response);
+    verify(secondary, never()).invokeModel(any(InvokeModelRequest.class));
+    assertThat(router.getRegionOrder()).containsExactly("us-east-1", "eu-west-1");
+  }
+
+  @Test
+  @DisplayName("fails over on throttling and rebuilds the inference profile ARN for the failover region")
+  void failsOverOnThrottling() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ThrottlingException.builder().statusCode(429).message("slow down").build());
+    InvokeModelResponse response = InvokeModelResponse.builder().build();
+    when(secondary.invokeModel(any(InvokeModelRequest.class))).thenReturn(response);
+
+    assertThat(router.invokeModel(request())).isSameAs(response);
+
+    ArgumentCaptor<InvokeModelRequest> captor = ArgumentCaptor.forClass(InvokeModelRequest.class);
+    verify(secondary).invokeModel(captor.capture());
+    assertThat(captor.getValue().modelId())
+        .isEqualTo("arn:aws:bedrock:eu-west-1:123456789:inference-profile/eu.anthropic.claude-3");
+    assertThat(router.getRegionOrder()).containsExactly("eu-west-1", "us-east-1");
+  }
+
+  @Test
+  @DisplayName("fails over on 5xx errors")
+  void failsOverOnServerError() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(BedrockRuntimeException.builder().statusCode(503).message("unavailable").build());
+    InvokeModelResponse response = InvokeModelResponse.builder().build();
+    when(secondary.invokeModel(any(InvokeModelRequest.class))).thenReturn(response);
+
+    assertThat(router.invokeModel(request())).isSameAs(response);
+  }
+
+  @Test
+  @DisplayName("does not fail over on client errors")
+  void doesNotFailOverOnClientError() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ValidationException.builder().statusCode(400).message("bad request").build());
+
+    assertThatThrownBy(() -> router.invokeModel(request())).isInstanceOf(ValidationException.class);
+    verify(secondary, never()).invokeModel(any(InvokeModelRequest.class));
+  }
+
+  @Test
+  @DisplayName("throws the last failure when every region fails")
+  void throwsWhenAllRegionsFail() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ThrottlingException.builder().statusCode(429).message("primary").build());
+    when(secondary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ThrottlingException.builder().statusCode(429).message("secondary").build());
+
+    assertThatThrownBy(() -> router.invokeModel(request())).hasMessageContaining("secondary");
+  }
+
+  @Test
+  @DisplayName("error penalty decays so a recovered primary region is preferred again")
+  void errorPenaltyDecays() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ThrottlingException.builder().statusCode(429).message("slow down").build())
+        .thenReturn(InvokeModelResponse.builder().build());
+    when(secondary.invokeModel(any(InvokeModelRequest.class))).thenAnswer(invocation -> {
+      Thread.sleep(20);
+      return InvokeModelResponse.builder().build();
+    });
+    router.invokeModel(request());
+    assertThat(router.getRegionOrder()).first().isEqualTo("eu-west-1");
+
+    clock.addAndGet(10 * 60_000);
+    assertThat(router.getRegionOrder()).first().isEqualTo("us-east-1");
+  }
+
+  @Test
+  @DisplayName("close closes only failover clients that were built")
+  void closeClosesFailoverClients() {
+    when(primary.invokeModel(any(InvokeModelRequest.class)))
+        .thenThrow(ThrottlingException.builder().statusCode(429).message("slow down").build());
+    when(secondary.invokeModel(any(InvokeModelRequest.class))).thenReturn(InvokeModelResponse.builder().build());
+    router.invokeModel(request());
+
+    router.close();
+
+    verify(secondary).close();
+    verify(primary, never()).close();
+  }
+}
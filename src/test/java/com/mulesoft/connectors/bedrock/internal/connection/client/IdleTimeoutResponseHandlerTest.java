@@ -0,0 +1,94 @@
+package com.mulesoft.connectors.bedrock.internal.connection.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.awscore.eventstream.EventStreamResponseHandler;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+@DisplayName("IdleTimeoutResponseHandler")
+class IdleTimeoutResponseHandlerTest {
+
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+  @SuppressWarnings("unchecked")
+  private final EventStreamResponseHandler<String, String> delegate = mock(EventStreamResponseHandler.class);
+
+  @AfterEach
+  void tearDown() {
+    timer.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("fails the call when nothing arrives within the timeout")
+  void failsIdleCall() {
+    IdleTimeoutResponseHandler<String, String> handler = new IdleTimeoutResponseHandler<>(delegate, timer, 50);
+    CompletableFuture<Void> call = handler.watch(new CompletableFuture<>());
+
+    assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SdkClientException.class);
+    verify(delegate).exceptionOccurred(any(SdkClientException.class));
+
+    handler.exceptionOccurred(new RuntimeException("late"));
+    handler.complete();
+    verify(delegate).exceptionOccurred(any(Throwable.class));
+    verify(delegate, never()).complete();
+  }
+
+  @Test
+  @DisplayName("keeps a stream alive while events keep arriving")
+  @SuppressWarnings("unchecked")
+  void keepsActiveStreamAlive() throws Exception {
+    IdleTimeoutResponseHandler<String, String> handler = new IdleTimeoutResponseHandler<>(delegate, timer, 200);
+    CompletableFuture<Void> call = handler.watch(new CompletableFuture<>());
+    AtomicReference<Subscriber<? super String>> source = new AtomicReference<>();
+    handler.responseReceived("response");
+    handler.onEventStream(SdkPublisher.adapt(source::set));
+
+    ArgumentCaptor<SdkPublisher<String>> published = ArgumentCaptor.forClass(SdkPublisher.class);
+    verify(delegate).onEventStream(published.capture());
+    published.getValue().subscribe(new Subscriber<String>() {
+
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(String event) {}
+
+      @Override
+      public void onError(Throwable throwable) {}
+
+      @Override
+      public void onComplete() {}
+    });
+    source.get().onSubscribe(mock(Subscription.class));
+
+    for (int i = 0; i < 6; i++) {
+      Thread.sleep(100);
+      source.get().onNext("event-" + i);
+    }
+    assertThat(call).isNotDone();
+
+    handler.complete();
+    call.complete(null);
+    verify(delegate).complete();
+    verify(delegate, never()).exceptionOccurred(any(Throwable.class));
+  }
+}
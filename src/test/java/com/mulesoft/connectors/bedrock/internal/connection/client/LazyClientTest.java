@@ -0,0 +1,66 @@
+package com.mulesoft.connectors.bedrock.internal.connection.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+@DisplayName("LazyClient")
+class LazyClientTest {
+
+  private static final class FakeClient implements SdkAutoCloseable {
+
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  private final AtomicInteger built = new AtomicInteger();
+
+  private LazyClient<FakeClient> newLazyClient() {
+    return new LazyClient<>("Fake", () -> {
+      built.incrementAndGet();
+      return new FakeClient();
+    });
+  }
+
+  @Test
+  @DisplayName("builds the client once, on first use")
+  void buildsOnce() {
+    LazyClient<FakeClient> lazyClient = newLazyClient();
+    assertThat(lazyClient.isInitialized()).isFalse();
+
+    assertThat(lazyClient.get()).isSameAs(lazyClient.get());
+    assertThat(built).hasValue(1);
+    assertThat(lazyClient.getBuildTimeMs()).isNotNegative();
+  }
+
+  @Test
+  @DisplayName("get after close throws for a client that was built")
+  void getAfterCloseOfBuiltClient() {
+    LazyClient<FakeClient> lazyClient = newLazyClient();
+    FakeClient client = lazyClient.get();
+
+    lazyClient.close();
+
+    assertThat(client.closed).isTrue();
+    assertThatThrownBy(lazyClient::get).isInstanceOf(IllegalStateException.class).hasMessage("Fake client is closed");
+  }
+
+  @Test
+  @DisplayName("get after close throws without building a client that was never used")
+  void getAfterCloseOfUnbuiltClient() {
+    LazyClient<FakeClient> lazyClient = newLazyClient();
+
+    lazyClient.close();
+
+    assertThatThrownBy(lazyClient::get).isInstanceOf(IllegalStateException.class);
+    assertThat(built).hasValue(0);
+  }
+}
@@ -0,0 +1,186 @@
+package com.mulesoft.connectors.bedrock.internal.connection.credentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.AssumeRoleResponse;
+import software.amazon.awssdk.services.sts.model.Credentials;
+import software.amazon.awssdk.services.sts.model.StsException;
+
+@DisplayName("AssumeRoleCredentialsProvider")
+class AssumeRoleCredentialsProviderTest {
+
+  private static final String ROLE = "arn:aws:iam::123456789:role/bedrock";
+  private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+  private StsClient stsClient;
+  private final AtomicReference<Instant> now = new AtomicReference<>(START);
+  private final Clock clock = new Clock() {
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now.get();
+    }
+  };
+
+  @BeforeEach
+  void setUp() {
+    stsClient = mock(StsClient.class);
+    when(stsClient.assumeRole(any(AssumeRoleRequest.class)))
+        .thenAnswer(invocation -> response("key-" + now.get().getEpochSecond(), now.get().plus(Duration.ofHours(1))));
+  }
+
+  private static AssumeRoleResponse response(String accessKeyId, Instant expiration) {
+    return AssumeRoleResponse.builder()
+        .credentials(Credentials.builder()
+            .accessKeyId(accessKeyId)
+            .secretAccessKey("secret")
+            .sessionToken("token")
+            .expiration(expiration)
+            .build())
+        .build();
+  }
+
+  @Test
+  @DisplayName("assumes the role on creation and reuses the credentials until the prefetch window")
+  void reusesCredentials() {
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, "ext", null, clock);
+
+    now.set(START.plus(Duration.ofMinutes(30)));
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + START.getEpochSecond());
+    assertThat(provider.getExpiration()).isEqualTo(START.plus(Duration.ofHours(1)));
+
+    ArgumentCaptor<AssumeRoleRequest> captor = ArgumentCaptor.forClass(AssumeRoleRequest.class);
+    verify(stsClient, times(1)).assumeRole(captor.capture());
+    assertThat(captor.getValue().roleArn()).isEqualTo(ROLE);
+    assertThat(captor.getValue().externalId()).isEqualTo("ext");
+  }
+
+  @Test
+  @DisplayName("without a scheduler, refreshes on the request thread once in the prefetch window")
+  void refreshesInPrefetchWindow() {
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, null, clock);
+
+    Instant inWindow = START.plus(Duration.ofMinutes(46));
+    now.set(inWindow);
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + inWindow.getEpochSecond());
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + inWindow.getEpochSecond());
+    verify(stsClient, times(2)).assumeRole(any(AssumeRoleRequest.class));
+  }
+
+  @Test
+  @DisplayName("keeps the current credentials when a prefetch fails before they are stale")
+  void keepsCredentialsWhenPrefetchFails() {
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, null, clock);
+    when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenThrow(StsException.builder().message("unavailable").build());
+
+    now.set(START.plus(Duration.ofMinutes(50)));
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + START.getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("fails when stale credentials cannot be refreshed")
+  void failsWhenStale() {
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, null, clock);
+    when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenThrow(StsException.builder().message("unavailable").build());
+
+    now.set(START.plus(Duration.ofMinutes(59)).plusSeconds(30));
+    assertThatThrownBy(provider::resolveCredentials).isInstanceOf(StsException.class);
+  }
+
+  @Test
+  @DisplayName("with a scheduler, schedules the prefetch and does not refresh on the request thread")
+  void schedulesPrefetch() {
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    doReturn(future).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, scheduler, clock);
+
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(task.capture(), eq(Duration.ofMinutes(45).toMillis()), eq(TimeUnit.MILLISECONDS));
+
+    now.set(START.plus(Duration.ofMinutes(50)));
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + START.getEpochSecond());
+    verify(stsClient, times(1)).assumeRole(any(AssumeRoleRequest.class));
+
+    task.getValue().run();
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + now.get().getEpochSecond());
+    verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("refreshes on the request thread when the scheduler rejects the prefetch")
+  void fallsBackWhenSchedulerRejects() {
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS)))
+        .thenThrow(new RejectedExecutionException("stopped"));
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, scheduler, clock);
+
+    now.set(START.plus(Duration.ofMinutes(50)));
+    assertThat(provider.resolveCredentials().accessKeyId()).isEqualTo("key-" + now.get().getEpochSecond());
+  }
+
+  @Test
+  @DisplayName("retries a failed prefetch later")
+  void retriesFailedPrefetch() {
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    doReturn(future).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    new AssumeRoleCredentialsProvider(ROLE, stsClient, null, scheduler, clock);
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+    when(stsClient.assumeRole(any(AssumeRoleRequest.class))).thenThrow(StsException.builder().message("unavailable").build());
+
+    task.getValue().run();
+
+    verify(scheduler).schedule(any(Runnable.class), eq(Duration.ofSeconds(30).toMillis()), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @DisplayName("close cancels the scheduled prefetch")
+  void closeCancelsPrefetch() {
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    ScheduledFuture<?> future = mock(ScheduledFuture.class);
+    doReturn(future).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    AssumeRoleCredentialsProvider provider = new AssumeRoleCredentialsProvider(ROLE, stsClient, null, scheduler, clock);
+
+    provider.close();
+
+    verify(future).cancel(false);
+  }
+}
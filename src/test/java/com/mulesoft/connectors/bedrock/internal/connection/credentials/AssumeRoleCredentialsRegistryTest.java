@@ -0,0 +1,174 @@
+package com.mulesoft.connectors.bedrock.internal.connection.credentials;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mule.runtime.api.connection.ConnectionException;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+@DisplayName("AssumeRoleCredentialsRegistry")
+class AssumeRoleCredentialsRegistryTest {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final SdkAutoCloseable stsClient = mock(SdkAutoCloseable.class);
+  private final AssumeRoleCredentialsProvider provider = mock(AssumeRoleCredentialsProvider.class);
+
+  private final AssumeRoleCredentialsRegistry.CredentialsFactory factory = resources -> {
+    created.incrementAndGet();
+    resources.add(stsClient);
+    return provider;
+  };
+
+  private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+  private final ScheduledFuture<?> idleClose = mock(ScheduledFuture.class);
+  private final AtomicReference<Runnable> scheduledClose = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() {
+    when(scheduler.schedule(any(Runnable.class), eq(1_000L), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+      scheduledClose.set(invocation.getArgument(0));
+      return idleClose;
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    AssumeRoleCredentialsRegistry.clear();
+  }
+
+  @Test
+  @DisplayName("shares one provider per key and delegates to it")
+  void sharesProvider() throws ConnectionException {
+    AwsBasicCredentials credentials = AwsBasicCredentials.create("key", "secret");
+    when(provider.resolveCredentials()).thenReturn(credentials);
+
+    AssumeRoleCredentialsRegistry.Lease first = AssumeRoleCredentialsRegistry.acquire("k", null, factory);
+    AssumeRoleCredentialsRegistry.Lease second = AssumeRoleCredentialsRegistry.acquire("k", null, factory);
+
+    assertThat(created).hasValue(1);
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isEqualTo(2);
+    assertThat(second.resolveCredentials()).isSameAs(credentials);
+    first.close();
+    second.close();
+  }
+
+  @Test
+  @DisplayName("creates separate providers for different keys")
+  void separateKeys() throws ConnectionException {
+    AssumeRoleCredentialsRegistry.acquire("a", null, factory);
+    AssumeRoleCredentialsRegistry.acquire("b", null, factory);
+
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("closes the provider and its resources when the last lease is closed")
+  void closesOnLastRelease() throws ConnectionException {
+    AssumeRoleCredentialsRegistry.Lease first = AssumeRoleCredentialsRegistry.acquire("k", null, factory);
+    AssumeRoleCredentialsRegistry.Lease second = AssumeRoleCredentialsRegistry.acquire("k", null, factory);
+
+    first.close();
+    first.close();
+    verify(provider, never()).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isEqualTo(1);
+
+    second.close();
+    verify(provider).close();
+    verify(stsClient).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isZero();
+
+    AssumeRoleCredentialsRegistry.acquire("k", null, factory);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("releases the reference and closes partial resources when creation fails")
+  void creationFailure() {
+    AssumeRoleCredentialsRegistry.CredentialsFactory failing = resources -> {
+      resources.add(stsClient);
+      throw new IllegalStateException("STS unavailable");
+    };
+
+    assertThatThrownBy(() -> AssumeRoleCredentialsRegistry.acquire("k", null, failing)).hasMessage("STS unavailable");
+    verify(stsClient).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isZero();
+  }
+
+  @Test
+  @DisplayName("keeps an idle provider for the grace period so a reconnect reuses it")
+  void reconnectReusesIdleProvider() throws ConnectionException {
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory).close();
+    verify(provider, never()).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isZero();
+
+    AssumeRoleCredentialsRegistry.Lease reconnected = AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory);
+
+    assertThat(created).hasValue(1);
+    verify(idleClose).cancel(false);
+    scheduledClose.get().run();
+    verify(provider, never()).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isEqualTo(1);
+    reconnected.close();
+  }
+
+  @Test
+  @DisplayName("closes an idle provider once the grace period has passed")
+  void closesAfterGracePeriod() throws ConnectionException {
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory).close();
+
+    scheduledClose.get().run();
+
+    verify(provider).close();
+    verify(stsClient).close();
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("closeIdle closes the idle providers pending on the given scheduler only")
+  void closeIdleForScheduler() throws ConnectionException {
+    ScheduledExecutorService otherScheduler = mock(ScheduledExecutorService.class);
+    when(otherScheduler.schedule(any(Runnable.class), eq(1_000L), eq(TimeUnit.MILLISECONDS)))
+        .thenAnswer(invocation -> mock(ScheduledFuture.class));
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory).close();
+    AssumeRoleCredentialsRegistry.acquire("other", otherScheduler, 1_000, factory).close();
+
+    AssumeRoleCredentialsRegistry.closeIdle(scheduler);
+
+    verify(idleClose).cancel(false);
+    verify(provider).close();
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory);
+    AssumeRoleCredentialsRegistry.acquire("other", otherScheduler, 1_000, factory);
+    assertThat(created).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("closes the provider at once when the idle close cannot be scheduled")
+  void closesWhenScheduleRejected() throws ConnectionException {
+    doThrow(new RejectedExecutionException("stopped")).when(scheduler)
+        .schedule(any(Runnable.class), eq(1_000L), eq(TimeUnit.MILLISECONDS));
+
+    AssumeRoleCredentialsRegistry.acquire("k", scheduler, 1_000, factory).close();
+
+    verify(provider).close();
+    assertThat(AssumeRoleCredentialsRegistry.getReferences("k")).isZero();
+  }
+}
@@ -129,4 +129,93 @@ class CommonParametersTest {
     params.setSocketTimeout(1);
     assertThat(params.getSocketTimeout()).isEqualTo(60_000);
   }
+
+  @Test
+  @DisplayName("connection pool timeouts return millis from connectionPoolTimeUnit")
+  void connectionPoolTimeouts() {
+    CommonParameters params = new CommonParameters();
+    params.setConnectionAcquisitionTimeout(10);
+    params.setConnectionMaxIdleTime(60);
+    params.setConnectionTimeToLive(5);
+    params.setConnectionPoolTimeUnit(TimeUnit.SECONDS);
+    assertThat(params.getConnectionPoolTimeUnit()).isEqualTo(TimeUnit.SECONDS);
+    assertThat(params.getConnectionAcquisitionTimeout()).isEqualTo(10_000);
+    assertThat(params.getConnectionMaxIdleTime()).isEqualTo(60_000);
+    assertThat(params.getConnectionTimeToLive()).isEqualTo(5_000);
+  }
+
+  @Test
+  @DisplayName("connection pool timeouts are null when not configured")
+  void connectionPoolTimeoutsNotConfigured() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getConnectionAcquisitionTimeout()).isNull();
+    assertThat(params.getConnectionMaxIdleTime()).isNull();
+    assertThat(params.getConnectionTimeToLive()).isNull();
+    params.setConnectionMaxIdleTime(60);
+    assertThat(params.getConnectionMaxIdleTime()).isNull();
+  }
+
+  @Test
+  @DisplayName("reapIdleConnections and tcpKeepAlive getters and setters")
+  void reapIdleConnectionsAndTcpKeepAlive() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getReapIdleConnections()).isNull();
+    assertThat(params.getTcpKeepAlive()).isNull();
+    params.setReapIdleConnections(true);
+    params.setTcpKeepAlive(true);
+    assertThat(params.getReapIdleConnections()).isTrue();
+    assertThat(params.getTcpKeepAlive()).isTrue();
+  }
+
+  @Test
+  @DisplayName("HTTP/2 settings getters and setters")
+  void http2Settings() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getHttp2Enabled()).isNull();
+    assertThat(params.getHttp2HealthCheckPingPeriod()).isNull();
+    params.setHttp2Enabled(true);
+    params.setHttp2MaxStreams(50);
+    params.setHttp2InitialWindowSize(65_535);
+    params.setHttp2HealthCheckPingPeriod(2);
+    params.setHttp2HealthCheckPingPeriodUnit(TimeUnit.SECONDS);
+    assertThat(params.getHttp2Enabled()).isTrue();
+    assertThat(params.getHttp2MaxStreams()).isEqualTo(50);
+    assertThat(params.getHttp2InitialWindowSize()).isEqualTo(65_535);
+    assertThat(params.getHttp2HealthCheckPingPeriod()).isEqualTo(2_000L);
+    assertThat(params.getHttp2HealthCheckPingPeriodUnit()).isEqualTo(TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("warm-up and keep-alive getters and setters")
+  void warmUpAndKeepAlive() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getWarmUpConnections()).isNull();
+    assertThat(params.getKeepAlivePeriod()).isNull();
+    params.setWarmUpConnections(4);
+    params.setKeepAlivePeriod(30);
+    params.setKeepAlivePeriodUnit(TimeUnit.SECONDS);
+    assertThat(params.getWarmUpConnections()).isEqualTo(4);
+    assertThat(params.getKeepAlivePeriod()).isEqualTo(30_000L);
+    assertThat(params.getKeepAlivePeriodUnit()).isEqualTo(TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("validation cache TTL converts to milliseconds")
+  void validationCacheTtl() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getValidationCacheTtl()).isNull();
+    params.setValidationCacheTtl(2);
+    params.setValidationCacheTtlUnit(TimeUnit.MINUTES);
+    assertThat(params.getValidationCacheTtl()).isEqualTo(120_000L);
+    assertThat(params.getValidationCacheTtlUnit()).isEqualTo(TimeUnit.MINUTES);
+  }
+
+  @Test
+  @DisplayName("useOpenSsl getter and setter")
+  void useOpenSsl() {
+    CommonParameters params = new CommonParameters();
+    assertThat(params.getUseOpenSsl()).isNull();
+    params.setUseOpenSsl(true);
+    assertThat(params.getUseOpenSsl()).isTrue();
+  }
 }
@@ -3,6 +3,9 @@ package com.mulesoft.connectors.bedrock.internal.connection.provider;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
 import com.mulesoft.connectors.bedrock.internal.connection.parameters.CommonParameters;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -75,4 +78,48 @@ class BasicConnectionProviderTest {
         .isInstanceOf(ConnectionException.class)
         .hasMessageContaining("Access Key or Secret Key is blank");
   }
+
+  @Test
+  @DisplayName("connections share cached validations only with connections of the same provider")
+  void validationCacheKeyedPerProvider() throws Exception {
+    BasicConnectionProvider provider = new BasicConnectionProvider();
+    provider.setCommonParameters(cachingParameters());
+    // Same credentials and region, e.g. a second configuration that goes through a different proxy or trust store
+    BasicConnectionProvider otherProvider = new BasicConnectionProvider();
+    otherProvider.setCommonParameters(cachingParameters());
+
+    BedrockConnection first = provider.connect();
+    BedrockConnection second = provider.connect();
+    BedrockConnection other = otherProvider.connect();
+    try {
+      assertThat(validationCacheKey(first)).isNotNull().isEqualTo(validationCacheKey(second));
+      assertThat(validationCacheKey(other)).isNotNull().isNotEqualTo(validationCacheKey(first));
+    } finally {
+      first.disconnect();
+      second.disconnect();
+      other.disconnect();
+    }
+  }
+
+  private static CommonParameters cachingParameters() {
+    CommonParameters params = new CommonParameters();
+    params.setRegion("us-east-1");
+    params.setAccessKey("AKIAEXAMPLE");
+    params.setSecretKey("secret");
+    params.setTryDefaultAWSCredentialsProviderChain(false);
+    params.setConnectionTimeout(50);
+    params.setConnectionTimeoutUnit(TimeUnit.SECONDS);
+    params.setSocketTimeout(50);
+    params.setSocketTimeoutUnit(TimeUnit.SECONDS);
+    params.setMaxConnections(50);
+    params.setValidationCacheTtl(60);
+    params.setValidationCacheTtlUnit(TimeUnit.SECONDS);
+    return params;
+  }
+
+  private static String validationCacheKey(BedrockConnection connection) throws Exception {
+    Field field = BedrockConnection.class.getDeclaredField("validationCacheKey");
+    field.setAccessible(true);
+    return (String) field.get(connection);
+  }
 }
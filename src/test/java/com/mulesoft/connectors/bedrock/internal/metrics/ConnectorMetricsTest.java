@@ -0,0 +1,44 @@
+package com.mulesoft.connectors.bedrock.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConnectorMetrics")
+class ConnectorMetricsTest {
+
+  @Test
+  @DisplayName("counts increments per name")
+  void counters() {
+    ConnectorMetrics metrics = new ConnectorMetrics();
+    metrics.increment("a");
+    metrics.increment("a");
+    assertThat(metrics.getCount("a")).isEqualTo(2);
+    assertThat(metrics.getCount("b")).isZero();
+
+    metrics.add("a", 40);
+    assertThat(metrics.getCount("a")).isEqualTo(42);
+  }
+
+  @Test
+  @DisplayName("records histograms and renders a sorted snapshot")
+  void snapshot() {
+    ConnectorMetrics metrics = new ConnectorMetrics();
+    metrics.record("z.latency", 10);
+    metrics.increment("a.count");
+
+    assertThat(metrics.histogram("z.latency").getCount()).isEqualTo(1);
+    assertThat(metrics.snapshot()).containsKeys("a.count", "z.latency");
+    assertThat(metrics.snapshot().keySet()).first().isEqualTo("a.count");
+
+    metrics.reset();
+    assertThat(metrics.snapshot()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("get returns the shared instance")
+  void sharedInstance() {
+    assertThat(ConnectorMetrics.get()).isSameAs(ConnectorMetrics.get());
+  }
+}
@@ -0,0 +1,44 @@
+package com.mulesoft.connectors.bedrock.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LatencyHistogram")
+class LatencyHistogramTest {
+
+  @Test
+  @DisplayName("empty histogram reports zeros")
+  void empty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getMean()).isZero();
+    assertThat(histogram.getPercentile(99)).isZero();
+  }
+
+  @Test
+  @DisplayName("records count, mean, max and bucketed percentiles")
+  void recordsValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(8);
+    }
+    histogram.record(1_500);
+
+    assertThat(histogram.getCount()).isEqualTo(100);
+    assertThat(histogram.getMean()).isEqualTo(22.92);
+    assertThat(histogram.getMax()).isEqualTo(1_500);
+    assertThat(histogram.getPercentile(50)).isEqualTo(10);
+    assertThat(histogram.getPercentile(100)).isEqualTo(1_500);
+  }
+
+  @Test
+  @DisplayName("negative values are recorded as zero")
+  void negativeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    assertThat(histogram.getMax()).isZero();
+    assertThat(histogram.getPercentile(50)).isZero();
+  }
+}
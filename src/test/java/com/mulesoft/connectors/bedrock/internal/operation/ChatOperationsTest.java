@@ -12,6 +12,7 @@ import java.util.Scanner;
 import org.mule.runtime.extension.api.exception.ModuleException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mule.runtime.api.scheduler.Scheduler;
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
@@ -77,6 +78,9 @@ class ChatOperationsTest {
   @DisplayName("chatAnswerPromptStreaming returns InputStream")
   void chatAnswerPromptStreamingReturnsInputStream() {
     BedrockConfiguration config = mock(BedrockConfiguration.class);
+    Scheduler scheduler = mock(Scheduler.class);
+    when(config.tryAcquireChatStream()).thenReturn(true);
+    when(config.getChatStreamingScheduler()).thenReturn(scheduler);
     BedrockConnection connection = mock(BedrockConnection.class);
     when(connection.getRegion()).thenReturn("us-east-1");
     BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.3f, 20);
@@ -0,0 +1,268 @@
+package com.mulesoft.connectors.bedrock.internal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.document.Document;
+import software.amazon.awssdk.services.bedrockagentruntime.model.Attribution;
+import software.amazon.awssdk.services.bedrockagentruntime.model.Citation;
+import software.amazon.awssdk.services.bedrockagentruntime.model.GeneratedResponsePart;
+import software.amazon.awssdk.services.bedrockagentruntime.model.PayloadPart;
+import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievalResultContent;
+import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievalResultLocation;
+import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievalResultS3Location;
+import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievedReference;
+import software.amazon.awssdk.services.bedrockagentruntime.model.TextResponsePart;
+
+@DisplayName("AgentChatAggregator")
+class AgentChatAggregatorTest {
+
+  private final AgentChatAggregator aggregator = new AgentChatAggregator();
+
+  @Test
+  @DisplayName("writes the same keys, key order and escaping as JSONObject")
+  void matchesJsonObject() {
+    aggregator.addChunk(textChunk("Use <b>bold</b> \"quotes\",\ttabs\nand \u2028 separators"));
+    aggregator.addChunk(PayloadPart.builder().build());
+    aggregator.addChunk(PayloadPart.builder()
+        .bytes(SdkBytes.fromUtf8String(" with a citation"))
+        .attribution(Attribution.builder()
+            .citations(Citation.builder()
+                .generatedResponsePart(GeneratedResponsePart.builder()
+                    .textResponsePart(TextResponsePart.builder().text("with a citation").build())
+                    .build())
+                .retrievedReferences(RetrievedReference.builder()
+                    .content(RetrievalResultContent.builder().text("source text").build())
+                    .build())
+                .build())
+            .build())
+        .build());
+
+    String json = aggregator.toJson("session-1", "agent-1", "alias-1", "What is new?", System.currentTimeMillis());
+
+    assertThat(new JSONObject(json).toString()).isEqualTo(json);
+  }
+
+  @Test
+  @DisplayName("keeps each chunk's text and concatenates it into the summary")
+  void chunksAndSummary() {
+    aggregator.addChunk(textChunk("Hello"));
+    aggregator.addChunk(PayloadPart.builder().build());
+    for (int i = 0; i < 40; i++) {
+      aggregator.addChunk(textChunk(" " + i));
+    }
+
+    JSONObject result = new JSONObject(aggregator.toJson("session-1", "agent-1", "alias-1", "Hi", System.currentTimeMillis()));
+
+    JSONArray chunks = result.getJSONArray("chunks");
+    assertThat(chunks.length()).isEqualTo(42);
+    assertThat(chunks.getJSONObject(0).getString("text")).isEqualTo("Hello");
+    assertThat(chunks.getJSONObject(1).has("text")).isFalse();
+    assertThat(chunks.getJSONObject(41).getString("text")).isEqualTo(" 39");
+    assertThat(chunks.getJSONObject(41).getString("type")).isEqualTo("chunk");
+    JSONObject summary = result.getJSONObject("summary");
+    assertThat(summary.getInt("totalChunks")).isEqualTo(42);
+    assertThat(summary.getString("fullResponse")).startsWith("Hello 0 1 2").endsWith(" 38 39");
+    assertThat(result.getString("sessionId")).isEqualTo("session-1");
+    assertThat(result.getString("prompt")).isEqualTo("Hi");
+    assertThat(result.has("processedAt")).isTrue();
+  }
+
+  @Test
+  @DisplayName("writes retrieved references with content, location, and metadata")
+  void retrievedReference() {
+    RetrievedReference ref = mock(RetrievedReference.class, RETURNS_DEEP_STUBS);
+    when(ref.content().text()).thenReturn("reference text");
+    when(ref.location().toString()).thenReturn("s3://bucket/key");
+    Map<String, Document> metadata = new HashMap<>();
+    metadata.put("source", Document.fromString("test-doc"));
+    when(ref.metadata()).thenReturn(metadata);
+    aggregator.addChunk(PayloadPart.builder()
+        .attribution(Attribution.builder().citations(Citation.builder().retrievedReferences(ref).build()).build())
+        .build());
+
+    JSONObject result = new JSONObject(aggregator.toJson("session-1", "agent-1", "alias-1", "Hi", System.currentTimeMillis()));
+
+    JSONObject reference = result.getJSONArray("chunks").getJSONObject(0).getJSONArray("citations").getJSONObject(0)
+        .getJSONArray("retrievedReferences").getJSONObject(0);
+    assertThat(reference.getString("content")).isEqualTo("reference text");
+    assertThat(reference.getString("location")).isEqualTo("s3://bucket/key");
+    assertThat(reference.has("metadata")).isTrue();
+  }
+
+  @ParameterizedTest(name = "sessionId={0}, agentId={1}, agentAlias={2}, prompt={3}")
+  @MethodSource("sessionFieldCombinations")
+  @DisplayName("writes the same JSON as the JSONObject tree for every combination of optional fields")
+  void equivalentToJsonObjectTree(String sessionId, String agentId, String agentAlias, String prompt) {
+    List<PayloadPart> chunks = chunkFieldCombinations();
+    chunks.forEach(aggregator::addChunk);
+
+    String json = aggregator.toJson(sessionId, agentId, agentAlias, prompt, System.currentTimeMillis());
+
+    assertThat(json).isEqualTo(jsonObjectTree(new JSONObject(json), chunks, sessionId, agentId, agentAlias, prompt).toString());
+  }
+
+  @Test
+  @DisplayName("writes the same JSON as the JSONObject tree without chunks")
+  void equivalentToJsonObjectTreeWithoutChunks() {
+    String json = aggregator.toJson("session-1", "agent-1", "alias-1", "Hi", System.currentTimeMillis());
+
+    assertThat(json).isEqualTo(jsonObjectTree(new JSONObject(json), Collections.emptyList(), "session-1", "agent-1", "alias-1",
+                                              "Hi").toString());
+  }
+
+  static Stream<Arguments> sessionFieldCombinations() {
+    List<Arguments> combinations = new ArrayList<>();
+    for (int mask = 0; mask < 16; mask++) {
+      combinations.add(Arguments.of((mask & 1) != 0 ? null : "session-1", (mask & 2) != 0 ? null : "agent-1",
+                                    (mask & 4) != 0 ? null : "alias-1", (mask & 8) != 0 ? null : "Say \"hi\" </now>"));
+    }
+    return combinations.stream();
+  }
+
+  /**
+   * One chunk per combination of text (absent, empty, needing escapes) and citations, where a citation combines a generated
+   * response part (absent, without text, with text) with retrieved references whose content, location and metadata are each
+   * present or not.
+   */
+  private static List<PayloadPart> chunkFieldCombinations() {
+    List<Citation> citations = new ArrayList<>();
+    citations.add(null);
+    for (int generated = 0; generated < 3; generated++) {
+      for (int references = 0; references <= 16; references++) {
+        Citation.Builder citation = Citation.builder();
+        if (generated == 1) {
+          citation.generatedResponsePart(GeneratedResponsePart.builder().build());
+        } else if (generated == 2) {
+          citation.generatedResponsePart(GeneratedResponsePart.builder()
+              .textResponsePart(TextResponsePart.builder().text("cited\u2028part").build())
+              .build());
+        }
+        if (references < 16) {
+          citation.retrievedReferences(retrievedReference(references));
+        }
+        citations.add(citation.build());
+      }
+    }
+    List<PayloadPart> chunks = new ArrayList<>();
+    for (String text : Arrays.asList(null, "", "Use <b>bold</b> \"quotes\" \\ \t\u0001\u0085\u00e9 \ud83d\ude00")) {
+      for (Citation citation : citations) {
+        PayloadPart.Builder chunk = PayloadPart.builder();
+        if (text != null) {
+          chunk.bytes(SdkBytes.fromUtf8String(text));
+        }
+        if (citation != null) {
+          chunk.attribution(Attribution.builder().citations(citation, citation).build());
+        }
+        chunks.add(chunk.build());
+      }
+    }
+    return chunks;
+  }
+
+  private static RetrievedReference retrievedReference(int fields) {
+    RetrievedReference.Builder reference = RetrievedReference.builder();
+    if ((fields & 1) != 0) {
+      reference.content(RetrievalResultContent.builder().build());
+    }
+    if ((fields & 2) != 0) {
+      reference.content(RetrievalResultContent.builder().text("source </script> text").build());
+    }
+    if ((fields & 4) != 0) {
+      reference.location(RetrievalResultLocation.builder().type("S3")
+          .s3Location(RetrievalResultS3Location.builder().uri("s3://bucket/key").build())
+          .build());
+    }
+    if ((fields & 8) != 0) {
+      Map<String, Document> metadata = new HashMap<>();
+      metadata.put("source", Document.fromString("doc \"1\""));
+      reference.metadata(metadata);
+    }
+    return reference.build();
+  }
+
+  /**
+   * Builds the response the way the connector did before the aggregator, taking the timestamps and duration from
+   * {@code actual}.
+   */
+  private static JSONObject jsonObjectTree(JSONObject actual, List<PayloadPart> chunks, String sessionId, String agentId,
+                                           String agentAlias, String prompt) {
+    JSONArray chunkArray = new JSONArray();
+    StringBuilder fullText = new StringBuilder();
+    for (int i = 0; i < chunks.size(); i++) {
+      PayloadPart chunk = chunks.get(i);
+      JSONObject chunkData = new JSONObject();
+      chunkData.put("type", "chunk");
+      chunkData.put("timestamp", actual.getJSONArray("chunks").getJSONObject(i).getString("timestamp"));
+      if (chunk.bytes() != null) {
+        chunkData.put("text", chunk.bytes().asUtf8String());
+        fullText.append(chunk.bytes().asUtf8String());
+      }
+      if (chunk.attribution() != null && chunk.attribution().citations() != null) {
+        JSONArray citationArray = new JSONArray();
+        for (Citation citation : chunk.attribution().citations()) {
+          JSONObject citationData = new JSONObject();
+          if (citation.generatedResponsePart() != null && citation.generatedResponsePart().textResponsePart() != null) {
+            citationData.put("generatedResponsePart", citation.generatedResponsePart().textResponsePart().text());
+          }
+          if (citation.retrievedReferences() != null) {
+            JSONArray referenceArray = new JSONArray();
+            for (RetrievedReference reference : citation.retrievedReferences()) {
+              JSONObject referenceData = new JSONObject();
+              if (reference.content() != null && reference.content().text() != null) {
+                referenceData.put("content", reference.content().text());
+              }
+              if (reference.location() != null) {
+                referenceData.put("location", reference.location().toString());
+              }
+              if (reference.metadata() != null) {
+                referenceData.put("metadata", new JSONObject(reference.metadata()));
+              }
+              referenceArray.put(referenceData);
+            }
+            citationData.put("retrievedReferences", referenceArray);
+          }
+          citationArray.put(citationData);
+        }
+        chunkData.put("citations", citationArray);
+      }
+      chunkArray.put(chunkData);
+    }
+    JSONObject summary = new JSONObject();
+    summary.put("totalChunks", chunks.size());
+    summary.put("fullResponse", fullText.toString());
+    summary.put("total_duration_ms", actual.getJSONObject("summary").getLong("total_duration_ms"));
+    JSONObject result = new JSONObject();
+    result.put("sessionId", sessionId);
+    result.put("agentId", agentId);
+    result.put("agentAlias", agentAlias);
+    result.put("prompt", prompt);
+    result.put("processedAt", actual.getString("processedAt"));
+    result.put("chunks", chunkArray);
+    result.put("summary", summary);
+    return result;
+  }
+
+  private static PayloadPart textChunk(String text) {
+    return PayloadPart.builder().bytes(SdkBytes.fromUtf8String(text)).build();
+  }
+}
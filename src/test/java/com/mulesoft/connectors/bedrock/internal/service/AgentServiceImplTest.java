@@ -2,42 +2,60 @@ package com.mulesoft.connectors.bedrock.internal.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.mockito.ArgumentMatchers.anyLong;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PipedOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import com.mulesoft.connectors.bedrock.api.parameter.BedrockAgentsFilteringParameters;
 import com.mulesoft.connectors.bedrock.api.parameter.BedrockAgentsMultipleFilteringParameters;
+import com.mulesoft.connectors.bedrock.api.parameter.BedrockAgentsResponseParameters;
+import com.mulesoft.connectors.bedrock.api.parameter.BedrockAgentsSessionParameters;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import com.mulesoft.connectors.bedrock.internal.streaming.RingBufferOutputStream;
 import com.mulesoft.connectors.bedrock.internal.support.IntegrationTestParamHelper;
-import com.mulesoft.connectors.bedrock.internal.util.StreamingRetryUtility;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.extension.api.exception.ModuleException;
 
 import software.amazon.awssdk.core.SdkBytes;
@@ -45,21 +63,22 @@ import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentRequest;
 import software.amazon.awssdk.services.bedrockagentruntime.model.InvokeAgentResponseHandler;
 import software.amazon.awssdk.services.bedrockagentruntime.model.PayloadPart;
-import software.amazon.awssdk.services.bedrockagentruntime.model.RetrievedReference;
+import software.amazon.awssdk.services.bedrockagentruntime.model.ResponseStream;
 
 /**
- * Unit tests for AgentServiceImpl async streaming error paths, writer thread edge cases, and private helper methods that are
- * difficult to exercise via MUnit integration tests.
+ * Unit tests for AgentServiceImpl async streaming paths, stream admission and cancellation, and private helper methods that
+ * are difficult to exercise via MUnit integration tests.
  */
 @DisplayName("AgentServiceImpl")
 class AgentServiceImplTest {
 
   private AgentServiceImpl service;
+  private BedrockConfiguration config;
   private BedrockConnection mockConnection;
 
   @BeforeEach
   void setUp() {
-    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    config = mock(BedrockConfiguration.class);
     mockConnection = mock(BedrockConnection.class);
     when(mockConnection.getConnectionTimeoutMs()).thenReturn(30000);
     when(mockConnection.getRegion()).thenReturn("us-east-1");
@@ -73,12 +92,11 @@ class AgentServiceImplTest {
   class HandleStreamChunk {
 
     @Test
-    @DisplayName("skips processing when client is disconnected (L1147-1149)")
-    void clientDisconnected_skipsProcessing() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
+    @DisplayName("skips processing when the consumer has closed the stream")
+    void consumerClosed_skipsProcessing() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
+      outputStream.getInputStream().close();
       AtomicBoolean chunksReceived = new AtomicBoolean(false);
-      AtomicBoolean sessionStartSent = new AtomicBoolean(false);
       AtomicInteger chunkCount = new AtomicInteger(0);
       AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis());
       AtomicLong timeToFirstChunk = new AtomicLong(-1);
@@ -87,23 +105,18 @@ class AgentServiceImplTest {
           .bytes(SdkBytes.fromUtf8String("test chunk"))
           .build();
 
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis(),
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
+      invokeHandleStreamChunk("agentId", "session1", "req1", chunksReceived, System.currentTimeMillis(),
+                              outputStream, chunk, chunkCount, lastChunkTime, timeToFirstChunk);
 
-      assertThat(writeQueue).isEmpty();
       assertThat(chunksReceived.get()).isFalse();
       assertThat(chunkCount.get()).isEqualTo(0);
     }
 
     @Test
-    @DisplayName("processes chunk and queues SSE event for normal flow")
-    void normalChunk_queuesEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
+    @DisplayName("writes only the chunk SSE event and records the time to first chunk for normal flow")
+    void normalChunk_writesEvents() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
       AtomicBoolean chunksReceived = new AtomicBoolean(false);
-      AtomicBoolean sessionStartSent = new AtomicBoolean(false);
       AtomicInteger chunkCount = new AtomicInteger(0);
       AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis());
       AtomicLong timeToFirstChunk = new AtomicLong(-1);
@@ -112,30 +125,24 @@ class AgentServiceImplTest {
           .bytes(SdkBytes.fromUtf8String("Hello world"))
           .build();
 
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis(),
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
+      invokeHandleStreamChunk("agentId", "session1", "req1", chunksReceived, System.currentTimeMillis(),
+                              outputStream, chunk, chunkCount, lastChunkTime, timeToFirstChunk);
 
       assertThat(chunksReceived.get()).isTrue();
-      assertThat(sessionStartSent.get()).isTrue();
       assertThat(chunkCount.get()).isEqualTo(1);
-      // Queue should contain session-start + chunk events
-      assertThat(writeQueue.size()).isGreaterThanOrEqualTo(2);
+      assertThat(timeToFirstChunk.get()).isGreaterThanOrEqualTo(0);
 
-      String allEvents = drainQueue(writeQueue);
-      assertThat(allEvents).contains("session-start");
+      String allEvents = readAvailable(outputStream);
       assertThat(allEvents).contains("chunk");
       assertThat(allEvents).contains("Hello world");
+      assertThat(allEvents).doesNotContain("session-start");
     }
 
     @Test
-    @DisplayName("logs slow chunk timing when timeSinceLastChunk > 1s (L1177-1178)")
+    @DisplayName("logs slow chunk timing when timeSinceLastChunk > 1s")
     void slowChunkTiming_logs() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
       AtomicBoolean chunksReceived = new AtomicBoolean(true); // Already received first chunk
-      AtomicBoolean sessionStartSent = new AtomicBoolean(true);
       AtomicInteger chunkCount = new AtomicInteger(1);
       // Set lastChunkTime to 2 seconds ago to trigger timeSinceLastChunk > 1000
       AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis() - 2000);
@@ -145,43 +152,27 @@ class AgentServiceImplTest {
           .bytes(SdkBytes.fromUtf8String("delayed chunk"))
           .build();
 
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis() - 5000,
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
+      invokeHandleStreamChunk("agentId", "session1", "req1", chunksReceived, System.currentTimeMillis() - 5000,
+                              outputStream, chunk, chunkCount, lastChunkTime, timeToFirstChunk);
 
       assertThat(chunkCount.get()).isEqualTo(2);
-      String allEvents = drainQueue(writeQueue);
+      assertThat(timeToFirstChunk.get()).isEqualTo(100);
+      String allEvents = readAvailable(outputStream);
       assertThat(allEvents).contains("delayed chunk");
+      assertThat(allEvents).doesNotContain("session-start");
     }
 
     @Test
-    @DisplayName("handles queue size > 25 without error (L1188-1190)")
-    void queueOverflow_logsAndContinues() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      // Pre-fill queue with 26 items to trigger queueSize > 25 logging
-      for (int i = 0; i < 26; i++) {
-        writeQueue.offer("event-" + i);
-      }
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicBoolean sessionStartSent = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(5);
-      AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis());
-      AtomicLong timeToFirstChunk = new AtomicLong(100);
-
-      PayloadPart chunk = PayloadPart.builder()
-          .bytes(SdkBytes.fromUtf8String("overflow chunk"))
-          .build();
+    @DisplayName("writes a chunk-error event when writing the chunk fails")
+    void writeFailure_writesChunkErrorEvent() throws Exception {
+      RingBufferOutputStream outputStream = spy(new RingBufferOutputStream());
+      doThrow(new IOException("encoding failed")).doCallRealMethod().when(outputStream).flush();
 
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis(),
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
+      invokeHandleStreamChunk("agentId", "session1", "req1", new AtomicBoolean(true), System.currentTimeMillis(),
+                              outputStream, PayloadPart.builder().bytes(SdkBytes.fromUtf8String("text")).build(),
+                              new AtomicInteger(1), new AtomicLong(System.currentTimeMillis()), new AtomicLong(100));
 
-      // Chunk should still be queued despite queue size > 25
-      assertThat(writeQueue.size()).isGreaterThan(26);
-      assertThat(chunkCount.get()).isEqualTo(6);
+      assertThat(readAvailable(outputStream)).contains("chunk-error").contains("encoding failed");
     }
   }
 
@@ -192,68 +183,52 @@ class AgentServiceImplTest {
   class HandleStreamComplete {
 
     @Test
-    @DisplayName("skips completion and queues sentinel when client disconnected (L1231-1235)")
-    void clientDisconnected_queuesSentinelOnly() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(5);
-      AtomicLong timeToFirstChunk = new AtomicLong(200);
+    @DisplayName("skips the completion event and ends the stream when the consumer has closed it")
+    void consumerClosed_endsStreamOnly() throws Exception {
+      RingBufferOutputStream outputStream = mock(RingBufferOutputStream.class);
+      when(outputStream.isConsumerClosed()).thenReturn(true);
 
       invokeHandleStreamComplete(
                                  "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
                                  "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
+                                 new AtomicInteger(5), new AtomicLong(200), outputStream);
 
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
+      verify(outputStream, never()).flush();
+      verify(outputStream).close();
     }
 
     @Test
-    @DisplayName("queues completion event and sentinel for normal flow")
-    void normalCompletion_queuesCompletionAndSentinel() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(3);
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
+    @DisplayName("writes the completion event and ends the stream for normal flow")
+    void normalCompletion_writesCompletionAndEnds() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
 
       invokeHandleStreamComplete(
                                  "session1", "agentId", "alias", System.currentTimeMillis() - 2000,
                                  "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Should have completion event + sentinel
-      assertThat(writeQueue.size()).isEqualTo(2);
-      String completionEvent = writeQueue.poll();
-      assertThat(completionEvent).contains("session-complete");
-      assertThat(completionEvent).contains("completed");
-      assertThat(completionEvent).contains("req1");
-      assertThat(completionEvent).contains("corr1");
-      assertThat(completionEvent).contains("user1");
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
+                                 new AtomicInteger(3), new AtomicLong(150), outputStream);
+
+      String events = readToEnd(outputStream);
+      assertThat(events).contains("session-complete");
+      assertThat(events).contains("completed");
+      assertThat(events).contains("req1");
+      assertThat(events).contains("corr1");
+      assertThat(events).contains("user1");
     }
 
     @Test
-    @DisplayName("queues completion event with queue size > 25 (L1256-1258, L1282-1284)")
-    void queueOverflow_logsAndQueuesNormally() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      // Pre-fill with 26 items
-      for (int i = 0; i < 26; i++) {
-        writeQueue.offer("event-" + i);
-      }
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(3);
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
+    @DisplayName("writes a completion-error event and ends the stream when the completion event cannot be built")
+    void completionJsonException_writesErrorAndEnds() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
 
+      // null chunkCount triggers NPE while building the completion event
       invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 2000,
+                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
                                  "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
+                                 null, new AtomicLong(150), outputStream);
 
-      // 26 pre-filled + 1 completion + 1 sentinel
-      assertThat(writeQueue.size()).isEqualTo(28);
+      String events = readToEnd(outputStream);
+      assertThat(events).contains("completion-error");
+      assertThat(events).doesNotContain("session-complete");
     }
   }
 
@@ -264,21 +239,34 @@ class AgentServiceImplTest {
   class WriteChunkErrorEvent {
 
     @Test
-    @DisplayName("queues chunk-error SSE event to write queue (L1217-1220)")
-    void queuesErrorEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
+    @DisplayName("writes chunk-error SSE event to the stream")
+    void writesErrorEvent() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
       IOException error = new IOException("chunk write failed");
 
       Method m = AgentServiceImpl.class.getDeclaredMethod("writeChunkErrorEvent",
-                                                          IOException.class, BlockingQueue.class);
+                                                          IOException.class, RingBufferOutputStream.class);
       m.setAccessible(true);
-      m.invoke(service, error, writeQueue);
+      m.invoke(service, error, outputStream);
 
-      assertThat(writeQueue.size()).isEqualTo(1);
-      String event = writeQueue.poll();
+      String event = readAvailable(outputStream);
       assertThat(event).contains("chunk-error");
       assertThat(event).contains("chunk write failed");
     }
+
+    @Test
+    @DisplayName("does not propagate when the consumer has closed the stream")
+    void consumerClosed_doesNotThrow() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
+      outputStream.getInputStream().close();
+
+      Method m = AgentServiceImpl.class.getDeclaredMethod("writeChunkErrorEvent",
+                                                          IOException.class, RingBufferOutputStream.class);
+      m.setAccessible(true);
+      Object result = m.invoke(service, new IOException("chunk write failed"), outputStream);
+
+      assertThat(result).isNull();
+    }
   }
 
   // ==================== writeSessionStartEvent ====================
@@ -288,23 +276,37 @@ class AgentServiceImplTest {
   class WriteSessionStartEvent {
 
     @Test
-    @DisplayName("queues session-start event with queue > 25 items (L1209-1211)")
-    void queueOverflow_logsAndQueues() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      for (int i = 0; i < 26; i++) {
-        writeQueue.offer("event-" + i);
-      }
+    @DisplayName("writes session-start event without a time to first chunk")
+    void writesSessionStart() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
+
+      invokeWriteSessionStartEvent(outputStream);
+
+      String event = readAvailable(outputStream);
+      assertThat(event).contains("event: session-start");
+      assertThat(event).contains("\"prompt\":\"prompt\"").doesNotContain("timeToFirstChunkMs");
+    }
+
+    @Test
+    @DisplayName("throws ConsumerClosedException when the consumer has closed the stream")
+    void consumerClosed_throws() throws Exception {
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
+      outputStream.getInputStream().close();
+
+      Throwable thrown = org.assertj.core.api.Assertions.catchThrowable(() -> invokeWriteSessionStartEvent(outputStream));
+
+      assertThat(thrown).isInstanceOf(InvocationTargetException.class);
+      assertThat(thrown.getCause()).isInstanceOf(RingBufferOutputStream.ConsumerClosedException.class);
+    }
 
+    private void invokeWriteSessionStartEvent(RingBufferOutputStream outputStream) throws Exception {
       Method m = AgentServiceImpl.class.getDeclaredMethod("writeSessionStartEvent",
                                                           String.class, String.class, String.class, String.class,
                                                           String.class, String.class, String.class,
-                                                          long.class, BlockingQueue.class);
+                                                          RingBufferOutputStream.class);
       m.setAccessible(true);
       m.invoke(service, "alias", "agentId", "prompt", "session1",
-               "req1", "corr1", "user1", 100L, writeQueue);
-
-      // 26 pre-filled + 1 session-start
-      assertThat(writeQueue.size()).isEqualTo(27);
+               "req1", "corr1", "user1", outputStream);
     }
   }
 
@@ -368,19 +370,19 @@ class AgentServiceImplTest {
     @Test
     @DisplayName("handles null stream without throwing (L943-944)")
     void nullStream_doesNotThrow() throws Exception {
-      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", PipedOutputStream.class);
+      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", RingBufferOutputStream.class);
       m.setAccessible(true);
-      Object result = m.invoke(service, (PipedOutputStream) null);
+      Object result = m.invoke(service, (RingBufferOutputStream) null);
       assertThat(result).isNull();
     }
 
     @Test
     @DisplayName("handles already-closed stream without throwing (L945-947)")
     void alreadyClosedStream_doesNotThrow() throws Exception {
-      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", PipedOutputStream.class);
+      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", RingBufferOutputStream.class);
       m.setAccessible(true);
 
-      PipedOutputStream os = new PipedOutputStream();
+      RingBufferOutputStream os = new RingBufferOutputStream();
       os.close();
       Object result = m.invoke(service, os);
       assertThat(result).isNull();
@@ -450,225 +452,6 @@ class AgentServiceImplTest {
     }
   }
 
-  // ==================== handleStreamChunk - queue full paths ====================
-
-  @Nested
-  @DisplayName("handleStreamChunk - queue full")
-  class HandleStreamChunkQueueFull {
-
-    @Test
-    @DisplayName("drops chunk when queue is full (L1079-1080)")
-    void queueFull_dropsChunkEvent() throws Exception {
-      // Use a queue with capacity 1, pre-fill it so offer() returns false
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicBoolean sessionStartSent = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(1);
-      AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis());
-      AtomicLong timeToFirstChunk = new AtomicLong(100);
-
-      PayloadPart chunk = PayloadPart.builder()
-          .bytes(SdkBytes.fromUtf8String("dropped chunk"))
-          .build();
-
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis(),
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
-
-      // Queue still has only the original event — chunk was dropped
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.peek()).isEqualTo("existing-event");
-      // But chunk count was still incremented
-      assertThat(chunkCount.get()).isEqualTo(2);
-    }
-
-    @Test
-    @DisplayName("drops session-start when queue is full on first chunk (L1096)")
-    void queueFull_dropsSessionStartEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(false);
-      AtomicBoolean sessionStartSent = new AtomicBoolean(false);
-      AtomicInteger chunkCount = new AtomicInteger(0);
-      AtomicLong lastChunkTime = new AtomicLong(System.currentTimeMillis());
-      AtomicLong timeToFirstChunk = new AtomicLong(-1);
-
-      PayloadPart chunk = PayloadPart.builder()
-          .bytes(SdkBytes.fromUtf8String("first chunk"))
-          .build();
-
-      invokeHandleStreamChunk(
-                              "alias", "agentId", "prompt", "session1", "req1", "corr1", "user1",
-                              chunksReceived, sessionStartSent, System.currentTimeMillis(),
-                              writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
-
-      // session-start couldn't be queued, chunk also couldn't be queued
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(sessionStartSent.get()).isTrue();
-      assertThat(chunksReceived.get()).isTrue();
-    }
-  }
-
-  // ==================== writeChunkErrorEvent - queue full ====================
-
-  @Nested
-  @DisplayName("writeChunkErrorEvent - queue full")
-  class WriteChunkErrorEventQueueFull {
-
-    @Test
-    @DisplayName("drops chunk-error event when queue is full (L1104)")
-    void queueFull_dropsChunkErrorEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event");
-
-      Method m = AgentServiceImpl.class.getDeclaredMethod("writeChunkErrorEvent",
-                                                          IOException.class, BlockingQueue.class);
-      m.setAccessible(true);
-      m.invoke(service, new IOException("test error"), writeQueue);
-
-      // Queue still has only the original event — error was dropped
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.peek()).isEqualTo("existing-event");
-    }
-  }
-
-  // ==================== handleStreamComplete - queue full paths ====================
-
-  @Nested
-  @DisplayName("handleStreamComplete - queue full")
-  class HandleStreamCompleteQueueFull {
-
-    @Test
-    @DisplayName("drops completion event when queue is full (L1136)")
-    void queueFull_dropsCompletionEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(2);
-      writeQueue.offer("event-1");
-      writeQueue.offer("event-2");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(3);
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
-
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Completion event was dropped, but sentinel was force-queued (drains one item to make room)
-      // Original: [event-1, event-2] -> completion dropped -> sentinel: poll event-1, offer sentinel
-      // Result: [event-2, __END_OF_STREAM__]
-      assertThat(writeQueue.size()).isEqualTo(2);
-      String first = writeQueue.poll();
-      String second = writeQueue.poll();
-      assertThat(second).isEqualTo("__END_OF_STREAM__");
-    }
-
-    @Test
-    @DisplayName("forces sentinel when queue is full by draining one item (L1151-1154)")
-    void queueFull_forcesSentinel() throws Exception {
-      // Queue capacity 1, pre-fill it
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("blocking-event");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(3);
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
-
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Sentinel must be present — it was force-queued after draining
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
-    }
-
-    @Test
-    @DisplayName("queues completion-error and sentinel when completion JSON creation fails (L1140-1144)")
-    void completionJsonException_queuesErrorAndSentinel() throws Exception {
-      // Use a queue with plenty of space — we want the error path, not queue-full path
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(100);
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      // null chunkCount will cause NPE in createCompletionJson
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
-
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 null, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Should have completion-error + sentinel
-      assertThat(writeQueue.size()).isGreaterThanOrEqualTo(1);
-      String allEvents = drainQueue(writeQueue);
-      assertThat(allEvents).contains("__END_OF_STREAM__");
-    }
-
-    @Test
-    @DisplayName("forces sentinel when queue full during client disconnect (L1121)")
-    void clientDisconnected_queueFull_forcesSentinel() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("blocking-event");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      AtomicInteger chunkCount = new AtomicInteger(3);
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
-
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Sentinel was force-queued (drained blocking-event)
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
-    }
-  }
-
-  // ==================== writeSessionStartEvent - queue full ====================
-
-  @Nested
-  @DisplayName("writeSessionStartEvent - queue full")
-  class WriteSessionStartEventQueueFull {
-
-    @Test
-    @DisplayName("throws IOException when queue is full")
-    void queueFull_throwsIOException() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event");
-
-      Method m = AgentServiceImpl.class.getDeclaredMethod("writeSessionStartEvent",
-                                                          String.class, String.class, String.class, String.class,
-                                                          String.class, String.class, String.class,
-                                                          long.class, BlockingQueue.class);
-      m.setAccessible(true);
-
-      Throwable thrown = org.assertj.core.api.Assertions.catchThrowable(
-                                                                        () -> m.invoke(service, "alias", "agentId", "prompt",
-                                                                                       "session1",
-                                                                                       "req1", "corr1", "user1", 100L,
-                                                                                       writeQueue));
-      assertThat(thrown).isInstanceOf(InvocationTargetException.class);
-      assertThat(thrown.getCause())
-          .isInstanceOf(IOException.class)
-          .hasMessageContaining("Failed to queue session-start event");
-
-      // Queue still has only the original event
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.peek()).isEqualTo("existing-event");
-    }
-  }
-
   // ==================== buildKnowledgeBaseConfigs ====================
 
   @Nested
@@ -742,86 +525,6 @@ class AgentServiceImplTest {
     }
   }
 
-  // ==================== awaitWriterCompletion ====================
-
-  @Nested
-  @DisplayName("awaitWriterCompletion")
-  class AwaitWriterCompletion {
-
-    @Test
-    @DisplayName("returns normally when writer completes within timeout")
-    void writerCompletesNormally_returns() throws Exception {
-      Future<?> future = CompletableFuture.completedFuture(null);
-      invokeAwaitWriterCompletion(future);
-    }
-
-    @Test
-    @DisplayName("re-interrupts current thread on InterruptedException")
-    void interruptedException_reinterruptsThread() throws Exception {
-      Future<?> future = mock(Future.class);
-      when(future.get(anyLong(), any(TimeUnit.class)))
-          .thenThrow(new InterruptedException("interrupted"));
-
-      try {
-        invokeAwaitWriterCompletion(future);
-        assertThat(Thread.currentThread().isInterrupted()).isTrue();
-      } finally {
-        // Clear the interrupt so subsequent tests are not affected
-        Thread.interrupted();
-      }
-    }
-
-    @Test
-    @DisplayName("logs and continues on TimeoutException")
-    void timeoutException_logsAndReturns() throws Exception {
-      Future<?> future = mock(Future.class);
-      when(future.get(anyLong(), any(TimeUnit.class)))
-          .thenThrow(new java.util.concurrent.TimeoutException("timeout"));
-
-      invokeAwaitWriterCompletion(future);
-      // Method should return normally; thread interrupt flag should not be set
-      assertThat(Thread.currentThread().isInterrupted()).isFalse();
-    }
-
-    @Test
-    @DisplayName("logs and continues on ExecutionException (writer thread failed)")
-    void executionException_logsAndReturns() throws Exception {
-      Future<?> future = mock(Future.class);
-      when(future.get(anyLong(), any(TimeUnit.class)))
-          .thenThrow(new java.util.concurrent.ExecutionException(new RuntimeException("boom")));
-
-      invokeAwaitWriterCompletion(future);
-      assertThat(Thread.currentThread().isInterrupted()).isFalse();
-    }
-  }
-
-  // ==================== buildRetrievedReferenceJson ====================
-
-  @Nested
-  @DisplayName("buildRetrievedReferenceJson")
-  class BuildRetrievedReferenceJson {
-
-    @Test
-    @DisplayName("builds JSON with content, location, and metadata (L411-421)")
-    void fullReference_buildsCompleteJson() throws Exception {
-      RetrievedReference ref = mock(RetrievedReference.class, RETURNS_DEEP_STUBS);
-      when(ref.content().text()).thenReturn("reference text");
-      when(ref.location().toString()).thenReturn("s3://bucket/key");
-      Map<String, software.amazon.awssdk.core.document.Document> metadata = new HashMap<>();
-      metadata.put("source", software.amazon.awssdk.core.document.Document.fromString("test-doc"));
-      when(ref.metadata()).thenReturn(metadata);
-
-      Method m = AgentServiceImpl.class.getDeclaredMethod("buildRetrievedReferenceJson",
-                                                          RetrievedReference.class);
-      m.setAccessible(true);
-      JSONObject result = (JSONObject) m.invoke(service, ref);
-
-      assertThat(result.getString("content")).isEqualTo("reference text");
-      assertThat(result.getString("location")).isEqualTo("s3://bucket/key");
-      assertThat(result.has("metadata")).isTrue();
-    }
-  }
-
   // ==================== buildVectorSearchConfiguration - reranking ====================
 
   @Nested
@@ -862,10 +565,10 @@ class AgentServiceImplTest {
     @Test
     @DisplayName("catches IOException from close and logs without propagating (L885-886)")
     void closeThrowsIOException_doesNotPropagate() throws Exception {
-      PipedOutputStream mockOs = mock(PipedOutputStream.class);
+      RingBufferOutputStream mockOs = mock(RingBufferOutputStream.class);
       doThrow(new IOException("close failed")).when(mockOs).close();
 
-      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", PipedOutputStream.class);
+      Method m = AgentServiceImpl.class.getDeclaredMethod("closeQuietly", RingBufferOutputStream.class);
       m.setAccessible(true);
       // Should not throw - IOException is caught and logged
       Object result = m.invoke(service, mockOs);
@@ -873,200 +576,225 @@ class AgentServiceImplTest {
     }
   }
 
-  // ==================== handleStreamComplete - completion error with queue full ====================
+  // ==================== streamBedrockResponse ====================
 
   @Nested
-  @DisplayName("handleStreamComplete - completion error with queue full")
-  class CompletionErrorQueueFull {
+  @DisplayName("streamBedrockResponse")
+  class StreamBedrockResponse {
 
     @Test
-    @DisplayName("drops completion-error event when queue is full (L1144)")
-    void completionError_queueFull_dropsErrorEvent() throws Exception {
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event");
-
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
-      AtomicBoolean chunksReceived = new AtomicBoolean(true);
-      // null chunkCount triggers NPE in createCompletionJson -> enters catch block
-      AtomicLong timeToFirstChunk = new AtomicLong(150);
-
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 null, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
-
-      // Completion-error dropped (queue full, L1144), sentinel force-queued (drains existing)
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
-    }
-  }
-
-  // ==================== streamBedrockResponse - client disconnect paths ====================
-
-  @Nested
-  @DisplayName("streamBedrockResponse - client disconnect")
-  class StreamBedrockResponseClientDisconnect {
-
-    @Test
-    @DisplayName("logs when Bedrock completes but client already disconnected (L993)")
-    void completedFuture_clientDisconnected() throws Exception {
+    @DisplayName("publishes the SDK future and completes only when the invocation ends")
+    void completesWithInvocation() throws Exception {
+      CompletableFuture<Void> sdkFuture = new CompletableFuture<>();
       when(mockConnection.invokeAgent(
                                       any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
-          .thenReturn(CompletableFuture.completedFuture(null));
+          .thenReturn(sdkFuture);
+      AtomicReference<CompletableFuture<Void>> invocation = new AtomicReference<>();
 
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>();
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
+      CompletableFuture<Void> attempt = invokeStreamBedrockResponse(new RingBufferOutputStream(), invocation);
 
-      invokeStreamBedrockResponse(writeQueue, clientDisconnected);
-      // Method returns normally; L993 (debug log for client disconnected) was hit
+      assertThat(invocation.get()).isSameAs(sdkFuture);
+      assertThat(attempt).isNotDone();
+      sdkFuture.complete(null);
+      assertThat(attempt).isCompleted();
     }
 
     @Test
-    @DisplayName("suppresses error and force-queues sentinel when client disconnected (L1006-1012)")
-    void failedFuture_clientDisconnected_queuesSentinel() throws Exception {
+    @DisplayName("fails with the SDK error without writing to the stream")
+    void failsWithInvocation() throws Exception {
       when(mockConnection.invokeAgent(
                                       any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
           .thenReturn(CompletableFuture.failedFuture(new RuntimeException("bedrock error")));
+      RingBufferOutputStream outputStream = new RingBufferOutputStream();
 
-      BlockingQueue<String> writeQueue = new LinkedBlockingQueue<>(1);
-      writeQueue.offer("existing-event"); // fill queue to trigger L1008-1010 (force sentinel)
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
-
-      invokeStreamBedrockResponse(writeQueue, clientDisconnected);
+      CompletableFuture<Void> attempt = invokeStreamBedrockResponse(outputStream, new AtomicReference<>());
 
-      // Error suppressed, sentinel force-queued (drained existing)
-      assertThat(writeQueue.size()).isEqualTo(1);
-      assertThat(writeQueue.poll()).isEqualTo("__END_OF_STREAM__");
+      assertThat(attempt).isCompletedExceptionally();
+      assertThat(outputStream.getInputStream().available()).isZero();
     }
   }
 
-  // ==================== streamBedrockResponseWithRetry - exception re-throw paths ====================
+  // ==================== chatWithAgentSSEStream ====================
 
   @Nested
-  @DisplayName("streamBedrockResponseWithRetry - exception paths")
-  class StreamBedrockResponseWithRetryExceptions {
+  @DisplayName("chatWithAgentSSEStream")
+  class ChatWithAgentSSEStream {
 
-    @Test
-    @DisplayName("wraps IOException in ModuleException with enhanced message")
-    void ioException_wrappedInModuleException() throws Exception {
-      when(mockConnection.invokeAgent(
-                                      any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
-          .thenAnswer(invocation -> {
-            throw new IOException("network error");
-          });
+    private final Scheduler scheduler = mock(Scheduler.class);
 
-      try {
-        invokeStreamBedrockResponseWithRetry();
-        org.assertj.core.api.Assertions.fail("Expected ModuleException");
-      } catch (InvocationTargetException e) {
-        assertThat(e.getCause()).isInstanceOf(ModuleException.class);
-        assertThat(e.getCause().getMessage()).contains("network error");
-        assertThat(e.getCause().getCause()).isInstanceOf(IOException.class);
-      }
+    @BeforeEach
+    void admitStreams() {
+      when(config.tryAcquireAgentStream()).thenReturn(true);
+      when(config.getStreamingScheduler()).thenReturn(scheduler);
+      when(scheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+        invocation.<Runnable>getArgument(0).run();
+        return CompletableFuture.completedFuture(null);
+      });
     }
 
     @Test
-    @DisplayName("wraps InterruptedException in ModuleException with enhanced message")
-    void interruptedException_wrappedInModuleException() throws Exception {
-      when(mockConnection.invokeAgent(
-                                      any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
-          .thenAnswer(invocation -> {
-            throw new InterruptedException("interrupted");
-          });
+    @DisplayName("writes events from the SDK callbacks and releases the permit when the response ends")
+    void streamsAndReleases() throws Exception {
+      CompletableFuture<Void> sdkFuture = new CompletableFuture<>();
+      ArgumentCaptor<InvokeAgentResponseHandler> handler = ArgumentCaptor.forClass(InvokeAgentResponseHandler.class);
+      when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), handler.capture(), anyLong())).thenReturn(sdkFuture);
 
-      try {
-        invokeStreamBedrockResponseWithRetry();
-        org.assertj.core.api.Assertions.fail("Expected ModuleException");
-      } catch (InvocationTargetException e) {
-        assertThat(e.getCause()).isInstanceOf(ModuleException.class);
-        assertThat(e.getCause().getMessage()).contains("interrupted");
-        assertThat(e.getCause().getCause()).isInstanceOf(InterruptedException.class);
-      }
+      InputStream stream = chatWithAgent(retryParameters(false));
+      verify(config, never()).releaseAgentStream();
+      handler.getValue().complete();
+      sdkFuture.complete(null);
+
+      assertThat(new String(stream.readAllBytes(), StandardCharsets.UTF_8)).contains("session-complete");
+      verify(config).releaseAgentStream();
     }
 
     @Test
-    @DisplayName("wraps RuntimeException in ModuleException with null message handling")
-    void runtimeException_wrappedInModuleException() throws Exception {
-      when(mockConnection.invokeAgent(
-                                      any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
-          .thenThrow(new RuntimeException());
+    @DisplayName("writes session-start from the scheduler task before the request is sent")
+    void writesSessionStartBeforeRequest() throws Exception {
+      when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
+          .thenReturn(new CompletableFuture<>());
 
-      try {
-        invokeStreamBedrockResponseWithRetry();
-        org.assertj.core.api.Assertions.fail("Expected ModuleException");
-      } catch (InvocationTargetException e) {
-        assertThat(e.getCause()).isInstanceOf(ModuleException.class);
-        assertThat(e.getCause().getCause()).isInstanceOf(RuntimeException.class);
-      }
+      InputStream stream = chatWithAgent(retryParameters(false));
+
+      byte[] buffer = new byte[4096];
+      String events = new String(buffer, 0, stream.read(buffer), StandardCharsets.UTF_8);
+      assertThat(events).contains("event: session-start").contains("\"prompt\":\"prompt\"");
+      stream.close();
     }
-  }
 
-  // ==================== streamBedrockResponse - sentinel retry failure ====================
+    @Test
+    @DisplayName("never blocks the SDK callback when the chunks do not fit in the unread stream")
+    void chunkCallbackNeverWaits() throws Exception {
+      ArgumentCaptor<InvokeAgentResponseHandler> handler = ArgumentCaptor.forClass(InvokeAgentResponseHandler.class);
+      when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), handler.capture(), anyLong()))
+          .thenReturn(new CompletableFuture<>());
+      InputStream stream = chatWithAgent(retryParameters(false));
+      AtomicReference<Subscriber<? super ResponseStream>> subscriber = new AtomicReference<>();
+      handler.getValue().onEventStream(s -> {
+        subscriber.set(s);
+        s.onSubscribe(mock(Subscription.class));
+      });
+      String text = "x".repeat(RingBufferOutputStream.DEFAULT_CAPACITY);
 
-  @Nested
-  @DisplayName("streamBedrockResponse - sentinel retry failure on client disconnect")
-  class StreamBedrockResponseSentinelRetryFailure {
+      // Nobody reads the stream while two chunks, each as large as the whole buffer, are delivered
+      CompletableFuture.runAsync(() -> {
+        subscriber.get().onNext(PayloadPart.builder().bytes(SdkBytes.fromUtf8String(text + "a")).build());
+        subscriber.get().onNext(PayloadPart.builder().bytes(SdkBytes.fromUtf8String(text + "b")).build());
+      }).get(5, TimeUnit.SECONDS);
+
+      handler.getValue().complete();
+      String events = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+      assertThat(events.indexOf("session-start")).isLessThan(events.indexOf(text + "a"));
+      assertThat(events.indexOf(text + "a")).isLessThan(events.indexOf(text + "b"));
+      assertThat(events.indexOf(text + "b")).isLessThan(events.indexOf("session-complete"));
+    }
 
     @Test
-    @DisplayName("throws ModuleException when sentinel cannot be queued after drain (L1014)")
-    @SuppressWarnings("unchecked")
-    void sentinelRetryFailure_clientDisconnected() throws Exception {
-      when(mockConnection.invokeAgent(
-                                      any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
-          .thenReturn(CompletableFuture.failedFuture(new RuntimeException("bedrock error")));
+    @DisplayName("cancels the SDK request and releases the permit when the consumer closes the stream")
+    void cancelsOnConsumerClose() throws Exception {
+      CompletableFuture<Void> sdkFuture = new CompletableFuture<>();
+      when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
+          .thenReturn(sdkFuture);
+      long cancelledBefore = ConnectorMetrics.get().getCount("agent.streaming.cancelled");
 
-      BlockingQueue<String> mockQueue = mock(BlockingQueue.class);
-      when(mockQueue.offer(any())).thenReturn(false);
-      when(mockQueue.poll()).thenReturn("drained-event");
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
+      InputStream stream = chatWithAgent(retryParameters(false));
+      stream.close();
 
-      Throwable thrown =
-          org.assertj.core.api.Assertions.catchThrowable(() -> invokeStreamBedrockResponse(mockQueue, clientDisconnected));
-      assertThat(thrown).isInstanceOf(InvocationTargetException.class);
-      assertThat(thrown.getCause())
-          .isInstanceOf(ModuleException.class)
-          .hasMessageContaining("Failed to queue end-of-stream sentinel");
+      assertThat(sdkFuture).isCancelled();
+      verify(config).releaseAgentStream();
+      assertThat(ConnectorMetrics.get().getCount("agent.streaming.cancelled") - cancelledBefore).isEqualTo(1);
     }
-  }
 
-  // ==================== handleStreamComplete - sentinel retry failure ====================
+    @Test
+    @DisplayName("schedules a retry after the backoff and reports the error once retries are exhausted")
+    void schedulesRetry() throws Exception {
+      when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
+          .thenAnswer(invocation -> CompletableFuture.failedFuture(new TimeoutException("timed out")));
 
-  @Nested
-  @DisplayName("handleStreamComplete - sentinel retry failure")
-  class HandleStreamCompleteSentinelRetryFailure {
+      InputStream stream = chatWithAgent(retryParameters(true));
+      ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+      verify(scheduler).schedule(retry.capture(), eq(250L), eq(TimeUnit.MILLISECONDS));
+      verify(config, never()).releaseAgentStream();
+      retry.getValue().run();
+
+      String events = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+      assertThat(events).contains("session-start").contains("event: error").contains("timed out");
+      verify(mockConnection, times(2)).invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class),
+                                                   anyLong());
+      verify(config).releaseAgentStream();
+    }
 
     @Test
-    @DisplayName("logs error when sentinel cannot be queued - client disconnected (L1129)")
-    @SuppressWarnings("unchecked")
-    void sentinelRetryFailure_clientDisconnected() throws Exception {
-      BlockingQueue<String> mockQueue = mock(BlockingQueue.class);
-      when(mockQueue.offer(any())).thenReturn(false);
-      when(mockQueue.poll()).thenReturn("drained-event");
-      AtomicBoolean clientDisconnected = new AtomicBoolean(true);
+    @DisplayName("rejects the stream without calling Bedrock when capacity is exhausted")
+    void rejectsWhenSaturated() {
+      when(config.tryAcquireAgentStream()).thenReturn(false);
+      when(config.getMaxConcurrentAgentStreams()).thenReturn(2000);
 
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 new AtomicInteger(5), new AtomicLong(150),
-                                 new AtomicBoolean(true), mockQueue, clientDisconnected);
-      // L1129 logger.error hit: mock queue always returns false for offer
+      org.assertj.core.api.Assertions.assertThatThrownBy(() -> chatWithAgent(retryParameters(false)))
+          .isInstanceOf(ModuleException.class)
+          .hasMessageContaining("capacity exceeded");
+      verify(mockConnection, never()).invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class),
+                                                  anyLong());
     }
 
     @Test
-    @DisplayName("logs error when sentinel cannot be queued - finally block (L1162)")
-    @SuppressWarnings("unchecked")
-    void sentinelRetryFailure_finallyBlock() throws Exception {
-      BlockingQueue<String> mockQueue = mock(BlockingQueue.class);
-      when(mockQueue.offer(any())).thenReturn(false);
-      when(mockQueue.poll()).thenReturn("drained-event");
-      AtomicBoolean clientDisconnected = new AtomicBoolean(false);
+    @DisplayName("releases the permit when the scheduler rejects the stream")
+    void releasesWhenSchedulerRejects() {
+      doThrow(new RejectedExecutionException("pool full")).when(scheduler).submit(any(Runnable.class));
 
-      invokeHandleStreamComplete(
-                                 "session1", "agentId", "alias", System.currentTimeMillis() - 1000,
-                                 "req1", "corr1", "user1",
-                                 new AtomicInteger(5), new AtomicLong(150),
-                                 new AtomicBoolean(true), mockQueue, clientDisconnected);
-      // L1162 logger.error hit: mock queue always returns false for offer in finally block
+      org.assertj.core.api.Assertions.assertThatThrownBy(() -> chatWithAgent(retryParameters(false)))
+          .isInstanceOf(ModuleException.class);
+      verify(config).releaseAgentStream();
+    }
+  }
+
+  // ==================== chatWithAgentSSEStream - concurrency ====================
+
+  @Nested
+  @DisplayName("chatWithAgentSSEStream - concurrency")
+  class ChatWithAgentSSEStreamConcurrency {
+
+    @Test
+    @DisplayName("holds a thousand open streams on a two-thread scheduler")
+    void thousandStreamsOnTwoThreads() throws Exception {
+      int streams = 1000;
+      ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(2);
+      try {
+        Scheduler scheduler = mock(Scheduler.class);
+        when(scheduler.submit(any(Runnable.class))).thenAnswer(invocation -> pool.submit(invocation.<Runnable>getArgument(0)));
+        BedrockConfiguration config = new BedrockConfiguration();
+        SchedulerService schedulerService = mock(SchedulerService.class);
+        when(schedulerService.ioScheduler(any())).thenReturn(scheduler);
+        Field schedulerServiceField = BedrockConfiguration.class.getDeclaredField("schedulerService");
+        schedulerServiceField.setAccessible(true);
+        schedulerServiceField.set(config, schedulerService);
+        // Responses that never end: every stream stays open until its consumer closes it
+        when(mockConnection.invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong()))
+            .thenAnswer(invocation -> new CompletableFuture<Void>());
+        service = new AgentServiceImpl(config, mockConnection);
+
+        List<InputStream> open = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+          open.add(chatWithAgent(retryParameters(false)));
+        }
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Every stream was started by a short task and is now waiting on the SDK without holding a thread
+        verify(mockConnection, times(streams))
+            .invokeAgent(any(InvokeAgentRequest.class), any(InvokeAgentResponseHandler.class), anyLong());
+        assertThat(pool.getCompletedTaskCount()).isEqualTo(streams);
+        assertThat(pool.getLargestPoolSize()).isEqualTo(2);
+        assertThat(config.getActiveAgentStreams()).isEqualTo(streams);
+
+        for (InputStream stream : open) {
+          stream.close();
+        }
+        assertThat(config.getActiveAgentStreams()).isZero();
+      } finally {
+        pool.shutdownNow();
+      }
     }
   }
 
@@ -1119,113 +847,91 @@ class AgentServiceImplTest {
 
   // ==================== Helpers ====================
 
-  private void invokeStreamBedrockResponse(BlockingQueue<String> writeQueue,
-                                           AtomicBoolean clientDisconnected)
-      throws Exception {
-    Method m = AgentServiceImpl.class.getDeclaredMethod("streamBedrockResponse",
-                                                        String.class, String.class, String.class,
-                                                        boolean.class, boolean.class,
-                                                        String.class, boolean.class, Integer.class,
-                                                        java.util.List.class,
-                                                        PipedOutputStream.class, AtomicBoolean.class,
-                                                        AtomicBoolean.class, String.class,
-                                                        String.class, String.class,
-                                                        Integer.class, TimeUnit.class,
-                                                        BlockingQueue.class, AtomicBoolean.class);
-    m.setAccessible(true);
-    m.invoke(service,
-             "alias", "agentId", "prompt",
-             false, false,
-             "session1", false, (Integer) null,
-             null,
-             (PipedOutputStream) null, new AtomicBoolean(false),
-             new AtomicBoolean(false), "req1",
-             "corr1", "user1",
-             (Integer) null, (TimeUnit) null,
-             writeQueue, clientDisconnected);
+  private InputStream chatWithAgent(BedrockAgentsResponseParameters responseParameters) {
+    return service.chatWithAgentSSEStream("agentId", "alias", "prompt", false, false,
+                                          mock(BedrockAgentsSessionParameters.class), null, null, responseParameters, null);
   }
 
-  private void invokeStreamBedrockResponseWithRetry() throws Exception {
-    StreamingRetryUtility.RetryConfig retryConfig =
-        new StreamingRetryUtility.RetryConfig(0, 1000L, true);
+  private static BedrockAgentsResponseParameters retryParameters(boolean enableRetry) {
+    BedrockAgentsResponseParameters parameters = mock(BedrockAgentsResponseParameters.class);
+    when(parameters.getEnableRetry()).thenReturn(enableRetry);
+    when(parameters.getMaxRetries()).thenReturn(1);
+    when(parameters.getRetryBackoffMs()).thenReturn(250L);
+    return parameters;
+  }
 
-    Method m = AgentServiceImpl.class.getDeclaredMethod("streamBedrockResponseWithRetry",
+  @SuppressWarnings("unchecked")
+  private CompletableFuture<Void> invokeStreamBedrockResponse(RingBufferOutputStream outputStream,
+                                                              AtomicReference<CompletableFuture<Void>> invocation)
+      throws Exception {
+    Method m = AgentServiceImpl.class.getDeclaredMethod("streamBedrockResponse",
                                                         String.class, String.class, String.class,
                                                         boolean.class, boolean.class,
                                                         String.class, boolean.class, Integer.class,
                                                         java.util.List.class,
-                                                        PipedOutputStream.class, StreamingRetryUtility.RetryConfig.class,
-                                                        AtomicBoolean.class, AtomicBoolean.class,
+                                                        RingBufferOutputStream.class, AtomicBoolean.class,
                                                         String.class, String.class, String.class,
                                                         Integer.class, TimeUnit.class,
-                                                        BlockingQueue.class, AtomicBoolean.class);
+                                                        AtomicReference.class, AtomicReference.class);
     m.setAccessible(true);
-    m.invoke(service,
-             "alias", "agentId", "prompt",
-             false, false,
-             "session1", false, (Integer) null,
-             null,
-             (PipedOutputStream) null, retryConfig,
-             new AtomicBoolean(false), new AtomicBoolean(false),
-             "req1", "corr1", "user1",
-             (Integer) null, (TimeUnit) null,
-             new LinkedBlockingQueue<>(), new AtomicBoolean(false));
-  }
-
-  private void invokeHandleStreamChunk(
-                                       String agentAliasId, String agentId, String prompt, String effectiveSessionId,
-                                       String requestId, String correlationId, String userId,
-                                       AtomicBoolean chunksReceived, AtomicBoolean sessionStartSent, long startTime,
-                                       BlockingQueue<String> writeQueue, PayloadPart chunk,
-                                       AtomicInteger chunkCount, AtomicLong lastChunkTime, AtomicLong timeToFirstChunk,
-                                       AtomicBoolean clientDisconnected)
+    return (CompletableFuture<Void>) m.invoke(service,
+                                              "alias", "agentId", "prompt",
+                                              false, false,
+                                              "session1", false, (Integer) null,
+                                              null,
+                                              outputStream, new AtomicBoolean(false),
+                                              "req1", "corr1", "user1",
+                                              (Integer) null, (TimeUnit) null,
+                                              invocation, new AtomicReference<>());
+  }
+
+  private void invokeHandleStreamChunk(String agentId, String effectiveSessionId, String requestId,
+                                       AtomicBoolean chunksReceived, long startTime,
+                                       RingBufferOutputStream outputStream, PayloadPart chunk,
+                                       AtomicInteger chunkCount, AtomicLong lastChunkTime, AtomicLong timeToFirstChunk)
       throws Exception {
     Method m = AgentServiceImpl.class.getDeclaredMethod("handleStreamChunk",
-                                                        String.class, String.class, String.class, String.class,
                                                         String.class, String.class, String.class,
-                                                        AtomicBoolean.class, AtomicBoolean.class, long.class,
-                                                        BlockingQueue.class, PayloadPart.class,
-                                                        AtomicInteger.class, AtomicLong.class, AtomicLong.class,
-                                                        AtomicBoolean.class);
+                                                        AtomicBoolean.class, long.class,
+                                                        RingBufferOutputStream.class, PayloadPart.class,
+                                                        AtomicInteger.class, AtomicLong.class, AtomicLong.class);
     m.setAccessible(true);
-    m.invoke(service, agentAliasId, agentId, prompt, effectiveSessionId,
-             requestId, correlationId, userId,
-             chunksReceived, sessionStartSent, startTime,
-             writeQueue, chunk, chunkCount, lastChunkTime, timeToFirstChunk, clientDisconnected);
+    m.invoke(service, agentId, effectiveSessionId, requestId,
+             chunksReceived, startTime,
+             outputStream, chunk, chunkCount, lastChunkTime, timeToFirstChunk);
   }
 
   private void invokeHandleStreamComplete(
                                           String effectiveSessionId, String agentId, String agentAliasId, long startTime,
                                           String requestId, String correlationId, String userId,
                                           AtomicInteger chunkCount, AtomicLong timeToFirstChunk,
-                                          AtomicBoolean chunksReceived, BlockingQueue<String> writeQueue,
-                                          AtomicBoolean clientDisconnected)
+                                          RingBufferOutputStream outputStream)
       throws Exception {
     Method m = AgentServiceImpl.class.getDeclaredMethod("handleStreamComplete",
                                                         String.class, String.class, String.class, long.class,
                                                         String.class, String.class, String.class,
                                                         AtomicInteger.class, AtomicLong.class,
-                                                        AtomicBoolean.class, BlockingQueue.class,
-                                                        AtomicBoolean.class);
+                                                        RingBufferOutputStream.class);
     m.setAccessible(true);
     m.invoke(service, effectiveSessionId, agentId, agentAliasId, startTime,
              requestId, correlationId, userId,
-             chunkCount, timeToFirstChunk, chunksReceived, writeQueue, clientDisconnected);
+             chunkCount, timeToFirstChunk, outputStream);
   }
 
-  private static String drainQueue(BlockingQueue<String> queue) {
-    StringBuilder sb = new StringBuilder();
-    String item;
-    while ((item = queue.poll()) != null) {
-      sb.append(item);
+  /**
+   * Returns the events written so far without waiting for the stream to end.
+   */
+  private static String readAvailable(RingBufferOutputStream outputStream) throws IOException {
+    InputStream in = outputStream.getInputStream();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    while (in.available() > 0) {
+      bytes.write(buffer, 0, in.read(buffer, 0, Math.min(buffer.length, in.available())));
     }
-    return sb.toString();
+    return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
   }
 
-  private void invokeAwaitWriterCompletion(Future<?> writerFuture) throws Exception {
-    Method m = AgentServiceImpl.class.getDeclaredMethod("awaitWriterCompletion",
-                                                        Future.class, String.class, String.class, String.class);
-    m.setAccessible(true);
-    m.invoke(service, writerFuture, "agentId", "session1", "req1");
+  private static String readToEnd(RingBufferOutputStream outputStream) throws IOException {
+    return new String(outputStream.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
   }
 }
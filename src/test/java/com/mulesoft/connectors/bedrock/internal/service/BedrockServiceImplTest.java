@@ -1,12 +1,27 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import com.mulesoft.connectors.bedrock.internal.cache.SingleFlight;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 
 @DisplayName("BedrockServiceImpl")
 class BedrockServiceImplTest {
@@ -26,4 +41,54 @@ class BedrockServiceImplTest {
     BedrockServiceImpl service = new BedrockServiceImpl(mock(BedrockConfiguration.class), mock(BedrockConnection.class));
     assertThat(service).isInstanceOf(BedrockServiceImpl.class);
   }
+
+  @Test
+  @DisplayName("sendInvokeModelRequest shares the response of an identical in-flight request when coalescing is enabled")
+  void sendInvokeModelRequestCoalesces() throws Exception {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.getInvocationCoalescer()).thenReturn(new SingleFlight<>("test-invoke-model"));
+    BedrockConnection connection = mock(BedrockConnection.class);
+    CountDownLatch release = new CountDownLatch(1);
+    InvokeModelResponse response = InvokeModelResponse.builder().body(SdkBytes.fromUtf8String("{}")).build();
+    when(connection.answerPrompt(any(InvokeModelRequest.class))).thenAnswer(invocation -> {
+      release.await(5, TimeUnit.SECONDS);
+      return response;
+    });
+    BedrockServiceImpl service = new BedrockServiceImpl(config, connection);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<InvokeModelResponse> first = executor.submit(() -> service.sendInvokeModelRequest(request()));
+      Future<InvokeModelResponse> second = executor.submit(() -> service.sendInvokeModelRequest(request()));
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (ConnectorMetrics.get().getCount("test-invoke-model.coalesced") < 1 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      release.countDown();
+
+      assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+      assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(response);
+      verify(connection, times(1)).answerPrompt(any(InvokeModelRequest.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("sendInvokeModelRequest calls the connection directly when coalescing is disabled")
+  void sendInvokeModelRequestWithoutCoalescing() {
+    BedrockConnection connection = mock(BedrockConnection.class);
+    BedrockServiceImpl service = new BedrockServiceImpl(mock(BedrockConfiguration.class), connection);
+
+    service.sendInvokeModelRequest(request());
+    service.sendInvokeModelRequest(request());
+
+    verify(connection, times(2)).answerPrompt(any(InvokeModelRequest.class));
+  }
+
+  private static InvokeModelRequest request() {
+    return InvokeModelRequest.builder()
+        .modelId("amazon.nova-lite-v1:0")
+        .body(SdkBytes.fromUtf8String("{\"prompt\":\"Summarize\"}"))
+        .build();
+  }
 }
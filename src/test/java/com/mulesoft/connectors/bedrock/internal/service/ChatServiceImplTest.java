@@ -1,17 +1,36 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.mule.runtime.extension.api.exception.ModuleException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mule.runtime.api.scheduler.Scheduler;
+import com.mulesoft.connectors.bedrock.internal.cache.InMemoryResponseCacheStore;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
+import com.mulesoft.connectors.bedrock.internal.cache.SemanticResponseCache;
+import com.mulesoft.connectors.bedrock.internal.metrics.ConnectorMetrics;
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
+import com.mulesoft.connectors.bedrock.internal.streaming.RingBufferOutputStream;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.services.bedrockruntime.model.ContentBlockDelta;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamOutput;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamResponse;
+import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamMetadataEvent;
 import software.amazon.awssdk.services.bedrockruntime.model.ConverseStreamResponseHandler;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
@@ -75,6 +94,72 @@ class ChatServiceImplTest {
     assertThat(result).contains("Hello from Nova");
   }
 
+  @Test
+  @DisplayName("answerPrompt returns a cached response without calling Bedrock again")
+  void answerPromptUsesResponseCache() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.getResponseCache()).thenReturn(new ResponseCache(new InMemoryResponseCacheStore(10), 60_000));
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    when(connection.answerPrompt(any(InvokeModelRequest.class))).thenReturn(InvokeModelResponse.builder()
+        .body(SdkBytes.fromUtf8String("{\"output\":{\"text\":\"Hello from Nova\"}}"))
+        .build());
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+    ChatServiceImpl service = new ChatServiceImpl(config, connection);
+    String first = service.answerPrompt("Say hello.", params);
+    String second = service.answerPrompt("Say hello.", params);
+
+    assertThat(second).isEqualTo(first).contains("Hello from Nova");
+    verify(connection, times(1)).answerPrompt(any(InvokeModelRequest.class));
+  }
+
+  @Test
+  @DisplayName("answerPrompt returns the cached response of a similar prompt from the semantic cache")
+  void answerPromptUsesSemanticCache() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.getSemanticResponseCache())
+        .thenReturn(new SemanticResponseCache(0.9, 10, 60_000, "amazon.titan-embed-text-v2:0", 256));
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    when(connection.invokeModel(any(InvokeModelRequest.class)))
+        .thenReturn(InvokeModelResponse.builder().body(SdkBytes.fromUtf8String("{\"embedding\":[0.6,0.8]}")).build())
+        .thenReturn(InvokeModelResponse.builder().body(SdkBytes.fromUtf8String("{\"embedding\":[0.62,0.78]}")).build());
+    when(connection.answerPrompt(any(InvokeModelRequest.class))).thenReturn(InvokeModelResponse.builder()
+        .body(SdkBytes.fromUtf8String("{\"output\":{\"text\":\"Reset it from the settings page\"}}"))
+        .build());
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+    ChatServiceImpl service = new ChatServiceImpl(config, connection);
+    String first = service.answerPrompt("How do I reset my password?", params);
+    String second = service.answerPrompt("How can I reset my password?", params);
+
+    assertThat(second).isEqualTo(first).contains("settings page");
+    verify(connection, times(1)).answerPrompt(any(InvokeModelRequest.class));
+    verify(connection, times(2)).invokeModel(any(InvokeModelRequest.class));
+  }
+
+  @Test
+  @DisplayName("answerPrompt bypasses the semantic cache when the temperature is not 0")
+  void answerPromptSkipsSemanticCacheWhenSampling() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.getSemanticResponseCache())
+        .thenReturn(new SemanticResponseCache(0.9, 10, 60_000, "amazon.titan-embed-text-v2:0", 256));
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    when(connection.answerPrompt(any(InvokeModelRequest.class))).thenReturn(InvokeModelResponse.builder()
+        .body(SdkBytes.fromUtf8String("{\"output\":{\"text\":\"Reset it from the settings page\"}}"))
+        .build());
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.9f, 50);
+    ChatServiceImpl service = new ChatServiceImpl(config, connection);
+    service.answerPrompt("How do I reset my password?", params);
+    service.answerPrompt("How do I reset my password?", params);
+
+    verify(connection, times(2)).answerPrompt(any(InvokeModelRequest.class));
+    verify(connection, never()).invokeModel(any(InvokeModelRequest.class));
+  }
+
   @Test
   @DisplayName("answerPrompt with anthropic model returns formatted response")
   void answerPromptAnthropic() {
@@ -179,7 +264,7 @@ class ChatServiceImplTest {
   @Test
   @DisplayName("answerPromptStreaming returns InputStream when connection completes immediately")
   void answerPromptStreamingReturnsInputStream() {
-    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    BedrockConfiguration config = streamingConfig();
     BedrockConnection connection = mock(BedrockConnection.class);
     when(connection.getRegion()).thenReturn("us-east-1");
     when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), any(ConverseStreamResponseHandler.class)))
@@ -192,6 +277,91 @@ class ChatServiceImplTest {
     assertThat(stream).isNotNull();
   }
 
+  /**
+   * Returns a configuration mock that admits streams and runs scheduled tasks on the calling thread.
+   */
+  private static BedrockConfiguration streamingConfig() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    Scheduler scheduler = mock(Scheduler.class);
+    when(scheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return CompletableFuture.completedFuture(null);
+    });
+    when(config.tryAcquireChatStream()).thenReturn(true);
+    when(config.getChatStreamingScheduler()).thenReturn(scheduler);
+    return config;
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming releases the stream permit when the stream completes")
+  void answerPromptStreamingReleasesPermit() {
+    BedrockConfiguration config = streamingConfig();
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    CompletableFuture<Void> streamFuture = new CompletableFuture<>();
+    when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), any(ConverseStreamResponseHandler.class)))
+        .thenReturn(streamFuture);
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params);
+
+    verify(config, never()).releaseChatStream();
+    streamFuture.complete(null);
+    verify(config).releaseChatStream();
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming cancels the request and releases the permit when the consumer closes the stream")
+  void answerPromptStreamingCancelsOnConsumerClose() throws Exception {
+    BedrockConfiguration config = streamingConfig();
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    CompletableFuture<Void> streamFuture = new CompletableFuture<>();
+    when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), any(ConverseStreamResponseHandler.class)))
+        .thenReturn(streamFuture);
+    long cancelledBefore = ConnectorMetrics.get().getCount("chat.streaming.cancelled");
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    InputStream stream = new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params);
+    verify(config, never()).releaseChatStream();
+    stream.close();
+
+    assertThat(streamFuture).isCancelled();
+    verify(config).releaseChatStream();
+    assertThat(ConnectorMetrics.get().getCount("chat.streaming.cancelled") - cancelledBefore).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming rejects the stream when capacity is exhausted")
+  void answerPromptStreamingRejectsWhenSaturated() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.tryAcquireChatStream()).thenReturn(false);
+    when(config.getMaxConcurrentChatStreams()).thenReturn(500);
+    BedrockConnection connection = mock(BedrockConnection.class);
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+
+    assertThatThrownBy(() -> new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params))
+        .isInstanceOf(ModuleException.class)
+        .hasMessageContaining("capacity exceeded");
+    verify(connection, never()).answerPromptStreaming(any(ConverseStreamRequest.class),
+                                                      any(ConverseStreamResponseHandler.class));
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming releases the permit when the scheduler rejects the stream")
+  void answerPromptStreamingReleasesPermitWhenSchedulerRejects() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    Scheduler scheduler = mock(Scheduler.class);
+    when(scheduler.submit(any(Runnable.class))).thenThrow(new RejectedExecutionException("full"));
+    when(config.tryAcquireChatStream()).thenReturn(true);
+    when(config.getChatStreamingScheduler()).thenReturn(scheduler);
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+
+    assertThatThrownBy(() -> new ChatServiceImpl(config, mock(BedrockConnection.class)).answerPromptStreaming("Hi", params))
+        .isInstanceOf(ModuleException.class);
+    verify(config).releaseChatStream();
+  }
+
   @Test
   @DisplayName("private payload methods produce valid JSON when invoked via reflection")
   void privatePayloadMethodsProduceJson() throws Exception {
@@ -229,7 +399,7 @@ class ChatServiceImplTest {
   @Test
   @DisplayName("answerPromptStreaming writes error event when streaming future fails")
   void answerPromptStreamingWritesErrorWhenFutureFails() throws Exception {
-    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    BedrockConfiguration config = streamingConfig();
     BedrockConnection connection = mock(BedrockConnection.class);
     when(connection.getRegion()).thenReturn("us-east-1");
     java.util.concurrent.CompletableFuture<Void> failingFuture = new java.util.concurrent.CompletableFuture<>();
@@ -260,11 +430,16 @@ class ChatServiceImplTest {
   }
 
   @Test
-  @DisplayName("createChunkJson produces valid JSON with text type and timestamp")
-  void createChunkJsonProducesValidJson() throws Exception {
-    java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("createChunkJson", String.class);
-    m.setAccessible(true);
-    org.json.JSONObject result = (org.json.JSONObject) m.invoke(null, "Hello world");
+  @DisplayName("chunk event data is valid JSON with text type and timestamp")
+  void chunkEventDataIsValidJson() throws Exception {
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    outputStream.writeChunkEvent(1, "Hello world");
+    outputStream.close();
+    byte[] buf = new byte[4096];
+    int total = outputStream.getInputStream().read(buf);
+    String event = new String(buf, 0, total, java.nio.charset.StandardCharsets.UTF_8);
+    String data = event.substring(event.indexOf("data: ") + "data: ".length()).trim();
+    org.json.JSONObject result = new org.json.JSONObject(data);
 
     assertThat(result.getString("type")).isEqualTo("chunk");
     assertThat(result.getString("text")).isEqualTo("Hello world");
@@ -353,74 +528,138 @@ class ChatServiceImplTest {
     BedrockConnection connection = mock(BedrockConnection.class);
     ChatServiceImpl service = new ChatServiceImpl(config, connection);
 
-    java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("closeQuietly", java.io.PipedOutputStream.class);
+    java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("closeQuietly", RingBufferOutputStream.class);
     m.setAccessible(true);
     // Should not throw when passing null
-    Object result = m.invoke(service, (java.io.PipedOutputStream) null);
+    Object result = m.invoke(service, (RingBufferOutputStream) null);
     assertThat(result).isNull(); // void method returns null
   }
 
   @Test
-  @DisplayName("handleConverseContentDelta writes session start and chunk")
-  void handleConverseContentDeltaWritesSessionStartAndChunk() throws Exception {
+  @DisplayName("handleConverseContentDelta writes only the chunk event")
+  void handleConverseContentDeltaWritesChunk() throws Exception {
     BedrockConfiguration config = mock(BedrockConfiguration.class);
     BedrockConnection connection = mock(BedrockConnection.class);
     ChatServiceImpl service = new ChatServiceImpl(config, connection);
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseContentDelta",
-                                                                         String.class, BedrockParameters.class,
-                                                                         java.io.PipedOutputStream.class,
-                                                                         java.util.concurrent.atomic.AtomicBoolean.class,
-                                                                         String.class);
+                                                                         RingBufferOutputStream.class, String.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
-    java.util.concurrent.atomic.AtomicBoolean sessionStartSent = new java.util.concurrent.atomic.AtomicBoolean(false);
-    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
 
-    m.invoke(service, "test prompt", params, outputStream, sessionStartSent, "Hello chunk");
+    m.invoke(service, outputStream, "Hello chunk");
     outputStream.close();
 
     byte[] buf = new byte[4096];
     int total = inputStream.read(buf);
     String content = new String(buf, 0, total, java.nio.charset.StandardCharsets.UTF_8);
 
-    assertThat(content).contains("session-start");
-    assertThat(content).contains("chunk");
-    assertThat(sessionStartSent.get()).isTrue();
+    assertThat(content).doesNotContain("session-start");
+    assertThat(content).contains("chunk").contains("Hello chunk");
     inputStream.close();
   }
 
   @Test
-  @DisplayName("handleConverseContentDelta skips session start if already sent")
-  void handleConverseContentDeltaSkipsSessionStartIfAlreadySent() throws Exception {
+  @DisplayName("handleConverseContentDelta drops the chunk when the consumer has closed the stream")
+  void handleConverseContentDeltaDropsChunkAfterConsumerClose() throws Exception {
     BedrockConfiguration config = mock(BedrockConfiguration.class);
     BedrockConnection connection = mock(BedrockConnection.class);
     ChatServiceImpl service = new ChatServiceImpl(config, connection);
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseContentDelta",
-                                                                         String.class, BedrockParameters.class,
-                                                                         java.io.PipedOutputStream.class,
-                                                                         java.util.concurrent.atomic.AtomicBoolean.class,
-                                                                         String.class);
+                                                                         RingBufferOutputStream.class, String.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
-    java.util.concurrent.atomic.AtomicBoolean sessionStartSent = new java.util.concurrent.atomic.AtomicBoolean(true);
-    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    outputStream.getInputStream().close();
 
-    m.invoke(service, "test prompt", params, outputStream, sessionStartSent, "Second chunk");
-    outputStream.close();
+    m.invoke(service, outputStream, "Second chunk");
+
+    assertThat(outputStream.isConsumerClosed()).isTrue();
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming writes session-start from the scheduler task before the request is sent")
+  void answerPromptStreamingWritesSessionStartBeforeRequest() throws Exception {
+    BedrockConfiguration config = streamingConfig();
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), any(ConverseStreamResponseHandler.class)))
+        .thenReturn(new CompletableFuture<>());
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    InputStream stream = new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params);
 
     byte[] buf = new byte[4096];
-    int total = inputStream.read(buf);
-    String content = new String(buf, 0, total, java.nio.charset.StandardCharsets.UTF_8);
+    String content = new String(buf, 0, stream.read(buf), java.nio.charset.StandardCharsets.UTF_8);
+    assertThat(content).contains("event: session-start").contains("\"prompt\":\"Hi\"");
+    stream.close();
+  }
 
-    assertThat(content).doesNotContain("session-start");
-    assertThat(content).contains("chunk");
-    inputStream.close();
+  @Test
+  @DisplayName("answerPromptStreaming writes the measured timings in a first-token event after the first delta")
+  void answerPromptStreamingWritesFirstTokenTimings() throws Exception {
+    BedrockConfiguration config = streamingConfig();
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    org.mockito.ArgumentCaptor<ConverseStreamResponseHandler> handler =
+        org.mockito.ArgumentCaptor.forClass(ConverseStreamResponseHandler.class);
+    when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), handler.capture()))
+        .thenReturn(new CompletableFuture<>());
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    InputStream stream = new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params);
+    java.util.concurrent.atomic.AtomicReference<Subscriber<? super ConverseStreamOutput>> subscriber =
+        new java.util.concurrent.atomic.AtomicReference<>();
+
+    Thread.sleep(20);
+    handler.getValue().responseReceived(ConverseStreamResponse.builder().build());
+    handler.getValue().onEventStream(s -> {
+      subscriber.set(s);
+      s.onSubscribe(mock(Subscription.class));
+    });
+    Thread.sleep(20);
+    subscriber.get().onNext(ConverseStreamOutput.contentBlockDeltaBuilder().delta(ContentBlockDelta.fromText("Hello")).build());
+    subscriber.get().onNext(ConverseStreamOutput.contentBlockDeltaBuilder().delta(ContentBlockDelta.fromText(" world")).build());
+    handler.getValue().complete();
+
+    String content = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+    assertThat(content.indexOf("Hello")).isLessThan(content.indexOf("event: first-token"));
+    assertThat(content.indexOf("event: first-token")).isLessThan(content.indexOf(" world"));
+    assertThat(content).containsOnlyOnce("event: first-token");
+    String data = content.substring(content.indexOf("event: first-token")).lines()
+        .filter(line -> line.startsWith("data: ")).findFirst().orElseThrow().substring("data: ".length());
+    org.json.JSONObject json = new org.json.JSONObject(data);
+    assertThat(json.getLong("timeToResponseMs")).isGreaterThanOrEqualTo(20);
+    assertThat(json.getLong("timeToFirstTokenMs")).isGreaterThanOrEqualTo(json.getLong("timeToResponseMs") + 20);
+  }
+
+  @Test
+  @DisplayName("answerPromptStreaming writes session-complete from the scheduler, not the SDK callback")
+  void answerPromptStreamingWritesCompletionOnScheduler() throws Exception {
+    BedrockConfiguration config = streamingConfig();
+    Scheduler scheduler = config.getChatStreamingScheduler();
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    org.mockito.ArgumentCaptor<ConverseStreamResponseHandler> handler =
+        org.mockito.ArgumentCaptor.forClass(ConverseStreamResponseHandler.class);
+    when(connection.answerPromptStreaming(any(ConverseStreamRequest.class), handler.capture()))
+        .thenReturn(new CompletableFuture<>());
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
+    InputStream stream = new ChatServiceImpl(config, connection).answerPromptStreaming("Hi", params);
+    java.util.List<Runnable> deferred = new java.util.ArrayList<>();
+    doAnswer(invocation -> {
+      deferred.add(invocation.getArgument(0));
+      return new CompletableFuture<>();
+    }).when(scheduler).submit(any(Runnable.class));
+
+    handler.getValue().complete();
+
+    assertThat(deferred).hasSize(1);
+    deferred.get(0).run();
+    String content = new String(stream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+    assertThat(content.indexOf("session-start")).isLessThan(content.indexOf("session-complete"));
   }
 
   @Test
@@ -432,13 +671,13 @@ class ChatServiceImplTest {
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseError",
                                                                          String.class, BedrockParameters.class,
-                                                                         java.io.PipedOutputStream.class,
+                                                                         RingBufferOutputStream.class,
                                                                          java.util.concurrent.atomic.AtomicBoolean.class,
                                                                          Throwable.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
     java.util.concurrent.atomic.AtomicBoolean sessionStartSent = new java.util.concurrent.atomic.AtomicBoolean(false);
     BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
 
@@ -464,13 +703,13 @@ class ChatServiceImplTest {
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseError",
                                                                          String.class, BedrockParameters.class,
-                                                                         java.io.PipedOutputStream.class,
+                                                                         RingBufferOutputStream.class,
                                                                          java.util.concurrent.atomic.AtomicBoolean.class,
                                                                          Throwable.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
     java.util.concurrent.atomic.AtomicBoolean sessionStartSent = new java.util.concurrent.atomic.AtomicBoolean(true);
     BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
 
@@ -494,15 +733,18 @@ class ChatServiceImplTest {
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseComplete",
                                                                          String.class, BedrockParameters.class,
-                                                                         java.io.PipedOutputStream.class,
-                                                                         long.class);
+                                                                         RingBufferOutputStream.class,
+                                                                         ConverseStreamTimings.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
     BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0.5f, 50);
 
-    m.invoke(service, "test prompt", params, outputStream, System.currentTimeMillis() - 1000);
+    ConverseStreamTimings timings = new ConverseStreamTimings();
+    timings.markResponse();
+    timings.markDelta();
+    m.invoke(service, "test prompt", params, outputStream, timings);
 
     byte[] buf = new byte[4096];
     int total = inputStream.read(buf);
@@ -511,11 +753,64 @@ class ChatServiceImplTest {
     assertThat(content).contains("session-complete");
     assertThat(content).contains("completed");
     assertThat(content).contains("total_duration_ms");
+    assertThat(content).contains("\"timeToFirstTokenMs\":").contains("\"totalDeltas\":1");
     inputStream.close();
   }
 
   @Test
-  @DisplayName("writeConverseSessionStart writes session start event")
+  @DisplayName("handleConverseMetadata writes usage, latency and stop reason and records metrics")
+  void handleConverseMetadataWritesMetadataEvent() throws Exception {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    BedrockConnection connection = mock(BedrockConnection.class);
+    ChatServiceImpl service = new ChatServiceImpl(config, connection);
+
+    java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseMetadata",
+                                                                         ConverseStreamMetadataEvent.class, String.class,
+                                                                         RingBufferOutputStream.class, long.class);
+    m.setAccessible(true);
+
+    ConverseStreamMetadataEvent metadata = ConverseStreamMetadataEvent.builder()
+        .usage(u -> u.inputTokens(12).outputTokens(40).totalTokens(52))
+        .metrics(mt -> mt.latencyMs(800L))
+        .build();
+    ConnectorMetrics metrics = ConnectorMetrics.get();
+    long outputTokensBefore = metrics.getCount("chat.streaming.output-tokens");
+    long serverLatencyBefore = metrics.histogram("chat.streaming.server-latency").getCount();
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
+
+    m.invoke(service, metadata, "end_turn", outputStream, 1000L);
+    outputStream.close();
+
+    String content = new String(inputStream.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+    String data = content.substring(content.indexOf("data: ") + "data: ".length()).trim();
+    org.json.JSONObject json = new org.json.JSONObject(data);
+    assertThat(content).contains("event: metadata");
+    assertThat(json.getString("stopReason")).isEqualTo("end_turn");
+    assertThat(json.getLong("latencyMs")).isEqualTo(800L);
+    assertThat(json.getLong("clientLatencyMs")).isEqualTo(1000L);
+    assertThat(json.getJSONObject("usage").getInt("outputTokens")).isEqualTo(40);
+    assertThat(metrics.getCount("chat.streaming.output-tokens") - outputTokensBefore).isEqualTo(40);
+    assertThat(metrics.histogram("chat.streaming.server-latency").getCount()).isEqualTo(serverLatencyBefore + 1);
+  }
+
+  @Test
+  @DisplayName("handleConverseMetadata writes nothing when the stream carried no metadata")
+  void handleConverseMetadataWithoutMetadata() throws Exception {
+    ChatServiceImpl service = new ChatServiceImpl(mock(BedrockConfiguration.class), mock(BedrockConnection.class));
+    java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("handleConverseMetadata",
+                                                                         ConverseStreamMetadataEvent.class, String.class,
+                                                                         RingBufferOutputStream.class, long.class);
+    m.setAccessible(true);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+
+    m.invoke(service, null, null, outputStream, 10L);
+
+    assertThat(outputStream.getInputStream().available()).isZero();
+  }
+
+  @Test
+  @DisplayName("writeConverseSessionStart writes session start event without timings")
   void writeConverseSessionStartWritesEvent() throws Exception {
     BedrockConfiguration config = mock(BedrockConfiguration.class);
     BedrockConnection connection = mock(BedrockConnection.class);
@@ -523,11 +818,11 @@ class ChatServiceImplTest {
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("writeConverseSessionStart",
                                                                          String.class, String.class,
-                                                                         java.io.PipedOutputStream.class);
+                                                                         RingBufferOutputStream.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
 
     m.invoke(service, "test prompt", "amazon.nova-lite-v1:0", outputStream);
     outputStream.close();
@@ -539,6 +834,7 @@ class ChatServiceImplTest {
     assertThat(content).contains("session-start");
     assertThat(content).contains("test prompt");
     assertThat(content).contains("amazon.nova-lite-v1:0");
+    assertThat(content).doesNotContain("timeToFirstTokenMs").doesNotContain("timeToResponseMs");
     inputStream.close();
   }
 
@@ -551,11 +847,11 @@ class ChatServiceImplTest {
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("writeConverseChunkError",
                                                                          java.io.IOException.class,
-                                                                         java.io.PipedOutputStream.class);
+                                                                         RingBufferOutputStream.class);
     m.setAccessible(true);
 
-    java.io.PipedOutputStream outputStream = new java.io.PipedOutputStream();
-    java.io.PipedInputStream inputStream = new java.io.PipedInputStream(outputStream);
+    RingBufferOutputStream outputStream = new RingBufferOutputStream();
+    InputStream inputStream = outputStream.getInputStream();
 
     m.invoke(service, new java.io.IOException("chunk write error"), outputStream);
     outputStream.close();
@@ -727,7 +1023,7 @@ class ChatServiceImplTest {
     ChatServiceImpl service = new ChatServiceImpl(config, connection);
 
     java.lang.reflect.Method m = ChatServiceImpl.class.getDeclaredMethod("closeQuietly",
-                                                                         java.io.PipedOutputStream.class);
+                                                                         RingBufferOutputStream.class);
     m.setAccessible(true);
 
     // Test with null - should not throw
@@ -735,7 +1031,7 @@ class ChatServiceImplTest {
     assertThat(result1).isNull();
 
     // Test with already closed stream - should not throw
-    java.io.PipedOutputStream os = new java.io.PipedOutputStream();
+    RingBufferOutputStream os = new RingBufferOutputStream();
     os.close();
     Object result2 = m.invoke(service, os);
     assertThat(result2).isNull();
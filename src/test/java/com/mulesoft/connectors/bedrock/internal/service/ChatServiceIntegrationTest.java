@@ -1,15 +1,22 @@
 package com.mulesoft.connectors.bedrock.internal.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.mule.runtime.api.scheduler.Scheduler;
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
@@ -29,7 +36,14 @@ class ChatServiceIntegrationTest {
     AutomationCredentials creds = AutomationCredentials.load();
     Assumptions.assumeTrue(creds.isAvailable(), "automation-credentials.properties with config.* required");
     connection = BedrockConnectionTestHelper.createConnection(creds);
-    config = new BedrockConfiguration();
+    config = spy(new BedrockConfiguration());
+    // No Mule scheduler service outside the runtime: start streams on the calling thread
+    Scheduler scheduler = mock(Scheduler.class);
+    when(scheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return CompletableFuture.completedFuture(null);
+    });
+    doReturn(scheduler).when(config).getChatStreamingScheduler();
     try {
       connection.validate();
     } catch (Exception e) {
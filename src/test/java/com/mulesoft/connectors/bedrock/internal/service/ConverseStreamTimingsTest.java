@@ -0,0 +1,51 @@
+package com.mulesoft.connectors.bedrock.internal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConverseStreamTimings")
+class ConverseStreamTimingsTest {
+
+  @Test
+  @DisplayName("reports unset milestones as -1")
+  void unset() {
+    ConverseStreamTimings timings = new ConverseStreamTimings();
+
+    assertThat(timings.getTimeToResponseMs()).isEqualTo(-1);
+    assertThat(timings.getTimeToFirstTokenMs()).isEqualTo(-1);
+    assertThat(timings.getDeltaCount()).isZero();
+    assertThat(timings.getDeltasPerSecond()).isZero();
+  }
+
+  @Test
+  @DisplayName("records response and first token once, in order")
+  void milestones() throws InterruptedException {
+    ConverseStreamTimings timings = new ConverseStreamTimings();
+    Thread.sleep(5);
+    timings.markResponse();
+    Thread.sleep(5);
+
+    assertThat(timings.markDelta()).isTrue();
+    assertThat(timings.markDelta()).isFalse();
+    long timeToResponse = timings.getTimeToResponseMs();
+    timings.markResponse();
+
+    assertThat(timings.getTimeToResponseMs()).isEqualTo(timeToResponse).isGreaterThanOrEqualTo(5);
+    assertThat(timings.getTimeToFirstTokenMs()).isGreaterThanOrEqualTo(timeToResponse);
+    assertThat(timings.getElapsedMs()).isGreaterThanOrEqualTo(timings.getTimeToFirstTokenMs());
+    assertThat(timings.getDeltaCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("computes the delta rate after the first token")
+  void deltaRate() throws InterruptedException {
+    ConverseStreamTimings timings = new ConverseStreamTimings();
+    timings.markDelta();
+    Thread.sleep(20);
+    timings.markDelta();
+
+    assertThat(timings.getDeltasPerSecond()).isPositive().isLessThanOrEqualTo(50.0);
+  }
+}
@@ -149,6 +149,35 @@ class EmbeddingServiceImplTest {
     assertThat(result).isNotBlank();
   }
 
+  @Test
+  @DisplayName("embedText requests a normalized Titan v2 embedding of the given size and returns the vector")
+  void embedTextTitanV2() {
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.invokeModel(any(InvokeModelRequest.class)))
+        .thenReturn(InvokeModelResponse.builder()
+            .body(SdkBytes.fromUtf8String("{\"embedding\":[0.5,-0.25],\"inputTextTokenCount\":3}"))
+            .build());
+    EmbeddingServiceImpl service = new EmbeddingServiceImpl(mock(BedrockConfiguration.class), connection);
+
+    float[] vector = service.embedText("Hello", "amazon.titan-embed-text-v2:0", 256);
+
+    assertThat(vector).containsExactly(0.5f, -0.25f);
+    org.mockito.ArgumentCaptor<InvokeModelRequest> request = org.mockito.ArgumentCaptor.forClass(InvokeModelRequest.class);
+    verify(connection).invokeModel(request.capture());
+    org.json.JSONObject body = new org.json.JSONObject(request.getValue().body().asUtf8String());
+    assertThat(body.getInt("dimensions")).isEqualTo(256);
+    assertThat(body.getBoolean("normalize")).isTrue();
+  }
+
+  @Test
+  @DisplayName("embedText rejects models that are not Titan text embedding models")
+  void embedTextUnsupportedModel() {
+    EmbeddingServiceImpl service = new EmbeddingServiceImpl(mock(BedrockConfiguration.class), mock(BedrockConnection.class));
+
+    org.assertj.core.api.Assertions.assertThatThrownBy(() -> service.embedText("Hello", "cohere.embed-english-v3", 256))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test
   @DisplayName("invokeAdhocRAG throws when file does not exist")
   void invokeAdhocRAGInvalidFileThrows() throws Exception {
@@ -3,11 +3,15 @@ package com.mulesoft.connectors.bedrock.internal.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.mule.runtime.extension.api.exception.ModuleException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import com.mulesoft.connectors.bedrock.internal.cache.InMemoryResponseCacheStore;
+import com.mulesoft.connectors.bedrock.internal.cache.ResponseCache;
 import com.mulesoft.connectors.bedrock.internal.parameter.BedrockParameters;
 import com.mulesoft.connectors.bedrock.internal.config.BedrockConfiguration;
 import com.mulesoft.connectors.bedrock.internal.connection.BedrockConnection;
@@ -68,4 +72,24 @@ class SentimentServiceImplTest {
     assertThat(result).isNotBlank();
     assertThat(result).contains("output");
   }
+
+  @Test
+  @DisplayName("extractSentiments returns a cached response without calling Bedrock again")
+  void extractSentimentsUsesResponseCache() {
+    BedrockConfiguration config = mock(BedrockConfiguration.class);
+    when(config.getResponseCache()).thenReturn(new ResponseCache(new InMemoryResponseCacheStore(10), 60_000));
+    BedrockConnection connection = mock(BedrockConnection.class);
+    when(connection.getRegion()).thenReturn("us-east-1");
+    String responseBody = "{\"output\":{\"text\":\"{\\\"Sentiment\\\":\\\"POSITIVE\\\",\\\"IsPositive\\\":true}\"}}";
+    when(connection.answerPrompt(any(InvokeModelRequest.class)))
+        .thenReturn(InvokeModelResponse.builder().body(SdkBytes.fromUtf8String(responseBody)).build());
+
+    BedrockParameters params = IntegrationTestParamHelper.bedrockParams("amazon.nova-lite-v1:0", 0f, 50);
+    SentimentServiceImpl service = new SentimentServiceImpl(config, connection);
+    String first = service.extractSentiments("I love this product!", params);
+    String second = service.extractSentiments("I love this product!", params);
+
+    assertThat(second).isEqualTo(first).contains("POSITIVE");
+    verify(connection, times(1)).answerPrompt(any(InvokeModelRequest.class));
+  }
 }
@@ -0,0 +1,208 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+@DisplayName("BoundedDemandSubscriber")
+class BoundedDemandSubscriberTest {
+
+  private static final int EVENTS = 1000;
+  private static final int EVENT_SIZE = 100;
+
+  /** Stands in for the SDK's event-loop thread, shared by all streams. */
+  private final ExecutorService eventLoop = Executors.newSingleThreadExecutor();
+  private final ExecutorService resumeExecutor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() {
+    eventLoop.shutdownNow();
+    resumeExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("a stalled consumer does not block the event loop or delay other streams")
+  void stalledConsumerIsolated() throws Exception {
+    RingBufferOutputStream stalledOut = new RingBufferOutputStream(1024);
+    LoopPublisher stalledPublisher = new LoopPublisher(EVENTS);
+    BoundedDemandSubscriber<byte[]> stalled = subscriber(stalledOut);
+    stalledPublisher.subscribe(stalled);
+
+    RingBufferOutputStream activeOut = new RingBufferOutputStream(1024);
+    BoundedDemandSubscriber<byte[]> active = subscriber(activeOut);
+    CompletableFuture<Long> activeRead = CompletableFuture.supplyAsync(() -> drain(activeOut.getInputStream()));
+    new LoopPublisher(EVENTS).subscribe(active);
+
+    active.completion().get(5, TimeUnit.SECONDS);
+    activeOut.close();
+    assertThat(activeRead.get(5, TimeUnit.SECONDS)).isEqualTo((long) EVENTS * EVENT_SIZE);
+    eventLoop.submit(() -> {
+    }).get(1, TimeUnit.SECONDS);
+    assertThat(stalled.completion()).isNotDone();
+    assertThat(stalledPublisher.delivered.get() * EVENT_SIZE).isLessThanOrEqualTo(stalledOut.getCapacity());
+
+    // Once its consumer catches up, the stalled stream resumes and completes
+    CompletableFuture<Long> stalledRead = CompletableFuture.supplyAsync(() -> drain(stalledOut.getInputStream()));
+    stalled.completion().get(5, TimeUnit.SECONDS);
+    stalledOut.close();
+    assertThat(stalledRead.get(5, TimeUnit.SECONDS)).isEqualTo((long) EVENTS * EVENT_SIZE);
+  }
+
+  @Test
+  @DisplayName("requests batches that fit in the free space of the buffer")
+  void batchFitsFreeSpace() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(1024);
+    out.write(new byte[1024 - 300]);
+    Subscription subscription = mock(Subscription.class);
+
+    new BoundedDemandSubscriber<byte[]>(out, 16, 128, Runnable::run, event -> {
+    }).onSubscribe(subscription);
+
+    verify(subscription).request(2);
+  }
+
+  @Test
+  @DisplayName("an event larger than its reservation overflows without waiting and pauses demand until the reader catches up")
+  void oversizedEventPausesDemand() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(1024, 0, Runnable::run);
+    Subscription subscription = mock(Subscription.class);
+    BoundedDemandSubscriber<byte[]> subscriber = subscriber(out);
+    subscriber.onSubscribe(subscription);
+    verify(subscription).request(4);
+
+    // Nobody reads while the batch delivers far more than the 4 * 128 bytes reserved for it
+    for (int i = 0; i < 4; i++) {
+      subscriber.onNext(new byte[600]);
+    }
+    assertThat(out.getFreeSpace()).isZero();
+    verify(subscription, times(1)).request(anyLong());
+
+    InputStream in = out.getInputStream();
+    byte[] buf = new byte[256];
+    int total = 0;
+    while (total < 4 * 600) {
+      total += in.read(buf);
+    }
+    verify(subscription, timeout(5000).times(2)).request(4);
+  }
+
+  @Test
+  @DisplayName("cancelling the completion future cancels the subscription")
+  void cancelCompletion() {
+    Subscription subscription = mock(Subscription.class);
+    BoundedDemandSubscriber<byte[]> subscriber = subscriber(new RingBufferOutputStream(1024));
+    subscriber.onSubscribe(subscription);
+
+    subscriber.completion().cancel(true);
+
+    verify(subscription).cancel();
+  }
+
+  @Test
+  @DisplayName("a failing event handler cancels the subscription and fails the completion future")
+  void handlerFailure() {
+    Subscription subscription = mock(Subscription.class);
+    BoundedDemandSubscriber<byte[]> subscriber =
+        new BoundedDemandSubscriber<>(new RingBufferOutputStream(1024), Runnable::run, event -> {
+          throw new IllegalStateException("boom");
+        });
+    subscriber.onSubscribe(subscription);
+
+    subscriber.onNext(new byte[1]);
+
+    verify(subscription).cancel();
+    assertThatThrownBy(() -> subscriber.completion().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  private BoundedDemandSubscriber<byte[]> subscriber(RingBufferOutputStream out) {
+    return new BoundedDemandSubscriber<>(out, 4, 128, resumeExecutor, event -> {
+      try {
+        out.write(event);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private static long drain(InputStream in) {
+    byte[] buf = new byte[256];
+    long total = 0;
+    int n;
+    try {
+      while ((n = in.read(buf)) != -1) {
+        total += n;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return total;
+  }
+
+  /**
+   * Publishes a fixed number of events on the shared event loop, never more than requested, like the SDK's event stream.
+   */
+  private final class LoopPublisher implements Publisher<byte[]> {
+
+    private final int count;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger delivered = new AtomicInteger();
+    private volatile boolean cancelled;
+    private boolean completed;
+
+    LoopPublisher(int count) {
+      this.count = count;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super byte[]> subscriber) {
+      eventLoop.execute(() -> subscriber.onSubscribe(new Subscription() {
+
+        @Override
+        public void request(long n) {
+          demand.addAndGet(n);
+          eventLoop.execute(() -> deliver(subscriber));
+        }
+
+        @Override
+        public void cancel() {
+          cancelled = true;
+        }
+      }));
+    }
+
+    private void deliver(Subscriber<? super byte[]> subscriber) {
+      while (!cancelled && demand.get() > 0 && delivered.get() < count) {
+        demand.decrementAndGet();
+        delivered.incrementAndGet();
+        subscriber.onNext(new byte[EVENT_SIZE]);
+      }
+      if (!cancelled && !completed && delivered.get() == count) {
+        completed = true;
+        subscriber.onComplete();
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@DisplayName("ChunkCoalescer")
+class ChunkCoalescerTest {
+
+  private final List<String> events = new ArrayList<>();
+  private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+  private final ScheduledFuture<?> scheduledFuture = mock(ScheduledFuture.class);
+
+  @BeforeEach
+  void setUp() {
+    doReturn(scheduledFuture).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  @DisplayName("emits the first delta immediately and merges the following ones")
+  void firstDeltaImmediate() {
+    ChunkCoalescer coalescer = new ChunkCoalescer(10_000, 1024, scheduler, events::add);
+
+    coalescer.add("Hel");
+    assertThat(events).containsExactly("Hel");
+
+    coalescer.add("lo");
+    coalescer.add(" world");
+    assertThat(events).containsExactly("Hel");
+    assertThat(coalescer.getPendingLength()).isEqualTo(8);
+
+    coalescer.flush();
+    assertThat(events).containsExactly("Hel", "lo world");
+    verify(scheduledFuture).cancel(false);
+  }
+
+  @Test
+  @DisplayName("emits when the held text reaches the size threshold")
+  void sizeThreshold() {
+    ChunkCoalescer coalescer = new ChunkCoalescer(10_000, 4, scheduler, events::add);
+
+    coalescer.add("a");
+    coalescer.add("bc");
+    coalescer.add("de");
+
+    assertThat(events).containsExactly("a", "bcde");
+  }
+
+  @Test
+  @DisplayName("emits held text when the window elapses without further deltas")
+  void windowElapses() {
+    ChunkCoalescer coalescer = new ChunkCoalescer(10_000, 1024, scheduler, events::add);
+    coalescer.add("a");
+    coalescer.add("b");
+
+    ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(timer.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+    timer.getValue().run();
+
+    assertThat(events).containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("emits a delta right away when the previous event is older than the window")
+  void idleStream() throws InterruptedException {
+    ChunkCoalescer coalescer = new ChunkCoalescer(1, 1024, scheduler, events::add);
+    coalescer.add("a");
+    Thread.sleep(5);
+
+    coalescer.add("b");
+
+    assertThat(events).containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("close emits held text and ignores later deltas and timers")
+  void close() {
+    ChunkCoalescer coalescer = new ChunkCoalescer(10_000, 1024, scheduler, events::add);
+    coalescer.add("a");
+    coalescer.add("b");
+    ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(timer.capture(), anyLong(), any(TimeUnit.class));
+
+    coalescer.close();
+    coalescer.add("c");
+    timer.getValue().run();
+
+    assertThat(events).containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("does not hold text when the scheduler rejects the timer")
+  void schedulerRejects() {
+    when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+        .thenThrow(new RejectedExecutionException("stopped"));
+    ChunkCoalescer coalescer = new ChunkCoalescer(10_000, 1024, scheduler, events::add);
+
+    coalescer.add("a");
+    coalescer.add("b");
+
+    assertThat(events).containsExactly("a", "b");
+  }
+
+  @Test
+  @DisplayName("rejects a non-positive window")
+  void invalidWindow() {
+    assertThatThrownBy(() -> new ChunkCoalescer(0, 1024, scheduler, events::add))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
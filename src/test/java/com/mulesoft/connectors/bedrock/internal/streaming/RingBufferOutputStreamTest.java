@@ -0,0 +1,373 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RingBufferOutputStream")
+class RingBufferOutputStreamTest {
+
+  @Test
+  @DisplayName("rounds capacity up to a power of two")
+  void capacity() {
+    assertThat(new RingBufferOutputStream(100).getCapacity()).isEqualTo(128);
+    assertThat(new RingBufferOutputStream().getCapacity()).isEqualTo(RingBufferOutputStream.DEFAULT_CAPACITY);
+    assertThatThrownBy(() -> new RingBufferOutputStream(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("delivers written bytes and then end of stream after close")
+  void roundTrip() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    InputStream in = out.getInputStream();
+
+    out.write("hello".getBytes(StandardCharsets.UTF_8));
+    out.write('!');
+    assertThat(in.available()).isEqualTo(6);
+    out.close();
+
+    assertThat(readAll(in)).isEqualTo("hello!");
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("wraps around the buffer while the reader keeps up")
+  void wrapAround() throws Exception {
+    RingBufferOutputStream out = new RingBufferOutputStream(8);
+    InputStream in = out.getInputStream();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      expected.append("chunk-").append(i).append('\n');
+    }
+
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      try {
+        out.write(expected.toString().getBytes(StandardCharsets.UTF_8));
+        out.close();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    assertThat(readAll(in)).isEqualTo(expected.toString());
+    writer.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  @DisplayName("a full buffer blocks the writer until the reader drains it")
+  void blocksWhenFull() throws Exception {
+    RingBufferOutputStream out = new RingBufferOutputStream(4);
+    InputStream in = out.getInputStream();
+    out.write(new byte[] {1, 2, 3, 4});
+
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      try {
+        out.write(5);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThat(writer).isNotDone();
+
+    assertThat(in.read()).isEqualTo(1);
+    writer.get(5, TimeUnit.SECONDS);
+    assertThat(in.available()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("fail delivers buffered bytes before surfacing the error")
+  void failAfterData() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    InputStream in = out.getInputStream();
+    out.write("abc".getBytes(StandardCharsets.UTF_8));
+    out.fail(new IllegalStateException("upstream failed"));
+
+    byte[] buf = new byte[16];
+    assertThat(in.read(buf, 0, buf.length)).isEqualTo(3);
+    assertThatThrownBy(in::read).isInstanceOf(IOException.class).hasMessage("upstream failed");
+    assertThatThrownBy(() -> out.write(1)).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  @DisplayName("closing the reader fails writes and notifies the listener once")
+  void consumerClose() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    InputStream in = out.getInputStream();
+    AtomicInteger notified = new AtomicInteger();
+    out.onConsumerClose(notified::incrementAndGet);
+
+    in.close();
+    in.close();
+
+    assertThat(out.isConsumerClosed()).isTrue();
+    assertThat(notified).hasValue(1);
+    assertThatThrownBy(() -> out.write(1)).isInstanceOf(RingBufferOutputStream.ConsumerClosedException.class);
+    assertThatThrownBy(out::flush).isInstanceOf(RingBufferOutputStream.ConsumerClosedException.class);
+  }
+
+  @Test
+  @DisplayName("closing the reader wakes a writer blocked on a full buffer")
+  void consumerCloseWakesWriter() throws Exception {
+    RingBufferOutputStream out = new RingBufferOutputStream(2);
+    InputStream in = out.getInputStream();
+    out.write(new byte[] {1, 2});
+
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      try {
+        out.write(3);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    in.close();
+
+    assertThatThrownBy(() -> writer.get(5, TimeUnit.SECONDS))
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasRootCauseInstanceOf(RingBufferOutputStream.ConsumerClosedException.class);
+  }
+
+  @Test
+  @DisplayName("a listener registered after the reader closed runs immediately")
+  void lateListener() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    out.getInputStream().close();
+    AtomicInteger notified = new AtomicInteger();
+
+    out.onConsumerClose(notified::incrementAndGet);
+
+    assertThat(notified).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("the space listener runs once the reader has freed enough bytes")
+  void spaceListener() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    InputStream in = out.getInputStream();
+    out.write(new byte[14]);
+    assertThat(out.getFreeSpace()).isEqualTo(2);
+    AtomicInteger notified = new AtomicInteger();
+
+    out.onSpaceAvailable(8, notified::incrementAndGet);
+    in.read(new byte[4]);
+    assertThat(notified).hasValue(0);
+    in.read(new byte[4]);
+    assertThat(notified).hasValue(1);
+    in.read(new byte[4]);
+    assertThat(notified).hasValue(1);
+
+    out.onSpaceAvailable(8, notified::incrementAndGet);
+    assertThat(notified).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("closing the reader runs a pending space listener")
+  void spaceListenerOnConsumerClose() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream(16);
+    out.write(new byte[16]);
+    AtomicInteger notified = new AtomicInteger();
+    out.onSpaceAvailable(8, notified::incrementAndGet);
+
+    out.getInputStream().close();
+
+    assertThat(notified).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("spills writes that do not fit to disk and returns them in order without blocking the writer")
+  void spillsToDisk() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(8, 1024, Runnable::run);
+    InputStream in = out.getInputStream();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 40; i++) {
+      String event = "e" + i + ";";
+      expected.append(event);
+      out.write(event.getBytes(StandardCharsets.UTF_8));
+    }
+    // "e0;e1;" fit in the buffer, everything from "e2;" on is spilled
+    assertThat(in.available()).isEqualTo(6);
+    assertThat(out.getFreeSpace()).isEqualTo(1024 - (expected.length() - 6));
+    out.close();
+
+    assertThat(readAll(in)).isEqualTo(expected.toString());
+  }
+
+  @Test
+  @DisplayName("writes to the buffer again once the reader has drained the spill file")
+  void reusesBufferAfterSpill() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(4, 64, Runnable::run);
+    InputStream in = out.getInputStream();
+    out.write("abcdef".getBytes(StandardCharsets.UTF_8));
+    assertThat(out.getFreeSpace()).isEqualTo(58);
+
+    byte[] buf = new byte[16];
+    assertThat(in.read(buf, 0, buf.length)).isEqualTo(6);
+    assertThat(out.getFreeSpace()).isEqualTo(4 + 64);
+
+    out.write("gh".getBytes(StandardCharsets.UTF_8));
+    assertThat(in.available()).isEqualTo(2);
+    out.close();
+    assertThat(readAll(in)).isEqualTo("gh");
+  }
+
+  @Test
+  @DisplayName("keeps writes on the heap without blocking once the spill file is full, reporting no free space until drained")
+  void overflowsToHeapWhenSpillFull() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(4, 4, Runnable::run);
+    InputStream in = out.getInputStream();
+    out.write(new byte[] {1, 2, 3, 4});
+    out.write(new byte[] {5, 6, 7, 8});
+    out.write(9);
+    out.write(new byte[] {10, 11});
+    assertThat(out.getFreeSpace()).isZero();
+
+    byte[] buf = new byte[8];
+    assertThat(in.read(buf, 0, buf.length)).isEqualTo(4);
+    assertThat(in.read(buf, 0, buf.length)).isEqualTo(4);
+    assertThat(out.getFreeSpace()).isZero();
+    assertThat(in.read(buf, 0, buf.length)).isEqualTo(3);
+    assertThat(out.getFreeSpace()).isEqualTo(4 + 4);
+
+    out.close();
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("a non-blocking stream without spill keeps a write larger than the buffer on the heap")
+  void oversizedWriteWithoutSpill() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(4, 0, Runnable::run);
+    InputStream in = out.getInputStream();
+    out.write("ab".getBytes(StandardCharsets.UTF_8));
+    out.write("cdefghij".getBytes(StandardCharsets.UTF_8));
+    out.write("k".getBytes(StandardCharsets.UTF_8));
+    assertThat(out.getFreeSpace()).isZero();
+    assertThat(in.available()).isEqualTo(2);
+    out.close();
+
+    assertThat(readAll(in)).isEqualTo("abcdefghijk");
+  }
+
+  @Test
+  @DisplayName("keeps the bytes intact when a fast writer spills while the reader catches up")
+  void spillsConcurrently() throws Exception {
+    ExecutorService spillExecutor = Executors.newSingleThreadExecutor();
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(64, 2048, spillExecutor);
+    InputStream in = out.getInputStream();
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      expected.append("chunk-").append(i).append('\n');
+    }
+
+    CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < 2000; i++) {
+          out.write(("chunk-" + i + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        out.close();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    try {
+      assertThat(readAll(in)).isEqualTo(expected.toString());
+      writer.get(5, TimeUnit.SECONDS);
+    } finally {
+      spillExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("closing the reader discards spilled bytes and fails later writes")
+  void consumerCloseWhileSpilled() throws IOException {
+    RingBufferOutputStream out = RingBufferOutputStream.nonBlocking(4, 64, Runnable::run);
+    out.write(new byte[16]);
+
+    out.getInputStream().close();
+
+    assertThatThrownBy(() -> out.write(new byte[8])).isInstanceOf(RingBufferOutputStream.ConsumerClosedException.class);
+  }
+
+  @Test
+  @DisplayName("a stalled spill does not hold up another stream written from the same thread")
+  void stalledSpillDoesNotDelayOtherStreams() throws Exception {
+    CountDownLatch diskStalled = new CountDownLatch(1);
+    ExecutorService spillThread = Executors.newSingleThreadExecutor();
+    Executor stalledDisk = task -> spillThread.execute(() -> {
+      try {
+        diskStalled.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      task.run();
+    });
+    ExecutorService eventLoop = Executors.newSingleThreadExecutor();
+    RingBufferOutputStream spilling = RingBufferOutputStream.nonBlocking(4, 1024, stalledDisk);
+    RingBufferOutputStream other = RingBufferOutputStream.nonBlocking(64, 1024, stalledDisk);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      expected.append("e").append(i).append(';');
+    }
+    try {
+      eventLoop.submit(() -> {
+        for (int i = 0; i < 50; i++) {
+          spilling.write(("e" + i + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        other.write("hello".getBytes(StandardCharsets.UTF_8));
+        return null;
+      }).get(5, TimeUnit.SECONDS);
+
+      // The writer returned while the spill was stalled; the other stream's bytes are already readable
+      byte[] buf = new byte[16];
+      assertThat(new String(buf, 0, other.getInputStream().read(buf), StandardCharsets.UTF_8)).isEqualTo("hello");
+      // "e0;" is in the buffer; the rest waits on the heap for the spill file, whose room it already takes up
+      assertThat(spilling.getFreeSpace()).isEqualTo(1024 - (expected.length() - 3));
+
+      diskStalled.countDown();
+      spilling.close();
+      assertThat(readAll(spilling.getInputStream())).isEqualTo(expected.toString());
+    } finally {
+      diskStalled.countDown();
+      eventLoop.shutdownNow();
+      spillThread.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("writeChunkEvent writes consecutive chunk events with the stream's encoder")
+  void writeChunkEvent() throws IOException {
+    RingBufferOutputStream out = new RingBufferOutputStream();
+    InputStream in = out.getInputStream();
+
+    out.writeChunkEvent(1, "Hello");
+    out.writeChunkEvent(2, " world");
+    out.close();
+
+    String written = readAll(in);
+    assertThat(written).startsWith("id: 1" + System.lineSeparator() + "event: chunk" + System.lineSeparator());
+    assertThat(written).contains("\"text\":\"Hello\"").contains("id: 2").contains("\"text\":\" world\"");
+    assertThat(written).endsWith(System.lineSeparator() + System.lineSeparator());
+  }
+
+  private static String readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream collected = new ByteArrayOutputStream();
+    byte[] buf = new byte[5];
+    int n;
+    while ((n = in.read(buf, 0, buf.length)) != -1) {
+      collected.write(buf, 0, n);
+    }
+    return new String(collected.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,82 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SpillFile")
+class SpillFileTest {
+
+  @Test
+  @DisplayName("wraps around its region while the reader keeps lagging, so the file never outgrows the limit")
+  void staysBoundedWhileReaderLags() throws Exception {
+    SpillFile spill = new SpillFile(16);
+    StringBuilder expected = new StringBuilder();
+    StringBuilder actual = new StringBuilder();
+    byte[] buf = new byte[5];
+    for (int i = 0; i < 200; i++) {
+      byte[] event = ("e" + (i % 10) + ";").getBytes(StandardCharsets.UTF_8);
+      assertThat(spill.write(event, 0, event.length)).isTrue();
+      spill.commit(event.length);
+      expected.append(new String(event, StandardCharsets.UTF_8));
+      // Read one byte less than was appended, so the file is never drained
+      int n = spill.read(buf, 0, 2);
+      actual.append(new String(buf, 0, n, StandardCharsets.UTF_8));
+      if (spill.remainingCapacity() < 3) {
+        n = spill.read(buf, 0, buf.length);
+        actual.append(new String(buf, 0, n, StandardCharsets.UTF_8));
+      }
+      assertThat(spill.isPending()).isTrue();
+    }
+    assertThat(channel(spill).size()).isLessThanOrEqualTo(16);
+
+    int n;
+    while ((n = spill.read(buf, 0, buf.length)) > 0) {
+      actual.append(new String(buf, 0, n, StandardCharsets.UTF_8));
+    }
+    assertThat(actual.toString()).isEqualTo(expected.toString());
+    assertThat(spill.isPending()).isFalse();
+    spill.close();
+  }
+
+  @Test
+  @DisplayName("refuses a write that does not fit in the remaining capacity")
+  void refusesWhenFull() throws IOException {
+    SpillFile spill = new SpillFile(8);
+    assertThat(spill.write(new byte[6], 0, 6)).isTrue();
+    spill.commit(6);
+
+    assertThat(spill.write(new byte[3], 0, 3)).isFalse();
+    assertThat(spill.unread()).isEqualTo(6);
+    assertThat(spill.remainingCapacity()).isEqualTo(2);
+    spill.close();
+  }
+
+  @Test
+  @DisplayName("keeps written bytes unreadable until they are committed")
+  void readsCommittedBytesOnly() throws IOException {
+    SpillFile spill = new SpillFile(8);
+    byte[] buf = new byte[8];
+    assertThat(spill.write("abc".getBytes(StandardCharsets.UTF_8), 0, 3)).isTrue();
+    assertThat(spill.isPending()).isFalse();
+    assertThat(spill.read(buf, 0, buf.length)).isZero();
+
+    // An uncommitted write is overwritten by the next one
+    assertThat(spill.write("xy".getBytes(StandardCharsets.UTF_8), 0, 2)).isTrue();
+    spill.commit(2);
+    assertThat(spill.read(buf, 0, buf.length)).isEqualTo(2);
+    assertThat(new String(buf, 0, 2, StandardCharsets.UTF_8)).isEqualTo("xy");
+    spill.close();
+  }
+
+  private static FileChannel channel(SpillFile spill) throws ReflectiveOperationException {
+    Field field = SpillFile.class.getDeclaredField("channel");
+    field.setAccessible(true);
+    return (FileChannel) field.get(spill);
+  }
+}
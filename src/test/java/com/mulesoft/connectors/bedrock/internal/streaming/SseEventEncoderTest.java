@@ -0,0 +1,91 @@
+package com.mulesoft.connectors.bedrock.internal.streaming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SseEventEncoder")
+class SseEventEncoderTest {
+
+  private final SseEventEncoder encoder = new SseEventEncoder();
+
+  @Test
+  @DisplayName("formats events exactly like the previous String.format encoding")
+  void matchesLegacyFormat() {
+    String data = "{\"status\":\"started\",\"prompt\":\"h\u00e9llo \ud83d\ude00\"}";
+
+    String event = encoder.formatEvent(42, "session-start", data);
+
+    assertThat(event).isEqualTo(String.format("id: %d%nevent: %s%ndata: %s%n%n", 42, "session-start", data));
+  }
+
+  @Test
+  @DisplayName("chunk events serialize the text like JSONObject")
+  void chunkMatchesJsonObject() {
+    String text = "quote \" backslash \\ </script> tab\t newline\n ctrl\u0001 c1\u0085 sep\u2028 \u00e9 \ud83d\ude00";
+
+    String event = encoder.formatChunkEvent(7, text);
+
+    String data = dataOf(event);
+    String timestamp = new JSONObject(data).getString("timestamp");
+    JSONObject expected = new JSONObject();
+    expected.put("type", "chunk");
+    expected.put("timestamp", timestamp);
+    expected.put("text", text);
+    assertThat(event).isEqualTo(String.format("id: %d%nevent: %s%ndata: %s%n%n", 7, "chunk", expected.toString()));
+  }
+
+  @Test
+  @DisplayName("writes the encoded event to the stream in one piece")
+  void writesToStream() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    encoder.writeChunkEvent(out, 3, "Hello");
+    encoder.writeEvent(out, 4, "session-complete", "{}");
+
+    String written = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(written).startsWith("id: 3" + System.lineSeparator() + "event: chunk" + System.lineSeparator());
+    assertThat(written).contains("\"text\":\"Hello\"");
+    assertThat(written).endsWith(String.format("id: 4%nevent: session-complete%ndata: {}%n%n"));
+  }
+
+  @Test
+  @DisplayName("reuses the buffer after an oversized event")
+  void oversizedEvent() {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      large.append('x');
+    }
+
+    assertThat(dataOf(encoder.formatChunkEvent(1, large.toString()))).contains(large);
+    assertThat(encoder.formatEvent(2, "e", "{}")).isEqualTo(String.format("id: 2%nevent: e%ndata: {}%n%n"));
+  }
+
+  @Test
+  @DisplayName("timestamp is an ISO-8601 instant close to now")
+  void timestamp() {
+    Instant before = Instant.now().minusMillis(1);
+
+    Instant parsed = Instant.parse(SseEventEncoder.timestamp());
+
+    assertThat(parsed).isBetween(before, Instant.now().plusMillis(1));
+  }
+
+  @Test
+  @DisplayName("format encodes an event with a one-off encoder")
+  void format() {
+    assertThat(SseEventEncoder.format(5, "metadata", "{\"a\":1}"))
+        .isEqualTo(String.format("id: 5%nevent: metadata%ndata: {\"a\":1}%n%n"));
+  }
+
+  private static String dataOf(String event) {
+    int start = event.indexOf("data: ") + "data: ".length();
+    return event.substring(start, event.length() - 2 * System.lineSeparator().length());
+  }
+}
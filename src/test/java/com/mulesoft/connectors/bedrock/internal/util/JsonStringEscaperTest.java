@@ -0,0 +1,39 @@
+package com.mulesoft.connectors.bedrock.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JsonStringEscaper")
+class JsonStringEscaperTest {
+
+  @Test
+  @DisplayName("quotes every char like JSONObject.quote, alone and after '<'")
+  void matchesJsonObjectForEveryChar() {
+    for (int c = 0; c <= Character.MAX_VALUE; c++) {
+      String alone = String.valueOf((char) c);
+      String afterLessThan = "<" + (char) c;
+
+      assertThat(quote(alone)).as("U+%04X", c).isEqualTo(JSONObject.quote(alone));
+      assertThat(quote(afterLessThan)).as("< U+%04X", c).isEqualTo(JSONObject.quote(afterLessThan));
+    }
+  }
+
+  @Test
+  @DisplayName("quotes only the given range of the value")
+  void quotesRange() {
+    StringBuilder out = new StringBuilder("x=");
+
+    JsonStringEscaper.quote(out, "ab\"c</d", 1, 6);
+
+    assertThat(out).hasToString("x=\"b\\\"c<\\/\"");
+  }
+
+  private static String quote(String value) {
+    StringBuilder out = new StringBuilder();
+    JsonStringEscaper.quote(out, value, 0, value.length());
+    return out.toString();
+  }
+}
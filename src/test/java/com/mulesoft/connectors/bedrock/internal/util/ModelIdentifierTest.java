@@ -109,6 +109,38 @@ class ModelIdentifierTest {
     }
   }
 
+  @Nested
+  @DisplayName("rebuildInferenceProfileArnForRegion")
+  class RebuildInferenceProfileArnForRegion {
+
+    @Test
+    @DisplayName("re-derives region and geo prefix for the target region")
+    void rebuildsForRegion() {
+      String arn = ModelIdentifier.rebuildInferenceProfileArnForRegion(
+                                                                      "arn:aws:bedrock:us-east-1:123456789:inference-profile/us.anthropic.claude-3",
+                                                                      "eu-west-1");
+      assertThat(arn).isEqualTo("arn:aws:bedrock:eu-west-1:123456789:inference-profile/eu.anthropic.claude-3");
+    }
+
+    @Test
+    @DisplayName("keeps the global. profile and only changes the region")
+    void keepsGlobalProfile() {
+      String arn = ModelIdentifier.rebuildInferenceProfileArnForRegion(
+                                                                      "arn:aws:bedrock:us-east-1:123456789:inference-profile/global.anthropic.claude-opus-4-7-20260101-v1:0",
+                                                                      "eu-west-1");
+      assertThat(arn)
+          .isEqualTo("arn:aws:bedrock:eu-west-1:123456789:inference-profile/global.anthropic.claude-opus-4-7-20260101-v1:0");
+    }
+
+    @Test
+    @DisplayName("returns plain model IDs unchanged")
+    void returnsPlainModelIdUnchanged() {
+      assertThat(ModelIdentifier.rebuildInferenceProfileArnForRegion("amazon.titan-text-express-v1", "eu-west-1"))
+          .isEqualTo("amazon.titan-text-express-v1");
+      assertThat(ModelIdentifier.rebuildInferenceProfileArnForRegion(null, "eu-west-1")).isNull();
+    }
+  }
+
   @Nested
   @DisplayName("resolveGeoPrefix")
   class ResolveGeoPrefix {
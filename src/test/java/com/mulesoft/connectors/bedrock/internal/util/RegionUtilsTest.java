@@ -205,4 +205,36 @@ class RegionUtilsTest {
       assertThat(builder.build()).isNotNull();
     }
   }
+
+  @Nested
+  @DisplayName("getFailoverRegions")
+  class GetFailoverRegions {
+
+    @Test
+    @DisplayName("returns empty map when not configured")
+    void emptyWhenNotConfigured() {
+      CommonParameters params = new CommonParameters();
+      params.setRegion("us-east-1");
+      assertThat(RegionUtils.getFailoverRegions(params)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("parses regions in order with optional endpoint overrides and skips the primary region")
+    void parsesRegions() {
+      CommonParameters params = new CommonParameters();
+      params.setRegion("us-east-1");
+      params.setFailoverRegions(" us-west-2, us-east-1 , eu_central_1=http://localhost:8081,");
+      assertThat(RegionUtils.getFailoverRegions(params))
+          .containsExactly(org.assertj.core.api.Assertions.entry("us-west-2", null),
+                           org.assertj.core.api.Assertions.entry("eu-central-1", "http://localhost:8081"));
+    }
+
+    @Test
+    @DisplayName("configures BedrockRuntimeClientBuilder for an explicit region and endpoint")
+    void configuresExplicitRegion() {
+      var builder = BedrockRuntimeClient.builder();
+      RegionUtils.configureRegionProperty(builder, "eu-west-1", "http://localhost:8081");
+      assertThat(builder.build()).isNotNull();
+    }
+  }
 }
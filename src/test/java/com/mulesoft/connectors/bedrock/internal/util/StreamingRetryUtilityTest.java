@@ -2,12 +2,24 @@ package com.mulesoft.connectors.bedrock.internal.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +27,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
 
@@ -642,4 +655,118 @@ class StreamingRetryUtilityTest {
       assertThat(result.isChunksReceived()).isTrue();
     }
   }
+
+  @Nested
+  @DisplayName("executeWithRetryAsync")
+  class ExecuteWithRetryAsync {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+    @Test
+    @DisplayName("schedules the next attempt after the backoff instead of sleeping")
+    void schedulesRetry() {
+      StreamingRetryUtility.RetryConfig config = new StreamingRetryUtility.RetryConfig(2, 100L, true);
+      List<CompletableFuture<Void>> attempts = new ArrayList<>();
+
+      CompletableFuture<StreamingRetryUtility.RetryResult> result =
+          StreamingRetryUtility.executeWithRetryAsync(() -> addAttempt(attempts), config, new AtomicBoolean(false), scheduler,
+                                                      "testAgent", "testSession", "testRequest");
+      attempts.get(0).completeExceptionally(new TimeoutException("timed out"));
+
+      assertThat(result).isNotDone();
+      runScheduled(100L);
+      attempts.get(1).completeExceptionally(new TimeoutException("timed out"));
+      runScheduled(200L);
+      attempts.get(2).complete(null);
+
+      assertThat(result.join().isSuccess()).isTrue();
+      assertThat(result.join().getAttemptsMade()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("does not retry once chunks were received")
+    void noRetryAfterChunks() {
+      StreamingRetryUtility.RetryConfig config = new StreamingRetryUtility.RetryConfig(2, 100L, true);
+      AtomicBoolean chunks = new AtomicBoolean(false);
+      List<CompletableFuture<Void>> attempts = new ArrayList<>();
+
+      CompletableFuture<StreamingRetryUtility.RetryResult> result =
+          StreamingRetryUtility.executeWithRetryAsync(() -> addAttempt(attempts), config, chunks, scheduler,
+                                                      "testAgent", "testSession", "testRequest");
+      chunks.set(true);
+      attempts.get(0).completeExceptionally(new TimeoutException("timed out"));
+
+      assertThat(result.join().isSuccess()).isFalse();
+      assertThat(result.join().isChunksReceived()).isTrue();
+      assertThat(result.join().getLastException()).isInstanceOf(TimeoutException.class);
+      verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("makes a single attempt when retry is disabled and reports an operation that fails to start")
+    void disabled() {
+      StreamingRetryUtility.RetryConfig config = new StreamingRetryUtility.RetryConfig(3, 100L, false);
+
+      CompletableFuture<StreamingRetryUtility.RetryResult> result =
+          StreamingRetryUtility.executeWithRetryAsync(() -> {
+            throw new IllegalStateException("not started");
+          }, config, new AtomicBoolean(false), scheduler, "testAgent", "testSession", "testRequest");
+
+      assertThat(result.join().isSuccess()).isFalse();
+      assertThat(result.join().getAttemptsMade()).isEqualTo(1);
+      assertThat(result.join().getLastException()).hasMessage("not started");
+      verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("makes no further attempt once the result is cancelled")
+    void cancelled() {
+      StreamingRetryUtility.RetryConfig config = new StreamingRetryUtility.RetryConfig(2, 100L, true);
+      List<CompletableFuture<Void>> attempts = new ArrayList<>();
+
+      CompletableFuture<StreamingRetryUtility.RetryResult> result =
+          StreamingRetryUtility.executeWithRetryAsync(() -> addAttempt(attempts), config, new AtomicBoolean(false), scheduler,
+                                                      "testAgent", "testSession", "testRequest");
+      attempts.get(0).completeExceptionally(new TimeoutException("timed out"));
+      result.cancel(false);
+      runScheduled(100L);
+
+      assertThat(attempts).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("fails with the last error when the scheduler rejects the retry")
+    void schedulerRejects() {
+      StreamingRetryUtility.RetryConfig config = new StreamingRetryUtility.RetryConfig(2, 100L, true);
+      when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+          .thenThrow(new RejectedExecutionException("shut down"));
+
+      CompletableFuture<StreamingRetryUtility.RetryResult> result =
+          StreamingRetryUtility.executeWithRetryAsync(() -> failedAttempt(new TimeoutException("timed out")), config,
+                                                      new AtomicBoolean(false), scheduler, "testAgent", "testSession",
+                                                      "testRequest");
+
+      assertThat(result.join().isSuccess()).isFalse();
+      assertThat(result.join().getLastException()).isInstanceOf(TimeoutException.class);
+    }
+
+    private CompletableFuture<Void> addAttempt(List<CompletableFuture<Void>> attempts) {
+      CompletableFuture<Void> attempt = new CompletableFuture<>();
+      attempts.add(attempt);
+      return attempt;
+    }
+
+    private CompletableFuture<Void> failedAttempt(Exception error) {
+      CompletableFuture<Void> attempt = new CompletableFuture<>();
+      attempt.completeExceptionally(error);
+      return attempt;
+    }
+
+    private void runScheduled(long expectedDelayMs) {
+      ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+      verify(scheduler).schedule(task.capture(), eq(expectedDelayMs), eq(TimeUnit.MILLISECONDS));
+      clearInvocations(scheduler);
+      task.getValue().run();
+    }
+  }
 }